@@ -0,0 +1,49 @@
+package com.smartcar.monitoring.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Caffeine-backed caches for single-entity lookups.
+ *
+ * Cached entities are loaded with the associations their DTOs read, so they can be used
+ * after the loading session has closed. Mutating service methods evict the affected
+ * entries; the manager is transaction-aware, so evictions and puts made inside a
+ * transaction are applied after it commits. The TTL bounds how long an entry can
+ * survive a write that raced its load.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CARS = "cars";
+    public static final String DRIVERS_BY_USER = "driversByUser";
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+    public static final String ADMINS_BY_USER = "adminsByUser";
+
+    @Value("${cache.entity.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${cache.entity.expire-after-write-ms:600000}")
+    private long expireAfterWriteMs;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CARS, DRIVERS_BY_USER, USERS_BY_USERNAME, ADMINS_BY_USER);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMs))
+                .recordStats());
+        // Misses are not cached; a later create must not be hidden by a cached "not found"
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,77 @@
+package com.smartcar.monitoring.config;
+
+import io.moquette.broker.Server;
+import io.moquette.broker.config.FluentConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * In-process MQTT broker for the embedded-broker profile, so the backend runs with no network:
+ * MqttConfig connects the client here instead of mqtt.broker.url. Messages are kept in memory
+ * only and any client may connect; this is for local runs, tests and benchmarks, not for
+ * production traffic. With port 0 the broker binds a free port and getUrl() reports it.
+ */
+@Component
+@Profile("embedded-broker")
+public class EmbeddedMqttBroker {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedMqttBroker.class);
+
+    @Value("${mqtt.embedded.host:127.0.0.1}")
+    private String host;
+
+    @Value("${mqtt.embedded.port:1883}")
+    private int port;
+
+    private Server server;
+    private Path dataPath;
+
+    @PostConstruct
+    public void start() throws IOException {
+        // Moquette writes its instance id under data_path even without persistence
+        dataPath = Files.createTempDirectory("moquette");
+        server = new Server();
+        server.startServer(new FluentConfig()
+                .host(host)
+                .port(port)
+                .dataPath(dataPath)
+                .disablePersistence()
+                .allowAnonymous()
+                .disableTelemetry()
+                .build());
+        // The port actually bound, which differs from the configured one for port 0
+        port = server.getPort();
+        logger.info("Embedded MQTT broker listening on {}", getUrl());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stopServer();
+            server = null;
+            logger.info("Embedded MQTT broker stopped");
+        }
+        if (dataPath != null) {
+            try {
+                FileSystemUtils.deleteRecursively(dataPath);
+            } catch (IOException e) {
+                logger.warn("Could not delete {}: {}", dataPath, e.getMessage());
+            }
+            dataPath = null;
+        }
+    }
+
+    public String getUrl() {
+        return "tcp://" + host + ":" + port;
+    }
+}
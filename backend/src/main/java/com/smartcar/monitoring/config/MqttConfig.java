@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Configuration
@@ -37,14 +38,16 @@ public class MqttConfig {
     @Value("${mqtt.auto.reconnect:true}")
     private boolean autoReconnect;
 
+    // Under the embedded-broker profile the client connects to the in-process broker instead
     @Bean
-    public MqttClient mqttClient() throws MqttException {
+    public MqttClient mqttClient(Optional<EmbeddedMqttBroker> embeddedBroker) throws MqttException {
         String finalClientId = clientId;
         if (clientId.contains("${random.uuid}")) {
             finalClientId = "smart-car-backend-" + UUID.randomUUID().toString().substring(0, 8);
         }
 
-        MqttClient mqttClient = new MqttClient(brokerUrl, finalClientId, new MemoryPersistence());
+        String url = embeddedBroker.map(EmbeddedMqttBroker::getUrl).orElse(brokerUrl);
+        MqttClient mqttClient = new MqttClient(url, finalClientId, new MemoryPersistence());
 
         MqttConnectOptions options = new MqttConnectOptions();
         options.setUserName(username);
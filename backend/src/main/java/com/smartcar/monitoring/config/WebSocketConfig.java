@@ -1,11 +1,19 @@
 package com.smartcar.monitoring.config;
 
+import com.smartcar.monitoring.service.PayloadFormatService;
+import com.smartcar.monitoring.service.SessionBackpressureService;
+import com.smartcar.monitoring.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.util.StringUtils;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -17,18 +25,112 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${websocket.allowed-origins:*}")
     private String allowedOrigins;
 
+    // Per-session transport limits; a session over either send limit is closed by Spring
+    @Value("${websocket.transport.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+
+    @Value("${websocket.transport.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+
+    @Value("${websocket.transport.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${websocket.sockjs.stream-bytes-limit:131072}")
+    private int sockJsStreamBytesLimit;
+
+    @Value("${websocket.sockjs.http-message-cache-size:1000}")
+    private int sockJsHttpMessageCacheSize;
+
+    @Autowired
+    private SessionBackpressureService sessionBackpressureService;
+
+    @Autowired
+    private PayloadFormatService payloadFormatService;
+
+    @Autowired
+    private TokenService tokenService;
+
+    // "simple" keeps subscriptions in this JVM; "relay" forwards them to an external STOMP broker
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.client-login:guest}")
+    private String relayClientLogin;
+
+    @Value("${websocket.broker.relay.client-passcode:guest}")
+    private String relayClientPasscode;
+
+    @Value("${websocket.broker.relay.system-login:guest}")
+    private String relaySystemLogin;
+
+    @Value("${websocket.broker.relay.system-passcode:guest}")
+    private String relaySystemPasscode;
+
+    @Value("${websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint(websocketEndpoint)
                 .setAllowedOriginPatterns(allowedOrigins)
-                .withSockJS();
+                .withSockJS()
+                .setStreamBytesLimit(sockJsStreamBytesLimit)
+                .setHttpMessageCacheSize(sockJsHttpMessageCacheSize);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(sendTimeLimitMs)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit)
+                .addDecoratorFactory(sessionBackpressureService::decorate)
+                .addDecoratorFactory(payloadFormatService::decorate);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Payload format (JSON or CBOR) requested on STOMP CONNECT, and the session user from
+        // the CONNECT bearer token
+        registration.interceptors(payloadFormatService.connectInterceptor(), tokenService.connectInterceptor());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        // Per-session conflation, drop accounting and slow-consumer eviction, then encoding
+        registration.interceptors(sessionBackpressureService, payloadFormatService);
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // Enable simple memory-based message broker for sending messages to clients
-        registry.enableSimpleBroker("/topic", "/queue");
-        
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            // Relay to an external STOMP broker so WebSocket clients on several backend nodes
+            // share /topic and /user destinations. Ingest still runs on a single node
+            // (mqtt.ingest.enabled) and the in-memory live views live only there; see
+            // application.properties for the features that need that node.
+            StompBrokerRelayRegistration relay = registry.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayClientLogin)
+                    .setClientPasscode(relayClientPasscode)
+                    .setSystemLogin(relaySystemLogin)
+                    .setSystemPasscode(relaySystemPasscode)
+                    // Resolve /user destinations for sessions connected to other nodes
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+            if (StringUtils.hasText(relayVirtualHost)) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+        } else {
+            // Enable simple memory-based message broker for sending messages to clients
+            registry.enableSimpleBroker("/topic", "/queue");
+        }
+
         // Set prefix for client-to-server messages
         registry.setApplicationDestinationPrefixes("/app");
         
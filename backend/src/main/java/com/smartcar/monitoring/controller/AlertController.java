@@ -5,11 +5,14 @@ import com.smartcar.monitoring.model.Alert;
 import com.smartcar.monitoring.model.Car;
 import com.smartcar.monitoring.service.AlertService;
 import com.smartcar.monitoring.service.CarService;
+import com.smartcar.monitoring.service.ResourceVersionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +29,9 @@ public class AlertController {
     @Autowired
     private CarService carService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     // POST /api/alerts - Create new alert
     @PostMapping
     public ResponseEntity<ApiResponseDto<AlertDto>> createAlert(@Valid @RequestBody AlertDto alertDto) {
@@ -48,10 +54,7 @@ public class AlertController {
     @GetMapping
     public ResponseEntity<ApiResponseDto<List<AlertDto>>> getAllAlerts() {
         try {
-            List<Alert> alerts = alertService.getAllActiveAlerts();
-            List<AlertDto> alertDtos = alerts.stream()
-                    .map(AlertDto::new)
-                    .collect(Collectors.toList());
+            List<AlertDto> alertDtos = alertService.getAllActiveAlertDtos();
             return ResponseEntity.ok(ApiResponseDto.success("Alerts retrieved successfully", alertDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -59,6 +62,29 @@ public class AlertController {
         }
     }
 
+    // GET /api/alerts/with-context - Get recent alerts with the telemetry sample that triggered them
+    @GetMapping("/with-context")
+    public ResponseEntity<ApiResponseDto<List<AlertContextDto>>> getAlertsWithContext(
+            @RequestParam(required = false) Long carId,
+            @RequestParam(required = false) LocalDateTime startTime,
+            @RequestParam(required = false) LocalDateTime endTime,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            if (endTime == null) endTime = LocalDateTime.now();
+            if (startTime == null) startTime = endTime.minusHours(24);
+            if (limit < 1 || limit > 500) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponseDto.error("Limit must be between 1 and 500"));
+            }
+            
+            List<AlertContextDto> alerts = alertService.getAlertsWithContext(carId, startTime, endTime, limit);
+            return ResponseEntity.ok(ApiResponseDto.success("Alerts with context retrieved successfully", alerts));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve alerts with context: " + e.getMessage()));
+        }
+    }
+
     // GET /api/alerts/{id} - Get alert by ID
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponseDto<AlertDto>> getAlertById(@PathVariable Long id) {
@@ -76,10 +102,7 @@ public class AlertController {
     @GetMapping("/car/{carId}")
     public ResponseEntity<ApiResponseDto<List<AlertDto>>> getAlertsByCar(@PathVariable Long carId) {
         try {
-            List<Alert> alerts = alertService.getAlertsByCar(carId);
-            List<AlertDto> alertDtos = alerts.stream()
-                    .map(AlertDto::new)
-                    .collect(Collectors.toList());
+            List<AlertDto> alertDtos = alertService.getAlertDtosByCar(carId);
             return ResponseEntity.ok(ApiResponseDto.success("Alerts retrieved successfully", alertDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -125,10 +148,7 @@ public class AlertController {
     @GetMapping("/unacknowledged")
     public ResponseEntity<ApiResponseDto<List<AlertDto>>> getUnacknowledgedAlerts() {
         try {
-            List<Alert> alerts = alertService.getUnacknowledgedAlerts();
-            List<AlertDto> alertDtos = alerts.stream()
-                    .map(AlertDto::new)
-                    .collect(Collectors.toList());
+            List<AlertDto> alertDtos = alertService.getUnacknowledgedAlertDtos();
             return ResponseEntity.ok(ApiResponseDto.success("Unacknowledged alerts retrieved successfully", alertDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -140,10 +160,7 @@ public class AlertController {
     @GetMapping("/critical")
     public ResponseEntity<ApiResponseDto<List<AlertDto>>> getCriticalAlerts() {
         try {
-            List<Alert> alerts = alertService.getCriticalAlerts();
-            List<AlertDto> alertDtos = alerts.stream()
-                    .map(AlertDto::new)
-                    .collect(Collectors.toList());
+            List<AlertDto> alertDtos = alertService.getCriticalAlertDtos();
             return ResponseEntity.ok(ApiResponseDto.success("Critical alerts retrieved successfully", alertDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -164,10 +181,90 @@ public class AlertController {
         }
     }
 
-    // GET /api/alerts/stats/count - Get alert count statistics
+    // PUT /api/alerts/acknowledge - Acknowledge alerts by ID list
+    @PutMapping("/acknowledge")
+    public ResponseEntity<ApiResponseDto<Object>> acknowledgeAlerts(@Valid @RequestBody AlertBulkRequest request) {
+        try {
+            int affected = alertService.acknowledgeAlerts(request.getIds());
+            return ResponseEntity.ok(ApiResponseDto.success("Alerts acknowledged successfully", bulkResult("ACKNOWLEDGED", affected)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to acknowledge alerts: " + e.getMessage()));
+        }
+    }
+
+    // PUT /api/alerts/car/{carId}/acknowledge - Acknowledge all alerts for car
+    @PutMapping("/car/{carId}/acknowledge")
+    public ResponseEntity<ApiResponseDto<Object>> acknowledgeAlertsByCar(@PathVariable Long carId) {
+        try {
+            int affected = alertService.acknowledgeAlertsByCar(carId);
+            return ResponseEntity.ok(ApiResponseDto.success("Alerts acknowledged successfully", bulkResult("ACKNOWLEDGED", affected)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to acknowledge alerts: " + e.getMessage()));
+        }
+    }
+
+    // PUT /api/alerts/type/{type}/acknowledge - Acknowledge all alerts of type
+    @PutMapping("/type/{type}/acknowledge")
+    public ResponseEntity<ApiResponseDto<Object>> acknowledgeAlertsByType(@PathVariable String type) {
+        try {
+            int affected = alertService.acknowledgeAlertsByType(type);
+            return ResponseEntity.ok(ApiResponseDto.success("Alerts acknowledged successfully", bulkResult("ACKNOWLEDGED", affected)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to acknowledge alerts: " + e.getMessage()));
+        }
+    }
+
+    // PUT /api/alerts/severity/{severity}/acknowledge - Acknowledge all alerts of severity
+    @PutMapping("/severity/{severity}/acknowledge")
+    public ResponseEntity<ApiResponseDto<Object>> acknowledgeAlertsBySeverity(@PathVariable String severity) {
+        try {
+            Alert.AlertSeverity alertSeverity = Alert.AlertSeverity.valueOf(severity.toUpperCase());
+            int affected = alertService.acknowledgeAlertsBySeverity(alertSeverity);
+            return ResponseEntity.ok(ApiResponseDto.success("Alerts acknowledged successfully", bulkResult("ACKNOWLEDGED", affected)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Invalid severity: " + severity));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to acknowledge alerts: " + e.getMessage()));
+        }
+    }
+
+    // PUT /api/alerts/acknowledge/range - Acknowledge all alerts in time range
+    @PutMapping("/acknowledge/range")
+    public ResponseEntity<ApiResponseDto<Object>> acknowledgeAlertsInTimeRange(@RequestParam LocalDateTime startTime,
+                                                                             @RequestParam LocalDateTime endTime) {
+        try {
+            int affected = alertService.acknowledgeAlertsInTimeRange(startTime, endTime);
+            return ResponseEntity.ok(ApiResponseDto.success("Alerts acknowledged successfully", bulkResult("ACKNOWLEDGED", affected)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to acknowledge alerts: " + e.getMessage()));
+        }
+    }
+
+    // PUT /api/alerts/deactivate - Soft delete alerts by ID list
+    @PutMapping("/deactivate")
+    public ResponseEntity<ApiResponseDto<Object>> deactivateAlerts(@Valid @RequestBody AlertBulkRequest request) {
+        try {
+            int affected = alertService.deactivateAlerts(request.getIds());
+            return ResponseEntity.ok(ApiResponseDto.success("Alerts deactivated successfully", bulkResult("DEACTIVATED", affected)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to deactivate alerts: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/alerts/stats/count - Get alert count statistics (conditional: ETag / Last-Modified)
     @GetMapping("/stats/count")
-    public ResponseEntity<ApiResponseDto<Object>> getAlertCountStats() {
+    public ResponseEntity<ApiResponseDto<Object>> getAlertCountStats(WebRequest request) {
         try {
+            if (resourceVersionService.checkNotModified(request, ResourceVersionService.ALERTS)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+            }
             long totalAlerts = alertService.countTotalActiveAlerts();
             long unacknowledgedAlerts = alertService.countUnacknowledgedAlerts();
             long criticalAlerts = alertService.countCriticalAlerts();
@@ -183,7 +280,7 @@ public class AlertController {
                 }
             }
             AlertStats stats = new AlertStats(totalAlerts, unacknowledgedAlerts, criticalAlerts);
-            return ResponseEntity.ok(ApiResponseDto.success("Alert statistics retrieved successfully", stats));
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponseDto.success("Alert statistics retrieved successfully", stats));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponseDto.error("Failed to retrieve alert statistics: " + e.getMessage()));
@@ -258,4 +355,16 @@ public class AlertController {
                     .body(ApiResponseDto.error("Failed to retrieve recent alerts: " + e.getMessage()));
         }
     }
+
+    private Object bulkResult(String action, int affected) {
+        class BulkResult {
+            public final String action;
+            public final int affected;
+            public BulkResult(String action, int affected) {
+                this.action = action;
+                this.affected = affected;
+            }
+        }
+        return new BulkResult(action, affected);
+    }
 }
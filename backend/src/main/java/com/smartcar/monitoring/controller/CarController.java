@@ -1,14 +1,22 @@
 package com.smartcar.monitoring.controller;
 
 import com.smartcar.monitoring.dto.*;
+import com.smartcar.monitoring.exception.CarNotFoundException;
 import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.service.CarLocationIndex;
 import com.smartcar.monitoring.service.CarService;
+import com.smartcar.monitoring.service.FuelEstimator;
+import com.smartcar.monitoring.service.ResourceVersionService;
+import com.smartcar.monitoring.service.TripService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -17,15 +25,31 @@ import java.util.stream.Collectors;
 @CrossOrigin(origins = "*")
 public class CarController {
 
+    private static final double MAX_NEARBY_RADIUS_KM = 500;
+
     @Autowired
     private CarService carService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private CarLocationIndex carLocationIndex;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private FuelEstimator fuelEstimator;
+
     // POST /api/cars - Create new car
     @PostMapping
     public ResponseEntity<ApiResponseDto<CarDto>> createCar(@Valid @RequestBody CarDto carDto) {
         try {
             Car car = new Car(carDto.getStatus(), carDto.getSpeed(), carDto.getFuelLevel(), 
                              carDto.getTemperature(), carDto.getLocation());
+            car.setLatitude(carDto.getLatitude());
+            car.setLongitude(carDto.getLongitude());
             Car createdCar = carService.createCar(car);
             CarDto createdCarDto = new CarDto(createdCar);
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -36,15 +60,15 @@ public class CarController {
         }
     }
 
-    // GET /api/cars - Get all active cars
+    // GET /api/cars - Get all active cars (conditional: ETag / Last-Modified)
     @GetMapping
-    public ResponseEntity<ApiResponseDto<List<CarDto>>> getAllCars() {
+    public ResponseEntity<ApiResponseDto<List<CarDto>>> getAllCars(WebRequest request) {
         try {
-            List<Car> cars = carService.getAllActiveCars();
-            List<CarDto> carDtos = cars.stream()
-                    .map(CarDto::new)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(ApiResponseDto.success("Cars retrieved successfully", carDtos));
+            if (resourceVersionService.checkNotModified(request, ResourceVersionService.CARS, ResourceVersionService.DRIVERS)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+            }
+            List<CarDto> carDtos = carService.getAllActiveCarDtos();
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponseDto.success("Cars retrieved successfully", carDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponseDto.error("Failed to retrieve cars: " + e.getMessage()));
@@ -70,6 +94,8 @@ public class CarController {
         try {
             Car car = new Car(carDto.getStatus(), carDto.getSpeed(), carDto.getFuelLevel(), 
                              carDto.getTemperature(), carDto.getLocation());
+            car.setLatitude(carDto.getLatitude());
+            car.setLongitude(carDto.getLongitude());
             car.setId(id);
             Car updatedCar = carService.updateCar(id, car);
             CarDto updatedCarDto = new CarDto(updatedCar);
@@ -202,6 +228,112 @@ public class CarController {
         }
     }
 
+    // GET /api/cars/nearby?lat=&lon=&radius= - Active cars within radius km of a point, nearest first
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponseDto<List<CarPositionDto>>> getNearbyCars(@RequestParam double lat,
+                                                                              @RequestParam double lon,
+                                                                              @RequestParam(defaultValue = "10") double radius,
+                                                                              @RequestParam(defaultValue = "100") int limit) {
+        try {
+            validateCoordinates(lat, lon);
+            if (!(radius > 0) || radius > MAX_NEARBY_RADIUS_KM) {
+                throw new IllegalArgumentException("radius must be between 0 and " + MAX_NEARBY_RADIUS_KM + " km");
+            }
+            if (limit < 1) {
+                throw new IllegalArgumentException("limit must be positive");
+            }
+            List<CarPositionDto> cars = carLocationIndex.findNearby(lat, lon, radius, limit);
+            return ResponseEntity.ok(ApiResponseDto.success("Nearby cars retrieved successfully", cars));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Invalid nearby query: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve nearby cars: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/cars/within?minLat=&minLon=&maxLat=&maxLon= - Active cars inside a bounding box
+    @GetMapping("/within")
+    public ResponseEntity<ApiResponseDto<List<CarPositionDto>>> getCarsWithin(@RequestParam double minLat,
+                                                                              @RequestParam double minLon,
+                                                                              @RequestParam double maxLat,
+                                                                              @RequestParam double maxLon) {
+        try {
+            validateCoordinates(minLat, minLon);
+            validateCoordinates(maxLat, maxLon);
+            List<CarPositionDto> cars = carLocationIndex.findWithin(minLat, minLon, maxLat, maxLon);
+            return ResponseEntity.ok(ApiResponseDto.success("Cars in area retrieved successfully", cars));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Invalid area query: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve cars in area: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/cars/{id}/trips - Trips for a car, newest first (optionally those started in a time range)
+    @GetMapping("/{id}/trips")
+    public ResponseEntity<ApiResponseDto<List<TripDto>>> getCarTrips(@PathVariable Long id,
+                                                                    @RequestParam(required = false) LocalDateTime startTime,
+                                                                    @RequestParam(required = false) LocalDateTime endTime,
+                                                                    @RequestParam(defaultValue = "50") int limit) {
+        try {
+            if (limit < 1 || limit > 500) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponseDto.error("Limit must be between 1 and 500"));
+            }
+            carService.getCarById(id);
+            List<TripDto> trips = tripService.getTripDtosByCar(id, startTime, endTime, limit);
+            return ResponseEntity.ok(ApiResponseDto.success("Trips retrieved successfully", trips));
+        } catch (CarNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDto.error("Car not found: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve trips: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/cars/{id}/fuel - Smoothed fuel level, consumption rate, projection to empty and recent refuels
+    @GetMapping("/{id}/fuel")
+    public ResponseEntity<ApiResponseDto<FuelStatusDto>> getCarFuel(@PathVariable Long id) {
+        try {
+            carService.getCarById(id);
+            FuelStatusDto status = fuelEstimator.getStatus(id);
+            return ResponseEntity.ok(ApiResponseDto.success("Fuel status retrieved successfully", status));
+        } catch (CarNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDto.error("Car not found: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve fuel status: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/cars/fuel/projected-empty - Cars projected to run dry within the given minutes, soonest first
+    @GetMapping("/fuel/projected-empty")
+    public ResponseEntity<ApiResponseDto<List<FuelStatusDto>>> getProjectedEmpty(@RequestParam(defaultValue = "60") double withinMinutes) {
+        try {
+            if (withinMinutes <= 0 || withinMinutes > 24 * 60) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponseDto.error("withinMinutes must be between 0 and 1440"));
+            }
+            List<FuelStatusDto> cars = fuelEstimator.getProjectedEmptyWithin(withinMinutes);
+            return ResponseEntity.ok(ApiResponseDto.success("Fuel projections retrieved successfully", cars));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve fuel projections: " + e.getMessage()));
+        }
+    }
+
+    private static void validateCoordinates(double lat, double lon) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new IllegalArgumentException("latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+    }
+
     // POST /api/cars/{id}/update-telemetry - Update car telemetry data
     @PostMapping("/{id}/update-telemetry")
     public ResponseEntity<ApiResponseDto<CarDto>> updateCarTelemetry(@PathVariable Long id, 
@@ -209,7 +341,7 @@ public class CarController {
         try {
             Car updatedCar = carService.updateCarStatus(id, carDto.getStatus(), carDto.getSpeed(), 
                                                        carDto.getFuelLevel(), carDto.getTemperature(), 
-                                                       carDto.getLocation());
+                                                       carDto.getLocation(), carDto.getLatitude(), carDto.getLongitude());
             CarDto updatedCarDto = new CarDto(updatedCar);
             return ResponseEntity.ok(ApiResponseDto.success("Car telemetry updated successfully", updatedCarDto));
         } catch (Exception e) {
@@ -1,15 +1,20 @@
 package com.smartcar.monitoring.controller;
 
 import com.smartcar.monitoring.dto.*;
+import com.smartcar.monitoring.exception.DriverNotFoundException;
 import com.smartcar.monitoring.model.Driver;
 import com.smartcar.monitoring.model.User;
+import com.smartcar.monitoring.service.DriverScoreService;
 import com.smartcar.monitoring.service.DriverService;
 import com.smartcar.monitoring.service.UserService;
+import com.smartcar.monitoring.service.ResourceVersionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +31,12 @@ public class DriverController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private DriverScoreService driverScoreService;
+
     // POST /api/drivers - Create new driver
     @PostMapping
     public ResponseEntity<ApiResponseDto<DriverDto>> createDriver(@Valid @RequestBody DriverDto driverDto) {
@@ -169,21 +180,61 @@ public class DriverController {
         }
     }
 
-    // GET /api/drivers/assigned - Get assigned drivers (with car assigned)
+    // GET /api/drivers/assigned - Get assigned drivers (with car assigned; conditional: ETag / Last-Modified)
     @GetMapping("/assigned")
-    public ResponseEntity<ApiResponseDto<List<DriverDto>>> getAssignedDrivers() {
+    public ResponseEntity<ApiResponseDto<List<DriverDto>>> getAssignedDrivers(WebRequest request) {
         try {
+            if (resourceVersionService.checkNotModified(request, ResourceVersionService.DRIVERS)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+            }
             List<Driver> drivers = driverService.getDriversWithCars();
             List<DriverDto> driverDtos = drivers.stream()
                     .map(DriverDto::new)
                     .collect(Collectors.toList());
-            return ResponseEntity.ok(ApiResponseDto.success("Assigned drivers retrieved successfully", driverDtos));
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponseDto.success("Assigned drivers retrieved successfully", driverDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponseDto.error("Failed to retrieve assigned drivers: " + e.getMessage()));
         }
     }
 
+    // GET /api/drivers/{id}/score - Driver behaviour score (recent driving weighted most)
+    @GetMapping("/{id}/score")
+    public ResponseEntity<ApiResponseDto<DriverScoreDto>> getDriverScore(@PathVariable Long id) {
+        try {
+            driverService.getDriverById(id);
+            DriverScoreDto score = driverScoreService.getScore(id);
+            return ResponseEntity.ok(ApiResponseDto.success("Driver score retrieved successfully", score));
+        } catch (DriverNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDto.error("Driver not found: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve driver score: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/drivers/leaderboard - Drivers ranked by score (order=best or worst)
+    @GetMapping("/leaderboard")
+    public ResponseEntity<ApiResponseDto<List<DriverScoreDto>>> getLeaderboard(@RequestParam(defaultValue = "10") int limit,
+                                                                               @RequestParam(defaultValue = "best") String order) {
+        try {
+            if (limit < 1 || limit > 100) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponseDto.error("Limit must be between 1 and 100"));
+            }
+            if (!"best".equalsIgnoreCase(order) && !"worst".equalsIgnoreCase(order)) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponseDto.error("Order must be 'best' or 'worst'"));
+            }
+            List<DriverScoreDto> leaderboard = driverScoreService.getLeaderboard(limit, "worst".equalsIgnoreCase(order));
+            return ResponseEntity.ok(ApiResponseDto.success("Leaderboard retrieved successfully", leaderboard));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve leaderboard: " + e.getMessage()));
+        }
+    }
+
     // GET /api/drivers/stats/count - Get driver count statistics
     @GetMapping("/stats/count")
     public ResponseEntity<ApiResponseDto<Object>> getDriverCountStats() {
@@ -0,0 +1,59 @@
+package com.smartcar.monitoring.controller;
+
+import com.smartcar.monitoring.dto.ApiResponseDto;
+import com.smartcar.monitoring.service.FleetOverviewService;
+import com.smartcar.monitoring.service.FleetStateService;
+import com.smartcar.monitoring.service.ResourceVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/fleet")
+@CrossOrigin(origins = "*")
+public class FleetController {
+
+    @Autowired
+    private FleetStateService fleetStateService;
+
+    @Autowired
+    private FleetOverviewService fleetOverviewService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    // GET /api/fleet/snapshot - Get full fleet state and the delta sequence it matches
+    @GetMapping("/snapshot")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getFleetSnapshot() {
+        try {
+            Map<String, Object> snapshot = fleetStateService.getSnapshot();
+            return ResponseEntity.ok(ApiResponseDto.success("Fleet snapshot retrieved successfully", snapshot));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve fleet snapshot: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/fleet/overview - Get active cars with driver, latest telemetry and open alert counts,
+    // plus fleet alert totals, in one call (conditional: ETag / Last-Modified)
+    @GetMapping("/overview")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getFleetOverview(WebRequest request) {
+        try {
+            if (resourceVersionService.checkNotModified(request, ResourceVersionService.CARS, ResourceVersionService.DRIVERS,
+                    ResourceVersionService.ALERTS, ResourceVersionService.TELEMETRY)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+            }
+            Map<String, Object> overview = fleetOverviewService.getOverview();
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache())
+                    .body(ApiResponseDto.success("Fleet overview retrieved successfully", overview));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve fleet overview: " + e.getMessage()));
+        }
+    }
+}
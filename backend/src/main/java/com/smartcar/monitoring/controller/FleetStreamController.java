@@ -0,0 +1,59 @@
+package com.smartcar.monitoring.controller;
+
+import com.smartcar.monitoring.dto.MapViewportRequest;
+import com.smartcar.monitoring.service.DashboardService;
+import com.smartcar.monitoring.service.FleetStateService;
+import com.smartcar.monitoring.service.MapInterestService;
+import com.smartcar.monitoring.service.TokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+@Controller
+public class FleetStreamController {
+
+    @Autowired
+    private FleetStateService fleetStateService;
+
+    @Autowired
+    private MapInterestService mapInterestService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // SUBSCRIBE /app/fleet/snapshot - Reply with the full fleet state to the subscribing session
+    @SubscribeMapping("/fleet/snapshot")
+    public Map<String, Object> fleetSnapshot() {
+        return fleetStateService.getSnapshot();
+    }
+
+    // SEND /app/map/viewport - Register the session's bounding box and/or car IDs for /user/queue/map/locations
+    @MessageMapping("/map/viewport")
+    public void registerViewport(@Payload MapViewportRequest request, SimpMessageHeaderAccessor headerAccessor) {
+        mapInterestService.register(headerAccessor.getSessionId(), request);
+    }
+
+    // SEND /app/map/viewport/clear - Stop filtered map updates for the session
+    @MessageMapping("/map/viewport/clear")
+    public void clearViewport(SimpMessageHeaderAccessor headerAccessor) {
+        mapInterestService.unregister(headerAccessor.getSessionId());
+    }
+
+    // SEND /app/dashboard/register - Push the dashboard view of the session's user (from the
+    // CONNECT bearer token) to /user/queue/dashboard
+    @MessageMapping("/dashboard/register")
+    public void registerDashboard(SimpMessageHeaderAccessor headerAccessor) {
+        dashboardService.register(headerAccessor.getSessionId(), TokenService.userId(headerAccessor.getUser()));
+    }
+
+    // SEND /app/dashboard/unregister - Stop dashboard updates for the session
+    @MessageMapping("/dashboard/unregister")
+    public void unregisterDashboard(SimpMessageHeaderAccessor headerAccessor) {
+        dashboardService.unregister(headerAccessor.getSessionId());
+    }
+}
@@ -0,0 +1,103 @@
+package com.smartcar.monitoring.controller;
+
+import com.smartcar.monitoring.dto.ApiResponseDto;
+import com.smartcar.monitoring.dto.GeofenceDto;
+import com.smartcar.monitoring.model.Geofence;
+import com.smartcar.monitoring.model.Geofence.GeofenceCategory;
+import com.smartcar.monitoring.service.GeofenceService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/geofences")
+@CrossOrigin(origins = "*")
+public class GeofenceController {
+
+    @Autowired
+    private GeofenceService geofenceService;
+
+    // POST /api/geofences - Create new geofence (circle or polygon)
+    @PostMapping
+    public ResponseEntity<ApiResponseDto<GeofenceDto>> createGeofence(@Valid @RequestBody GeofenceDto geofenceDto) {
+        try {
+            Geofence created = geofenceService.createGeofence(geofenceDto.toEntity());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponseDto.success("Geofence created successfully", new GeofenceDto(created)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to create geofence: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/geofences - Get all active geofences, optionally by category
+    @GetMapping
+    public ResponseEntity<ApiResponseDto<List<GeofenceDto>>> getAllGeofences(@RequestParam(required = false) String category) {
+        try {
+            List<Geofence> geofences = category != null
+                    ? geofenceService.getGeofencesByCategory(GeofenceCategory.valueOf(category.toUpperCase()))
+                    : geofenceService.getAllActiveGeofences();
+            List<GeofenceDto> geofenceDtos = geofences.stream().map(GeofenceDto::new).collect(Collectors.toList());
+            return ResponseEntity.ok(ApiResponseDto.success("Geofences retrieved successfully", geofenceDtos));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Invalid category: " + category));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve geofences: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/geofences/{id} - Get geofence by ID
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponseDto<GeofenceDto>> getGeofenceById(@PathVariable Long id) {
+        try {
+            Geofence geofence = geofenceService.getGeofenceById(id);
+            return ResponseEntity.ok(ApiResponseDto.success("Geofence retrieved successfully", new GeofenceDto(geofence)));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDto.error("Geofence not found: " + e.getMessage()));
+        }
+    }
+
+    // PUT /api/geofences/{id} - Update geofence
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponseDto<GeofenceDto>> updateGeofence(@PathVariable Long id, @Valid @RequestBody GeofenceDto geofenceDto) {
+        try {
+            Geofence updated = geofenceService.updateGeofence(id, geofenceDto.toEntity());
+            return ResponseEntity.ok(ApiResponseDto.success("Geofence updated successfully", new GeofenceDto(updated)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to update geofence: " + e.getMessage()));
+        }
+    }
+
+    // DELETE /api/geofences/{id} - Soft delete geofence (deactivate)
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponseDto<String>> deactivateGeofence(@PathVariable Long id) {
+        try {
+            geofenceService.deactivateGeofence(id);
+            return ResponseEntity.ok(ApiResponseDto.success("Geofence deactivated successfully"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to deactivate geofence: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/geofences/{id}/cars - IDs of the cars currently inside the geofence
+    @GetMapping("/{id}/cars")
+    public ResponseEntity<ApiResponseDto<List<Long>>> getCarsInside(@PathVariable Long id) {
+        try {
+            List<Long> carIds = geofenceService.getCarsInside(id);
+            return ResponseEntity.ok(ApiResponseDto.success("Cars inside geofence retrieved successfully", carIds));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponseDto.error("Geofence not found: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.smartcar.monitoring.controller;
+
+import com.smartcar.monitoring.dto.ApiResponseDto;
+import com.smartcar.monitoring.service.CacheMetricsService;
+import com.smartcar.monitoring.service.DashboardService;
+import com.smartcar.monitoring.service.PayloadFormatService;
+import com.smartcar.monitoring.service.SessionBackpressureService;
+import com.smartcar.monitoring.service.TelemetryFanoutService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    @Autowired
+    private TelemetryFanoutService telemetryFanoutService;
+
+    @Autowired
+    private SessionBackpressureService sessionBackpressureService;
+
+    @Autowired
+    private PayloadFormatService payloadFormatService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private CacheMetricsService cacheMetricsService;
+
+    // GET /api/metrics/websocket - Get WebSocket fan-out statistics
+    @GetMapping("/websocket")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getWebSocketMetrics() {
+        try {
+            Map<String, Object> stats = telemetryFanoutService.getStatistics();
+            return ResponseEntity.ok(ApiResponseDto.success("WebSocket metrics retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve WebSocket metrics: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/metrics/websocket/sessions - Get per-session outbound lag and drop counters
+    @GetMapping("/websocket/sessions")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getWebSocketSessionMetrics() {
+        try {
+            Map<String, Object> stats = sessionBackpressureService.getStatistics();
+            return ResponseEntity.ok(ApiResponseDto.success("WebSocket session metrics retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve WebSocket session metrics: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/metrics/websocket/encoding - Get CBOR encoding counters (bytes per payload, transcode time)
+    @GetMapping("/websocket/encoding")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getWebSocketEncodingMetrics() {
+        try {
+            Map<String, Object> stats = payloadFormatService.getStatistics();
+            return ResponseEntity.ok(ApiResponseDto.success("WebSocket encoding metrics retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve WebSocket encoding metrics: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/metrics/websocket/dashboard - Get dashboard viewer and frame counters
+    @GetMapping("/websocket/dashboard")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getDashboardMetrics() {
+        try {
+            Map<String, Object> stats = dashboardService.getStatistics();
+            return ResponseEntity.ok(ApiResponseDto.success("Dashboard metrics retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve dashboard metrics: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/metrics/cache - Get entity lookup cache hit/miss/eviction counters
+    @GetMapping("/cache")
+    public ResponseEntity<ApiResponseDto<Map<String, Object>>> getCacheMetrics() {
+        try {
+            Map<String, Object> stats = cacheMetricsService.getStatistics();
+            return ResponseEntity.ok(ApiResponseDto.success("Cache metrics retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve cache metrics: " + e.getMessage()));
+        }
+    }
+}
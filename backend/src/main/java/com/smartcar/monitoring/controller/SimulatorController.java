@@ -1,6 +1,7 @@
 package com.smartcar.monitoring.controller;
 
 import com.smartcar.monitoring.dto.ApiResponseDto;
+import com.smartcar.monitoring.simulator.LoadGenerator;
 import com.smartcar.monitoring.simulator.TelemetrySimulator;
 import com.smartcar.monitoring.service.MqttService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,9 @@ public class SimulatorController {
     @Autowired
     private MqttService mqttService;
 
+    @Autowired
+    private LoadGenerator loadGenerator;
+
     // GET /api/simulator/status - Get simulator status
     @GetMapping("/status")
     public ResponseEntity<ApiResponseDto<Object>> getSimulatorStatus() {
@@ -138,4 +142,50 @@ public class SimulatorController {
                     .body(ApiResponseDto.error("Failed to generate test data: " + e.getMessage()));
         }
     }
+
+    // POST /api/simulator/load/start - Start the load generator; omitted parameters use the configured defaults
+    @PostMapping("/load/start")
+    public ResponseEntity<ApiResponseDto<Object>> startLoadGenerator(@RequestParam(required = false) Integer vehicles,
+                                                                     @RequestParam(required = false) Double rate,
+                                                                     @RequestParam(required = false) LoadGenerator.Profile profile,
+                                                                     @RequestParam(required = false) Long rampUpSeconds,
+                                                                     @RequestParam(required = false) Long durationSeconds) {
+        try {
+            if (!loadGenerator.start(vehicles, rate, profile, rampUpSeconds, durationSeconds)) {
+                return ResponseEntity.badRequest()
+                        .body(ApiResponseDto.error("Load generator is already running"));
+            }
+            return ResponseEntity.ok(ApiResponseDto.success("Load generator started", loadGenerator.getStatus()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponseDto.error("Failed to start load generator: " + e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ApiResponseDto.error("Failed to start load generator: " + e.getMessage()));
+        }
+    }
+
+    // POST /api/simulator/load/stop - Stop the load generator
+    @PostMapping("/load/stop")
+    public ResponseEntity<ApiResponseDto<Object>> stopLoadGenerator() {
+        try {
+            loadGenerator.stop();
+            return ResponseEntity.ok(ApiResponseDto.success("Load generator stopped", loadGenerator.getStatus()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ApiResponseDto.error("Failed to stop load generator: " + e.getMessage()));
+        }
+    }
+
+    // GET /api/simulator/load/status - Target and achieved rates of the current or last run
+    @GetMapping("/load/status")
+    public ResponseEntity<ApiResponseDto<Object>> getLoadGeneratorStatus() {
+        try {
+            return ResponseEntity.ok(ApiResponseDto.success("Load generator status retrieved successfully",
+                    loadGenerator.getStatus()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(ApiResponseDto.error("Failed to get load generator status: " + e.getMessage()));
+        }
+    }
 }
@@ -5,11 +5,14 @@ import com.smartcar.monitoring.model.Telemetry;
 import com.smartcar.monitoring.model.Car;
 import com.smartcar.monitoring.service.TelemetryService;
 import com.smartcar.monitoring.service.CarService;
+import com.smartcar.monitoring.service.ResourceVersionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -26,6 +29,9 @@ public class TelemetryController {
     @Autowired
     private CarService carService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     // POST /api/telemetry - Create new telemetry record
     @PostMapping
     public ResponseEntity<ApiResponseDto<TelemetryDto>> createTelemetry(@Valid @RequestBody TelemetryDto telemetryDto) {
@@ -37,6 +43,8 @@ public class TelemetryController {
             telemetry.setFuel(telemetryDto.getFuelLevel());
             telemetry.setTemperature(telemetryDto.getTemperature());
             telemetry.setLocation(telemetryDto.getLocation());
+            telemetry.setLatitude(telemetryDto.getLatitude());
+            telemetry.setLongitude(telemetryDto.getLongitude());
             telemetry.setTimestamp(telemetryDto.getTimestamp());
             
             Telemetry createdTelemetry = telemetryService.createTelemetry(telemetry);
@@ -53,10 +61,7 @@ public class TelemetryController {
     @GetMapping
     public ResponseEntity<ApiResponseDto<List<TelemetryDto>>> getAllTelemetry() {
         try {
-            List<Telemetry> telemetryList = telemetryService.getAllActiveTelemetry();
-            List<TelemetryDto> telemetryDtos = telemetryList.stream()
-                    .map(TelemetryDto::new)
-                    .collect(Collectors.toList());
+            List<TelemetryDto> telemetryDtos = telemetryService.getAllActiveTelemetryDtos();
             return ResponseEntity.ok(ApiResponseDto.success("Telemetry retrieved successfully", telemetryDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -81,10 +86,7 @@ public class TelemetryController {
     @GetMapping("/car/{carId}")
     public ResponseEntity<ApiResponseDto<List<TelemetryDto>>> getTelemetryByCar(@PathVariable Long carId) {
         try {
-            List<Telemetry> telemetryList = telemetryService.getTelemetryByCar(carId);
-            List<TelemetryDto> telemetryDtos = telemetryList.stream()
-                    .map(TelemetryDto::new)
-                    .collect(Collectors.toList());
+            List<TelemetryDto> telemetryDtos = telemetryService.getTelemetryDtosByCar(carId);
             return ResponseEntity.ok(ApiResponseDto.success("Telemetry retrieved successfully", telemetryDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -114,10 +116,7 @@ public class TelemetryController {
             @RequestParam LocalDateTime startTime,
             @RequestParam LocalDateTime endTime) {
         try {
-            List<Telemetry> telemetryList = telemetryService.getTelemetryByCarAndTimestampRange(carId, startTime, endTime);
-            List<TelemetryDto> telemetryDtos = telemetryList.stream()
-                    .map(TelemetryDto::new)
-                    .collect(Collectors.toList());
+            List<TelemetryDto> telemetryDtos = telemetryService.getTelemetryDtosByCarAndTimestampRange(carId, startTime, endTime);
             return ResponseEntity.ok(ApiResponseDto.success("Telemetry retrieved successfully", telemetryDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -125,15 +124,15 @@ public class TelemetryController {
         }
     }
 
-    // GET /api/telemetry/latest/all - Get latest telemetry for all cars
+    // GET /api/telemetry/latest/all - Get latest telemetry for all cars (conditional: ETag / Last-Modified)
     @GetMapping("/latest/all")
-    public ResponseEntity<ApiResponseDto<List<TelemetryDto>>> getLatestTelemetryForAllCars() {
+    public ResponseEntity<ApiResponseDto<List<TelemetryDto>>> getLatestTelemetryForAllCars(WebRequest request) {
         try {
-            List<Telemetry> telemetryList = telemetryService.getLatestTelemetryForAllCars();
-            List<TelemetryDto> telemetryDtos = telemetryList.stream()
-                    .map(TelemetryDto::new)
-                    .collect(Collectors.toList());
-            return ResponseEntity.ok(ApiResponseDto.success("Latest telemetry for all cars retrieved successfully", telemetryDtos));
+            if (resourceVersionService.checkNotModified(request, ResourceVersionService.TELEMETRY)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(CacheControl.noCache()).build();
+            }
+            List<TelemetryDto> telemetryDtos = telemetryService.getLatestTelemetryDtosForAllCars();
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(ApiResponseDto.success("Latest telemetry for all cars retrieved successfully", telemetryDtos));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponseDto.error("Failed to retrieve latest telemetry: " + e.getMessage()));
@@ -157,6 +156,22 @@ public class TelemetryController {
         }
     }
 
+    // GET /api/telemetry/stats/fleet - Get fleet-wide telemetry statistics (default last 24h)
+    @GetMapping("/stats/fleet")
+    public ResponseEntity<ApiResponseDto<Object>> getFleetTelemetryStats(@RequestParam(required = false) LocalDateTime startTime,
+                                                                        @RequestParam(required = false) LocalDateTime endTime) {
+        try {
+            if (startTime == null) startTime = LocalDateTime.now().minusDays(1);
+            if (endTime == null) endTime = LocalDateTime.now();
+            
+            TelemetryService.TelemetryStatistics stats = telemetryService.getFleetTelemetryStatistics(startTime, endTime);
+            return ResponseEntity.ok(ApiResponseDto.success("Fleet telemetry statistics retrieved successfully", stats));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponseDto.error("Failed to retrieve fleet telemetry statistics: " + e.getMessage()));
+        }
+    }
+
     // DELETE /api/telemetry/{id} - Soft delete telemetry record
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponseDto<String>> deactivateTelemetry(@PathVariable Long id) {
@@ -5,6 +5,7 @@ import com.smartcar.monitoring.model.User;
 import com.smartcar.monitoring.model.Driver;
 import com.smartcar.monitoring.service.UserService;
 import com.smartcar.monitoring.service.DriverService;
+import com.smartcar.monitoring.service.TokenService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -26,6 +27,9 @@ public class UserController {
     @Autowired
     private DriverService driverService;
 
+    @Autowired
+    private TokenService tokenService;
+
     // POST /api/users/register - Register new user
     @PostMapping("/register")
     public ResponseEntity<ApiResponseDto<UserDto>> registerUser(@Valid @RequestBody UserDto userDto) {
@@ -57,9 +61,9 @@ public class UserController {
             if (userService.validateCredentials(loginDto.getUsername(), loginDto.getPassword())) {
                 User user = userService.getUserByUsername(loginDto.getUsername()).orElse(null);
                 if (user != null) {
-                    // TODO: Generate JWT token here
-                    String token = "dummy-token-" + System.currentTimeMillis();
-                    LocalDateTime expiresAt = LocalDateTime.now().plusHours(24);
+                    // Signed token; WebSocket clients send it on STOMP CONNECT
+                    String token = tokenService.issue(user);
+                    LocalDateTime expiresAt = LocalDateTime.now().plusNanos(tokenService.getExpirationMs() * 1_000_000);
                     AuthResponseDto authResponse = new AuthResponseDto(token, user, expiresAt);
                     return ResponseEntity.ok(ApiResponseDto.success("Login successful", authResponse));
                 }
@@ -0,0 +1,22 @@
+package com.smartcar.monitoring.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class AlertBulkRequest {
+    
+    @NotEmpty(message = "Alert IDs are required")
+    private List<Long> ids;
+    
+    // Default constructor
+    public AlertBulkRequest() {}
+    
+    // Constructor with IDs
+    public AlertBulkRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+    
+    // Getters and Setters
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+}
@@ -0,0 +1,37 @@
+package com.smartcar.monitoring.dto;
+
+import com.smartcar.monitoring.model.Alert;
+import com.smartcar.monitoring.model.Telemetry;
+
+public class AlertContextDto extends AlertDto {
+    private TelemetryDto telemetry;
+    private String triggerValue;
+    
+    // Default constructor
+    public AlertContextDto() {}
+    
+    // Constructor from Alert entity and the telemetry sample that triggered it
+    public AlertContextDto(Alert alert, Telemetry telemetry) {
+        super(alert);
+        if (telemetry != null) {
+            this.telemetry = new TelemetryDto(telemetry);
+            this.triggerValue = resolveTriggerValue(alert.getType(), telemetry);
+        }
+    }
+    
+    // Render the reading that matches the alert type, e.g. "12%" for LOW_FUEL
+    private static String resolveTriggerValue(String type, Telemetry telemetry) {
+        String t = type != null ? type.toLowerCase() : "";
+        if (t.contains("fuel")) return telemetry.getFuel() + "%";
+        if (t.contains("temp")) return telemetry.getTemperature() + "°C";
+        if (t.contains("speed")) return telemetry.getSpeed() + " km/h";
+        return null;
+    }
+    
+    // Getters and Setters
+    public TelemetryDto getTelemetry() { return telemetry; }
+    public void setTelemetry(TelemetryDto telemetry) { this.telemetry = telemetry; }
+    
+    public String getTriggerValue() { return triggerValue; }
+    public void setTriggerValue(String triggerValue) { this.triggerValue = triggerValue; }
+}
@@ -45,6 +45,20 @@ public class AlertDto {
         // carLicensePlate is not set because Car does not have getLicensePlate()
     }
 
+    // Constructor used by repository projections (no entity is loaded)
+    public AlertDto(Long id, Long carId, String type, Alert.AlertSeverity severity, LocalDateTime timestamp,
+                    Boolean acknowledged, LocalDateTime creationDate, LocalDateTime lastUpdateOn, Boolean isActive) {
+        this.id = id;
+        this.carId = carId;
+        this.type = type;
+        this.severity = severity;
+        this.timestamp = timestamp;
+        this.acknowledged = acknowledged;
+        this.creationDate = creationDate;
+        this.lastUpdateOn = lastUpdateOn;
+        this.isActive = isActive;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
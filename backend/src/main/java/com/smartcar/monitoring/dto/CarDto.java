@@ -28,6 +28,14 @@ public class CarDto {
     @NotBlank(message = "Location is required")
     private String location;
     
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+    
     private Long driverId;
     private String driverName;
     private LocalDateTime creationDate;
@@ -45,6 +53,8 @@ public class CarDto {
         this.fuelLevel = car.getFuelLevel();
         this.temperature = car.getTemperature();
         this.location = car.getLocation();
+        this.latitude = car.getLatitude();
+        this.longitude = car.getLongitude();
         this.creationDate = car.getCreationDate();
         this.lastUpdateOn = car.getLastUpdateOn();
         this.isActive = car.getIsActive();
@@ -64,6 +74,21 @@ public class CarDto {
         this.location = location;
     }
     
+    // Constructor used by repository projections (no entity is loaded)
+    public CarDto(Long id, String status, Integer speed, Integer fuelLevel, Integer temperature, String location,
+                  Double latitude, Double longitude, Long driverId, String driverName, LocalDateTime creationDate,
+                  LocalDateTime lastUpdateOn, Boolean isActive) {
+        this(status, speed, fuelLevel, temperature, location);
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.driverId = driverId;
+        this.driverName = driverName;
+        this.creationDate = creationDate;
+        this.lastUpdateOn = lastUpdateOn;
+        this.isActive = isActive;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -83,6 +108,12 @@ public class CarDto {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public Long getDriverId() { return driverId; }
     public void setDriverId(Long driverId) { this.driverId = driverId; }
     
@@ -0,0 +1,39 @@
+package com.smartcar.monitoring.dto;
+
+import java.time.LocalDateTime;
+
+public class CarPositionDto {
+    private Long carId;
+    private double latitude;
+    private double longitude;
+    private Double distanceKm;
+    private LocalDateTime updatedAt;
+
+    // Default constructor
+    public CarPositionDto() {}
+
+    // Constructor used by the car location index; distanceKm is only set for radius queries
+    public CarPositionDto(Long carId, double latitude, double longitude, Double distanceKm, LocalDateTime updatedAt) {
+        this.carId = carId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distanceKm = distanceKm;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters and Setters
+    public Long getCarId() { return carId; }
+    public void setCarId(Long carId) { this.carId = carId; }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,65 @@
+package com.smartcar.monitoring.dto;
+
+import java.time.LocalDateTime;
+
+public class DriverScoreDto {
+    private Long driverId;
+    private String driverName;
+    private Integer rank;
+    // Null until the driver has been attributed any driving
+    private Double score;
+    private Double drivingSeconds;
+    private Double speedingSeconds;
+    private Double harshEvents;
+    private Double harshEventsPerHour;
+    private Double overheatSeconds;
+    private Long sampleCount;
+    private LocalDateTime lastSampleAt;
+
+    // Default constructor
+    public DriverScoreDto() {}
+
+    public DriverScoreDto(Long driverId) {
+        this.driverId = driverId;
+        this.drivingSeconds = 0.0;
+        this.speedingSeconds = 0.0;
+        this.harshEvents = 0.0;
+        this.harshEventsPerHour = 0.0;
+        this.overheatSeconds = 0.0;
+        this.sampleCount = 0L;
+    }
+
+    // Getters and Setters
+    public Long getDriverId() { return driverId; }
+    public void setDriverId(Long driverId) { this.driverId = driverId; }
+
+    public String getDriverName() { return driverName; }
+    public void setDriverName(String driverName) { this.driverName = driverName; }
+
+    public Integer getRank() { return rank; }
+    public void setRank(Integer rank) { this.rank = rank; }
+
+    public Double getScore() { return score; }
+    public void setScore(Double score) { this.score = score; }
+
+    public Double getDrivingSeconds() { return drivingSeconds; }
+    public void setDrivingSeconds(Double drivingSeconds) { this.drivingSeconds = drivingSeconds; }
+
+    public Double getSpeedingSeconds() { return speedingSeconds; }
+    public void setSpeedingSeconds(Double speedingSeconds) { this.speedingSeconds = speedingSeconds; }
+
+    public Double getHarshEvents() { return harshEvents; }
+    public void setHarshEvents(Double harshEvents) { this.harshEvents = harshEvents; }
+
+    public Double getHarshEventsPerHour() { return harshEventsPerHour; }
+    public void setHarshEventsPerHour(Double harshEventsPerHour) { this.harshEventsPerHour = harshEventsPerHour; }
+
+    public Double getOverheatSeconds() { return overheatSeconds; }
+    public void setOverheatSeconds(Double overheatSeconds) { this.overheatSeconds = overheatSeconds; }
+
+    public Long getSampleCount() { return sampleCount; }
+    public void setSampleCount(Long sampleCount) { this.sampleCount = sampleCount; }
+
+    public LocalDateTime getLastSampleAt() { return lastSampleAt; }
+    public void setLastSampleAt(LocalDateTime lastSampleAt) { this.lastSampleAt = lastSampleAt; }
+}
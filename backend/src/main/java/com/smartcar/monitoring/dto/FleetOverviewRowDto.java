@@ -0,0 +1,77 @@
+package com.smartcar.monitoring.dto;
+
+import java.time.LocalDateTime;
+
+public class FleetOverviewRowDto {
+    private Long id;
+    private Boolean isActive;
+    private String status;
+    private String driverName;
+    private String location;
+    private Integer speed;
+    private Integer fuelLevel;
+    private Integer temperature;
+    private LocalDateTime lastUpdate;
+    private long totalAlerts;
+    private long unacknowledgedAlerts;
+    private long criticalAlerts;
+
+    // Default constructor
+    public FleetOverviewRowDto() {}
+
+    // Constructor used by the fleet overview query; telemetry fields are null for cars that never reported
+    public FleetOverviewRowDto(Long id, Boolean isActive, String status, String driverName,
+                               String location, Integer speed, Integer fuelLevel, Integer temperature,
+                               LocalDateTime lastUpdate, Long totalAlerts, Long unacknowledgedAlerts,
+                               Long criticalAlerts) {
+        this.id = id;
+        this.isActive = isActive;
+        this.status = status;
+        this.driverName = driverName;
+        this.location = location;
+        this.speed = speed;
+        this.fuelLevel = fuelLevel;
+        this.temperature = temperature;
+        this.lastUpdate = lastUpdate;
+        this.totalAlerts = totalAlerts != null ? totalAlerts : 0;
+        this.unacknowledgedAlerts = unacknowledgedAlerts != null ? unacknowledgedAlerts : 0;
+        this.criticalAlerts = criticalAlerts != null ? criticalAlerts : 0;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getDriverName() { return driverName; }
+    public void setDriverName(String driverName) { this.driverName = driverName; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public Integer getSpeed() { return speed; }
+    public void setSpeed(Integer speed) { this.speed = speed; }
+
+    public Integer getFuelLevel() { return fuelLevel; }
+    public void setFuelLevel(Integer fuelLevel) { this.fuelLevel = fuelLevel; }
+
+    public Integer getTemperature() { return temperature; }
+    public void setTemperature(Integer temperature) { this.temperature = temperature; }
+
+    public LocalDateTime getLastUpdate() { return lastUpdate; }
+    public void setLastUpdate(LocalDateTime lastUpdate) { this.lastUpdate = lastUpdate; }
+
+    public long getTotalAlerts() { return totalAlerts; }
+    public void setTotalAlerts(long totalAlerts) { this.totalAlerts = totalAlerts; }
+
+    public long getUnacknowledgedAlerts() { return unacknowledgedAlerts; }
+    public void setUnacknowledgedAlerts(long unacknowledgedAlerts) { this.unacknowledgedAlerts = unacknowledgedAlerts; }
+
+    public long getCriticalAlerts() { return criticalAlerts; }
+    public void setCriticalAlerts(long criticalAlerts) { this.criticalAlerts = criticalAlerts; }
+}
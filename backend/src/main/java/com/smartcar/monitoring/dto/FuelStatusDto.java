@@ -0,0 +1,65 @@
+package com.smartcar.monitoring.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Smoothed fuel estimate for a car; level and rates are percentage points of the tank
+public class FuelStatusDto {
+    private Long carId;
+    private Double level;
+    private Integer lastReading;
+    private Double consumptionPerHour;
+    private Double consumed;
+    // Null while the car is not burning enough fuel (or has too few readings) to project
+    private Double minutesToEmpty;
+    private LocalDateTime projectedEmptyAt;
+    private Integer sampleCount;
+    private LocalDateTime lastSampleAt;
+    private Integer refuelCount;
+    private List<RefuelEventDto> recentRefuels;
+
+    // Default constructor
+    public FuelStatusDto() {}
+
+    public FuelStatusDto(Long carId) {
+        this.carId = carId;
+        this.sampleCount = 0;
+        this.refuelCount = 0;
+        this.recentRefuels = new ArrayList<>();
+    }
+
+    // Getters and Setters
+    public Long getCarId() { return carId; }
+    public void setCarId(Long carId) { this.carId = carId; }
+
+    public Double getLevel() { return level; }
+    public void setLevel(Double level) { this.level = level; }
+
+    public Integer getLastReading() { return lastReading; }
+    public void setLastReading(Integer lastReading) { this.lastReading = lastReading; }
+
+    public Double getConsumptionPerHour() { return consumptionPerHour; }
+    public void setConsumptionPerHour(Double consumptionPerHour) { this.consumptionPerHour = consumptionPerHour; }
+
+    public Double getConsumed() { return consumed; }
+    public void setConsumed(Double consumed) { this.consumed = consumed; }
+
+    public Double getMinutesToEmpty() { return minutesToEmpty; }
+    public void setMinutesToEmpty(Double minutesToEmpty) { this.minutesToEmpty = minutesToEmpty; }
+
+    public LocalDateTime getProjectedEmptyAt() { return projectedEmptyAt; }
+    public void setProjectedEmptyAt(LocalDateTime projectedEmptyAt) { this.projectedEmptyAt = projectedEmptyAt; }
+
+    public Integer getSampleCount() { return sampleCount; }
+    public void setSampleCount(Integer sampleCount) { this.sampleCount = sampleCount; }
+
+    public LocalDateTime getLastSampleAt() { return lastSampleAt; }
+    public void setLastSampleAt(LocalDateTime lastSampleAt) { this.lastSampleAt = lastSampleAt; }
+
+    public Integer getRefuelCount() { return refuelCount; }
+    public void setRefuelCount(Integer refuelCount) { this.refuelCount = refuelCount; }
+
+    public List<RefuelEventDto> getRecentRefuels() { return recentRefuels; }
+    public void setRecentRefuels(List<RefuelEventDto> recentRefuels) { this.recentRefuels = recentRefuels; }
+}
@@ -0,0 +1,98 @@
+package com.smartcar.monitoring.dto;
+
+import com.smartcar.monitoring.model.Geofence;
+import com.smartcar.monitoring.model.Geofence.GeofenceCategory;
+import com.smartcar.monitoring.model.Geofence.GeofenceShape;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class GeofenceDto {
+    private Long id;
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    private String name;
+
+    @NotNull(message = "Shape is required")
+    private GeofenceShape shape;
+
+    @NotNull(message = "Category is required")
+    private GeofenceCategory category;
+
+    private Double centerLatitude;
+    private Double centerLongitude;
+    private Double radiusKm;
+
+    // Polygon vertices as [latitude, longitude] pairs
+    private List<double[]> vertices;
+
+    private LocalDateTime creationDate;
+    private LocalDateTime lastUpdateOn;
+    private Boolean isActive;
+
+    // Default constructor
+    public GeofenceDto() {}
+
+    // Constructor from Geofence entity
+    public GeofenceDto(Geofence geofence) {
+        this.id = geofence.getId();
+        this.name = geofence.getName();
+        this.shape = geofence.getShape();
+        this.category = geofence.getCategory();
+        this.centerLatitude = geofence.getCenterLatitude();
+        this.centerLongitude = geofence.getCenterLongitude();
+        this.radiusKm = geofence.getRadiusKm();
+        this.vertices = geofence.getShape() == GeofenceShape.POLYGON ? geofence.getVertexList() : null;
+        this.creationDate = geofence.getCreationDate();
+        this.lastUpdateOn = geofence.getLastUpdateOn();
+        this.isActive = geofence.getIsActive();
+    }
+
+    // Entity with the fields a client may set
+    public Geofence toEntity() {
+        Geofence geofence = new Geofence();
+        geofence.setName(name);
+        geofence.setShape(shape);
+        geofence.setCategory(category);
+        geofence.setCenterLatitude(centerLatitude);
+        geofence.setCenterLongitude(centerLongitude);
+        geofence.setRadiusKm(radiusKm);
+        geofence.setVertexList(vertices);
+        return geofence;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public GeofenceShape getShape() { return shape; }
+    public void setShape(GeofenceShape shape) { this.shape = shape; }
+
+    public GeofenceCategory getCategory() { return category; }
+    public void setCategory(GeofenceCategory category) { this.category = category; }
+
+    public Double getCenterLatitude() { return centerLatitude; }
+    public void setCenterLatitude(Double centerLatitude) { this.centerLatitude = centerLatitude; }
+
+    public Double getCenterLongitude() { return centerLongitude; }
+    public void setCenterLongitude(Double centerLongitude) { this.centerLongitude = centerLongitude; }
+
+    public Double getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(Double radiusKm) { this.radiusKm = radiusKm; }
+
+    public List<double[]> getVertices() { return vertices; }
+    public void setVertices(List<double[]> vertices) { this.vertices = vertices; }
+
+    public LocalDateTime getCreationDate() { return creationDate; }
+    public void setCreationDate(LocalDateTime creationDate) { this.creationDate = creationDate; }
+
+    public LocalDateTime getLastUpdateOn() { return lastUpdateOn; }
+    public void setLastUpdateOn(LocalDateTime lastUpdateOn) { this.lastUpdateOn = lastUpdateOn; }
+
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+}
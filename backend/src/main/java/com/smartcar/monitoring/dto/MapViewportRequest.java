@@ -0,0 +1,43 @@
+package com.smartcar.monitoring.dto;
+
+import java.util.List;
+
+public class MapViewportRequest {
+    private Double minLat;
+    private Double minLon;
+    private Double maxLat;
+    private Double maxLon;
+    private List<Long> carIds;
+    
+    // Default constructor
+    public MapViewportRequest() {}
+    
+    // Constructor for bounding box
+    public MapViewportRequest(Double minLat, Double minLon, Double maxLat, Double maxLon) {
+        this.minLat = minLat;
+        this.minLon = minLon;
+        this.maxLat = maxLat;
+        this.maxLon = maxLon;
+    }
+    
+    // True when all four corners are present
+    public boolean hasBoundingBox() {
+        return minLat != null && minLon != null && maxLat != null && maxLon != null;
+    }
+    
+    // Getters and Setters
+    public Double getMinLat() { return minLat; }
+    public void setMinLat(Double minLat) { this.minLat = minLat; }
+    
+    public Double getMinLon() { return minLon; }
+    public void setMinLon(Double minLon) { this.minLon = minLon; }
+    
+    public Double getMaxLat() { return maxLat; }
+    public void setMaxLat(Double maxLat) { this.maxLat = maxLat; }
+    
+    public Double getMaxLon() { return maxLon; }
+    public void setMaxLon(Double maxLon) { this.maxLon = maxLon; }
+    
+    public List<Long> getCarIds() { return carIds; }
+    public void setCarIds(List<Long> carIds) { this.carIds = carIds; }
+}
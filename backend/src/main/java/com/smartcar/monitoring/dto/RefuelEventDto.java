@@ -0,0 +1,33 @@
+package com.smartcar.monitoring.dto;
+
+import java.time.LocalDateTime;
+
+public class RefuelEventDto {
+    private LocalDateTime timestamp;
+    private Double fromLevel;
+    private Double toLevel;
+    private Double amount;
+
+    // Default constructor
+    public RefuelEventDto() {}
+
+    public RefuelEventDto(LocalDateTime timestamp, double fromLevel, double toLevel) {
+        this.timestamp = timestamp;
+        this.fromLevel = Math.round(fromLevel * 10) / 10.0;
+        this.toLevel = Math.round(toLevel * 10) / 10.0;
+        this.amount = Math.round((toLevel - fromLevel) * 10) / 10.0;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+    public Double getFromLevel() { return fromLevel; }
+    public void setFromLevel(Double fromLevel) { this.fromLevel = fromLevel; }
+
+    public Double getToLevel() { return toLevel; }
+    public void setToLevel(Double toLevel) { this.toLevel = toLevel; }
+
+    public Double getAmount() { return amount; }
+    public void setAmount(Double amount) { this.amount = amount; }
+}
@@ -0,0 +1,44 @@
+package com.smartcar.monitoring.dto;
+
+// Per-car moments of the recent telemetry, used to seed the anomaly baselines
+public class TelemetryBaselineDto {
+    private Long carId;
+    private Long sampleCount;
+    private Double speedMean;
+    private Double speedSquareMean;
+    private Double temperatureMean;
+    private Double temperatureSquareMean;
+
+    // Default constructor
+    public TelemetryBaselineDto() {}
+
+    // Constructor used by repository projections
+    public TelemetryBaselineDto(Long carId, Long sampleCount, Double speedMean, Double speedSquareMean,
+                                Double temperatureMean, Double temperatureSquareMean) {
+        this.carId = carId;
+        this.sampleCount = sampleCount;
+        this.speedMean = speedMean;
+        this.speedSquareMean = speedSquareMean;
+        this.temperatureMean = temperatureMean;
+        this.temperatureSquareMean = temperatureSquareMean;
+    }
+
+    // Getters and Setters
+    public Long getCarId() { return carId; }
+    public void setCarId(Long carId) { this.carId = carId; }
+
+    public Long getSampleCount() { return sampleCount; }
+    public void setSampleCount(Long sampleCount) { this.sampleCount = sampleCount; }
+
+    public Double getSpeedMean() { return speedMean; }
+    public void setSpeedMean(Double speedMean) { this.speedMean = speedMean; }
+
+    public Double getSpeedSquareMean() { return speedSquareMean; }
+    public void setSpeedSquareMean(Double speedSquareMean) { this.speedSquareMean = speedSquareMean; }
+
+    public Double getTemperatureMean() { return temperatureMean; }
+    public void setTemperatureMean(Double temperatureMean) { this.temperatureMean = temperatureMean; }
+
+    public Double getTemperatureSquareMean() { return temperatureSquareMean; }
+    public void setTemperatureSquareMean(Double temperatureSquareMean) { this.temperatureSquareMean = temperatureSquareMean; }
+}
@@ -28,6 +28,14 @@ public class TelemetryDto {
     @NotBlank(message = "Location is required")
     private String location;
     
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+    
     @NotNull(message = "Timestamp is required")
     private LocalDateTime timestamp;
     
@@ -46,6 +54,8 @@ public class TelemetryDto {
         this.fuelLevel = telemetry.getFuel();
         this.temperature = telemetry.getTemperature();
         this.location = telemetry.getLocation();
+        this.latitude = telemetry.getLatitude();
+        this.longitude = telemetry.getLongitude();
         this.timestamp = telemetry.getTimestamp();
         this.creationDate = telemetry.getCreationDate();
         this.lastUpdateOn = telemetry.getLastUpdateOn();
@@ -63,6 +73,19 @@ public class TelemetryDto {
         this.timestamp = timestamp;
     }
     
+    // Constructor used by repository projections (no entity is loaded)
+    public TelemetryDto(Long id, Long carId, Integer speed, Integer fuelLevel, Integer temperature,
+                       String location, Double latitude, Double longitude, LocalDateTime timestamp,
+                       LocalDateTime creationDate, LocalDateTime lastUpdateOn, Boolean isActive) {
+        this(carId, speed, fuelLevel, temperature, location, timestamp);
+        this.id = id;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.creationDate = creationDate;
+        this.lastUpdateOn = lastUpdateOn;
+        this.isActive = isActive;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -82,6 +105,12 @@ public class TelemetryDto {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
     
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    
     public LocalDateTime getTimestamp() { return timestamp; }
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
     
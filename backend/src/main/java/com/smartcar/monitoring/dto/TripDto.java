@@ -0,0 +1,76 @@
+package com.smartcar.monitoring.dto;
+
+import java.time.LocalDateTime;
+
+public class TripDto {
+    private Long id;
+    private Long carId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private boolean open;
+    private Long durationSeconds;
+    private Double distanceKm;
+    private Integer maxSpeed;
+    private Double avgSpeed;
+    private Integer fuelUsed;
+    private Integer alertCount;
+    private Integer sampleCount;
+
+    // Default constructor
+    public TripDto() {}
+
+    // Constructor used by repository projections (no entity is loaded)
+    public TripDto(Long id, Long carId, LocalDateTime startTime, LocalDateTime endTime, Long durationSeconds,
+                   Double distanceKm, Integer maxSpeed, Double avgSpeed, Integer fuelUsed, Integer alertCount,
+                   Integer sampleCount) {
+        this.id = id;
+        this.carId = carId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.open = endTime == null;
+        this.durationSeconds = durationSeconds;
+        this.distanceKm = distanceKm;
+        this.maxSpeed = maxSpeed;
+        this.avgSpeed = avgSpeed;
+        this.fuelUsed = fuelUsed;
+        this.alertCount = alertCount;
+        this.sampleCount = sampleCount;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getCarId() { return carId; }
+    public void setCarId(Long carId) { this.carId = carId; }
+
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+
+    public boolean isOpen() { return open; }
+    public void setOpen(boolean open) { this.open = open; }
+
+    public Long getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(Long durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+
+    public Integer getMaxSpeed() { return maxSpeed; }
+    public void setMaxSpeed(Integer maxSpeed) { this.maxSpeed = maxSpeed; }
+
+    public Double getAvgSpeed() { return avgSpeed; }
+    public void setAvgSpeed(Double avgSpeed) { this.avgSpeed = avgSpeed; }
+
+    public Integer getFuelUsed() { return fuelUsed; }
+    public void setFuelUsed(Integer fuelUsed) { this.fuelUsed = fuelUsed; }
+
+    public Integer getAlertCount() { return alertCount; }
+    public void setAlertCount(Integer alertCount) { this.alertCount = alertCount; }
+
+    public Integer getSampleCount() { return sampleCount; }
+    public void setSampleCount(Integer sampleCount) { this.sampleCount = sampleCount; }
+}
@@ -0,0 +1,23 @@
+package com.smartcar.monitoring.dto;
+
+// One value of a reading and how many telemetry records have it, used to build histograms in the database
+public class ValueCountDto {
+    private Integer value;
+    private Long count;
+
+    // Default constructor
+    public ValueCountDto() {}
+
+    // Constructor used by repository projections
+    public ValueCountDto(Integer value, Long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public Integer getValue() { return value; }
+    public void setValue(Integer value) { this.value = value; }
+
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+}
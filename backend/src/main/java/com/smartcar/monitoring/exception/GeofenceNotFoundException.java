@@ -0,0 +1,12 @@
+package com.smartcar.monitoring.exception;
+
+public class GeofenceNotFoundException extends RuntimeException {
+    
+    public GeofenceNotFoundException(String message) {
+        super(message);
+    }
+    
+    public GeofenceNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
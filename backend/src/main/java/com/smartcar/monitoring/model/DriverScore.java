@@ -0,0 +1,165 @@
+package com.smartcar.monitoring.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+// Checkpoint of a driver's decayed behaviour aggregates, written periodically by DriverScoreService
+@Entity
+@Table(name = "driver_scores")
+public class DriverScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "driver_id", nullable = false, unique = true)
+    @NotNull(message = "Driver is required")
+    private Driver driver;
+
+    @Column(name = "score", nullable = false)
+    private Double score = 100.0;
+
+    @Column(name = "driving_seconds", nullable = false)
+    private Double drivingSeconds = 0.0;
+
+    @Column(name = "speeding_seconds", nullable = false)
+    private Double speedingSeconds = 0.0;
+
+    @Column(name = "harsh_events", nullable = false)
+    private Double harshEvents = 0.0;
+
+    @Column(name = "overheat_seconds", nullable = false)
+    private Double overheatSeconds = 0.0;
+
+    @Column(name = "sample_count", nullable = false)
+    private Long sampleCount = 0L;
+
+    // Time the aggregates were last decayed to
+    @Column(name = "decayed_at", nullable = false)
+    private LocalDateTime decayedAt;
+
+    @Column(name = "creation_date", nullable = false)
+    private LocalDateTime creationDate;
+
+    @Column(name = "last_update_on")
+    private LocalDateTime lastUpdateOn;
+
+    // Constructors
+    public DriverScore() {
+        this.creationDate = LocalDateTime.now();
+        this.lastUpdateOn = LocalDateTime.now();
+        this.decayedAt = LocalDateTime.now();
+    }
+
+    public DriverScore(Driver driver) {
+        this();
+        this.driver = driver;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Driver getDriver() {
+        return driver;
+    }
+
+    public void setDriver(Driver driver) {
+        this.driver = driver;
+    }
+
+    public Double getScore() {
+        return score;
+    }
+
+    public void setScore(Double score) {
+        this.score = score;
+    }
+
+    public Double getDrivingSeconds() {
+        return drivingSeconds;
+    }
+
+    public void setDrivingSeconds(Double drivingSeconds) {
+        this.drivingSeconds = drivingSeconds;
+    }
+
+    public Double getSpeedingSeconds() {
+        return speedingSeconds;
+    }
+
+    public void setSpeedingSeconds(Double speedingSeconds) {
+        this.speedingSeconds = speedingSeconds;
+    }
+
+    public Double getHarshEvents() {
+        return harshEvents;
+    }
+
+    public void setHarshEvents(Double harshEvents) {
+        this.harshEvents = harshEvents;
+    }
+
+    public Double getOverheatSeconds() {
+        return overheatSeconds;
+    }
+
+    public void setOverheatSeconds(Double overheatSeconds) {
+        this.overheatSeconds = overheatSeconds;
+    }
+
+    public Long getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(Long sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public LocalDateTime getDecayedAt() {
+        return decayedAt;
+    }
+
+    public void setDecayedAt(LocalDateTime decayedAt) {
+        this.decayedAt = decayedAt;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public LocalDateTime getLastUpdateOn() {
+        return lastUpdateOn;
+    }
+
+    public void setLastUpdateOn(LocalDateTime lastUpdateOn) {
+        this.lastUpdateOn = lastUpdateOn;
+    }
+
+    // Pre-update hook
+    @PreUpdate
+    public void preUpdate() {
+        this.lastUpdateOn = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "DriverScore{" +
+                "id=" + id +
+                ", driverId=" + (driver != null ? driver.getId() : null) +
+                ", score=" + score +
+                ", drivingSeconds=" + drivingSeconds +
+                '}';
+    }
+}
@@ -0,0 +1,222 @@
+package com.smartcar.monitoring.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "geofences")
+public class Geofence {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 100)
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @NotNull(message = "Shape is required")
+    private GeofenceShape shape;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    @NotNull(message = "Category is required")
+    private GeofenceCategory category;
+
+    // Circle: centre and radius
+    @Column(name = "center_latitude")
+    private Double centerLatitude;
+
+    @Column(name = "center_longitude")
+    private Double centerLongitude;
+
+    @Column(name = "radius_km")
+    private Double radiusKm;
+
+    // Polygon: "lat lon,lat lon,..." without repeating the first vertex
+    @Column(length = 10000)
+    private String vertices;
+
+    @Column(name = "creation_date", nullable = false)
+    private LocalDateTime creationDate;
+
+    @Column(name = "last_update_on")
+    private LocalDateTime lastUpdateOn;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    // Enums
+    public enum GeofenceShape {
+        CIRCLE, POLYGON
+    }
+
+    public enum GeofenceCategory {
+        DEPOT, CITY, RESTRICTED
+    }
+
+    // Constructors
+    public Geofence() {
+        this.creationDate = LocalDateTime.now();
+        this.lastUpdateOn = LocalDateTime.now();
+        this.isActive = true;
+    }
+
+    public static Geofence circle(String name, GeofenceCategory category, double latitude, double longitude, double radiusKm) {
+        Geofence geofence = new Geofence();
+        geofence.setName(name);
+        geofence.setShape(GeofenceShape.CIRCLE);
+        geofence.setCategory(category);
+        geofence.setCenterLatitude(latitude);
+        geofence.setCenterLongitude(longitude);
+        geofence.setRadiusKm(radiusKm);
+        return geofence;
+    }
+
+    public static Geofence polygon(String name, GeofenceCategory category, List<double[]> vertices) {
+        Geofence geofence = new Geofence();
+        geofence.setName(name);
+        geofence.setShape(GeofenceShape.POLYGON);
+        geofence.setCategory(category);
+        geofence.setVertexList(vertices);
+        return geofence;
+    }
+
+    // Polygon vertices as [latitude, longitude] pairs
+    public List<double[]> getVertexList() {
+        List<double[]> result = new ArrayList<>();
+        if (vertices == null || vertices.isBlank()) {
+            return result;
+        }
+        for (String vertex : vertices.split(",")) {
+            String[] parts = vertex.trim().split("\\s+");
+            result.add(new double[]{Double.parseDouble(parts[0]), Double.parseDouble(parts[1])});
+        }
+        return result;
+    }
+
+    public void setVertexList(List<double[]> vertexList) {
+        if (vertexList == null || vertexList.isEmpty()) {
+            this.vertices = null;
+            return;
+        }
+        StringBuilder builder = new StringBuilder();
+        for (double[] vertex : vertexList) {
+            if (builder.length() > 0) builder.append(',');
+            builder.append(vertex[0]).append(' ').append(vertex[1]);
+        }
+        this.vertices = builder.toString();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public GeofenceShape getShape() {
+        return shape;
+    }
+
+    public void setShape(GeofenceShape shape) {
+        this.shape = shape;
+    }
+
+    public GeofenceCategory getCategory() {
+        return category;
+    }
+
+    public void setCategory(GeofenceCategory category) {
+        this.category = category;
+    }
+
+    public Double getCenterLatitude() {
+        return centerLatitude;
+    }
+
+    public void setCenterLatitude(Double centerLatitude) {
+        this.centerLatitude = centerLatitude;
+    }
+
+    public Double getCenterLongitude() {
+        return centerLongitude;
+    }
+
+    public void setCenterLongitude(Double centerLongitude) {
+        this.centerLongitude = centerLongitude;
+    }
+
+    public Double getRadiusKm() {
+        return radiusKm;
+    }
+
+    public void setRadiusKm(Double radiusKm) {
+        this.radiusKm = radiusKm;
+    }
+
+    public String getVertices() {
+        return vertices;
+    }
+
+    public void setVertices(String vertices) {
+        this.vertices = vertices;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public LocalDateTime getLastUpdateOn() {
+        return lastUpdateOn;
+    }
+
+    public void setLastUpdateOn(LocalDateTime lastUpdateOn) {
+        this.lastUpdateOn = lastUpdateOn;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    // Pre-update hook
+    @PreUpdate
+    public void preUpdate() {
+        this.lastUpdateOn = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "Geofence{" +
+                "id=" + id +
+                ", name='" + name + '\'' +
+                ", shape=" + shape +
+                ", category=" + category +
+                ", isActive=" + isActive +
+                '}';
+    }
+}
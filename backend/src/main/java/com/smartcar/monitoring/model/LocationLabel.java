@@ -0,0 +1,50 @@
+package com.smartcar.monitoring.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+
+// One row per distinct location label; telemetry rows reference it by ID (see LocationDictionary)
+@Entity
+@Table(name = "locations")
+public class LocationLabel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(nullable = false, unique = true)
+    @NotBlank(message = "Label is required")
+    private String label;
+
+    // Constructors
+    public LocationLabel() {}
+
+    public LocationLabel(String label) {
+        this.label = label;
+    }
+
+    // Getters and Setters
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    @Override
+    public String toString() {
+        return "LocationLabel{" +
+                "id=" + id +
+                ", label='" + label + '\'' +
+                '}';
+    }
+}
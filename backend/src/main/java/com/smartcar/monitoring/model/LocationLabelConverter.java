@@ -0,0 +1,28 @@
+package com.smartcar.monitoring.model;
+
+import com.smartcar.monitoring.service.LocationDictionary;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+// Stores a location label as its dictionary ID. Hibernate obtains this converter from Spring while
+// the EntityManagerFactory is still being built, so the dictionary (which needs it) is injected lazily.
+// Lookups are in memory only: services intern new labels before persisting (see LocationDictionary).
+@Converter
+public class LocationLabelConverter implements AttributeConverter<String, Integer> {
+
+    @Autowired
+    @Lazy
+    private LocationDictionary locationDictionary;
+
+    @Override
+    public Integer convertToDatabaseColumn(String label) {
+        return locationDictionary.idFor(label);
+    }
+
+    @Override
+    public String convertToEntityAttribute(Integer id) {
+        return locationDictionary.labelFor(id);
+    }
+}
@@ -36,10 +36,23 @@ public class Telemetry {
     @Max(value = 60, message = "Temperature cannot exceed 60°C")
     private Integer temperature;
     
-    @Column(nullable = false)
+    // Stored as an ID into the locations table; the label is interned
+    @Column(name = "location_id", nullable = false)
+    @Convert(converter = LocationLabelConverter.class)
     @NotBlank(message = "Location is required")
     private String location;
     
+    // Coordinates of the position; the location label is kept for display
+    @Column
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+    
+    @Column
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+    
     @Column(name = "creation_date", nullable = false)
     private LocalDateTime creationDate;
     
@@ -123,6 +136,22 @@ public class Telemetry {
         this.location = location;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public LocalDateTime getCreationDate() {
         return creationDate;
     }
@@ -0,0 +1,205 @@
+package com.smartcar.monitoring.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "trips")
+public class Trip {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "car_id", nullable = false)
+    @NotNull(message = "Car is required")
+    private Car car;
+
+    @Column(name = "start_time", nullable = false)
+    @NotNull(message = "Start time is required")
+    private LocalDateTime startTime;
+
+    // Null while the trip is open
+    @Column(name = "end_time")
+    private LocalDateTime endTime;
+
+    @Column(name = "duration_seconds", nullable = false)
+    private Long durationSeconds = 0L;
+
+    @Column(name = "distance_km", nullable = false)
+    private Double distanceKm = 0.0;
+
+    @Column(name = "max_speed", nullable = false)
+    private Integer maxSpeed = 0;
+
+    @Column(name = "avg_speed", nullable = false)
+    private Double avgSpeed = 0.0;
+
+    @Column(name = "fuel_used", nullable = false)
+    private Integer fuelUsed = 0;
+
+    @Column(name = "alert_count", nullable = false)
+    private Integer alertCount = 0;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount = 0;
+
+    @Column(name = "creation_date", nullable = false)
+    private LocalDateTime creationDate;
+
+    @Column(name = "last_update_on")
+    private LocalDateTime lastUpdateOn;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    // Constructors
+    public Trip() {
+        this.creationDate = LocalDateTime.now();
+        this.lastUpdateOn = LocalDateTime.now();
+        this.isActive = true;
+    }
+
+    public Trip(Car car, LocalDateTime startTime) {
+        this();
+        this.car = car;
+        this.startTime = startTime;
+    }
+
+    public boolean isOpen() {
+        return endTime == null;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Car getCar() {
+        return car;
+    }
+
+    public void setCar(Car car) {
+        this.car = car;
+    }
+
+    public LocalDateTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalDateTime endTime) {
+        this.endTime = endTime;
+    }
+
+    public Long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(Long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public Double getDistanceKm() {
+        return distanceKm;
+    }
+
+    public void setDistanceKm(Double distanceKm) {
+        this.distanceKm = distanceKm;
+    }
+
+    public Integer getMaxSpeed() {
+        return maxSpeed;
+    }
+
+    public void setMaxSpeed(Integer maxSpeed) {
+        this.maxSpeed = maxSpeed;
+    }
+
+    public Double getAvgSpeed() {
+        return avgSpeed;
+    }
+
+    public void setAvgSpeed(Double avgSpeed) {
+        this.avgSpeed = avgSpeed;
+    }
+
+    public Integer getFuelUsed() {
+        return fuelUsed;
+    }
+
+    public void setFuelUsed(Integer fuelUsed) {
+        this.fuelUsed = fuelUsed;
+    }
+
+    public Integer getAlertCount() {
+        return alertCount;
+    }
+
+    public void setAlertCount(Integer alertCount) {
+        this.alertCount = alertCount;
+    }
+
+    public Integer getSampleCount() {
+        return sampleCount;
+    }
+
+    public void setSampleCount(Integer sampleCount) {
+        this.sampleCount = sampleCount;
+    }
+
+    public LocalDateTime getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDateTime creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public LocalDateTime getLastUpdateOn() {
+        return lastUpdateOn;
+    }
+
+    public void setLastUpdateOn(LocalDateTime lastUpdateOn) {
+        this.lastUpdateOn = lastUpdateOn;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+
+    // Pre-update hook
+    @PreUpdate
+    public void preUpdate() {
+        this.lastUpdateOn = LocalDateTime.now();
+    }
+
+    @Override
+    public String toString() {
+        return "Trip{" +
+                "id=" + id +
+                ", carId=" + (car != null ? car.getId() : null) +
+                ", startTime=" + startTime +
+                ", endTime=" + endTime +
+                ", distanceKm=" + distanceKm +
+                ", isActive=" + isActive +
+                '}';
+    }
+}
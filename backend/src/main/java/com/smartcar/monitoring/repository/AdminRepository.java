@@ -1,6 +1,7 @@
 package com.smartcar.monitoring.repository;
 
 import com.smartcar.monitoring.model.Admin;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,16 +13,20 @@ import java.util.Optional;
 @Repository
 public interface AdminRepository extends JpaRepository<Admin, Long> {
     
-    // Find by user ID
+    // Find by user ID, with the user loaded (cached lookups outlive the session)
+    @EntityGraph(attributePaths = "user")
     Optional<Admin> findByUserId(Long userId);
     
     // Find all active admins
+    @EntityGraph(attributePaths = "user")
     List<Admin> findByIsActiveTrue();
     
     // Find admins by permissions
+    @EntityGraph(attributePaths = "user")
     List<Admin> findByPermissionsContainingAndIsActiveTrue(String permission);
     
     // Find admins created in date range
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT a FROM Admin a WHERE a.creationDate BETWEEN :startDate AND :endDate AND a.isActive = true")
     List<Admin> findAdminsCreatedBetween(@Param("startDate") java.time.LocalDateTime startDate, 
                                         @Param("endDate") java.time.LocalDateTime endDate);
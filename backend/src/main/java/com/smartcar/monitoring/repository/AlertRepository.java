@@ -1,8 +1,11 @@
 package com.smartcar.monitoring.repository;
 
+import com.smartcar.monitoring.dto.AlertDto;
 import com.smartcar.monitoring.model.Alert;
 import com.smartcar.monitoring.model.Alert.AlertSeverity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,8 +16,13 @@ import java.util.List;
 @Repository
 public interface AlertRepository extends JpaRepository<Alert, Long> {
     
-    // Find by car ID
-    List<Alert> findByCarIdAndIsActiveTrue(Long carId);
+    // Select clause for read paths that return DTOs directly, without managed entities
+    String DTO_SELECT = "SELECT new com.smartcar.monitoring.dto.AlertDto(a.id, a.car.id, a.type, a.severity, a.timestamp, " +
+                        "a.acknowledged, a.creationDate, a.lastUpdateOn, a.isActive) FROM Alert a ";
+    
+    // Find by car ID (explicit queries for the per-car finders: the derived form joins cars to compare car.id)
+    @Query("SELECT a FROM Alert a WHERE a.car.id = :carId AND a.isActive = true")
+    List<Alert> findByCarIdAndIsActiveTrue(@Param("carId") Long carId);
     
     // Find by alert type
     List<Alert> findByTypeAndIsActiveTrue(String type);
@@ -29,13 +37,17 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     List<Alert> findByTimestampBetweenAndIsActiveTrue(LocalDateTime startTime, LocalDateTime endTime);
     
     // Find by car ID and timestamp range
-    List<Alert> findByCarIdAndTimestampBetweenAndIsActiveTrue(Long carId, LocalDateTime startTime, LocalDateTime endTime);
+    @Query("SELECT a FROM Alert a WHERE a.car.id = :carId AND a.timestamp BETWEEN :startTime AND :endTime AND a.isActive = true")
+    List<Alert> findByCarIdAndTimestampBetweenAndIsActiveTrue(@Param("carId") Long carId,
+                                                              @Param("startTime") LocalDateTime startTime,
+                                                              @Param("endTime") LocalDateTime endTime);
     
     // Find unacknowledged alerts
     List<Alert> findByAcknowledgedFalseAndIsActiveTrue();
     
     // Find unacknowledged alerts by car
-    List<Alert> findByCarIdAndAcknowledgedFalseAndIsActiveTrue(Long carId);
+    @Query("SELECT a FROM Alert a WHERE a.car.id = :carId AND a.acknowledged = false AND a.isActive = true")
+    List<Alert> findByCarIdAndAcknowledgedFalseAndIsActiveTrue(@Param("carId") Long carId);
     
     // Find unacknowledged alerts by severity
     List<Alert> findBySeverityAndAcknowledgedFalseAndIsActiveTrue(AlertSeverity severity);
@@ -52,14 +64,44 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     @Query("SELECT a FROM Alert a WHERE a.severity IN ('HIGH', 'CRITICAL') AND a.isActive = true")
     List<Alert> findCriticalAlerts();
     
+    // Projections: all active alerts, by car, unacknowledged, critical
+    @Query(DTO_SELECT + "WHERE a.isActive = true")
+    List<AlertDto> findActiveDtos();
+    
+    @Query(DTO_SELECT + "WHERE a.car.id = :carId AND a.isActive = true")
+    List<AlertDto> findDtosByCarId(@Param("carId") Long carId);
+    
+    @Query(DTO_SELECT + "WHERE a.acknowledged = false AND a.isActive = true")
+    List<AlertDto> findUnacknowledgedDtos();
+    
+    @Query(DTO_SELECT + "WHERE a.severity IN ('HIGH', 'CRITICAL') AND a.isActive = true")
+    List<AlertDto> findCriticalDtos();
+    
+    // Find alerts with the telemetry sample that triggered them (latest sample at or before the alert)
+    @Query("SELECT a, t FROM Alert a LEFT JOIN Telemetry t ON t.id = " +
+           "(SELECT MAX(t2.id) FROM Telemetry t2 WHERE t2.car.id = a.car.id AND t2.timestamp <= a.timestamp AND t2.isActive = true) " +
+           "WHERE a.isActive = true AND (:carId IS NULL OR a.car.id = :carId) " +
+           "AND a.timestamp BETWEEN :startTime AND :endTime ORDER BY a.timestamp DESC")
+    List<Object[]> findAlertsWithTelemetryContext(@Param("carId") Long carId,
+                                                  @Param("startTime") LocalDateTime startTime,
+                                                  @Param("endTime") LocalDateTime endTime,
+                                                  Pageable pageable);
+    
     // Find alerts by car and severity
-    List<Alert> findByCarIdAndSeverityAndIsActiveTrue(Long carId, AlertSeverity severity);
+    @Query("SELECT a FROM Alert a WHERE a.car.id = :carId AND a.severity = :severity AND a.isActive = true")
+    List<Alert> findByCarIdAndSeverityAndIsActiveTrue(@Param("carId") Long carId, @Param("severity") AlertSeverity severity);
     
     // Find alerts by car and type
-    List<Alert> findByCarIdAndTypeAndIsActiveTrue(Long carId, String type);
+    @Query("SELECT a FROM Alert a WHERE a.car.id = :carId AND a.type = :type AND a.isActive = true")
+    List<Alert> findByCarIdAndTypeAndIsActiveTrue(@Param("carId") Long carId, @Param("type") String type);
+    
+    // Count unacknowledged alerts by car
+    @Query("SELECT COUNT(a) FROM Alert a WHERE a.car.id = :carId AND a.acknowledged = false AND a.isActive = true")
+    long countByCarIdAndAcknowledgedFalseAndIsActiveTrue(@Param("carId") Long carId);
     
     // Count alerts by car
-    long countByCarIdAndIsActiveTrue(Long carId);
+    @Query("SELECT COUNT(a) FROM Alert a WHERE a.car.id = :carId AND a.isActive = true")
+    long countByCarIdAndIsActiveTrue(@Param("carId") Long carId);
     
     // Count total active alerts
     long countByIsActiveTrue();
@@ -78,4 +120,36 @@ public interface AlertRepository extends JpaRepository<Alert, Long> {
     
     // Count critical alerts
     long countBySeverityInAndIsActiveTrue(List<AlertSeverity> severities);
+    
+    // Bulk acknowledge alerts by ID list
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Alert a SET a.acknowledged = true, a.lastUpdateOn = :now WHERE a.id IN :ids AND a.acknowledged = false AND a.isActive = true")
+    int acknowledgeByIds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+    
+    // Bulk acknowledge alerts by car
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Alert a SET a.acknowledged = true, a.lastUpdateOn = :now WHERE a.car.id = :carId AND a.acknowledged = false AND a.isActive = true")
+    int acknowledgeByCarId(@Param("carId") Long carId, @Param("now") LocalDateTime now);
+    
+    // Bulk acknowledge alerts by type
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Alert a SET a.acknowledged = true, a.lastUpdateOn = :now WHERE a.type = :type AND a.acknowledged = false AND a.isActive = true")
+    int acknowledgeByType(@Param("type") String type, @Param("now") LocalDateTime now);
+    
+    // Bulk acknowledge alerts by severity
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Alert a SET a.acknowledged = true, a.lastUpdateOn = :now WHERE a.severity = :severity AND a.acknowledged = false AND a.isActive = true")
+    int acknowledgeBySeverity(@Param("severity") AlertSeverity severity, @Param("now") LocalDateTime now);
+    
+    // Bulk acknowledge alerts in timestamp range
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Alert a SET a.acknowledged = true, a.lastUpdateOn = :now WHERE a.timestamp BETWEEN :startTime AND :endTime AND a.acknowledged = false AND a.isActive = true")
+    int acknowledgeByTimestampBetween(@Param("startTime") LocalDateTime startTime, 
+                                      @Param("endTime") LocalDateTime endTime, 
+                                      @Param("now") LocalDateTime now);
+    
+    // Bulk soft delete alerts by ID list
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Alert a SET a.isActive = false, a.lastUpdateOn = :now WHERE a.id IN :ids AND a.isActive = true")
+    int deactivateByIds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
 }
@@ -1,6 +1,10 @@
 package com.smartcar.monitoring.repository;
 
+import com.smartcar.monitoring.dto.CarDto;
+import com.smartcar.monitoring.dto.FleetOverviewRowDto;
+import com.smartcar.monitoring.model.Alert.AlertSeverity;
 import com.smartcar.monitoring.model.Car;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,42 +16,76 @@ import java.util.Optional;
 @Repository
 public interface CarRepository extends JpaRepository<Car, Long> {
     
+    // Find by ID with the driver and driver's user loaded (cached lookups outlive the session)
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
+    Optional<Car> findWithDriverById(Long id);
+    
     // Find by driver ID
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     List<Car> findByDriverIdAndIsActiveTrue(Long driverId);
     
     // Find by status
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     List<Car> findByStatusAndIsActiveTrue(String status);
     
     // Find cars by fuel level threshold
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     List<Car> findByFuelLevelLessThanAndIsActiveTrue(Integer fuelThreshold);
     
     // Find cars by temperature range
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     List<Car> findByTemperatureBetweenAndIsActiveTrue(Integer minTemp, Integer maxTemp);
     
     // Find cars by speed range
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     List<Car> findBySpeedBetweenAndIsActiveTrue(Integer minSpeed, Integer maxSpeed);
     
     // Find cars by location
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     List<Car> findByLocationContainingAndIsActiveTrue(String location);
     
     // Find all active cars
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     List<Car> findByIsActiveTrue();
     
     // Find cars without assigned drivers
     List<Car> findByDriverIsNullAndIsActiveTrue();
     
     // Find cars with assigned drivers
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     List<Car> findByDriverIsNotNullAndIsActiveTrue();
     
     // Find cars updated in time range (for real-time monitoring)
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     @Query("SELECT c FROM Car c WHERE c.lastUpdateOn >= :since AND c.isActive = true")
     List<Car> findCarsUpdatedSince(@Param("since") java.time.LocalDateTime since);
     
     // Find cars by creation date range
+    @EntityGraph(attributePaths = {"driver", "driver.user"})
     @Query("SELECT c FROM Car c WHERE c.creationDate BETWEEN :startDate AND :endDate AND c.isActive = true")
     List<Car> findCarsCreatedBetween(@Param("startDate") java.time.LocalDateTime startDate, 
                                     @Param("endDate") java.time.LocalDateTime endDate);
     
+    // Projection of all active cars with the driver's id and name
+    @Query("SELECT new com.smartcar.monitoring.dto.CarDto(c.id, c.status, c.speed, c.fuelLevel, c.temperature, c.location, " +
+           "c.latitude, c.longitude, d.id, u.name, c.creationDate, c.lastUpdateOn, c.isActive) " +
+           "FROM Car c LEFT JOIN c.driver d LEFT JOIN d.user u WHERE c.isActive = true")
+    List<CarDto> findActiveDtos();
+    
+    // Fleet overview: every car (inactive ones too, so alert totals cover the whole fleet) with its
+    // assigned driver, latest telemetry and open alert counts, read in a single statement
+    @Query("SELECT new com.smartcar.monitoring.dto.FleetOverviewRowDto(c.id, c.isActive, c.status, " +
+           "COALESCE(u.name, u.username), t.location, t.speed, t.fuel, t.temperature, t.timestamp, " +
+           "(SELECT COUNT(a) FROM Alert a WHERE a.car.id = c.id AND a.isActive = true), " +
+           "(SELECT COUNT(a) FROM Alert a WHERE a.car.id = c.id AND a.isActive = true AND a.acknowledged = false), " +
+           "(SELECT COUNT(a) FROM Alert a WHERE a.car.id = c.id AND a.isActive = true AND a.severity IN :criticalSeverities)) " +
+           "FROM Car c " +
+           "LEFT JOIN Driver d ON d.assignedCarId = c.id AND d.isActive = true " +
+           "LEFT JOIN d.user u " +
+           "LEFT JOIN Telemetry t ON t.id = (SELECT MAX(t2.id) FROM Telemetry t2 WHERE t2.car.id = c.id AND t2.isActive = true) " +
+           "ORDER BY c.id")
+    List<FleetOverviewRowDto> findFleetOverview(@Param("criticalSeverities") List<AlertSeverity> criticalSeverities);
+    
     // Count active cars
     long countByIsActiveTrue();
     
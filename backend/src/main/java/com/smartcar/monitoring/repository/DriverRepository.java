@@ -1,6 +1,7 @@
 package com.smartcar.monitoring.repository;
 
 import com.smartcar.monitoring.model.Driver;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,22 +13,28 @@ import java.util.Optional;
 @Repository
 public interface DriverRepository extends JpaRepository<Driver, Long> {
     
-    // Find by user ID
+    // Find by user ID, with the user loaded (cached lookups outlive the session)
+    @EntityGraph(attributePaths = "user")
     Optional<Driver> findByUserId(Long userId);
     
     // Find by assigned car ID
     Optional<Driver> findByAssignedCarId(Long carId);
     
     // Find all active drivers
+    @EntityGraph(attributePaths = "user")
     List<Driver> findByIsActiveTrue();
     
     // Find drivers without assigned cars
+    @EntityGraph(attributePaths = "user")
     List<Driver> findByAssignedCarIdIsNullAndIsActiveTrue();
     
-    // Find drivers with assigned cars
+    // Find drivers with assigned cars; the user is fetched with them because callers outside a
+    // transaction (the dashboard's driver names) read it
+    @EntityGraph(attributePaths = "user")
     List<Driver> findByAssignedCarIdIsNotNullAndIsActiveTrue();
     
     // Find drivers created in date range
+    @EntityGraph(attributePaths = "user")
     @Query("SELECT d FROM Driver d WHERE d.creationDate BETWEEN :startDate AND :endDate AND d.isActive = true")
     List<Driver> findDriversCreatedBetween(@Param("startDate") java.time.LocalDateTime startDate, 
                                           @Param("endDate") java.time.LocalDateTime endDate);
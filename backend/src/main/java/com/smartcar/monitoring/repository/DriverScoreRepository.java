@@ -0,0 +1,22 @@
+package com.smartcar.monitoring.repository;
+
+import com.smartcar.monitoring.model.DriverScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DriverScoreRepository extends JpaRepository<DriverScore, Long> {
+
+    // All checkpoints with the driver's name (loaded into the scorer at startup)
+    @Query("SELECT s FROM DriverScore s JOIN FETCH s.driver d JOIN FETCH d.user")
+    List<DriverScore> findAllWithDriver();
+
+    // Checkpoints of the given drivers
+    @Query("SELECT s FROM DriverScore s WHERE s.driver.id IN :driverIds")
+    List<DriverScore> findByDriverIdIn(@Param("driverIds") Collection<Long> driverIds);
+}
@@ -0,0 +1,18 @@
+package com.smartcar.monitoring.repository;
+
+import com.smartcar.monitoring.model.Geofence;
+import com.smartcar.monitoring.model.Geofence.GeofenceCategory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface GeofenceRepository extends JpaRepository<Geofence, Long> {
+
+    // Find all active geofences (loaded whole into the geofence index)
+    List<Geofence> findByIsActiveTrue();
+
+    // Find by category
+    List<Geofence> findByCategoryAndIsActiveTrue(GeofenceCategory category);
+}
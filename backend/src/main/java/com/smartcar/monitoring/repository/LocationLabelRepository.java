@@ -0,0 +1,18 @@
+package com.smartcar.monitoring.repository;
+
+import com.smartcar.monitoring.model.LocationLabel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LocationLabelRepository extends JpaRepository<LocationLabel, Integer> {
+
+    // Find by exact label
+    Optional<LocationLabel> findByLabel(String label);
+
+    // Find labels containing the text (backs the telemetry location search)
+    List<LocationLabel> findByLabelContaining(String text);
+}
@@ -1,5 +1,8 @@
 package com.smartcar.monitoring.repository;
 
+import com.smartcar.monitoring.dto.TelemetryBaselineDto;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.dto.ValueCountDto;
 import com.smartcar.monitoring.model.Telemetry;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -7,19 +10,28 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TelemetryRepository extends JpaRepository<Telemetry, Long> {
     
-    // Find by car ID
-    List<Telemetry> findByCarIdAndIsActiveTrue(Long carId);
+    // Select clause for read paths that return DTOs directly, without managed entities
+    String DTO_SELECT = "SELECT new com.smartcar.monitoring.dto.TelemetryDto(t.id, t.car.id, t.speed, t.fuel, " +
+                        "t.temperature, t.location, t.latitude, t.longitude, t.timestamp, t.creationDate, t.lastUpdateOn, t.isActive) FROM Telemetry t ";
+    
+    // Find by car ID (explicit query: the derived form joins cars to compare car.id)
+    @Query("SELECT t FROM Telemetry t WHERE t.car.id = :carId AND t.isActive = true")
+    List<Telemetry> findByCarIdAndIsActiveTrue(@Param("carId") Long carId);
     
     // Find by timestamp range
     List<Telemetry> findByTimestampBetweenAndIsActiveTrue(LocalDateTime startTime, LocalDateTime endTime);
     
     // Find by car ID and timestamp range
-    List<Telemetry> findByCarIdAndTimestampBetweenAndIsActiveTrue(Long carId, LocalDateTime startTime, LocalDateTime endTime);
+    @Query("SELECT t FROM Telemetry t WHERE t.car.id = :carId AND t.timestamp BETWEEN :startTime AND :endTime AND t.isActive = true")
+    List<Telemetry> findByCarIdAndTimestampBetweenAndIsActiveTrue(@Param("carId") Long carId,
+                                                                  @Param("startTime") LocalDateTime startTime,
+                                                                  @Param("endTime") LocalDateTime endTime);
     
     // Find by fuel level threshold
     List<Telemetry> findByFuelLessThanAndIsActiveTrue(Integer fuelThreshold);
@@ -30,8 +42,8 @@ public interface TelemetryRepository extends JpaRepository<Telemetry, Long> {
     // Find by speed range
     List<Telemetry> findBySpeedBetweenAndIsActiveTrue(Integer minSpeed, Integer maxSpeed);
     
-    // Find by location
-    List<Telemetry> findByLocationContainingAndIsActiveTrue(String location);
+    // Find by location labels (location is stored as a dictionary ID, see LocationDictionary)
+    List<Telemetry> findByLocationInAndIsActiveTrue(Collection<String> locations);
     
     // Find all active telemetry records
     List<Telemetry> findByIsActiveTrue();
@@ -44,11 +56,48 @@ public interface TelemetryRepository extends JpaRepository<Telemetry, Long> {
     @Query("SELECT t FROM Telemetry t WHERE t.car.id = :carId AND t.isActive = true ORDER BY t.timestamp DESC")
     List<Telemetry> findLatestTelemetryByCarId(@Param("carId") Long carId);
     
+    // Projections: all active telemetry, by car, by car and time range, latest per car
+    @Query(DTO_SELECT + "WHERE t.isActive = true")
+    List<TelemetryDto> findActiveDtos();
+    
+    @Query(DTO_SELECT + "WHERE t.car.id = :carId AND t.isActive = true")
+    List<TelemetryDto> findDtosByCarId(@Param("carId") Long carId);
+    
+    @Query(DTO_SELECT + "WHERE t.car.id = :carId AND t.timestamp BETWEEN :startTime AND :endTime AND t.isActive = true")
+    List<TelemetryDto> findDtosByCarIdAndTimestampBetween(@Param("carId") Long carId,
+                                                          @Param("startTime") LocalDateTime startTime,
+                                                          @Param("endTime") LocalDateTime endTime);
+    
+    @Query(DTO_SELECT + "WHERE t.id IN (SELECT MAX(t2.id) FROM Telemetry t2 WHERE t2.isActive = true GROUP BY t2.car.id) AND t.isActive = true")
+    List<TelemetryDto> findLatestDtosForAllCars();
+    
     // Find telemetry records created in date range
     @Query("SELECT t FROM Telemetry t WHERE t.creationDate BETWEEN :startDate AND :endDate AND t.isActive = true")
     List<Telemetry> findTelemetryCreatedBetween(@Param("startDate") LocalDateTime startDate, 
                                                @Param("endDate") LocalDateTime endDate);
     
+    // Per-car mean and mean square of speed and temperature since the given time (one grouped pass)
+    @Query("SELECT new com.smartcar.monitoring.dto.TelemetryBaselineDto(t.car.id, COUNT(t), AVG(t.speed), AVG(t.speed * t.speed), " +
+           "AVG(t.temperature), AVG(t.temperature * t.temperature)) FROM Telemetry t " +
+           "WHERE t.timestamp >= :since AND t.isActive = true GROUP BY t.car.id")
+    List<TelemetryBaselineDto> findBaselinesSince(@Param("since") LocalDateTime since);
+    
+    // Distinct speed, temperature and fuel values of active telemetry in a time range with their counts
+    @Query("SELECT new com.smartcar.monitoring.dto.ValueCountDto(t.speed, COUNT(t)) FROM Telemetry t " +
+           "WHERE t.timestamp BETWEEN :startTime AND :endTime AND t.isActive = true GROUP BY t.speed")
+    List<ValueCountDto> countSpeedValuesBetween(@Param("startTime") LocalDateTime startTime,
+                                                @Param("endTime") LocalDateTime endTime);
+
+    @Query("SELECT new com.smartcar.monitoring.dto.ValueCountDto(t.temperature, COUNT(t)) FROM Telemetry t " +
+           "WHERE t.timestamp BETWEEN :startTime AND :endTime AND t.isActive = true GROUP BY t.temperature")
+    List<ValueCountDto> countTemperatureValuesBetween(@Param("startTime") LocalDateTime startTime,
+                                                      @Param("endTime") LocalDateTime endTime);
+
+    @Query("SELECT new com.smartcar.monitoring.dto.ValueCountDto(t.fuel, COUNT(t)) FROM Telemetry t " +
+           "WHERE t.timestamp BETWEEN :startTime AND :endTime AND t.isActive = true GROUP BY t.fuel")
+    List<ValueCountDto> countFuelValuesBetween(@Param("startTime") LocalDateTime startTime,
+                                               @Param("endTime") LocalDateTime endTime);
+    
     // Count telemetry records by car
     long countByCarIdAndIsActiveTrue(Long carId);
     
@@ -0,0 +1,36 @@
+package com.smartcar.monitoring.repository;
+
+import com.smartcar.monitoring.dto.TripDto;
+import com.smartcar.monitoring.model.Trip;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TripRepository extends JpaRepository<Trip, Long> {
+
+    // Select clause for read paths that return DTOs directly, without managed entities
+    String DTO_SELECT = "SELECT new com.smartcar.monitoring.dto.TripDto(t.id, t.car.id, t.startTime, t.endTime, " +
+                        "t.durationSeconds, t.distanceKm, t.maxSpeed, t.avgSpeed, t.fuelUsed, t.alertCount, t.sampleCount) FROM Trip t ";
+
+    // Trips for a car, newest first
+    @Query(DTO_SELECT + "WHERE t.car.id = :carId AND t.isActive = true ORDER BY t.startTime DESC")
+    List<TripDto> findDtosByCarId(@Param("carId") Long carId, Pageable pageable);
+
+    // Trips for a car that started in the range, newest first
+    @Query(DTO_SELECT + "WHERE t.car.id = :carId AND t.startTime BETWEEN :startTime AND :endTime AND t.isActive = true " +
+           "ORDER BY t.startTime DESC")
+    List<TripDto> findDtosByCarIdAndStartTimeBetween(@Param("carId") Long carId,
+                                                     @Param("startTime") LocalDateTime startTime,
+                                                     @Param("endTime") LocalDateTime endTime,
+                                                     Pageable pageable);
+
+    // Trips still open (resumed into the trip detector at startup)
+    @Query("SELECT t FROM Trip t JOIN FETCH t.car WHERE t.endTime IS NULL AND t.isActive = true")
+    List<Trip> findOpenTrips();
+}
@@ -1,5 +1,6 @@
 package com.smartcar.monitoring.service;
 
+import com.smartcar.monitoring.config.CacheConfig;
 import com.smartcar.monitoring.model.Admin;
 import com.smartcar.monitoring.model.User;
 import com.smartcar.monitoring.repository.AdminRepository;
@@ -7,6 +8,8 @@ import com.smartcar.monitoring.repository.UserRepository;
 import com.smartcar.monitoring.exception.AdminNotFoundException;
 import com.smartcar.monitoring.exception.UserNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,32 +45,39 @@ public class AdminService {
     }
     
     // Get admin by ID
+    @Transactional(readOnly = true)
     public Admin getAdminById(Long id) {
         return adminRepository.findById(id)
                 .orElseThrow(() -> new AdminNotFoundException("Admin not found with ID: " + id));
     }
     
     // Get admin by user ID
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.ADMINS_BY_USER, key = "#userId", unless = "#result == null")
     public Optional<Admin> getAdminByUserId(Long userId) {
         return adminRepository.findByUserId(userId);
     }
     
     // Get all active admins
+    @Transactional(readOnly = true)
     public List<Admin> getAllActiveAdmins() {
         return adminRepository.findByIsActiveTrue();
     }
     
     // Get admins by permissions
+    @Transactional(readOnly = true)
     public List<Admin> getAdminsByPermissions(String permission) {
         return adminRepository.findByPermissionsContainingAndIsActiveTrue(permission);
     }
     
     // Get admins created in date range
+    @Transactional(readOnly = true)
     public List<Admin> getAdminsCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
         return adminRepository.findAdminsCreatedBetween(startDate, endDate);
     }
     
     // Update admin
+    @CacheEvict(cacheNames = CacheConfig.ADMINS_BY_USER, allEntries = true)
     public Admin updateAdmin(Long id, Admin adminDetails) {
         Admin admin = getAdminById(id);
         
@@ -78,6 +88,7 @@ public class AdminService {
     }
     
     // Update admin permissions
+    @CacheEvict(cacheNames = CacheConfig.ADMINS_BY_USER, allEntries = true)
     public Admin updateAdminPermissions(Long id, String permissions) {
         Admin admin = getAdminById(id);
         admin.setPermissions(permissions);
@@ -86,6 +97,7 @@ public class AdminService {
     }
     
     // Add permission to admin
+    @CacheEvict(cacheNames = CacheConfig.ADMINS_BY_USER, allEntries = true)
     public Admin addPermissionToAdmin(Long id, String permission) {
         Admin admin = getAdminById(id);
         String currentPermissions = admin.getPermissions();
@@ -102,6 +114,7 @@ public class AdminService {
     }
     
     // Remove permission from admin
+    @CacheEvict(cacheNames = CacheConfig.ADMINS_BY_USER, allEntries = true)
     public Admin removePermissionFromAdmin(Long id, String permission) {
         Admin admin = getAdminById(id);
         String currentPermissions = admin.getPermissions();
@@ -122,12 +135,14 @@ public class AdminService {
     }
     
     // Check if admin has specific permission
+    @Transactional(readOnly = true)
     public boolean hasPermission(Long adminId, String permission) {
         Admin admin = getAdminById(adminId);
         return admin.getPermissions() != null && admin.getPermissions().contains(permission);
     }
     
     // Soft delete admin
+    @CacheEvict(cacheNames = CacheConfig.ADMINS_BY_USER, allEntries = true)
     public void deactivateAdmin(Long id) {
         Admin admin = getAdminById(id);
         admin.setIsActive(false);
@@ -136,6 +151,7 @@ public class AdminService {
     }
     
     // Reactivate admin
+    @CacheEvict(cacheNames = CacheConfig.ADMINS_BY_USER, allEntries = true)
     public void reactivateAdmin(Long id) {
         Admin admin = getAdminById(id);
         admin.setIsActive(true);
@@ -144,16 +160,19 @@ public class AdminService {
     }
     
     // Count active admins
+    @Transactional(readOnly = true)
     public long countActiveAdmins() {
         return adminRepository.countByIsActiveTrue();
     }
     
     // Count admins with specific permission
+    @Transactional(readOnly = true)
     public long countAdminsWithPermission(String permission) {
         return adminRepository.countByPermissionsContainingAndIsActiveTrue(permission);
     }
     
     // Get admin statistics
+    @Transactional(readOnly = true)
     public AdminStatistics getAdminStatistics() {
         AdminStatistics stats = new AdminStatistics();
         
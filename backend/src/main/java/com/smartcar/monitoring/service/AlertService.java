@@ -2,15 +2,22 @@ package com.smartcar.monitoring.service;
 
 import com.smartcar.monitoring.model.Alert;
 import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Telemetry;
+import com.smartcar.monitoring.dto.AlertContextDto;
+import com.smartcar.monitoring.dto.AlertDto;
 import com.smartcar.monitoring.model.Alert.AlertSeverity;
 import com.smartcar.monitoring.repository.AlertRepository;
 import com.smartcar.monitoring.exception.AlertNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -19,6 +26,18 @@ public class AlertService {
     @Autowired
     private AlertRepository alertRepository;
     
+    @Autowired
+    private WebSocketService webSocketService;
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
+    @Autowired
+    private TripService tripService;
+    
     // Create new alert
     public Alert createAlert(Car car, String type, String severity, String message) {
         Alert alert = new Alert();
@@ -31,81 +50,171 @@ public class AlertService {
         alert.setLastUpdateOn(LocalDateTime.now());
         alert.setIsActive(true);
         
-        return alertRepository.save(alert);
+        Alert saved = alertRepository.save(alert);
+        alertsChanged(car.getId());
+        tripService.recordAlert(car.getId());
+        return saved;
     }
     
     // Get alert by ID
+    @Transactional(readOnly = true)
     public Alert getAlertById(Long id) {
         return alertRepository.findById(id)
                 .orElseThrow(() -> new AlertNotFoundException("Alert not found with ID: " + id));
     }
     
     // Get all active alerts
+    @Transactional(readOnly = true)
     public List<Alert> getAllActiveAlerts() {
         return alertRepository.findByIsActiveTrue();
     }
     
     // Get alerts by car
+    @Transactional(readOnly = true)
     public List<Alert> getAlertsByCar(Long carId) {
         return alertRepository.findByCarIdAndIsActiveTrue(carId);
     }
     
     // Get alerts by type
+    @Transactional(readOnly = true)
     public List<Alert> getAlertsByType(String type) {
         return alertRepository.findByTypeAndIsActiveTrue(type);
     }
     
     // Get alerts by severity
+    @Transactional(readOnly = true)
     public List<Alert> getAlertsBySeverity(AlertSeverity severity) {
         return alertRepository.findBySeverityAndIsActiveTrue(severity);
     }
     
     // Get unacknowledged alerts
+    @Transactional(readOnly = true)
     public List<Alert> getUnacknowledgedAlerts() {
         return alertRepository.findByAcknowledgedFalseAndIsActiveTrue();
     }
     
     // Get unacknowledged alerts by car
+    @Transactional(readOnly = true)
     public List<Alert> getUnacknowledgedAlertsByCar(Long carId) {
         return alertRepository.findByCarIdAndAcknowledgedFalseAndIsActiveTrue(carId);
     }
     
     // Get unacknowledged alerts by severity
+    @Transactional(readOnly = true)
     public List<Alert> getUnacknowledgedAlertsBySeverity(AlertSeverity severity) {
         return alertRepository.findBySeverityAndAcknowledgedFalseAndIsActiveTrue(severity);
     }
     
     // Get alerts by timestamp range
+    @Transactional(readOnly = true)
     public List<Alert> getAlertsByTimestampRange(LocalDateTime startTime, LocalDateTime endTime) {
         return alertRepository.findByTimestampBetweenAndIsActiveTrue(startTime, endTime);
     }
     
     // Get alerts by car and timestamp range
+    @Transactional(readOnly = true)
     public List<Alert> getAlertsByCarAndTimestampRange(Long carId, LocalDateTime startTime, LocalDateTime endTime) {
         return alertRepository.findByCarIdAndTimestampBetweenAndIsActiveTrue(carId, startTime, endTime);
     }
     
     // Get critical alerts (HIGH and CRITICAL severity)
+    @Transactional(readOnly = true)
     public List<Alert> getCriticalAlerts() {
         return alertRepository.findCriticalAlerts();
     }
     
+    // DTO read paths: rows are projected straight into AlertDto, no entities are loaded
+    @Transactional(readOnly = true)
+    public List<AlertDto> getAllActiveAlertDtos() {
+        return alertRepository.findActiveDtos();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AlertDto> getAlertDtosByCar(Long carId) {
+        return alertRepository.findDtosByCarId(carId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AlertDto> getUnacknowledgedAlertDtos() {
+        return alertRepository.findUnacknowledgedDtos();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<AlertDto> getCriticalAlertDtos() {
+        return alertRepository.findCriticalDtos();
+    }
+    
     // Get alerts by car and severity
+    @Transactional(readOnly = true)
     public List<Alert> getAlertsByCarAndSeverity(Long carId, AlertSeverity severity) {
         return alertRepository.findByCarIdAndSeverityAndIsActiveTrue(carId, severity);
     }
     
     // Get alerts by car and type
+    @Transactional(readOnly = true)
     public List<Alert> getAlertsByCarAndType(Long carId, String type) {
         return alertRepository.findByCarIdAndTypeAndIsActiveTrue(carId, type);
     }
     
+    // Get alerts with their triggering telemetry sample in a single query
+    @Transactional(readOnly = true)
+    public List<AlertContextDto> getAlertsWithContext(Long carId, LocalDateTime startTime, LocalDateTime endTime, int limit) {
+        return alertRepository.findAlertsWithTelemetryContext(carId, startTime, endTime, PageRequest.of(0, limit))
+                .stream()
+                .map(row -> new AlertContextDto((Alert) row[0], (Telemetry) row[1]))
+                .collect(Collectors.toList());
+    }
+    
     // Acknowledge alert
     public Alert acknowledgeAlert(Long id) {
         Alert alert = getAlertById(id);
         alert.setAcknowledged(true);
         alert.setLastUpdateOn(LocalDateTime.now());
-        return alertRepository.save(alert);
+        Alert saved = alertRepository.save(alert);
+        alertsChanged(alert.getCar().getId());
+        return saved;
+    }
+    
+    // Bulk acknowledge alerts by ID list
+    public int acknowledgeAlerts(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int affected = alertRepository.acknowledgeByIds(ids, LocalDateTime.now());
+        return publishBulkUpdate("ACKNOWLEDGED", Map.of("ids", ids), affected);
+    }
+    
+    // Bulk acknowledge alerts by car
+    public int acknowledgeAlertsByCar(Long carId) {
+        int affected = alertRepository.acknowledgeByCarId(carId, LocalDateTime.now());
+        return publishBulkUpdate("ACKNOWLEDGED", Map.of("carId", carId), affected);
+    }
+    
+    // Bulk acknowledge alerts by type
+    public int acknowledgeAlertsByType(String type) {
+        int affected = alertRepository.acknowledgeByType(type, LocalDateTime.now());
+        return publishBulkUpdate("ACKNOWLEDGED", Map.of("type", type), affected);
+    }
+    
+    // Bulk acknowledge alerts by severity
+    public int acknowledgeAlertsBySeverity(AlertSeverity severity) {
+        int affected = alertRepository.acknowledgeBySeverity(severity, LocalDateTime.now());
+        return publishBulkUpdate("ACKNOWLEDGED", Map.of("severity", severity), affected);
+    }
+    
+    // Bulk acknowledge alerts in timestamp range
+    public int acknowledgeAlertsInTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
+        int affected = alertRepository.acknowledgeByTimestampBetween(startTime, endTime, LocalDateTime.now());
+        return publishBulkUpdate("ACKNOWLEDGED", Map.of("startTime", startTime, "endTime", endTime), affected);
+    }
+    
+    // Bulk soft delete alerts by ID list
+    public int deactivateAlerts(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        int affected = alertRepository.deactivateByIds(ids, LocalDateTime.now());
+        return publishBulkUpdate("DEACTIVATED", Map.of("ids", ids), affected);
     }
     
     // Update alert
@@ -117,7 +226,9 @@ public class AlertService {
         alert.setAcknowledged(alertDetails.getAcknowledged());
         alert.setLastUpdateOn(LocalDateTime.now());
         
-        return alertRepository.save(alert);
+        Alert saved = alertRepository.save(alert);
+        alertsChanged(alert.getCar().getId());
+        return saved;
     }
     
     // Soft delete alert
@@ -126,6 +237,7 @@ public class AlertService {
         alert.setIsActive(false);
         alert.setLastUpdateOn(LocalDateTime.now());
         alertRepository.save(alert);
+        alertsChanged(alert.getCar().getId());
     }
     
     // Reactivate alert
@@ -134,45 +246,72 @@ public class AlertService {
         alert.setIsActive(true);
         alert.setLastUpdateOn(LocalDateTime.now());
         alertRepository.save(alert);
+        alertsChanged(alert.getCar().getId());
     }
     
     // Count alerts by car
+    @Transactional(readOnly = true)
     public long countAlertsByCar(Long carId) {
         return alertRepository.countByCarIdAndIsActiveTrue(carId);
     }
     
     // Count total active alerts
+    @Transactional(readOnly = true)
     public long countTotalActiveAlerts() {
         return alertRepository.countByIsActiveTrue();
     }
     
     // Count unacknowledged alerts
+    @Transactional(readOnly = true)
     public long countUnacknowledgedAlerts() {
         return alertRepository.countByAcknowledgedFalseAndIsActiveTrue();
     }
     
     // Count alerts by severity
+    @Transactional(readOnly = true)
     public long countAlertsBySeverity(AlertSeverity severity) {
         return alertRepository.countBySeverityAndIsActiveTrue(severity);
     }
     
     // Count alerts by type
+    @Transactional(readOnly = true)
     public long countAlertsByType(String type) {
         return alertRepository.countByTypeAndIsActiveTrue(type);
     }
     
     // Count alerts in time range
+    @Transactional(readOnly = true)
     public long countAlertsInTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
         return alertRepository.countByTimestampBetweenAndIsActiveTrue(startTime, endTime);
     }
     
     // Count critical alerts
+    @Transactional(readOnly = true)
     public long countCriticalAlerts() {
         return alertRepository.countBySeverityInAndIsActiveTrue(List.of(AlertSeverity.HIGH, AlertSeverity.CRITICAL));
     }
     
     // Get alerts created in date range
+    @Transactional(readOnly = true)
     public List<Alert> getAlertsCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
         return alertRepository.findAlertsCreatedBetween(startDate, endDate);
     }
+    
+    // Emit a single aggregated event for a set-based alert mutation
+    private int publishBulkUpdate(String action, Map<String, Object> criteria, int affected) {
+        if (affected > 0) {
+            Map<String, Object> summary = new HashMap<>(criteria);
+            summary.put("action", action);
+            summary.put("affected", affected);
+            webSocketService.broadcastAlertBulkUpdate(summary);
+            alertsChanged((Long) criteria.get("carId"));
+        }
+        return affected;
+    }
+    
+    // Invalidate pushed dashboards and HTTP caches after a write; a null car ID means any car
+    private void alertsChanged(Long carId) {
+        dashboardService.markAlertsChanged(carId);
+        resourceVersionService.bump(ResourceVersionService.ALERTS);
+    }
 }
@@ -0,0 +1,145 @@
+package com.smartcar.monitoring.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Online per-car, per-metric baselines for spotting values that are unusual for that car.
+ *
+ * Each car gets a slot; its exponentially weighted mean and variance for every metric live in
+ * flat primitive arrays indexed by slot * METRIC_COUNT + metric, so scoring a sample allocates
+ * nothing. A value is anomalous when it lies more than k-sigma standard deviations from the
+ * car's mean, once the baseline has seen min-samples values. The deviation is floored at
+ * min-sigma (in the metric's unit) so a car that has been perfectly steady is not flagged for
+ * a one-degree change. After an anomaly the same car and metric stay quiet for cooldown-seconds;
+ * every value still updates the baseline, so a lasting shift becomes the new normal.
+ */
+@Service
+public class AnomalyDetector {
+
+    public enum Metric {
+        SPEED("Speed", "km/h"),
+        TEMPERATURE("Temperature", "°C");
+
+        private final String label;
+        private final String unit;
+
+        Metric(String label, String unit) {
+            this.label = label;
+            this.unit = unit;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+    }
+
+    static final int METRIC_COUNT = Metric.values().length;
+
+    @Value("${anomaly.alpha:0.05}")
+    private double alpha = 0.05;
+
+    @Value("${anomaly.k-sigma:4}")
+    private double kSigma = 4;
+
+    @Value("${anomaly.min-samples:30}")
+    private int minSamples = 30;
+
+    @Value("${anomaly.min-sigma:2}")
+    private double minSigma = 2;
+
+    @Value("${anomaly.cooldown-seconds:300}")
+    private long cooldownSeconds = 300;
+
+    private final Map<Long, Integer> slots = new ConcurrentHashMap<>();
+
+    private double[] means = new double[0];
+    private double[] variances = new double[0];
+    private long[] counts = new long[0];
+    private long[] lastAnomalyAt = new long[0];
+
+    // Score a value against the car's baseline, then fold it in; returns the z-score if the
+    // value is anomalous (and outside the cooldown), NaN otherwise
+    public synchronized double observe(Long carId, Metric metric, double value, long atMillis) {
+        int i = slot(carId) * METRIC_COUNT + metric.ordinal();
+        double z = Double.NaN;
+        long count = counts[i];
+        if (count == 0) {
+            means[i] = value;
+            variances[i] = 0;
+        } else {
+            double diff = value - means[i];
+            double deviation = diff / Math.max(Math.sqrt(variances[i]), minSigma);
+            if (count >= minSamples && Math.abs(deviation) > kSigma
+                    && atMillis - lastAnomalyAt[i] >= cooldownSeconds * 1000) {
+                z = deviation;
+                lastAnomalyAt[i] = atMillis;
+            }
+            double increment = alpha * diff;
+            means[i] += increment;
+            variances[i] = (1 - alpha) * (variances[i] + diff * increment);
+        }
+        counts[i] = count + 1;
+        return z;
+    }
+
+    // Start a car's baseline from history
+    public synchronized void seed(Long carId, Metric metric, long count, double mean, double variance) {
+        int i = slot(carId) * METRIC_COUNT + metric.ordinal();
+        means[i] = mean;
+        variances[i] = Math.max(variance, 0);
+        counts[i] = count;
+    }
+
+    public synchronized double getMean(Long carId, Metric metric) {
+        Integer slot = slots.get(carId);
+        return slot != null && counts[slot * METRIC_COUNT + metric.ordinal()] > 0
+                ? means[slot * METRIC_COUNT + metric.ordinal()] : Double.NaN;
+    }
+
+    public synchronized double getSigma(Long carId, Metric metric) {
+        Integer slot = slots.get(carId);
+        return slot != null && counts[slot * METRIC_COUNT + metric.ordinal()] > 0
+                ? Math.sqrt(variances[slot * METRIC_COUNT + metric.ordinal()]) : Double.NaN;
+    }
+
+    public synchronized long getCount(Long carId, Metric metric) {
+        Integer slot = slots.get(carId);
+        return slot != null ? counts[slot * METRIC_COUNT + metric.ordinal()] : 0;
+    }
+
+    public double getKSigma() {
+        return kSigma;
+    }
+
+    public int getCarCount() {
+        return slots.size();
+    }
+
+    // Only called with the monitor held
+    private int slot(Long carId) {
+        Integer slot = slots.get(carId);
+        if (slot != null) {
+            return slot;
+        }
+        int next = slots.size();
+        if ((next + 1) * METRIC_COUNT > counts.length) {
+            int capacity = Math.max(16, next * 2) * METRIC_COUNT;
+            means = Arrays.copyOf(means, capacity);
+            variances = Arrays.copyOf(variances, capacity);
+            counts = Arrays.copyOf(counts, capacity);
+            lastAnomalyAt = Arrays.copyOf(lastAnomalyAt, capacity);
+            Arrays.fill(lastAnomalyAt, next * METRIC_COUNT, capacity, Long.MIN_VALUE / 2);
+        }
+        slots.put(carId, next);
+        return next;
+    }
+}
@@ -0,0 +1,88 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.TelemetryBaselineDto;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.model.Alert;
+import com.smartcar.monitoring.model.Alert.AlertSeverity;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.repository.TelemetryRepository;
+import com.smartcar.monitoring.service.AnomalyDetector.Metric;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class AnomalyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnomalyService.class);
+
+    public static final String ANOMALY = "ANOMALY";
+
+    @Autowired
+    private AnomalyDetector anomalyDetector;
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private TelemetryRepository telemetryRepository;
+
+    @Value("${anomaly.warmup-hours:24}")
+    private long warmupHours = 24;
+
+    // Seed each car's baselines from its recent history, so detection is armed straight away
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<TelemetryBaselineDto> baselines = telemetryRepository.findBaselinesSince(LocalDateTime.now().minusHours(warmupHours));
+            for (TelemetryBaselineDto baseline : baselines) {
+                seed(baseline.getCarId(), Metric.SPEED, baseline.getSampleCount(), baseline.getSpeedMean(), baseline.getSpeedSquareMean());
+                seed(baseline.getCarId(), Metric.TEMPERATURE, baseline.getSampleCount(), baseline.getTemperatureMean(), baseline.getTemperatureSquareMean());
+            }
+            logger.info("Anomaly baselines seeded for {} cars", baselines.size());
+        } catch (Exception e) {
+            logger.error("Error seeding anomaly baselines", e);
+        }
+    }
+
+    // Score the sample against the car's baselines; raises an ANOMALY alert per unusual metric
+    public List<Alert> checkSample(Car car, TelemetryDto telemetryDto) {
+        long now = System.currentTimeMillis();
+        List<Alert> alerts = List.of();
+        if (telemetryDto.getSpeed() != null) {
+            alerts = check(car, Metric.SPEED, telemetryDto.getSpeed(), now, alerts);
+        }
+        if (telemetryDto.getTemperature() != null) {
+            alerts = check(car, Metric.TEMPERATURE, telemetryDto.getTemperature(), now, alerts);
+        }
+        return alerts;
+    }
+
+    private List<Alert> check(Car car, Metric metric, int value, long now, List<Alert> alerts) {
+        double z = anomalyDetector.observe(car.getId(), metric, value, now);
+        if (Double.isNaN(z)) {
+            return alerts;
+        }
+        AlertSeverity severity = Math.abs(z) >= 2 * anomalyDetector.getKSigma() ? AlertSeverity.HIGH : AlertSeverity.MEDIUM;
+        String message = String.format("%s anomaly: %d %s is %.1f sigma %s this car's usual",
+                metric.getLabel(), value, metric.getUnit(), Math.abs(z), z > 0 ? "above" : "below");
+        List<Alert> result = alerts.isEmpty() ? new ArrayList<>(2) : alerts;
+        result.add(alertService.createAlert(car, ANOMALY, severity.toString(), message));
+        return result;
+    }
+
+    private void seed(Long carId, Metric metric, Long count, Double mean, Double squareMean) {
+        if (count == null || mean == null || squareMean == null) {
+            return;
+        }
+        anomalyDetector.seed(carId, metric, count, mean, squareMean - mean * mean);
+    }
+}
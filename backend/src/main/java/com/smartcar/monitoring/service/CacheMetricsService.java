@@ -0,0 +1,40 @@
+package com.smartcar.monitoring.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class CacheMetricsService {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Hit/miss/eviction counters for every Caffeine-backed cache
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                stats.put(name, describe(nativeCache));
+            }
+        }
+        return stats;
+    }
+
+    private Map<String, Object> describe(com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        CacheStats cacheStats = cache.stats();
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("estimatedSize", cache.estimatedSize());
+        entry.put("hitCount", cacheStats.hitCount());
+        entry.put("missCount", cacheStats.missCount());
+        entry.put("hitRate", cacheStats.hitRate());
+        entry.put("evictionCount", cacheStats.evictionCount());
+        return entry;
+    }
+}
@@ -0,0 +1,228 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.CarDto;
+import com.smartcar.monitoring.dto.CarPositionDto;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.repository.CarRepository;
+import com.smartcar.monitoring.repository.TelemetryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of the current position of every active car.
+ *
+ * Positions are bucketed in a uniform lat/lon grid (the same scheme MapInterestService uses
+ * for viewports), so a bounding-box or radius query only visits the cells it overlaps instead
+ * of every car. Queries that would span more cells than are occupied walk the occupied cells.
+ * Longitude does not wrap at the antimeridian.
+ */
+@Service
+public class CarLocationIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(CarLocationIndex.class);
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private TelemetryRepository telemetryRepository;
+
+    @Autowired
+    private LocationResolver locationResolver;
+
+    @Value("${location.index.cell-degrees:0.1}")
+    private double cellDegrees = 0.1;
+
+    private final Map<Long, Position> positions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    // Seed from the latest sample per car, falling back to the car's stored position
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            Map<Long, CarDto> activeCars = new HashMap<>();
+            for (CarDto car : carRepository.findActiveDtos()) {
+                activeCars.put(car.getId(), car);
+            }
+            for (TelemetryDto telemetry : telemetryRepository.findLatestDtosForAllCars()) {
+                if (activeCars.containsKey(telemetry.getCarId())) {
+                    double[] coordinates = locationResolver.resolve(telemetry.getLatitude(), telemetry.getLongitude(), telemetry.getLocation());
+                    if (coordinates != null) {
+                        update(telemetry.getCarId(), coordinates[0], coordinates[1], telemetry.getTimestamp());
+                    }
+                }
+            }
+            for (CarDto car : activeCars.values()) {
+                if (!positions.containsKey(car.getId())) {
+                    double[] coordinates = locationResolver.resolve(car.getLatitude(), car.getLongitude(), car.getLocation());
+                    if (coordinates != null) {
+                        update(car.getId(), coordinates[0], coordinates[1], car.getLastUpdateOn());
+                    }
+                }
+            }
+            logger.info("Car location index warmed up with {} cars", positions.size());
+        } catch (Exception e) {
+            logger.error("Error warming up car location index", e);
+        }
+    }
+
+    // Record the current position of a car, moving it between cells when needed
+    public void update(Long carId, double latitude, double longitude, LocalDateTime updatedAt) {
+        if (carId == null) {
+            return;
+        }
+        long cell = cellKey(cellIndex(latitude), cellIndex(longitude));
+        synchronized (this) {
+            Position previous = positions.put(carId, new Position(latitude, longitude, cell, updatedAt));
+            if (previous != null && previous.cell != cell) {
+                removeFromCell(previous.cell, carId);
+            }
+            if (previous == null || previous.cell != cell) {
+                cells.computeIfAbsent(cell, k -> ConcurrentHashMap.newKeySet()).add(carId);
+            }
+        }
+    }
+
+    public synchronized void remove(Long carId) {
+        if (carId == null) {
+            return;
+        }
+        Position previous = positions.remove(carId);
+        if (previous != null) {
+            removeFromCell(previous.cell, carId);
+        }
+    }
+
+    // Cars inside the box, ordered by car ID
+    public List<CarPositionDto> findWithin(double minLat, double minLon, double maxLat, double maxLon) {
+        List<CarPositionDto> result = new ArrayList<>();
+        double south = Math.min(minLat, maxLat), north = Math.max(minLat, maxLat);
+        double west = Math.min(minLon, maxLon), east = Math.max(minLon, maxLon);
+        forEachCandidate(south, west, north, east, (carId, position) -> {
+            if (position.latitude >= south && position.latitude <= north
+                    && position.longitude >= west && position.longitude <= east) {
+                result.add(toDto(carId, position, null));
+            }
+        });
+        result.sort(Comparator.comparing(CarPositionDto::getCarId));
+        return result;
+    }
+
+    // Cars within radiusKm of the point, nearest first
+    public List<CarPositionDto> findNearby(double latitude, double longitude, double radiusKm, int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double lonDelta = radiusKm / (KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+        List<CarPositionDto> result = new ArrayList<>();
+        forEachCandidate(latitude - latDelta, longitude - lonDelta, latitude + latDelta, longitude + lonDelta, (carId, position) -> {
+            double distance = distanceKm(latitude, longitude, position.latitude, position.longitude);
+            if (distance <= radiusKm) {
+                result.add(toDto(carId, position, distance));
+            }
+        });
+        result.sort(Comparator.comparing(CarPositionDto::getDistanceKm));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    // Great-circle (haversine) distance in kilometres
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void forEachCandidate(double south, double west, double north, double east, CandidateVisitor visitor) {
+        int minLatCell = cellIndex(Math.max(south, -90.0)), maxLatCell = cellIndex(Math.min(north, 90.0));
+        int minLonCell = cellIndex(Math.max(west, -180.0)), maxLonCell = cellIndex(Math.min(east, 180.0));
+        long cellCount = (long) (maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1);
+        if (cellCount > cells.size()) {
+            // Wide query: cheaper to walk the occupied cells than every cell in the range
+            for (Map.Entry<Long, Set<Long>> entry : cells.entrySet()) {
+                int lat = (int) (entry.getKey() >> 32);
+                int lon = (int) (long) entry.getKey();
+                if (lat >= minLatCell && lat <= maxLatCell && lon >= minLonCell && lon <= maxLonCell) {
+                    visitCell(entry.getValue(), visitor);
+                }
+            }
+            return;
+        }
+        for (int lat = minLatCell; lat <= maxLatCell; lat++) {
+            for (int lon = minLonCell; lon <= maxLonCell; lon++) {
+                Set<Long> carIds = cells.get(cellKey(lat, lon));
+                if (carIds != null) {
+                    visitCell(carIds, visitor);
+                }
+            }
+        }
+    }
+
+    private void visitCell(Set<Long> carIds, CandidateVisitor visitor) {
+        for (Long carId : carIds) {
+            Position position = positions.get(carId);
+            if (position != null) {
+                visitor.visit(carId, position);
+            }
+        }
+    }
+
+    private void removeFromCell(long cell, Long carId) {
+        Set<Long> carIds = cells.get(cell);
+        if (carIds != null) {
+            carIds.remove(carId);
+            if (carIds.isEmpty()) cells.remove(cell);
+        }
+    }
+
+    private CarPositionDto toDto(Long carId, Position position, Double distanceKm) {
+        return new CarPositionDto(carId, position.latitude, position.longitude, distanceKm, position.updatedAt);
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int lat, int lon) {
+        return ((long) lat << 32) | (lon & 0xffffffffL);
+    }
+
+    @FunctionalInterface
+    private interface CandidateVisitor {
+        void visit(Long carId, Position position);
+    }
+
+    private static final class Position {
+        final double latitude;
+        final double longitude;
+        final long cell;
+        final LocalDateTime updatedAt;
+
+        Position(double latitude, double longitude, long cell, LocalDateTime updatedAt) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.cell = cell;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
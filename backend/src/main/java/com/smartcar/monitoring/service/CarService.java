@@ -1,5 +1,7 @@
 package com.smartcar.monitoring.service;
 
+import com.smartcar.monitoring.config.CacheConfig;
+import com.smartcar.monitoring.dto.CarDto;
 import com.smartcar.monitoring.model.Car;
 import com.smartcar.monitoring.model.Driver;
 import com.smartcar.monitoring.model.Telemetry;
@@ -9,6 +11,9 @@ import com.smartcar.monitoring.repository.TelemetryRepository;
 import com.smartcar.monitoring.exception.CarNotFoundException;
 import com.smartcar.monitoring.exception.DriverNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +37,24 @@ public class CarService {
     @Autowired
     private AlertService alertService;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
+    @Autowired
+    private LocationResolver locationResolver;
+
+    @Autowired
+    private LocationDictionary locationDictionary;
+    
+    @Autowired
+    private CarLocationIndex carLocationIndex;
+    
+    @Autowired
+    private GeofenceIndex geofenceIndex;
+
+    @Autowired
+    private FuelEstimator fuelEstimator;
+    
     // Create new car
     public Car createCar(Car car) {
         car.setCreationDate(LocalDateTime.now());
@@ -43,59 +66,87 @@ public class CarService {
         if (car.getFuelLevel() == null) car.setFuelLevel(100);
         if (car.getTemperature() == null) car.setTemperature(25);
         if (car.getStatus() == null) car.setStatus("IDLE");
+        applyCoordinates(car, car.getLatitude(), car.getLongitude());
         
-        return carRepository.save(car);
+        Car saved = carRepository.save(car);
+        resourceVersionService.bump(ResourceVersionService.CARS);
+        indexPosition(saved);
+        return saved;
     }
     
     // Get car by ID
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CARS, key = "#id")
     public Car getCarById(Long id) {
-        return carRepository.findById(id)
+        return carRepository.findWithDriverById(id)
                 .orElseThrow(() -> new CarNotFoundException("Car not found with ID: " + id));
     }
     
     // Get all active cars
+    @Transactional(readOnly = true)
     public List<Car> getAllActiveCars() {
         return carRepository.findByIsActiveTrue();
     }
     
+    // Get all active cars as DTOs, projected together with the driver's name
+    @Transactional(readOnly = true)
+    public List<CarDto> getAllActiveCarDtos() {
+        return carRepository.findActiveDtos();
+    }
+    
     // Get cars by driver
+    @Transactional(readOnly = true)
     public List<Car> getCarsByDriver(Long driverId) {
         return carRepository.findByDriverIdAndIsActiveTrue(driverId);
     }
     
     // Get cars by status
+    @Transactional(readOnly = true)
     public List<Car> getCarsByStatus(String status) {
         return carRepository.findByStatusAndIsActiveTrue(status);
     }
     
     // Get cars with low fuel
+    @Transactional(readOnly = true)
     public List<Car> getCarsWithLowFuel(Integer fuelThreshold) {
         return carRepository.findByFuelLevelLessThanAndIsActiveTrue(fuelThreshold);
     }
     
     // Get cars by temperature range
+    @Transactional(readOnly = true)
     public List<Car> getCarsByTemperatureRange(Integer minTemp, Integer maxTemp) {
         return carRepository.findByTemperatureBetweenAndIsActiveTrue(minTemp, maxTemp);
     }
     
     // Get cars by speed range
+    @Transactional(readOnly = true)
     public List<Car> getCarsBySpeedRange(Integer minSpeed, Integer maxSpeed) {
         return carRepository.findBySpeedBetweenAndIsActiveTrue(minSpeed, maxSpeed);
     }
     
     // Get cars by location
+    @Transactional(readOnly = true)
     public List<Car> getCarsByLocation(String location) {
         return carRepository.findByLocationContainingAndIsActiveTrue(location);
     }
     
     // Get cars updated recently (for real-time monitoring)
+    @Transactional(readOnly = true)
     public List<Car> getCarsUpdatedSince(LocalDateTime since) {
         return carRepository.findCarsUpdatedSince(since);
     }
     
     // Update car status and sensor data
+    @CacheEvict(cacheNames = CacheConfig.CARS, key = "#carId")
     public Car updateCarStatus(Long carId, String status, Integer speed, Integer fuelLevel, 
                               Integer temperature, String location) {
+        return updateCarStatus(carId, status, speed, fuelLevel, temperature, location, null, null);
+    }
+    
+    // Update car status and sensor data; without coordinates the location label is resolved
+    @CacheEvict(cacheNames = CacheConfig.CARS, key = "#carId")
+    public Car updateCarStatus(Long carId, String status, Integer speed, Integer fuelLevel, 
+                              Integer temperature, String location, Double latitude, Double longitude) {
         Car car = getCarById(carId);
         
         car.setStatus(status);
@@ -103,6 +154,7 @@ public class CarService {
         car.setFuelLevel(fuelLevel);
         car.setTemperature(temperature);
         car.setLocation(location);
+        applyCoordinates(car, latitude, longitude);
         car.setLastUpdateOn(LocalDateTime.now());
         
         // Create telemetry record
@@ -112,16 +164,26 @@ public class CarService {
         telemetry.setSpeed(speed);
         telemetry.setFuel(fuelLevel);
         telemetry.setTemperature(temperature);
-        telemetry.setLocation(location);
+        telemetry.setLocation(locationDictionary.intern(location));
+        telemetry.setLatitude(car.getLatitude());
+        telemetry.setLongitude(car.getLongitude());
         telemetryRepository.save(telemetry);
+        resourceVersionService.bump(ResourceVersionService.TELEMETRY);
         
         // Check for alerts based on thresholds
         checkAndCreateAlerts(car);
         
-        return carRepository.save(car);
+        Car saved = carRepository.save(car);
+        resourceVersionService.bump(ResourceVersionService.CARS);
+        indexPosition(saved);
+        return saved;
     }
     
     // Assign car to driver
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS, key = "#carId"),
+            @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true)
+    })
     public Car assignCarToDriver(Long carId, Long driverId) {
         Car car = getCarById(carId);
         Driver driver = driverRepository.findById(driverId)
@@ -133,11 +195,18 @@ public class CarService {
         // Update driver's assigned car
         driver.setAssignedCarId(carId);
         driverRepository.save(driver);
+        resourceVersionService.bump(ResourceVersionService.DRIVERS);
         
-        return carRepository.save(car);
+        Car saved = carRepository.save(car);
+        resourceVersionService.bump(ResourceVersionService.CARS);
+        return saved;
     }
     
     // Unassign car from driver
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.CARS, key = "#carId"),
+            @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true)
+    })
     public Car unassignCarFromDriver(Long carId) {
         Car car = getCarById(carId);
         
@@ -146,15 +215,19 @@ public class CarService {
             Driver driver = car.getDriver();
             driver.setAssignedCarId(null);
             driverRepository.save(driver);
+            resourceVersionService.bump(ResourceVersionService.DRIVERS);
             
             car.setDriver(null);
             car.setLastUpdateOn(LocalDateTime.now());
         }
         
-        return carRepository.save(car);
+        Car saved = carRepository.save(car);
+        resourceVersionService.bump(ResourceVersionService.CARS);
+        return saved;
     }
     
     // Update car
+    @CacheEvict(cacheNames = CacheConfig.CARS, key = "#id")
     public Car updateCar(Long id, Car carDetails) {
         Car car = getCarById(id);
         
@@ -163,62 +236,97 @@ public class CarService {
         car.setFuelLevel(carDetails.getFuelLevel());
         car.setTemperature(carDetails.getTemperature());
         car.setLocation(carDetails.getLocation());
+        applyCoordinates(car, carDetails.getLatitude(), carDetails.getLongitude());
         car.setLastUpdateOn(LocalDateTime.now());
         
-        return carRepository.save(car);
+        Car saved = carRepository.save(car);
+        resourceVersionService.bump(ResourceVersionService.CARS);
+        indexPosition(saved);
+        return saved;
     }
     
     // Soft delete car
+    @CacheEvict(cacheNames = CacheConfig.CARS, key = "#id")
     public void deactivateCar(Long id) {
         Car car = getCarById(id);
         car.setIsActive(false);
         car.setLastUpdateOn(LocalDateTime.now());
         carRepository.save(car);
+        resourceVersionService.bump(ResourceVersionService.CARS);
+        carLocationIndex.remove(id);
+        geofenceIndex.removeCar(id);
+        fuelEstimator.removeCar(id);
     }
     
     // Reactivate car
+    @CacheEvict(cacheNames = CacheConfig.CARS, key = "#id")
     public void reactivateCar(Long id) {
         Car car = getCarById(id);
         car.setIsActive(true);
         car.setLastUpdateOn(LocalDateTime.now());
         carRepository.save(car);
+        resourceVersionService.bump(ResourceVersionService.CARS);
+        indexPosition(car);
     }
     
     // Get cars without drivers
+    @Transactional(readOnly = true)
     public List<Car> getCarsWithoutDrivers() {
         return carRepository.findByDriverIsNullAndIsActiveTrue();
     }
     
     // Get cars with drivers
+    @Transactional(readOnly = true)
     public List<Car> getCarsWithDrivers() {
         return carRepository.findByDriverIsNotNullAndIsActiveTrue();
     }
     
     // Count active cars
+    @Transactional(readOnly = true)
     public long countActiveCars() {
         return carRepository.countByIsActiveTrue();
     }
     
     // Count cars by status
+    @Transactional(readOnly = true)
     public long countCarsByStatus(String status) {
         return carRepository.countByStatusAndIsActiveTrue(status);
     }
     
     // Count cars with low fuel
+    @Transactional(readOnly = true)
     public long countCarsWithLowFuel(Integer fuelThreshold) {
         return carRepository.countByFuelLevelLessThanAndIsActiveTrue(fuelThreshold);
     }
     
     // Count cars without drivers
+    @Transactional(readOnly = true)
     public long countCarsWithoutDrivers() {
         return carRepository.countByDriverIsNullAndIsActiveTrue();
     }
     
     // Count cars with drivers
+    @Transactional(readOnly = true)
     public long countCarsWithDrivers() {
         return carRepository.countByDriverIsNotNullAndIsActiveTrue();
     }
     
+    // Explicit coordinates win; otherwise the location label is resolved (null when unknown)
+    private void applyCoordinates(Car car, Double latitude, Double longitude) {
+        double[] coordinates = locationResolver.resolve(latitude, longitude, car.getLocation());
+        car.setLatitude(coordinates != null ? coordinates[0] : null);
+        car.setLongitude(coordinates != null ? coordinates[1] : null);
+    }
+    
+    // Keep the in-memory location index in line with a car written through this service
+    private void indexPosition(Car car) {
+        if (Boolean.TRUE.equals(car.getIsActive()) && car.getLatitude() != null && car.getLongitude() != null) {
+            carLocationIndex.update(car.getId(), car.getLatitude(), car.getLongitude(), car.getLastUpdateOn());
+        } else {
+            carLocationIndex.remove(car.getId());
+        }
+    }
+    
     // Check and create alerts based on thresholds
     private void checkAndCreateAlerts(Car car) {
         // Check fuel level
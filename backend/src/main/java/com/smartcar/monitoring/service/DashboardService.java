@@ -0,0 +1,546 @@
+package com.smartcar.monitoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcar.monitoring.dto.AlertContextDto;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.model.Alert;
+import com.smartcar.monitoring.model.Alert.AlertSeverity;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Driver;
+import com.smartcar.monitoring.model.Telemetry;
+import com.smartcar.monitoring.model.User;
+import com.smartcar.monitoring.repository.AlertRepository;
+import com.smartcar.monitoring.repository.CarRepository;
+import com.smartcar.monitoring.repository.DriverRepository;
+import com.smartcar.monitoring.repository.UserRepository;
+import com.smartcar.monitoring.service.TelemetryService.TelemetryStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Server-pushed dashboard aggregates on /user/queue/dashboard.
+ *
+ * A session registers via /app/dashboard/register and gets the dashboard of the user it
+ * authenticated as on CONNECT (see TokenService). Drivers get a view of
+ * their assigned car (latest sample, rolling 24h statistics, alert counts and the most
+ * recent alerts); admins get the fleet table and the alert counters. The full view is sent
+ * on registration, then only what changed is pushed once per publish interval. The 24h
+ * statistics are kept in per-minute buckets updated on ingest, so no telemetry is re-read
+ * after registration; alert counts are re-queried only in ticks after an alert changed.
+ */
+@Service
+public class DashboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
+    public static final String USER_DESTINATION = "/queue/dashboard";
+
+    static final int WINDOW_MINUTES = 24 * 60;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TelemetryService telemetryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Value("${dashboard.recent-alerts:3}")
+    private int recentAlertLimit = 3;
+
+    private final Map<String, Viewer> viewers = new ConcurrentHashMap<>();
+
+    // Rolling 24h window per car, kept only while a driver session views the car
+    private final Map<Long, CarWindow> windows = new ConcurrentHashMap<>();
+
+    // Fleet table state, loaded when the first admin registers
+    private final Map<Long, TelemetryDto> latest = new ConcurrentHashMap<>();
+    private volatile Map<Long, String> carStatus = Map.of();
+    private volatile Map<Long, String> driverNames = Map.of();
+    private volatile boolean fleetLoaded;
+    private volatile Map<String, Object> alertCounts;
+
+    // Changes since the last tick
+    private final Set<Long> dirtyCars = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyAlertCars = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean alertsChanged = new AtomicBoolean();
+    private final AtomicBoolean allAlertsChanged = new AtomicBoolean();
+
+    private final AtomicLong framesSent = new AtomicLong();
+
+    // Bind a session to the dashboard of the given user and send the full view
+    public void register(String sessionId, Long userId) {
+        if (sessionId == null) {
+            return;
+        }
+        if (userId == null) {
+            logger.warn("Dashboard registration from unauthenticated session {}", sessionId);
+            return;
+        }
+        unregister(sessionId);
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null || !Boolean.TRUE.equals(user.getIsActive())) {
+            logger.warn("Dashboard registration for unknown or inactive user {}", userId);
+            return;
+        }
+        try {
+            if (user.getRole() == User.UserRole.ADMIN) {
+                loadFleet();
+                viewers.put(sessionId, new Viewer(null, true));
+                sendToSession(sessionId, objectMapper.writeValueAsBytes(fleetView(null)));
+            } else {
+                Long carId = driverRepository.findByUserId(userId)
+                        .filter(driver -> Boolean.TRUE.equals(driver.getIsActive()))
+                        .map(Driver::getAssignedCarId)
+                        .orElse(null);
+                viewers.put(sessionId, new Viewer(carId, false));
+                CarWindow window = carId != null ? windows.computeIfAbsent(carId, this::loadWindow) : null;
+                sendToSession(sessionId, objectMapper.writeValueAsBytes(driverView(carId, window)));
+            }
+        } catch (Exception e) {
+            logger.error("Error sending dashboard to session {}", sessionId, e);
+        }
+    }
+
+    public void unregister(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        Viewer viewer = viewers.remove(sessionId);
+        if (viewer != null && viewer.carId != null && driverSessions(viewer.carId).isEmpty()) {
+            windows.remove(viewer.carId);
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        unregister(event.getSessionId());
+    }
+
+    // Fold a telemetry sample into the aggregates; called on ingest
+    public void record(TelemetryDto telemetryDto) {
+        if (telemetryDto == null || telemetryDto.getCarId() == null) {
+            return;
+        }
+        Long carId = telemetryDto.getCarId();
+        if (fleetLoaded) {
+            latest.put(carId, telemetryDto);
+        }
+        if (viewers.isEmpty()) {
+            return;
+        }
+        CarWindow window = windows.get(carId);
+        if (window != null) {
+            window.add(telemetryDto);
+        }
+        dirtyCars.add(carId);
+    }
+
+    // Mark alert aggregates stale; a null car ID means the change may touch any car
+    public void markAlertsChanged(Long carId) {
+        if (carId == null) {
+            allAlertsChanged.set(true);
+        } else {
+            dirtyAlertCars.add(carId);
+        }
+        alertsChanged.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.publish-interval-ms:1000}")
+    public void publish() {
+        Set<Long> cars = drain(dirtyCars);
+        Set<Long> alertCars = drain(dirtyAlertCars);
+        boolean alertsDirty = alertsChanged.getAndSet(false);
+        boolean allAlertCars = allAlertsChanged.getAndSet(false);
+        List<String> admins = adminSessions();
+        boolean countersChanged = false;
+        if (alertsDirty) {
+            if (admins.isEmpty()) {
+                // Recounted when the next admin registers
+                alertCounts = null;
+            } else {
+                Map<String, Object> counts = countAlerts();
+                countersChanged = !counts.equals(alertCounts);
+                alertCounts = counts;
+            }
+        }
+        if (!admins.isEmpty() && (countersChanged || !cars.isEmpty())) {
+            try {
+                byte[] payload = objectMapper.writeValueAsBytes(fleetView(cars));
+                for (String sessionId : admins) {
+                    sendToSession(sessionId, payload);
+                }
+            } catch (Exception e) {
+                logger.error("Error publishing fleet dashboard", e);
+            }
+        }
+
+        for (Map.Entry<Long, CarWindow> entry : windows.entrySet()) {
+            Long carId = entry.getKey();
+            CarWindow window = entry.getValue();
+            boolean alertDirty = allAlertCars || alertCars.contains(carId);
+            if (!cars.contains(carId) && !alertDirty) {
+                continue;
+            }
+            if (alertDirty) {
+                window.invalidateAlerts();
+            }
+            List<String> sessions = driverSessions(carId);
+            if (sessions.isEmpty()) {
+                continue;
+            }
+            try {
+                byte[] payload = objectMapper.writeValueAsBytes(driverView(carId, window));
+                for (String sessionId : sessions) {
+                    sendToSession(sessionId, payload);
+                }
+            } catch (Exception e) {
+                logger.error("Error publishing driver dashboard for car {}", carId, e);
+            }
+        }
+    }
+
+    // Car status and driver names change rarely, so they are refreshed on a slower schedule
+    @Scheduled(fixedDelayString = "${dashboard.reference-refresh-ms:30000}")
+    public void refreshReferenceData() {
+        if (!fleetLoaded || adminSessions().isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, String> previousStatus = carStatus;
+            Map<Long, String> previousNames = driverNames;
+            loadReferenceData();
+            Set<Long> changed = new HashSet<>(carStatus.keySet());
+            changed.addAll(previousStatus.keySet());
+            changed.removeIf(carId -> Objects.equals(previousStatus.get(carId), carStatus.get(carId))
+                    && Objects.equals(previousNames.get(carId), driverNames.get(carId)));
+            dirtyCars.addAll(changed);
+        } catch (Exception e) {
+            logger.error("Error refreshing dashboard reference data", e);
+        }
+    }
+
+    Map<String, Object> driverView(Long carId, CarWindow window) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("type", "DRIVER_DASHBOARD");
+        view.put("carId", carId);
+        if (window != null) {
+            synchronized (window) {
+                view.put("latest", window.latest);
+                view.put("stats", window.statistics(currentMinute()));
+            }
+            window.loadAlerts(carId);
+            view.put("alertCount", window.alertCount);
+            view.put("unacknowledgedAlertCount", window.unacknowledgedAlertCount);
+            view.put("recentAlerts", window.recentAlerts);
+        }
+        view.put("timestamp", LocalDateTime.now());
+        return view;
+    }
+
+    // Full fleet table when changedCars is null, otherwise only the rows that changed
+    Map<String, Object> fleetView(Set<Long> changedCars) {
+        if (alertCounts == null) {
+            alertCounts = countAlerts();
+        }
+        Map<Long, String> status = carStatus;
+        Map<Long, String> names = driverNames;
+        List<Map<String, Object>> vehicles = new ArrayList<>();
+        for (Long carId : changedCars != null ? changedCars : latest.keySet()) {
+            TelemetryDto telemetryDto = latest.get(carId);
+            if (telemetryDto == null || !status.containsKey(carId)) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", carId);
+            row.put("driver", names.getOrDefault(carId, "-"));
+            row.put("location", telemetryDto.getLocation());
+            row.put("speed", telemetryDto.getSpeed());
+            row.put("fuel", telemetryDto.getFuelLevel());
+            row.put("temp", telemetryDto.getTemperature());
+            row.put("status", status.get(carId));
+            row.put("lastUpdate", telemetryDto.getTimestamp());
+            vehicles.add(row);
+        }
+        Map<String, Object> view = new LinkedHashMap<>();
+        view.put("type", changedCars == null ? "FLEET_DASHBOARD" : "FLEET_DASHBOARD_UPDATE");
+        view.put("vehicles", vehicles);
+        view.put("alertCounts", alertCounts);
+        view.put("timestamp", LocalDateTime.now());
+        return view;
+    }
+
+    private synchronized void loadFleet() {
+        if (fleetLoaded) {
+            return;
+        }
+        for (Telemetry telemetry : telemetryService.getLatestTelemetryForAllCars()) {
+            latest.putIfAbsent(telemetry.getCar().getId(), new TelemetryDto(telemetry));
+        }
+        loadReferenceData();
+        alertCounts = countAlerts();
+        fleetLoaded = true;
+    }
+
+    private void loadReferenceData() {
+        Map<Long, String> status = new HashMap<>();
+        for (Car car : carRepository.findByIsActiveTrue()) {
+            status.put(car.getId(), car.getStatus() != null ? car.getStatus() : "");
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Driver driver : driverRepository.findByAssignedCarIdIsNotNullAndIsActiveTrue()) {
+            User user = driver.getUser();
+            if (user != null) {
+                names.put(driver.getAssignedCarId(), user.getName() != null ? user.getName() : user.getUsername());
+            }
+        }
+        carStatus = status;
+        driverNames = names;
+    }
+
+    private Map<String, Object> countAlerts() {
+        Map<String, Object> counts = new LinkedHashMap<>();
+        counts.put("totalAlerts", alertRepository.countByIsActiveTrue());
+        counts.put("unacknowledgedAlerts", alertRepository.countByAcknowledgedFalseAndIsActiveTrue());
+        counts.put("criticalAlerts", alertRepository.countBySeverityInAndIsActiveTrue(
+                List.of(AlertSeverity.HIGH, AlertSeverity.CRITICAL)));
+        return counts;
+    }
+
+    // Seed a car's window from the last 24h of stored telemetry
+    private CarWindow loadWindow(Long carId) {
+        CarWindow window = new CarWindow();
+        LocalDateTime end = LocalDateTime.now();
+        for (Telemetry telemetry : telemetryService.getTelemetryByCarAndTimestampRange(carId, end.minusHours(24), end)) {
+            window.add(new TelemetryDto(telemetry));
+        }
+        return window;
+    }
+
+    private List<String> adminSessions() {
+        List<String> sessions = new ArrayList<>();
+        for (Map.Entry<String, Viewer> entry : viewers.entrySet()) {
+            if (entry.getValue().admin) {
+                sessions.add(entry.getKey());
+            }
+        }
+        return sessions;
+    }
+
+    private List<String> driverSessions(Long carId) {
+        List<String> sessions = new ArrayList<>();
+        for (Map.Entry<String, Viewer> entry : viewers.entrySet()) {
+            if (carId.equals(entry.getValue().carId)) {
+                sessions.add(entry.getKey());
+            }
+        }
+        return sessions;
+    }
+
+    private static Set<Long> drain(Set<Long> source) {
+        Set<Long> drained = new HashSet<>();
+        for (Long carId : source) {
+            if (source.remove(carId)) {
+                drained.add(carId);
+            }
+        }
+        return drained;
+    }
+
+    private static long currentMinute() {
+        return toMinute(LocalDateTime.now());
+    }
+
+    private static long toMinute(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private void sendToSession(String sessionId, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+        messagingTemplate.send("/user/" + sessionId + USER_DESTINATION, message);
+        framesSent.incrementAndGet();
+    }
+
+    public int getSessionCount() {
+        return viewers.size();
+    }
+
+    // Viewer and frame counters for the metrics endpoint
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sessions", viewers.size());
+        stats.put("adminSessions", adminSessions().size());
+        stats.put("carWindows", windows.size());
+        stats.put("framesSent", framesSent.get());
+        return stats;
+    }
+
+    private final class CarWindow {
+        // One slot per minute of the day; a slot is reused once its minute leaves the window
+        final long[] minute = new long[WINDOW_MINUTES];
+        final int[] count = new int[WINDOW_MINUTES];
+        final long[] sumSpeed = new long[WINDOW_MINUTES];
+        final long[] sumFuel = new long[WINDOW_MINUTES];
+        final long[] sumTemperature = new long[WINDOW_MINUTES];
+        final int[] minSpeed = new int[WINDOW_MINUTES];
+        final int[] maxSpeed = new int[WINDOW_MINUTES];
+        final int[] minFuel = new int[WINDOW_MINUTES];
+        final int[] maxFuel = new int[WINDOW_MINUTES];
+        final int[] minTemperature = new int[WINDOW_MINUTES];
+        final int[] maxTemperature = new int[WINDOW_MINUTES];
+        TelemetryDto latest;
+
+        // Alert part of the view, re-queried only after an alert for the car changed
+        volatile boolean alertsLoaded;
+        long alertCount;
+        long unacknowledgedAlertCount;
+        List<AlertContextDto> recentAlerts = List.of();
+
+        synchronized void add(TelemetryDto telemetryDto) {
+            if (telemetryDto.getSpeed() == null || telemetryDto.getFuelLevel() == null
+                    || telemetryDto.getTemperature() == null) {
+                return;
+            }
+            LocalDateTime timestamp = telemetryDto.getTimestamp() != null ? telemetryDto.getTimestamp() : LocalDateTime.now();
+            long m = toMinute(timestamp);
+            int slot = (int) Math.floorMod(m, (long) WINDOW_MINUTES);
+            int speed = telemetryDto.getSpeed();
+            int fuel = telemetryDto.getFuelLevel();
+            int temperature = telemetryDto.getTemperature();
+            if (minute[slot] != m || count[slot] == 0) {
+                minute[slot] = m;
+                count[slot] = 0;
+                sumSpeed[slot] = sumFuel[slot] = sumTemperature[slot] = 0;
+                minSpeed[slot] = maxSpeed[slot] = speed;
+                minFuel[slot] = maxFuel[slot] = fuel;
+                minTemperature[slot] = maxTemperature[slot] = temperature;
+            }
+            count[slot]++;
+            sumSpeed[slot] += speed;
+            sumFuel[slot] += fuel;
+            sumTemperature[slot] += temperature;
+            minSpeed[slot] = Math.min(minSpeed[slot], speed);
+            maxSpeed[slot] = Math.max(maxSpeed[slot], speed);
+            minFuel[slot] = Math.min(minFuel[slot], fuel);
+            maxFuel[slot] = Math.max(maxFuel[slot], fuel);
+            minTemperature[slot] = Math.min(minTemperature[slot], temperature);
+            maxTemperature[slot] = Math.max(maxTemperature[slot], temperature);
+            if (latest == null || latest.getTimestamp() == null || !timestamp.isBefore(latest.getTimestamp())) {
+                latest = telemetryDto;
+            }
+        }
+
+        // Same shape as GET /api/telemetry/stats/car/{carId} over the last 24h
+        synchronized TelemetryStatistics statistics(long nowMinute) {
+            TelemetryStatistics stats = new TelemetryStatistics();
+            int total = 0;
+            long speedSum = 0, fuelSum = 0, temperatureSum = 0;
+            int sMin = Integer.MAX_VALUE, sMax = Integer.MIN_VALUE;
+            int fMin = Integer.MAX_VALUE, fMax = Integer.MIN_VALUE;
+            int tMin = Integer.MAX_VALUE, tMax = Integer.MIN_VALUE;
+            for (int slot = 0; slot < WINDOW_MINUTES; slot++) {
+                if (count[slot] == 0 || minute[slot] <= nowMinute - WINDOW_MINUTES || minute[slot] > nowMinute) {
+                    continue;
+                }
+                total += count[slot];
+                speedSum += sumSpeed[slot];
+                fuelSum += sumFuel[slot];
+                temperatureSum += sumTemperature[slot];
+                sMin = Math.min(sMin, minSpeed[slot]);
+                sMax = Math.max(sMax, maxSpeed[slot]);
+                fMin = Math.min(fMin, minFuel[slot]);
+                fMax = Math.max(fMax, maxFuel[slot]);
+                tMin = Math.min(tMin, minTemperature[slot]);
+                tMax = Math.max(tMax, maxTemperature[slot]);
+            }
+            if (total == 0) {
+                return stats;
+            }
+            stats.setTotalRecords(total);
+            stats.setAverageSpeed(Math.round((double) speedSum / total * 100.0) / 100.0);
+            stats.setAverageFuel(Math.round((double) fuelSum / total * 100.0) / 100.0);
+            stats.setAverageTemperature(Math.round((double) temperatureSum / total * 100.0) / 100.0);
+            stats.setMinSpeed(sMin);
+            stats.setMaxSpeed(sMax);
+            stats.setMinFuel(fMin);
+            stats.setMaxFuel(fMax);
+            stats.setMinTemperature(tMin);
+            stats.setMaxTemperature(tMax);
+            return stats;
+        }
+
+        void invalidateAlerts() {
+            alertsLoaded = false;
+        }
+
+        synchronized void loadAlerts(Long carId) {
+            if (alertsLoaded) {
+                return;
+            }
+            LocalDateTime end = LocalDateTime.now();
+            alertCount = alertRepository.countByCarIdAndIsActiveTrue(carId);
+            unacknowledgedAlertCount = alertRepository.countByCarIdAndAcknowledgedFalseAndIsActiveTrue(carId);
+            recentAlerts = alertRepository.findAlertsWithTelemetryContext(carId, end.minusHours(24), end,
+                            PageRequest.of(0, recentAlertLimit))
+                    .stream()
+                    .map(row -> new AlertContextDto((Alert) row[0], (Telemetry) row[1]))
+                    .collect(Collectors.toList());
+            alertsLoaded = true;
+        }
+    }
+
+    private static final class Viewer {
+        final Long carId;
+        final boolean admin;
+
+        Viewer(Long carId, boolean admin) {
+            this.carId = carId;
+            this.admin = admin;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.DriverScoreDto;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Driver;
+import com.smartcar.monitoring.model.DriverScore;
+import com.smartcar.monitoring.repository.DriverRepository;
+import com.smartcar.monitoring.repository.DriverScoreRepository;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scores driver behaviour from the telemetry stream as it is ingested.
+ *
+ * Each interval between two samples of a car is attributed to the driver currently assigned to
+ * the car and adds to that driver's aggregates: driving time, time above the speed limit, time
+ * with the engine above the overheat temperature, and harsh speed changes. Aggregates decay
+ * exponentially with half-life-hours, so the score reflects recent behaviour. Scores and the
+ * leaderboard are served from memory; aggregates are checkpointed to driver_scores every
+ * flush interval and loaded back at startup.
+ */
+@Service
+public class DriverScoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DriverScoreService.class);
+
+    // Points lost for spending all driving time speeding / overheating, and per harsh event per hour
+    static final double SPEEDING_WEIGHT = 60;
+    static final double OVERHEAT_WEIGHT = 20;
+    static final double HARSH_EVENT_WEIGHT = 2;
+
+    @Autowired
+    private DriverScoreRepository driverScoreRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Value("${driver-score.speed-limit-kmh:120}")
+    private int speedLimitKmh = 120;
+
+    @Value("${driver-score.overheat-celsius:50}")
+    private int overheatCelsius = 50;
+
+    @Value("${driver-score.harsh-kmh-per-second:12}")
+    private double harshKmhPerSecond = 12;
+
+    @Value("${driver-score.half-life-hours:168}")
+    private double halfLifeHours = 168;
+
+    @Value("${driver-score.max-gap-seconds:60}")
+    private long maxGapSeconds = 60;
+
+    @Value("${driver-score.min-driving-minutes:10}")
+    private long minDrivingMinutes = 10;
+
+    private final Map<Long, ScoreState> scores = new ConcurrentHashMap<>();
+
+    // Last sample per car, to measure the interval and speed change of the next one
+    private final Map<Long, CarSample> lastSamples = new ConcurrentHashMap<>();
+
+    // Drivers deactivated since startup; cached cars may still carry them as active
+    private final Set<Long> deactivated = ConcurrentHashMap.newKeySet();
+
+    // Load the checkpointed aggregates of active drivers
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            for (DriverScore checkpoint : driverScoreRepository.findAllWithDriver()) {
+                if (Boolean.TRUE.equals(checkpoint.getDriver().getIsActive())) {
+                    scores.put(checkpoint.getDriver().getId(), ScoreState.resume(checkpoint));
+                }
+            }
+            logger.info("Driver scorer loaded {} driver scores", scores.size());
+        } catch (Exception e) {
+            logger.error("Error loading driver scores", e);
+        }
+    }
+
+    // Attribute the interval ending at this sample to the car's driver
+    public void record(Car car, TelemetryDto telemetryDto) {
+        if (car == null || car.getId() == null || telemetryDto.getSpeed() == null) {
+            return;
+        }
+        LocalDateTime at = telemetryDto.getTimestamp() != null ? telemetryDto.getTimestamp() : LocalDateTime.now();
+        int speed = telemetryDto.getSpeed();
+        CarSample previous = lastSamples.put(car.getId(), new CarSample(at, speed));
+        Driver driver = car.getDriver();
+        if (driver == null || driver.getId() == null || previous == null
+                || Boolean.FALSE.equals(driver.getIsActive()) || deactivated.contains(driver.getId())) {
+            return;
+        }
+        double seconds = Duration.between(previous.at, at).toMillis() / 1000.0;
+        // A long gap means the car was off or out of coverage; it says nothing about the driving
+        if (seconds <= 0 || seconds > maxGapSeconds) {
+            return;
+        }
+
+        ScoreState state = scores.computeIfAbsent(driver.getId(), id -> new ScoreState(at));
+        synchronized (state) {
+            if (state.driverName == null && Hibernate.isInitialized(driver.getUser()) && driver.getUser() != null) {
+                state.driverName = driver.getUser().getName();
+            }
+            state.decayTo(at, halfLifeHours);
+            if (speed > 0 || previous.speed > 0) {
+                state.drivingSeconds += seconds;
+                if (speed > speedLimitKmh) {
+                    state.speedingSeconds += seconds;
+                }
+                if (telemetryDto.getTemperature() != null && telemetryDto.getTemperature() > overheatCelsius) {
+                    state.overheatSeconds += seconds;
+                }
+                if (Math.abs(speed - previous.speed) / seconds >= harshKmhPerSecond) {
+                    state.harshEvents++;
+                }
+            }
+            state.sampleCount++;
+            state.lastSampleAt = at;
+            state.dirty = true;
+        }
+    }
+
+    // Current score of one driver (decayed to now)
+    public DriverScoreDto getScore(Long driverId) {
+        ScoreState state = scores.get(driverId);
+        if (state == null) {
+            return new DriverScoreDto(driverId);
+        }
+        synchronized (state) {
+            return state.toDto(driverId, LocalDateTime.now(), halfLifeHours);
+        }
+    }
+
+    // Drivers with at least min-driving-minutes of (decayed) driving, best or worst first
+    public List<DriverScoreDto> getLeaderboard(int limit, boolean worstFirst) {
+        LocalDateTime now = LocalDateTime.now();
+        List<DriverScoreDto> ranked = new ArrayList<>();
+        for (Map.Entry<Long, ScoreState> entry : scores.entrySet()) {
+            ScoreState state = entry.getValue();
+            DriverScoreDto dto;
+            synchronized (state) {
+                dto = state.toDto(entry.getKey(), now, halfLifeHours);
+            }
+            if (dto.getDrivingSeconds() >= minDrivingMinutes * 60) {
+                ranked.add(dto);
+            }
+        }
+        Comparator<DriverScoreDto> byScore = Comparator.comparing(DriverScoreDto::getScore);
+        ranked.sort((worstFirst ? byScore : byScore.reversed())
+                .thenComparing(DriverScoreDto::getDrivingSeconds, Comparator.reverseOrder()));
+        List<DriverScoreDto> top = new ArrayList<>(ranked.subList(0, Math.min(limit, ranked.size())));
+        for (int i = 0; i < top.size(); i++) {
+            top.get(i).setRank(i + 1);
+        }
+        return top;
+    }
+
+    // Drop a deactivated driver from the leaderboard and stop scoring them; the checkpoint is kept
+    public void forgetDriver(Long driverId) {
+        deactivated.add(driverId);
+        scores.remove(driverId);
+    }
+
+    // Resume scoring a reactivated driver from their checkpoint
+    public void restoreDriver(Long driverId) {
+        try {
+            for (DriverScore checkpoint : driverScoreRepository.findByDriverIdIn(List.of(driverId))) {
+                scores.putIfAbsent(driverId, ScoreState.resume(checkpoint));
+            }
+        } catch (Exception e) {
+            logger.error("Error loading driver score for driver {}", driverId, e);
+        }
+        deactivated.remove(driverId);
+    }
+
+    // Checkpoint the aggregates that changed since the last flush
+    @Scheduled(fixedDelayString = "${driver-score.flush-interval-ms:60000}")
+    public void flush() {
+        Map<Long, ScoreState> dirty = new HashMap<>();
+        Map<Long, DriverScore> values = new HashMap<>();
+        for (Map.Entry<Long, ScoreState> entry : scores.entrySet()) {
+            ScoreState state = entry.getValue();
+            synchronized (state) {
+                if (state.dirty) {
+                    DriverScore snapshot = new DriverScore();
+                    state.applyTo(snapshot);
+                    values.put(entry.getKey(), snapshot);
+                    dirty.put(entry.getKey(), state);
+                    state.dirty = false;
+                }
+            }
+        }
+        if (dirty.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, DriverScore> checkpoints = new HashMap<>();
+            for (DriverScore checkpoint : driverScoreRepository.findByDriverIdIn(dirty.keySet())) {
+                checkpoints.put(checkpoint.getDriver().getId(), checkpoint);
+            }
+            List<DriverScore> toSave = new ArrayList<>();
+            for (Map.Entry<Long, DriverScore> entry : values.entrySet()) {
+                DriverScore checkpoint = checkpoints.get(entry.getKey());
+                if (checkpoint == null) {
+                    checkpoint = new DriverScore(driverRepository.getReferenceById(entry.getKey()));
+                }
+                copy(entry.getValue(), checkpoint);
+                toSave.add(checkpoint);
+            }
+            driverScoreRepository.saveAll(toSave);
+            logger.debug("Checkpointed {} driver scores", toSave.size());
+        } catch (Exception e) {
+            // Retry on the next flush
+            dirty.values().forEach(state -> {
+                synchronized (state) {
+                    state.dirty = true;
+                }
+            });
+            logger.error("Error checkpointing driver scores", e);
+        }
+    }
+
+    // 100 minus penalties for the share of driving time spent speeding or overheating and for
+    // harsh speed changes per driving hour; aggregates decay together, so decay leaves it unchanged
+    static double score(double drivingSeconds, double speedingSeconds, double harshEvents, double overheatSeconds) {
+        if (drivingSeconds <= 0) {
+            return 100.0;
+        }
+        double penalty = SPEEDING_WEIGHT * Math.min(speedingSeconds / drivingSeconds, 1.0)
+                + OVERHEAT_WEIGHT * Math.min(overheatSeconds / drivingSeconds, 1.0)
+                + HARSH_EVENT_WEIGHT * harshEvents / (drivingSeconds / 3600.0);
+        return Math.max(100.0 - penalty, 0.0);
+    }
+
+    private static void copy(DriverScore from, DriverScore to) {
+        to.setScore(from.getScore());
+        to.setDrivingSeconds(from.getDrivingSeconds());
+        to.setSpeedingSeconds(from.getSpeedingSeconds());
+        to.setHarshEvents(from.getHarshEvents());
+        to.setOverheatSeconds(from.getOverheatSeconds());
+        to.setSampleCount(from.getSampleCount());
+        to.setDecayedAt(from.getDecayedAt());
+    }
+
+    private record CarSample(LocalDateTime at, int speed) {}
+
+    private static final class ScoreState {
+        String driverName;
+        LocalDateTime decayedAt;
+        LocalDateTime lastSampleAt;
+        double drivingSeconds;
+        double speedingSeconds;
+        double harshEvents;
+        double overheatSeconds;
+        long sampleCount;
+        boolean dirty;
+
+        ScoreState(LocalDateTime decayedAt) {
+            this.decayedAt = decayedAt;
+        }
+
+        static ScoreState resume(DriverScore checkpoint) {
+            ScoreState state = new ScoreState(checkpoint.getDecayedAt());
+            Driver driver = checkpoint.getDriver();
+            if (Hibernate.isInitialized(driver) && Hibernate.isInitialized(driver.getUser()) && driver.getUser() != null) {
+                state.driverName = driver.getUser().getName();
+            }
+            state.lastSampleAt = checkpoint.getDecayedAt();
+            state.drivingSeconds = checkpoint.getDrivingSeconds();
+            state.speedingSeconds = checkpoint.getSpeedingSeconds();
+            state.harshEvents = checkpoint.getHarshEvents();
+            state.overheatSeconds = checkpoint.getOverheatSeconds();
+            state.sampleCount = checkpoint.getSampleCount();
+            return state;
+        }
+
+        static double decayFactor(LocalDateTime from, LocalDateTime to, double halfLifeHours) {
+            long millis = Duration.between(from, to).toMillis();
+            return millis > 0 ? Math.pow(0.5, millis / (halfLifeHours * 3_600_000.0)) : 1.0;
+        }
+
+        void decayTo(LocalDateTime at, double halfLifeHours) {
+            double factor = decayFactor(decayedAt, at, halfLifeHours);
+            if (factor < 1.0) {
+                drivingSeconds *= factor;
+                speedingSeconds *= factor;
+                harshEvents *= factor;
+                overheatSeconds *= factor;
+                decayedAt = at;
+            }
+        }
+
+        DriverScoreDto toDto(Long driverId, LocalDateTime now, double halfLifeHours) {
+            double factor = decayFactor(decayedAt, now, halfLifeHours);
+            DriverScoreDto dto = new DriverScoreDto(driverId);
+            dto.setDriverName(driverName);
+            dto.setDrivingSeconds(drivingSeconds * factor);
+            dto.setSpeedingSeconds(speedingSeconds * factor);
+            dto.setHarshEvents(harshEvents * factor);
+            dto.setOverheatSeconds(overheatSeconds * factor);
+            dto.setHarshEventsPerHour(drivingSeconds > 0 ? harshEvents / (drivingSeconds / 3600.0) : 0.0);
+            dto.setScore(drivingSeconds > 0 ? score(drivingSeconds, speedingSeconds, harshEvents, overheatSeconds) : null);
+            dto.setSampleCount(sampleCount);
+            dto.setLastSampleAt(lastSampleAt);
+            return dto;
+        }
+
+        void applyTo(DriverScore checkpoint) {
+            checkpoint.setScore(score(drivingSeconds, speedingSeconds, harshEvents, overheatSeconds));
+            checkpoint.setDrivingSeconds(drivingSeconds);
+            checkpoint.setSpeedingSeconds(speedingSeconds);
+            checkpoint.setHarshEvents(harshEvents);
+            checkpoint.setOverheatSeconds(overheatSeconds);
+            checkpoint.setSampleCount(sampleCount);
+            checkpoint.setDecayedAt(decayedAt);
+        }
+    }
+}
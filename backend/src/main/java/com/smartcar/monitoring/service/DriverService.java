@@ -1,5 +1,6 @@
 package com.smartcar.monitoring.service;
 
+import com.smartcar.monitoring.config.CacheConfig;
 import com.smartcar.monitoring.model.Driver;
 import com.smartcar.monitoring.model.User;
 import com.smartcar.monitoring.repository.DriverRepository;
@@ -7,6 +8,9 @@ import com.smartcar.monitoring.repository.UserRepository;
 import com.smartcar.monitoring.exception.DriverNotFoundException;
 import com.smartcar.monitoring.exception.UserNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +28,12 @@ public class DriverService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private DriverScoreService driverScoreService;
+    
     // Create new driver
     public Driver createDriver(Driver driver) {
         // Verify user exists and is a DRIVER
@@ -38,46 +48,57 @@ public class DriverService {
         driver.setLastUpdateOn(LocalDateTime.now());
         driver.setIsActive(true);
         
-        return driverRepository.save(driver);
+        Driver saved = driverRepository.save(driver);
+        resourceVersionService.bump(ResourceVersionService.DRIVERS);
+        return saved;
     }
     
     // Get driver by ID
+    @Transactional(readOnly = true)
     public Driver getDriverById(Long id) {
         return driverRepository.findById(id)
                 .orElseThrow(() -> new DriverNotFoundException("Driver not found with ID: " + id));
     }
     
     // Get driver by user ID
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DRIVERS_BY_USER, key = "#userId", unless = "#result == null")
     public Optional<Driver> getDriverByUserId(Long userId) {
         return driverRepository.findByUserId(userId);
     }
     
     // Get driver by assigned car ID
+    @Transactional(readOnly = true)
     public Optional<Driver> getDriverByAssignedCarId(Long carId) {
         return driverRepository.findByAssignedCarId(carId);
     }
     
     // Get all active drivers
+    @Transactional(readOnly = true)
     public List<Driver> getAllActiveDrivers() {
         return driverRepository.findByIsActiveTrue();
     }
     
     // Get drivers without assigned cars
+    @Transactional(readOnly = true)
     public List<Driver> getDriversWithoutCars() {
         return driverRepository.findByAssignedCarIdIsNullAndIsActiveTrue();
     }
     
     // Get drivers with assigned cars
+    @Transactional(readOnly = true)
     public List<Driver> getDriversWithCars() {
         return driverRepository.findByAssignedCarIdIsNotNullAndIsActiveTrue();
     }
     
     // Get drivers created in date range
+    @Transactional(readOnly = true)
     public List<Driver> getDriversCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
         return driverRepository.findDriversCreatedBetween(startDate, endDate);
     }
     
     // Update driver
+    @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true)
     public Driver updateDriver(Long id, Driver driverDetails) {
         Driver driver = getDriverById(id);
         
@@ -89,57 +110,81 @@ public class DriverService {
         
         driver.setLastUpdateOn(LocalDateTime.now());
         
-        return driverRepository.save(driver);
+        Driver saved = driverRepository.save(driver);
+        resourceVersionService.bump(ResourceVersionService.DRIVERS);
+        return saved;
     }
     
     // Assign car to driver
+    @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true)
     public Driver assignCarToDriver(Long driverId, Long carId) {
         Driver driver = getDriverById(driverId);
         driver.setAssignedCarId(carId);
         driver.setLastUpdateOn(LocalDateTime.now());
-        return driverRepository.save(driver);
+        Driver saved = driverRepository.save(driver);
+        resourceVersionService.bump(ResourceVersionService.DRIVERS);
+        return saved;
     }
     
     // Unassign car from driver
+    @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true)
     public Driver unassignCarFromDriver(Long driverId) {
         Driver driver = getDriverById(driverId);
         driver.setAssignedCarId(null);
         driver.setLastUpdateOn(LocalDateTime.now());
-        return driverRepository.save(driver);
+        Driver saved = driverRepository.save(driver);
+        resourceVersionService.bump(ResourceVersionService.DRIVERS);
+        return saved;
     }
     
-    // Soft delete driver
+    // Soft delete driver; cached cars carry the driver, so they are evicted too
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.CARS, allEntries = true)
+    })
     public void deactivateDriver(Long id) {
         Driver driver = getDriverById(id);
         driver.setIsActive(false);
         driver.setLastUpdateOn(LocalDateTime.now());
         driverRepository.save(driver);
+        driverScoreService.forgetDriver(id);
+        resourceVersionService.bump(ResourceVersionService.DRIVERS);
     }
     
     // Reactivate driver
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.CARS, allEntries = true)
+    })
     public void reactivateDriver(Long id) {
         Driver driver = getDriverById(id);
         driver.setIsActive(true);
         driver.setLastUpdateOn(LocalDateTime.now());
         driverRepository.save(driver);
+        driverScoreService.restoreDriver(id);
+        resourceVersionService.bump(ResourceVersionService.DRIVERS);
     }
     
     // Count active drivers
+    @Transactional(readOnly = true)
     public long countActiveDrivers() {
         return driverRepository.countByIsActiveTrue();
     }
     
     // Count drivers with assigned cars
+    @Transactional(readOnly = true)
     public long countDriversWithCars() {
         return driverRepository.countByAssignedCarIdIsNotNullAndIsActiveTrue();
     }
     
     // Count drivers without assigned cars
+    @Transactional(readOnly = true)
     public long countDriversWithoutCars() {
         return driverRepository.countByAssignedCarIdIsNullAndIsActiveTrue();
     }
     
     // Get driver statistics
+    @Transactional(readOnly = true)
     public DriverStatistics getDriverStatistics() {
         DriverStatistics stats = new DriverStatistics();
         
@@ -0,0 +1,66 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.FleetOverviewRowDto;
+import com.smartcar.monitoring.model.Alert.AlertSeverity;
+import com.smartcar.monitoring.repository.CarRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the admin dashboard and analytics pages need about the fleet in one response,
+ * replacing their parallel calls to /cars, /drivers/assigned, /telemetry/latest/all and
+ * /alerts/stats/count. All figures come from one SQL statement, so the rows and the alert
+ * totals describe the same moment.
+ */
+@Service
+public class FleetOverviewService {
+
+    private static final List<AlertSeverity> CRITICAL_SEVERITIES = List.of(AlertSeverity.HIGH, AlertSeverity.CRITICAL);
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getOverview() {
+        long totalAlerts = 0;
+        long unacknowledgedAlerts = 0;
+        long criticalAlerts = 0;
+        Map<Long, FleetOverviewRowDto> vehicles = new LinkedHashMap<>();
+        for (FleetOverviewRowDto row : carRepository.findFleetOverview(CRITICAL_SEVERITIES)) {
+            // A car with more than one active driver appears once per driver; keep the first
+            if (vehicles.containsKey(row.getId())) {
+                continue;
+            }
+            // Inactive cars only contribute to the alert totals, matching /alerts/stats/count
+            totalAlerts += row.getTotalAlerts();
+            unacknowledgedAlerts += row.getUnacknowledgedAlerts();
+            criticalAlerts += row.getCriticalAlerts();
+            vehicles.put(row.getId(), Boolean.TRUE.equals(row.getIsActive()) ? row : null);
+        }
+
+        List<FleetOverviewRowDto> activeVehicles = new ArrayList<>();
+        for (FleetOverviewRowDto row : vehicles.values()) {
+            if (row != null) {
+                activeVehicles.add(row);
+            }
+        }
+
+        Map<String, Object> alertCounts = new LinkedHashMap<>();
+        alertCounts.put("totalAlerts", totalAlerts);
+        alertCounts.put("unacknowledgedAlerts", unacknowledgedAlerts);
+        alertCounts.put("criticalAlerts", criticalAlerts);
+
+        Map<String, Object> overview = new LinkedHashMap<>();
+        overview.put("vehicles", activeVehicles);
+        overview.put("alertCounts", alertCounts);
+        overview.put("generatedAt", LocalDateTime.now());
+        return overview;
+    }
+}
@@ -0,0 +1,173 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.model.Telemetry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current state of every car, published as a snapshot plus sequenced per-field deltas.
+ *
+ * Clients subscribe to /topic/fleet/deltas, then fetch a snapshot from /app/fleet/snapshot
+ * (or GET /api/fleet/snapshot). Deltas with seq at or below the snapshot seq are dropped;
+ * a delta whose prevSeq does not match the last applied seq means a gap and the client
+ * fetches a fresh snapshot. Every change carries the sample timestamp alongside the fields
+ * that changed.
+ */
+@Service
+public class FleetStateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FleetStateService.class);
+
+    public static final String DELTA_TOPIC = "/topic/fleet/deltas";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private TelemetryService telemetryService;
+
+    // State as of the last published delta; guarded by this
+    private final Map<Long, CarState> published = new HashMap<>();
+
+    // Samples received since the last tick, latest per car
+    private final ConcurrentHashMap<Long, TelemetryDto> dirty = new ConcurrentHashMap<>();
+
+    private long seq;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            List<Telemetry> latest = telemetryService.getLatestTelemetryForAllCars();
+            synchronized (this) {
+                // Ingest may have started before the application was ready; never replace its newer state
+                for (Telemetry telemetry : latest) {
+                    published.putIfAbsent(telemetry.getCar().getId(), new CarState(
+                            telemetry.getSpeed(), telemetry.getFuel(), telemetry.getTemperature(),
+                            telemetry.getLocation(), telemetry.getTimestamp()));
+                }
+            }
+            logger.info("Fleet state warmed up with {} cars", latest.size());
+        } catch (Exception e) {
+            logger.error("Failed to warm up fleet state", e);
+        }
+    }
+
+    // Record a telemetry sample for the next delta tick
+    public void record(TelemetryDto telemetryDto) {
+        if (telemetryDto != null && telemetryDto.getCarId() != null) {
+            dirty.put(telemetryDto.getCarId(), telemetryDto);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.fanout.tick-ms:250}")
+    public void publishDeltas() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Map<String, Object> frame;
+        synchronized (this) {
+            List<Map<String, Object>> changes = new ArrayList<>();
+            for (Long carId : dirty.keySet()) {
+                TelemetryDto telemetryDto = dirty.remove(carId);
+                if (telemetryDto == null) {
+                    continue;
+                }
+                Map<String, Object> change = applyAndDiff(carId, telemetryDto);
+                if (change != null) {
+                    changes.add(change);
+                }
+            }
+            if (changes.isEmpty()) {
+                return;
+            }
+            frame = new LinkedHashMap<>();
+            frame.put("type", "FLEET_DELTA");
+            frame.put("prevSeq", seq);
+            frame.put("seq", ++seq);
+            frame.put("changes", changes);
+        }
+        try {
+            messagingTemplate.convertAndSend(DELTA_TOPIC, frame);
+        } catch (Exception e) {
+            logger.error("Error publishing fleet delta {}", frame.get("seq"), e);
+        }
+    }
+
+    // Update the published state and return the changed fields plus the sample timestamp, or null if none changed
+    private Map<String, Object> applyAndDiff(Long carId, TelemetryDto telemetryDto) {
+        CarState next = new CarState(telemetryDto.getSpeed(), telemetryDto.getFuelLevel(),
+                telemetryDto.getTemperature(), telemetryDto.getLocation(), telemetryDto.getTimestamp());
+        CarState previous = published.put(carId, next);
+
+        Map<String, Object> change = new LinkedHashMap<>();
+        change.put("carId", carId);
+        if (previous == null || !Objects.equals(previous.speed, next.speed)) change.put("speed", next.speed);
+        if (previous == null || !Objects.equals(previous.fuelLevel, next.fuelLevel)) change.put("fuelLevel", next.fuelLevel);
+        if (previous == null || !Objects.equals(previous.temperature, next.temperature)) change.put("temperature", next.temperature);
+        if (previous == null || !Objects.equals(previous.location, next.location)) change.put("location", next.location);
+        if (change.size() == 1) {
+            return null;
+        }
+        change.put("timestamp", next.timestamp);
+        return change;
+    }
+
+    // Full state of every car together with the seq it is consistent with
+    public synchronized Map<String, Object> getSnapshot() {
+        List<Map<String, Object>> cars = new ArrayList<>(published.size());
+        for (Map.Entry<Long, CarState> entry : published.entrySet()) {
+            CarState state = entry.getValue();
+            Map<String, Object> car = new LinkedHashMap<>();
+            car.put("carId", entry.getKey());
+            car.put("speed", state.speed);
+            car.put("fuelLevel", state.fuelLevel);
+            car.put("temperature", state.temperature);
+            car.put("location", state.location);
+            car.put("timestamp", state.timestamp);
+            cars.add(car);
+        }
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("type", "FLEET_SNAPSHOT");
+        snapshot.put("seq", seq);
+        snapshot.put("cars", cars);
+        snapshot.put("timestamp", LocalDateTime.now());
+        return snapshot;
+    }
+
+    public synchronized long getSeq() {
+        return seq;
+    }
+
+    // Last published state of one car
+    static final class CarState {
+        final Integer speed;
+        final Integer fuelLevel;
+        final Integer temperature;
+        final String location;
+        final LocalDateTime timestamp;
+
+        CarState(Integer speed, Integer fuelLevel, Integer temperature, String location, LocalDateTime timestamp) {
+            this.speed = speed;
+            this.fuelLevel = fuelLevel;
+            this.temperature = temperature;
+            this.location = location;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.FuelStatusDto;
+import com.smartcar.monitoring.dto.RefuelEventDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streaming fuel estimate per car from the noisy fuel percentage.
+ *
+ * Each reading is compared with the level predicted from the smoothed level and the current
+ * consumption rate; the level moves towards the reading with a weight set by
+ * level-smoothing-seconds, and the rate follows the level's decline with
+ * rate-smoothing-minutes. A reading at least refuel-threshold above the prediction that is
+ * confirmed by the next reading is a refuel: the level jumps to the new reading and the event is
+ * kept (the last REFUEL_HISTORY per car). A single high reading is dropped as a spike. Consumption
+ * is the net decline of the smoothed level between refuels, so sensor noise cancels out instead of
+ * adding up the way raw drops do.
+ *
+ * Once a car has min-samples readings and burns at least min-rate-per-hour, the time to empty is
+ * projected from level and rate. record() returns it once when it first falls within
+ * projected-empty-alert-minutes; it re-arms after a refuel or when the projection recovers to
+ * twice that.
+ */
+@Service
+public class FuelEstimator {
+
+    static final int REFUEL_HISTORY = 8;
+
+    @Value("${fuel.level-smoothing-seconds:60}")
+    private double levelSmoothingSeconds = 60;
+
+    @Value("${fuel.rate-smoothing-minutes:10}")
+    private double rateSmoothingMinutes = 10;
+
+    @Value("${fuel.refuel-threshold:10}")
+    private double refuelThreshold = 10;
+
+    @Value("${fuel.max-gap-minutes:30}")
+    private long maxGapMinutes = 30;
+
+    @Value("${fuel.min-samples:10}")
+    private int minSamples = 10;
+
+    @Value("${fuel.min-rate-per-hour:0.5}")
+    private double minRatePerHour = 0.5;
+
+    @Value("${fuel.projected-empty-alert-minutes:30}")
+    private double projectedEmptyAlertMinutes = 30;
+
+    private final Map<Long, CarFuel> cars = new ConcurrentHashMap<>();
+
+    // Fold a reading into the car's estimate; returns the projected minutes to empty when that
+    // has just fallen within the alert window, NaN otherwise
+    public double record(Long carId, int fuel, LocalDateTime at) {
+        long atMillis = toMillis(at);
+        CarFuel car = cars.computeIfAbsent(carId, id -> new CarFuel());
+        synchronized (car) {
+            car.lastReading = fuel;
+            if (car.samples == 0) {
+                car.level = fuel;
+                car.lastAt = atMillis;
+                car.samples = 1;
+                return Double.NaN;
+            }
+            long millis = atMillis - car.lastAt;
+            if (millis <= 0) {
+                return Double.NaN;
+            }
+            double hours = millis / 3_600_000.0;
+            boolean gap = millis > maxGapMinutes * 60_000;
+            // Across a gap the car may have been parked; nothing was burnt that the rate would predict
+            double predicted = gap ? car.level : car.level - Math.max(car.rate, 0) * hours;
+
+            if (fuel - predicted >= refuelThreshold) {
+                if (car.pendingAt == 0) {
+                    car.pendingAt = atMillis;
+                    return Double.NaN;
+                }
+                car.addRefuel(car.pendingAt, car.level, fuel);
+                car.pendingAt = 0;
+                car.level = fuel;
+                car.lastAt = atMillis;
+                car.samples++;
+                car.alerted = false;
+                return Double.NaN;
+            }
+            car.pendingAt = 0;
+
+            if (gap) {
+                // Whatever went missing during the gap was burnt out of sight
+                car.consumed += Math.max(car.level - fuel, 0);
+                car.level = fuel;
+            } else {
+                double previous = car.level;
+                double levelWeight = 1 - Math.exp(-millis / (levelSmoothingSeconds * 1000));
+                car.level = predicted + levelWeight * (fuel - predicted);
+                double rateWeight = 1 - Math.exp(-millis / (rateSmoothingMinutes * 60_000));
+                car.rate += rateWeight * ((previous - car.level) / hours - car.rate);
+                // Signed, so noise cancels out: the total is the net decline of the smoothed level
+                car.consumed += previous - car.level;
+            }
+            car.lastAt = atMillis;
+            car.samples++;
+
+            double minutes = minutesToEmpty(car);
+            if (Double.isNaN(minutes) || minutes > 2 * projectedEmptyAlertMinutes) {
+                car.alerted = false;
+            } else if (minutes <= projectedEmptyAlertMinutes && !car.alerted) {
+                car.alerted = true;
+                return minutes;
+            }
+            return Double.NaN;
+        }
+    }
+
+    // Fuel burnt since the car's first reading (percentage points, refuels excluded); NaN if unknown
+    public double getConsumed(Long carId) {
+        CarFuel car = cars.get(carId);
+        if (car == null) {
+            return Double.NaN;
+        }
+        synchronized (car) {
+            return car.consumed;
+        }
+    }
+
+    public FuelStatusDto getStatus(Long carId) {
+        CarFuel car = cars.get(carId);
+        if (car == null) {
+            return new FuelStatusDto(carId);
+        }
+        synchronized (car) {
+            return toDto(carId, car);
+        }
+    }
+
+    // Cars projected to run dry within the given minutes, soonest first
+    public List<FuelStatusDto> getProjectedEmptyWithin(double minutes) {
+        List<FuelStatusDto> result = new ArrayList<>();
+        for (Map.Entry<Long, CarFuel> entry : cars.entrySet()) {
+            CarFuel car = entry.getValue();
+            synchronized (car) {
+                double toEmpty = minutesToEmpty(car);
+                if (!Double.isNaN(toEmpty) && toEmpty <= minutes) {
+                    result.add(toDto(entry.getKey(), car));
+                }
+            }
+        }
+        result.sort(Comparator.comparing(FuelStatusDto::getMinutesToEmpty));
+        return result;
+    }
+
+    public void removeCar(Long carId) {
+        cars.remove(carId);
+    }
+
+    private double minutesToEmpty(CarFuel car) {
+        if (car.samples < minSamples || car.rate < minRatePerHour) {
+            return Double.NaN;
+        }
+        return Math.max(car.level, 0) / car.rate * 60;
+    }
+
+    private FuelStatusDto toDto(Long carId, CarFuel car) {
+        FuelStatusDto dto = new FuelStatusDto(carId);
+        dto.setLevel(round(car.level));
+        dto.setLastReading(car.lastReading);
+        dto.setConsumptionPerHour(round(Math.max(car.rate, 0)));
+        dto.setConsumed(round(car.consumed));
+        dto.setSampleCount(car.samples);
+        dto.setLastSampleAt(toDateTime(car.lastAt));
+        double minutes = minutesToEmpty(car);
+        if (!Double.isNaN(minutes)) {
+            dto.setMinutesToEmpty(round(minutes));
+            dto.setProjectedEmptyAt(toDateTime(car.lastAt + (long) (minutes * 60_000)));
+        }
+        int stored = Math.min(car.refuelCount, REFUEL_HISTORY);
+        List<RefuelEventDto> refuels = new ArrayList<>(stored);
+        // Newest first
+        for (int i = 0; i < stored; i++) {
+            int slot = (car.refuelCount - 1 - i) % REFUEL_HISTORY;
+            refuels.add(new RefuelEventDto(toDateTime(car.refuelAt[slot]), car.refuelFrom[slot], car.refuelTo[slot]));
+        }
+        dto.setRecentRefuels(refuels);
+        dto.setRefuelCount(car.refuelCount);
+        return dto;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+
+    private static long toMillis(LocalDateTime at) {
+        return (at != null ? at : LocalDateTime.now()).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+
+    private static final class CarFuel {
+        double level;
+        double rate;
+        double consumed;
+        int lastReading;
+        int samples;
+        long lastAt;
+        // Time of an unconfirmed step up, 0 if none
+        long pendingAt;
+        boolean alerted;
+        int refuelCount;
+        final long[] refuelAt = new long[REFUEL_HISTORY];
+        final float[] refuelFrom = new float[REFUEL_HISTORY];
+        final float[] refuelTo = new float[REFUEL_HISTORY];
+
+        void addRefuel(long at, double from, double to) {
+            int slot = refuelCount % REFUEL_HISTORY;
+            refuelAt[slot] = at;
+            refuelFrom[slot] = (float) from;
+            refuelTo[slot] = (float) to;
+            refuelCount++;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.model.Geofence;
+import com.smartcar.monitoring.model.Geofence.GeofenceCategory;
+import com.smartcar.monitoring.model.Geofence.GeofenceShape;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the active geofences and of which fences each car is currently inside.
+ *
+ * Fences are bucketed by bounding box into a uniform lat/lon grid (as CarLocationIndex does for
+ * cars), so testing a position only checks the fences registered in its cell: the lookup cost
+ * depends on how many fences overlap that spot, not on the total. Fences whose box spans more
+ * than max-cells-per-fence cells are kept in a short list that every lookup checks.
+ *
+ * The grid is rebuilt into a new immutable snapshot whenever fences change, so the ingest path
+ * reads it without locking. Per-car state is only compared against the fences in the current
+ * snapshot: a deleted fence produces no exit.
+ */
+@Service
+public class GeofenceIndex {
+
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    @Value("${geofence.index.cell-degrees:0.1}")
+    private double cellDegrees = 0.1;
+
+    @Value("${geofence.index.max-cells-per-fence:1024}")
+    private int maxCellsPerFence = 1024;
+
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), new Fence[0], Collections.emptyMap(), 0.1);
+
+    // Fence IDs (sorted) each car was inside at its last position
+    private final Map<Long, long[]> insideByCar = new ConcurrentHashMap<>();
+
+    // Replace the indexed fences
+    public void rebuild(Collection<Geofence> geofences) {
+        Map<Long, List<Fence>> cells = new HashMap<>();
+        List<Fence> oversized = new ArrayList<>();
+        Map<Long, Fence> byId = new HashMap<>();
+        for (Geofence geofence : geofences) {
+            Fence fence = Fence.of(geofence);
+            if (fence == null) {
+                continue;
+            }
+            byId.put(fence.id, fence);
+            int minLatCell = cellIndex(fence.minLat), maxLatCell = cellIndex(fence.maxLat);
+            int minLonCell = cellIndex(fence.minLon), maxLonCell = cellIndex(fence.maxLon);
+            long cellCount = (long) (maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1);
+            if (cellCount > maxCellsPerFence) {
+                oversized.add(fence);
+                continue;
+            }
+            for (int lat = minLatCell; lat <= maxLatCell; lat++) {
+                for (int lon = minLonCell; lon <= maxLonCell; lon++) {
+                    cells.computeIfAbsent(cellKey(lat, lon), k -> new ArrayList<>()).add(fence);
+                }
+            }
+        }
+        Map<Long, Fence[]> frozen = new HashMap<>(cells.size() * 2);
+        cells.forEach((key, fences) -> frozen.put(key, fences.toArray(new Fence[0])));
+        snapshot = new Snapshot(frozen, oversized.toArray(new Fence[0]), byId, cellDegrees);
+    }
+
+    // IDs of the fences containing the point, sorted
+    public long[] findContaining(double latitude, double longitude) {
+        Snapshot current = snapshot;
+        Fence[] cell = current.cells.get(cellKey(current.cellIndex(latitude), current.cellIndex(longitude)));
+        long[] result = new long[0];
+        int count = 0;
+        if (cell != null) {
+            for (Fence fence : cell) {
+                if (fence.contains(latitude, longitude)) {
+                    if (count == result.length) result = Arrays.copyOf(result, Math.max(4, count * 2));
+                    result[count++] = fence.id;
+                }
+            }
+        }
+        for (Fence fence : current.oversized) {
+            if (fence.contains(latitude, longitude)) {
+                if (count == result.length) result = Arrays.copyOf(result, Math.max(4, count * 2));
+                result[count++] = fence.id;
+            }
+        }
+        result = Arrays.copyOf(result, count);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Record a car's new position and return the fences it entered or left since the previous one.
+     * The first position seen for a car only seeds its state, so a restart does not re-announce
+     * every car that is already parked inside a fence.
+     */
+    public List<Transition> update(Long carId, double latitude, double longitude) {
+        long[] inside = findContaining(latitude, longitude);
+        long[] previous = insideByCar.put(carId, inside);
+        if (previous == null || Arrays.equals(previous, inside)) {
+            return Collections.emptyList();
+        }
+        Snapshot current = snapshot;
+        List<Transition> transitions = new ArrayList<>(2);
+        // Both arrays are sorted: walk them together
+        int i = 0, j = 0;
+        while (i < previous.length || j < inside.length) {
+            if (j == inside.length || (i < previous.length && previous[i] < inside[j])) {
+                Fence fence = current.byId.get(previous[i++]);
+                if (fence != null) transitions.add(new Transition(fence.id, fence.name, fence.category, false));
+            } else if (i == previous.length || inside[j] < previous[i]) {
+                Fence fence = current.byId.get(inside[j++]);
+                if (fence != null) transitions.add(new Transition(fence.id, fence.name, fence.category, true));
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return transitions;
+    }
+
+    public void removeCar(Long carId) {
+        insideByCar.remove(carId);
+    }
+
+    // IDs of the fences the car was inside at its last position
+    public long[] getFencesForCar(Long carId) {
+        long[] inside = insideByCar.get(carId);
+        return inside != null ? inside.clone() : new long[0];
+    }
+
+    // Cars whose last position was inside the fence, ordered by car ID
+    public List<Long> getCarsInside(Long geofenceId) {
+        List<Long> result = new ArrayList<>();
+        insideByCar.forEach((carId, inside) -> {
+            if (Arrays.binarySearch(inside, geofenceId) >= 0) {
+                result.add(carId);
+            }
+        });
+        Collections.sort(result);
+        return result;
+    }
+
+    public int getFenceCount() {
+        return snapshot.byId.size();
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int lat, int lon) {
+        return ((long) lat << 32) | (lon & 0xffffffffL);
+    }
+
+    // A fence entered (entered = true) or left by a car
+    public static final class Transition {
+        private final Long geofenceId;
+        private final String name;
+        private final GeofenceCategory category;
+        private final boolean entered;
+
+        public Transition(Long geofenceId, String name, GeofenceCategory category, boolean entered) {
+            this.geofenceId = geofenceId;
+            this.name = name;
+            this.category = category;
+            this.entered = entered;
+        }
+
+        public Long getGeofenceId() { return geofenceId; }
+        public String getName() { return name; }
+        public GeofenceCategory getCategory() { return category; }
+        public boolean isEntered() { return entered; }
+    }
+
+    private static final class Snapshot {
+        final Map<Long, Fence[]> cells;
+        final Fence[] oversized;
+        final Map<Long, Fence> byId;
+        final double cellDegrees;
+
+        Snapshot(Map<Long, Fence[]> cells, Fence[] oversized, Map<Long, Fence> byId, double cellDegrees) {
+            this.cells = cells;
+            this.oversized = oversized;
+            this.byId = byId;
+            this.cellDegrees = cellDegrees;
+        }
+
+        int cellIndex(double degrees) {
+            return (int) Math.floor(degrees / cellDegrees);
+        }
+    }
+
+    // Geometry compiled for containment tests; the bounding box is checked first
+    private static final class Fence {
+        final long id;
+        final String name;
+        final GeofenceCategory category;
+        final double minLat, maxLat, minLon, maxLon;
+        final double centerLat, centerLon, radiusKm;
+        final double[] lats, lons;
+
+        private Fence(Geofence geofence, double minLat, double maxLat, double minLon, double maxLon, double[] lats, double[] lons) {
+            this.id = geofence.getId();
+            this.name = geofence.getName();
+            this.category = geofence.getCategory();
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLon = minLon;
+            this.maxLon = maxLon;
+            this.centerLat = geofence.getShape() == GeofenceShape.CIRCLE ? geofence.getCenterLatitude() : 0;
+            this.centerLon = geofence.getShape() == GeofenceShape.CIRCLE ? geofence.getCenterLongitude() : 0;
+            this.radiusKm = geofence.getShape() == GeofenceShape.CIRCLE ? geofence.getRadiusKm() : 0;
+            this.lats = lats;
+            this.lons = lons;
+        }
+
+        static Fence of(Geofence geofence) {
+            if (geofence.getId() == null || geofence.getShape() == null) {
+                return null;
+            }
+            if (geofence.getShape() == GeofenceShape.CIRCLE) {
+                if (geofence.getCenterLatitude() == null || geofence.getCenterLongitude() == null || geofence.getRadiusKm() == null) {
+                    return null;
+                }
+                double lat = geofence.getCenterLatitude(), lon = geofence.getCenterLongitude();
+                double latDelta = geofence.getRadiusKm() / KM_PER_DEGREE_LAT;
+                double lonDelta = geofence.getRadiusKm() / (KM_PER_DEGREE_LAT * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+                return new Fence(geofence, lat - latDelta, lat + latDelta, lon - lonDelta, lon + lonDelta, null, null);
+            }
+            List<double[]> vertices = geofence.getVertexList();
+            if (vertices.size() < 3) {
+                return null;
+            }
+            double[] lats = new double[vertices.size()], lons = new double[vertices.size()];
+            double minLat = Double.MAX_VALUE, maxLat = -Double.MAX_VALUE, minLon = Double.MAX_VALUE, maxLon = -Double.MAX_VALUE;
+            for (int i = 0; i < vertices.size(); i++) {
+                lats[i] = vertices.get(i)[0];
+                lons[i] = vertices.get(i)[1];
+                minLat = Math.min(minLat, lats[i]);
+                maxLat = Math.max(maxLat, lats[i]);
+                minLon = Math.min(minLon, lons[i]);
+                maxLon = Math.max(maxLon, lons[i]);
+            }
+            return new Fence(geofence, minLat, maxLat, minLon, maxLon, lats, lons);
+        }
+
+        boolean contains(double lat, double lon) {
+            if (lat < minLat || lat > maxLat || lon < minLon || lon > maxLon) {
+                return false;
+            }
+            if (lats == null) {
+                return CarLocationIndex.distanceKm(centerLat, centerLon, lat, lon) <= radiusKm;
+            }
+            // Ray casting in lat/lon space, fine for fences far smaller than a hemisphere
+            boolean inside = false;
+            for (int i = 0, j = lats.length - 1; i < lats.length; j = i++) {
+                if ((lats[i] > lat) != (lats[j] > lat)
+                        && lon < (lons[j] - lons[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lons[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.exception.GeofenceNotFoundException;
+import com.smartcar.monitoring.model.Alert;
+import com.smartcar.monitoring.model.Alert.AlertSeverity;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Geofence;
+import com.smartcar.monitoring.model.Geofence.GeofenceCategory;
+import com.smartcar.monitoring.model.Geofence.GeofenceShape;
+import com.smartcar.monitoring.repository.GeofenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Transactional
+public class GeofenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeofenceService.class);
+
+    public static final String GEOFENCE_ENTER = "GEOFENCE_ENTER";
+    public static final String GEOFENCE_EXIT = "GEOFENCE_EXIT";
+
+    @Autowired
+    private GeofenceRepository geofenceRepository;
+
+    @Autowired
+    private GeofenceIndex geofenceIndex;
+
+    @Autowired
+    private AlertService alertService;
+
+    // Load the active fences into the index
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            refreshIndex();
+            logger.info("Geofence index warmed up with {} fences", geofenceIndex.getFenceCount());
+        } catch (Exception e) {
+            logger.error("Error warming up geofence index", e);
+        }
+    }
+
+    // Create new geofence
+    public Geofence createGeofence(Geofence geofence) {
+        validate(geofence);
+        geofence.setCreationDate(LocalDateTime.now());
+        geofence.setLastUpdateOn(LocalDateTime.now());
+        geofence.setIsActive(true);
+        Geofence saved = geofenceRepository.save(geofence);
+        refreshIndex();
+        return saved;
+    }
+
+    // Get geofence by ID
+    @Transactional(readOnly = true)
+    public Geofence getGeofenceById(Long id) {
+        return geofenceRepository.findById(id)
+                .orElseThrow(() -> new GeofenceNotFoundException("Geofence not found with ID: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Geofence> getAllActiveGeofences() {
+        return geofenceRepository.findByIsActiveTrue();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Geofence> getGeofencesByCategory(GeofenceCategory category) {
+        return geofenceRepository.findByCategoryAndIsActiveTrue(category);
+    }
+
+    // Update geofence; cars keep their inside state and get transitions for the new shape on their next position
+    public Geofence updateGeofence(Long id, Geofence geofenceDetails) {
+        validate(geofenceDetails);
+        Geofence geofence = getGeofenceById(id);
+        geofence.setName(geofenceDetails.getName());
+        geofence.setShape(geofenceDetails.getShape());
+        geofence.setCategory(geofenceDetails.getCategory());
+        geofence.setCenterLatitude(geofenceDetails.getCenterLatitude());
+        geofence.setCenterLongitude(geofenceDetails.getCenterLongitude());
+        geofence.setRadiusKm(geofenceDetails.getRadiusKm());
+        geofence.setVertices(geofenceDetails.getVertices());
+        geofence.setLastUpdateOn(LocalDateTime.now());
+        Geofence saved = geofenceRepository.save(geofence);
+        refreshIndex();
+        return saved;
+    }
+
+    // Soft delete geofence
+    public void deactivateGeofence(Long id) {
+        Geofence geofence = getGeofenceById(id);
+        geofence.setIsActive(false);
+        geofence.setLastUpdateOn(LocalDateTime.now());
+        geofenceRepository.save(geofence);
+        refreshIndex();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> getCarsInside(Long id) {
+        getGeofenceById(id);
+        return geofenceIndex.getCarsInside(id);
+    }
+
+    // Test a car's new position and raise an alert for each fence it entered or left
+    public List<Alert> checkPosition(Car car, double latitude, double longitude) {
+        List<GeofenceIndex.Transition> transitions = geofenceIndex.update(car.getId(), latitude, longitude);
+        if (transitions.isEmpty()) {
+            return List.of();
+        }
+        List<Alert> alerts = new ArrayList<>(transitions.size());
+        for (GeofenceIndex.Transition transition : transitions) {
+            String type = transition.isEntered() ? GEOFENCE_ENTER : GEOFENCE_EXIT;
+            String message = (transition.isEntered() ? "Entered " : "Left ")
+                    + transition.getCategory().name().toLowerCase() + " zone '" + transition.getName() + "'";
+            alerts.add(alertService.createAlert(car, type, severityFor(transition).toString(), message));
+        }
+        return alerts;
+    }
+
+    // Entering a restricted zone is the one transition that needs attention
+    private AlertSeverity severityFor(GeofenceIndex.Transition transition) {
+        if (transition.getCategory() == GeofenceCategory.RESTRICTED) {
+            return transition.isEntered() ? AlertSeverity.HIGH : AlertSeverity.MEDIUM;
+        }
+        return AlertSeverity.LOW;
+    }
+
+    private void refreshIndex() {
+        geofenceIndex.rebuild(geofenceRepository.findByIsActiveTrue());
+    }
+
+    private void validate(Geofence geofence) {
+        if (geofence.getShape() == GeofenceShape.CIRCLE) {
+            if (geofence.getCenterLatitude() == null || geofence.getCenterLongitude() == null) {
+                throw new IllegalArgumentException("Circle geofence requires a centre");
+            }
+            validateCoordinates(geofence.getCenterLatitude(), geofence.getCenterLongitude());
+            if (geofence.getRadiusKm() == null || geofence.getRadiusKm() <= 0) {
+                throw new IllegalArgumentException("Circle geofence requires a positive radius");
+            }
+            geofence.setVertices(null);
+        } else if (geofence.getShape() == GeofenceShape.POLYGON) {
+            List<double[]> vertices = geofence.getVertexList();
+            if (vertices.size() < 3) {
+                throw new IllegalArgumentException("Polygon geofence requires at least 3 vertices");
+            }
+            for (double[] vertex : vertices) {
+                validateCoordinates(vertex[0], vertex[1]);
+            }
+            geofence.setCenterLatitude(null);
+            geofence.setCenterLongitude(null);
+            geofence.setRadiusKm(null);
+        } else {
+            throw new IllegalArgumentException("Geofence shape is required");
+        }
+    }
+
+    private void validateCoordinates(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.model.LocationLabel;
+import com.smartcar.monitoring.repository.LocationLabelRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Dictionary encoding for telemetry location labels.
+ *
+ * Each distinct label is stored once in the locations table and telemetry rows keep its integer
+ * ID (mapped by LocationLabelConverter). Both directions are held in memory, and every label
+ * handed out is the single canonical String instance, so a large history read shares a handful
+ * of Strings instead of allocating one per row.
+ *
+ * The whole dictionary is read at startup and the converter only ever looks labels up in
+ * memory: it runs during flushes and while query results are read, where a query of its own
+ * would need a second pooled connection. Services register new labels with intern() before
+ * persisting. A new label is inserted in its own transaction: the ID may already be cached
+ * when the telemetry transaction that introduced it rolls back, so the row must not roll back
+ * with it. Labels added by other instances are picked up by a periodic refresh.
+ */
+@Service
+public class LocationDictionary {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocationDictionary.class);
+
+    @Autowired
+    private LocationLabelRepository locationLabelRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Map<String, Integer> idsByLabel = new ConcurrentHashMap<>();
+    private final Map<Integer, String> labelsById = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        for (LocationLabel entry : locationLabelRepository.findAll()) {
+            put(entry.getId(), entry.getLabel());
+        }
+        logger.info("Location dictionary loaded with {} labels", labelsById.size());
+    }
+
+    // Labels added by other instances since the last load
+    @Scheduled(fixedDelayString = "${location-dictionary.refresh-ms:60000}",
+               initialDelayString = "${location-dictionary.refresh-ms:60000}")
+    public void refresh() {
+        int before = labelsById.size();
+        for (LocationLabel entry : locationLabelRepository.findAll()) {
+            put(entry.getId(), entry.getLabel());
+        }
+        if (labelsById.size() != before) {
+            logger.debug("Location dictionary refreshed to {} labels", labelsById.size());
+        }
+    }
+
+    // ID of a registered label; null when the label has not been interned
+    public Integer idFor(String label) {
+        return label != null ? idsByLabel.get(label) : null;
+    }
+
+    // Canonical label for the ID; null for an ID added by another instance since the last refresh
+    public String labelFor(Integer id) {
+        return id != null ? labelsById.get(id) : null;
+    }
+
+    // The canonical instance of the label, adding it to the dictionary when it is new. Call it
+    // before persisting, never from inside a flush
+    public String intern(String label) {
+        if (label == null) {
+            return null;
+        }
+        Integer id = idsByLabel.get(label);
+        return labelsById.get(id != null ? id : register(label));
+    }
+
+    // Known labels containing the text
+    public List<String> findLabelsContaining(String text) {
+        return locationLabelRepository.findByLabelContaining(text).stream()
+                .map(entry -> put(entry.getId(), entry.getLabel()))
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return labelsById.size();
+    }
+
+    // Not synchronized: a thread waiting for a connection must not hold up lookups or other
+    // registrations, and the unique label constraint settles concurrent inserts
+    private Integer register(String label) {
+        LocationLabel entry;
+        try {
+            entry = inNewTransaction(() -> locationLabelRepository.findByLabel(label)
+                    .orElseGet(() -> locationLabelRepository.save(new LocationLabel(label))));
+        } catch (DataIntegrityViolationException e) {
+            // Inserted concurrently by another instance
+            entry = inNewTransaction(() -> locationLabelRepository.findByLabel(label)).orElseThrow(() -> e);
+        }
+        put(entry.getId(), entry.getLabel());
+        logger.debug("Added location '{}' to the dictionary with ID {}", label, entry.getId());
+        return entry.getId();
+    }
+
+    private String put(Integer id, String label) {
+        String canonical = labelsById.computeIfAbsent(id, k -> label);
+        idsByLabel.putIfAbsent(canonical, id);
+        return canonical;
+    }
+
+    private <T> T inNewTransaction(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template.execute(status -> work.get());
+    }
+}
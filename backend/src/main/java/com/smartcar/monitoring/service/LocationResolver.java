@@ -0,0 +1,44 @@
+package com.smartcar.monitoring.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Resolves free-text location labels (e.g. "Chicago, IL") to coordinates.
+ * Covers the city labels produced by the telemetry simulator; unknown labels resolve to null.
+ * Samples and cars now carry their own latitude/longitude, so this is only the fallback for
+ * payloads and rows that have a label but no coordinates.
+ */
+@Component
+public class LocationResolver {
+
+    private static final Map<String, double[]> KNOWN_LOCATIONS = Map.ofEntries(
+            Map.entry("New York, NY", new double[]{40.7128, -74.0060}),
+            Map.entry("Los Angeles, CA", new double[]{34.0522, -118.2437}),
+            Map.entry("Chicago, IL", new double[]{41.8781, -87.6298}),
+            Map.entry("Houston, TX", new double[]{29.7604, -95.3698}),
+            Map.entry("Phoenix, AZ", new double[]{33.4484, -112.0740}),
+            Map.entry("Philadelphia, PA", new double[]{39.9526, -75.1652}),
+            Map.entry("San Antonio, TX", new double[]{29.4241, -98.4936}),
+            Map.entry("San Diego, CA", new double[]{32.7157, -117.1611}),
+            Map.entry("Dallas, TX", new double[]{32.7767, -96.7970}),
+            Map.entry("San Jose, CA", new double[]{37.3382, -121.8863})
+    );
+
+    // Returns {latitude, longitude} or null when the label is unknown
+    public double[] resolve(String location) {
+        if (location == null) {
+            return null;
+        }
+        return KNOWN_LOCATIONS.get(location.trim());
+    }
+
+    // Explicit coordinates win; otherwise fall back to the label
+    public double[] resolve(Double latitude, Double longitude, String location) {
+        if (latitude != null && longitude != null) {
+            return new double[]{latitude, longitude};
+        }
+        return resolve(location);
+    }
+}
@@ -0,0 +1,243 @@
+package com.smartcar.monitoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.smartcar.monitoring.dto.MapViewportRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interest management for map clients.
+ *
+ * Each STOMP session registers a bounding box and/or a car-id set via /app/map/viewport.
+ * Viewports are indexed in a uniform lat/lon grid so a location update only visits the
+ * sessions whose cells it falls in. Matching updates are delivered once per tick as a
+ * single frame on /user/queue/map/locations.
+ */
+@Service
+public class MapInterestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MapInterestService.class);
+
+    public static final String USER_DESTINATION = "/queue/map/locations";
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LocationResolver locationResolver;
+
+    @Value("${websocket.map.grid-cell-degrees:1.0}")
+    private double cellDegrees = 1.0;
+
+    // Viewports spanning more cells than this are checked on every update instead of indexed
+    @Value("${websocket.map.max-indexed-cells:4096}")
+    private int maxIndexedCells = 4096;
+
+    private final Map<String, Interest> interests = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> grid = new ConcurrentHashMap<>();
+    private final Set<String> wideSessions = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<String>> sessionsByCar = new ConcurrentHashMap<>();
+
+    // Register or replace the interest of a session
+    public synchronized void register(String sessionId, MapViewportRequest request) {
+        unregister(sessionId);
+        if (sessionId == null || request == null) {
+            return;
+        }
+        Interest interest = new Interest(request);
+        interests.put(sessionId, interest);
+
+        if (interest.hasBox) {
+            long cellCount = (long) (cellIndex(interest.maxLat) - cellIndex(interest.minLat) + 1)
+                    * (cellIndex(interest.maxLon) - cellIndex(interest.minLon) + 1);
+            if (cellCount > maxIndexedCells) {
+                wideSessions.add(sessionId);
+            } else {
+                for (int lat = cellIndex(interest.minLat); lat <= cellIndex(interest.maxLat); lat++) {
+                    for (int lon = cellIndex(interest.minLon); lon <= cellIndex(interest.maxLon); lon++) {
+                        long key = cellKey(lat, lon);
+                        grid.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+                        interest.cells.add(key);
+                    }
+                }
+            }
+        }
+        for (Long carId : interest.carIds) {
+            sessionsByCar.computeIfAbsent(carId, k -> ConcurrentHashMap.newKeySet()).add(sessionId);
+        }
+        logger.debug("Registered map interest for session {}: {} cells, {} cars", sessionId, interest.cells.size(), interest.carIds.size());
+    }
+
+    public synchronized void unregister(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        Interest interest = interests.remove(sessionId);
+        if (interest == null) {
+            return;
+        }
+        for (Long key : interest.cells) {
+            Set<String> sessions = grid.get(key);
+            if (sessions != null) {
+                sessions.remove(sessionId);
+                if (sessions.isEmpty()) grid.remove(key);
+            }
+        }
+        for (Long carId : interest.carIds) {
+            Set<String> sessions = sessionsByCar.get(carId);
+            if (sessions != null) {
+                sessions.remove(sessionId);
+                if (sessions.isEmpty()) sessionsByCar.remove(carId);
+            }
+        }
+        wideSessions.remove(sessionId);
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        unregister(event.getSessionId());
+    }
+
+    // Sessions interested in a car at the given position (coordinates may be null)
+    public Set<String> matchSessions(Long carId, double[] coordinates) {
+        Set<String> matches = new HashSet<>();
+        Set<String> byCar = sessionsByCar.get(carId);
+        if (byCar != null) {
+            matches.addAll(byCar);
+        }
+        if (coordinates != null) {
+            double lat = coordinates[0];
+            double lon = coordinates[1];
+            Set<String> candidates = grid.get(cellKey(cellIndex(lat), cellIndex(lon)));
+            if (candidates != null) {
+                for (String sessionId : candidates) {
+                    Interest interest = interests.get(sessionId);
+                    if (interest != null && interest.contains(lat, lon)) matches.add(sessionId);
+                }
+            }
+            for (String sessionId : wideSessions) {
+                Interest interest = interests.get(sessionId);
+                if (interest != null && interest.contains(lat, lon)) matches.add(sessionId);
+            }
+        }
+        return matches;
+    }
+
+    // Deliver one tick of pre-serialised location frames to the sessions interested in them
+    public void dispatch(List<LocationUpdate> updates) {
+        if (interests.isEmpty() || updates.isEmpty()) {
+            return;
+        }
+        Map<String, List<RawValue>> perSession = new HashMap<>();
+        for (LocationUpdate update : updates) {
+            double[] coordinates = locationResolver.resolve(update.latitude, update.longitude, update.location);
+            for (String sessionId : matchSessions(update.carId, coordinates)) {
+                perSession.computeIfAbsent(sessionId, k -> new ArrayList<>()).add(update.frame);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<String, List<RawValue>> entry : perSession.entrySet()) {
+            try {
+                Map<String, Object> batch = new LinkedHashMap<>();
+                batch.put("type", "CAR_LOCATION_BATCH");
+                batch.put("data", entry.getValue());
+                batch.put("timestamp", now);
+                sendToSession(entry.getKey(), objectMapper.writeValueAsBytes(batch));
+            } catch (Exception e) {
+                logger.error("Error sending map locations to session {}", entry.getKey(), e);
+            }
+        }
+    }
+
+    private void sendToSession(String sessionId, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+        messagingTemplate.send("/user/" + sessionId + USER_DESTINATION, message);
+    }
+
+    public int getSessionCount() {
+        return interests.size();
+    }
+
+    public int getIndexedCellCount() {
+        return grid.size();
+    }
+
+    private int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long cellKey(int lat, int lon) {
+        return ((long) lat << 32) | (lon & 0xffffffffL);
+    }
+
+    // One tick's location frame for a car
+    public static final class LocationUpdate {
+        final Long carId;
+        final String location;
+        final Double latitude;
+        final Double longitude;
+        final RawValue frame;
+
+        public LocationUpdate(Long carId, String location, RawValue frame) {
+            this(carId, location, null, null, frame);
+        }
+
+        // Coordinates win over the label; the label is only resolved when they are missing
+        public LocationUpdate(Long carId, String location, Double latitude, Double longitude, RawValue frame) {
+            this.carId = carId;
+            this.location = location;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.frame = frame;
+        }
+    }
+
+    private static final class Interest {
+        final boolean hasBox;
+        final double minLat, minLon, maxLat, maxLon;
+        final Set<Long> carIds;
+        final List<Long> cells = new ArrayList<>();
+
+        Interest(MapViewportRequest request) {
+            this.hasBox = request.hasBoundingBox();
+            this.minLat = hasBox ? Math.min(request.getMinLat(), request.getMaxLat()) : 0;
+            this.maxLat = hasBox ? Math.max(request.getMinLat(), request.getMaxLat()) : 0;
+            this.minLon = hasBox ? Math.min(request.getMinLon(), request.getMaxLon()) : 0;
+            this.maxLon = hasBox ? Math.max(request.getMinLon(), request.getMaxLon()) : 0;
+            this.carIds = request.getCarIds() != null ? new HashSet<>(request.getCarIds()) : Set.of();
+        }
+
+        boolean contains(double lat, double lon) {
+            return hasBox && lat >= minLat && lat <= maxLat && lon >= minLon && lon <= maxLon;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.smartcar.monitoring.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.smartcar.monitoring.dto.TelemetryDto;
 import com.smartcar.monitoring.model.Alert;
@@ -20,6 +21,16 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * MQTT ingest: subscribes to car telemetry and status and feeds every message through the
+ * persistence, alerting and live-view pipeline.
+ *
+ * Only ingest nodes (mqtt.ingest.enabled) subscribe. When several backend nodes share a STOMP
+ * broker relay, exactly one of them should ingest: the broker delivers every message to every
+ * subscriber, so N ingesting nodes would store, alert on and broadcast each message N times,
+ * and per-car state (trips, fuel, driver scores, anomaly baselines) needs all of a car's
+ * samples on one node. The other nodes keep their client for publishing.
+ */
 @Service
 public class MqttService {
 
@@ -40,6 +51,33 @@ public class MqttService {
     @Autowired
     private WebSocketService webSocketService;
 
+    @Autowired
+    private TelemetryFanoutService telemetryFanoutService;
+
+    @Autowired
+    private FleetStateService fleetStateService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private CarLocationIndex carLocationIndex;
+
+    @Autowired
+    private GeofenceService geofenceService;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private DriverScoreService driverScoreService;
+
+    @Autowired
+    private AnomalyService anomalyService;
+
+    @Autowired
+    private FuelEstimator fuelEstimator;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -49,6 +87,9 @@ public class MqttService {
     @Value("${mqtt.client.id}")
     private String clientId;
 
+    @Value("${mqtt.ingest.enabled:true}")
+    private boolean ingestEnabled = true;
+
     private final AtomicBoolean subscribed = new AtomicBoolean(false);
 
     @PostConstruct
@@ -104,6 +145,10 @@ public class MqttService {
     }
 
     private void subscribeToTopicsOnce() throws MqttException {
+        if (!ingestEnabled) {
+            logger.info("MQTT ingest disabled on this node; not subscribing to car topics");
+            return;
+        }
         if (!mqttClient.isConnected()) {
             logger.warn("MQTT client not connected yet; deferring subscription");
             return;
@@ -162,15 +207,33 @@ public class MqttService {
             telemetry.setFuel(telemetryDto.getFuelLevel());
             telemetry.setTemperature(telemetryDto.getTemperature());
             telemetry.setLocation(telemetryDto.getLocation());
+            telemetry.setLatitude(telemetryDto.getLatitude());
+            telemetry.setLongitude(telemetryDto.getLongitude());
             telemetry.setTimestamp(telemetryDto.getTimestamp());
 
             telemetryService.createTelemetry(telemetry);
 
-            Alert createdAlert = checkAndCreateAlerts(car, telemetryDto);
+            // Coordinates may have been filled in from the label; pass them on to the live views
+            telemetryDto.setLatitude(telemetry.getLatitude());
+            telemetryDto.setLongitude(telemetry.getLongitude());
+            if (telemetry.getLatitude() != null && telemetry.getLongitude() != null) {
+                carLocationIndex.update(carId, telemetry.getLatitude(), telemetry.getLongitude(), telemetry.getTimestamp());
+            }
+
+            // Before the trip, which takes its fuel used from the smoothed estimate
+            double projectedEmptyMinutes = telemetryDto.getFuelLevel() != null
+                    ? fuelEstimator.record(carId, telemetryDto.getFuelLevel(), telemetryDto.getTimestamp())
+                    : Double.NaN;
+
+            // Before the alerts, so alerts raised by the sample that opens a trip count towards it
+            tripService.record(car, telemetryDto);
+            driverScoreService.record(car, telemetryDto);
 
-            webSocketService.broadcastTelemetryUpdate(telemetryDto);
-            webSocketService.sendTelemetryToCar(carId, telemetryDto);
-            webSocketService.broadcastCarLocation(carId, telemetryDto.getLocation());
+            Alert createdAlert = checkAndCreateAlerts(car, telemetryDto, projectedEmptyMinutes);
+
+            telemetryFanoutService.submit(telemetryDto);
+            fleetStateService.record(telemetryDto);
+            dashboardService.record(telemetryDto);
 
             if (createdAlert != null && createdAlert.getSeverity() == Alert.AlertSeverity.CRITICAL) {
                 webSocketService.sendCriticalAlertToAdmins(createdAlert);
@@ -189,12 +252,26 @@ public class MqttService {
             statusUpdate.put("carId", carId);
             statusUpdate.put("status", payload);
             webSocketService.broadcastSystemStatus(statusUpdate);
+            tripService.recordStatus(carId, parseStatus(payload));
         } catch (Exception e) {
             logger.error("Error handling status message for car {}", carId, e);
         }
     }
 
-    private Alert checkAndCreateAlerts(Car car, TelemetryDto telemetryDto) {
+    // Status payloads are {"status": "...", "timestamp": "..."}; older senders publish the bare status
+    private String parseStatus(String payload) {
+        try {
+            JsonNode status = objectMapper.readTree(payload).get("status");
+            if (status != null) {
+                return status.asText();
+            }
+        } catch (Exception e) {
+            // Not JSON
+        }
+        return payload.trim();
+    }
+
+    private Alert checkAndCreateAlerts(Car car, TelemetryDto telemetryDto, double projectedEmptyMinutes) {
         try {
             Alert createdAlert = null;
             if (telemetryDto.getFuelLevel() < 20) {
@@ -203,6 +280,12 @@ public class MqttService {
                 createdAlert = alertService.createAlert(car, "LOW_FUEL", sev.toString(), msg);
                 webSocketService.broadcastAlertUpdate(createdAlert);
             }
+            if (!Double.isNaN(projectedEmptyMinutes)) {
+                // Usually raised with LOW_FUEL; never HIGH, so it must not replace a critical alert
+                String msg = "Fuel projected empty in " + Math.round(projectedEmptyMinutes) + " min";
+                Alert projectedAlert = alertService.createAlert(car, "FUEL_PROJECTED_EMPTY", Alert.AlertSeverity.HIGH.toString(), msg);
+                webSocketService.broadcastAlertUpdate(projectedAlert);
+            }
             if (telemetryDto.getTemperature() > 50) {
                 String msg = "High temperature: " + telemetryDto.getTemperature() + "°C";
                 Alert.AlertSeverity sev = telemetryDto.getTemperature() > 60 ? Alert.AlertSeverity.CRITICAL : Alert.AlertSeverity.HIGH;
@@ -215,6 +298,14 @@ public class MqttService {
                 createdAlert = alertService.createAlert(car, "HIGH_SPEED", sev.toString(), msg);
                 webSocketService.broadcastAlertUpdate(createdAlert);
             }
+            for (Alert anomalyAlert : anomalyService.checkSample(car, telemetryDto)) {
+                webSocketService.broadcastAlertUpdate(anomalyAlert);
+            }
+            if (telemetryDto.getLatitude() != null && telemetryDto.getLongitude() != null) {
+                for (Alert geofenceAlert : geofenceService.checkPosition(car, telemetryDto.getLatitude(), telemetryDto.getLongitude())) {
+                    webSocketService.broadcastAlertUpdate(geofenceAlert);
+                }
+            }
             return createdAlert;
         } catch (Exception e) {
             logger.error("Error checking alerts for car {}", car.getId(), e);
@@ -237,6 +328,15 @@ public class MqttService {
         });
     }
 
+    // Synchronous publish of a pre-encoded telemetry payload on the caller's thread; used by the
+    // load generator, which paces and counts messages itself
+    public void publishTelemetryPayload(long carId, byte[] payload, int qos) throws MqttException {
+        MqttMessage message = new MqttMessage(payload);
+        message.setQos(qos);
+        message.setRetained(false);
+        mqttClient.publish(topicPrefix + "/" + carId + "/telemetry", message);
+    }
+
     public CompletableFuture<Void> publishStatus(Long carId, String status) {
         return CompletableFuture.runAsync(() -> {
             try {
@@ -0,0 +1,210 @@
+package com.smartcar.monitoring.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-session payload encoding for telemetry topics.
+ *
+ * A client opts into CBOR by sending the header payload-format:cbor on STOMP CONNECT.
+ * Telemetry and location frames for that session are then transcoded from JSON to CBOR
+ * and sent as binary WebSocket frames (content-type application/octet-stream plus a
+ * payload-format:cbor header). Broadcast frames share one payload across subscribers,
+ * so each is transcoded once however many CBOR sessions receive it. Payloads use CBOR
+ * string references, so decoders must support tags 256/25. SockJS sessions
+ * cannot carry binary frames and always stay on JSON; binary clients connect to the raw
+ * WebSocket URL ({endpoint}/websocket).
+ */
+@Service
+public class PayloadFormatService implements ExecutorChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayloadFormatService.class);
+
+    public static final String FORMAT_HEADER = "payload-format";
+    public static final String FORMAT_CBOR = "cbor";
+
+    private static final String[] BINARY_PREFIXES = {
+            "/topic/telemetry", "/topic/car/", "/topic/map/locations", "/queue/map/locations"
+    };
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    // String references (CBOR tag 256/25) send repeated keys and labels in a batch only once
+    private final CBORFactory cborFactory = CBORFactory.builder()
+            .enable(CBORGenerator.Feature.STRINGREF)
+            .build();
+
+    private final Set<String> sockJsSessions = ConcurrentHashMap.newKeySet();
+    private final Set<String> cborSessions = ConcurrentHashMap.newKeySet();
+
+    // JSON payload -> CBOR payload, keyed by array identity and released with the JSON payload
+    private final Map<byte[], byte[]> encoded = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong framesEncoded = new AtomicLong();
+    private final AtomicLong payloadsTranscoded = new AtomicLong();
+    private final AtomicLong jsonBytes = new AtomicLong();
+    private final AtomicLong cborBytes = new AtomicLong();
+    private final AtomicLong transcodeNanos = new AtomicLong();
+
+    // Track which sessions are SockJS, since those are limited to text frames
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                if (session instanceof SockJsSession) {
+                    sockJsSessions.add(session.getId());
+                }
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sockJsSessions.remove(session.getId());
+                cborSessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    // Reads the requested payload format from STOMP CONNECT on the clientInboundChannel
+    public ChannelInterceptor connectInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.CONNECT) {
+                    String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+                    String format = SimpMessageHeaderAccessor.getFirstNativeHeader(FORMAT_HEADER, message.getHeaders());
+                    negotiate(sessionId, format);
+                }
+                return message;
+            }
+        };
+    }
+
+    void negotiate(String sessionId, String format) {
+        if (sessionId == null || !FORMAT_CBOR.equalsIgnoreCase(format)) {
+            return;
+        }
+        if (sockJsSessions.contains(sessionId)) {
+            logger.debug("Session {} requested CBOR over SockJS, staying on JSON", sessionId);
+            return;
+        }
+        cborSessions.add(sessionId);
+    }
+
+    public boolean isCborSession(String sessionId) {
+        return sessionId != null && cborSessions.contains(sessionId);
+    }
+
+    // Transcode after conflation so skipped frames are never encoded
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || !isCborSession(SimpMessageHeaderAccessor.getSessionId(message.getHeaders()))
+                || !isBinaryDestination(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))
+                || !(message.getPayload() instanceof byte[] json)) {
+            return message;
+        }
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        MimeType mimeType = contentType instanceof MimeType m ? m
+                : contentType != null ? MimeTypeUtils.parseMimeType(contentType.toString()) : null;
+        if (mimeType == null || !MimeTypeUtils.APPLICATION_JSON.isCompatibleWith(mimeType)) {
+            return message;
+        }
+        try {
+            byte[] cbor = encode(json);
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(message);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+            accessor.setNativeHeader(FORMAT_HEADER, FORMAT_CBOR);
+            accessor.setLeaveMutable(true);
+            framesEncoded.incrementAndGet();
+            return MessageBuilder.createMessage(cbor, accessor.getMessageHeaders());
+        } catch (Exception e) {
+            logger.error("Error encoding CBOR frame, sending JSON instead", e);
+            return message;
+        }
+    }
+
+    byte[] encode(byte[] json) throws Exception {
+        byte[] cbor = encoded.get(json);
+        if (cbor != null) {
+            return cbor;
+        }
+        long start = System.nanoTime();
+        cbor = transcode(json);
+        transcodeNanos.addAndGet(System.nanoTime() - start);
+        payloadsTranscoded.incrementAndGet();
+        jsonBytes.addAndGet(json.length);
+        cborBytes.addAndGet(cbor.length);
+        encoded.put(json, cbor);
+        return cbor;
+    }
+
+    // Streaming token copy; no intermediate tree
+    private byte[] transcode(byte[] json) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = jsonFactory.createParser(json);
+             JsonGenerator generator = cborFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return out.toByteArray();
+    }
+
+    private static boolean isBinaryDestination(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (String prefix : BINARY_PREFIXES) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Encoding counters for the metrics endpoint
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long transcoded = payloadsTranscoded.get();
+        stats.put("cborSessions", cborSessions.size());
+        stats.put("framesEncoded", framesEncoded.get());
+        stats.put("payloadsTranscoded", transcoded);
+        stats.put("jsonBytes", jsonBytes.get());
+        stats.put("cborBytes", cborBytes.get());
+        stats.put("avgJsonBytesPerPayload", transcoded == 0 ? 0 : jsonBytes.get() / transcoded);
+        stats.put("avgCborBytesPerPayload", transcoded == 0 ? 0 : cborBytes.get() / transcoded);
+        stats.put("avgTranscodeMicros", transcoded == 0 ? 0 : transcodeNanos.get() / transcoded / 1000);
+        return stats;
+    }
+}
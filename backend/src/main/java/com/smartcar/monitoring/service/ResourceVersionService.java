@@ -0,0 +1,134 @@
+package com.smartcar.monitoring.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters for read-mostly resource collections, used for HTTP conditional requests.
+ *
+ * Services bump a collection when they write to it; the bump runs after the surrounding
+ * transaction commits, so a new ETag never describes uncommitted data. Controllers check
+ * If-None-Match / If-Modified-Since before querying, and read the version before the data,
+ * so a write racing a read can only make an ETag older than its body (one extra fetch),
+ * never newer (a stale 304). ETags include the startup time because counters restart at zero.
+ *
+ * Counters live in this JVM and only see its own writes, so conditional responses are served
+ * only with the in-memory broker (one node). With websocket.broker.mode=relay several nodes
+ * write the same tables, and a node answering 304 from its own counters could keep a client
+ * on stale data indefinitely: there every request is answered in full, without validators.
+ *
+ * HTTP dates have one-second granularity. Write times are rounded up to the next whole
+ * second, and Last-Modified is left out while that second is still running, so a client's
+ * If-Modified-Since always postdates every write it names and a later write in the same
+ * second still changes the answer.
+ */
+@Service
+public class ResourceVersionService {
+
+    public static final String CARS = "cars";
+    public static final String DRIVERS = "drivers";
+    public static final String ALERTS = "alerts";
+    public static final String TELEMETRY = "telemetry";
+
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode = "simple";
+
+    private final Clock clock;
+    private final String epoch;
+    private final long startedAt;
+
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    public ResourceVersionService() {
+        this(Clock.systemUTC());
+    }
+
+    ResourceVersionService(Clock clock) {
+        this.clock = clock;
+        this.epoch = Long.toString(clock.millis(), 36);
+        this.startedAt = nextSecond(clock.millis());
+    }
+
+    // Record a write to the collection once the current transaction (if any) commits
+    public void bump(String collection) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version(collection).increment(clock.millis());
+                }
+            });
+        } else {
+            version(collection).increment(clock.millis());
+        }
+    }
+
+    public long getVersion(String collection) {
+        return version(collection).counter.get();
+    }
+
+    // Strong ETag covering every listed collection
+    public String getETag(String... collections) {
+        StringBuilder tag = new StringBuilder("\"").append(epoch);
+        for (String collection : collections) {
+            tag.append('-').append(Long.toString(getVersion(collection), 36));
+        }
+        return tag.append('"').toString();
+    }
+
+    // Most recent write time across the listed collections, in epoch milliseconds rounded up to
+    // the next whole second
+    public long getLastModified(String... collections) {
+        long lastModified = startedAt;
+        for (String collection : collections) {
+            lastModified = Math.max(lastModified, version(collection).lastModified);
+        }
+        return lastModified;
+    }
+
+    // Evaluate the request's conditional headers and set ETag/Last-Modified on the response;
+    // true means the client's copy is current and the controller should answer 304
+    public boolean checkNotModified(WebRequest request, String... collections) {
+        if (!isEnabled()) {
+            return false;
+        }
+        String eTag = getETag(collections);
+        long lastModified = getLastModified(collections);
+        if (lastModified > clock.millis()) {
+            // Written this second: a date could not tell this write from the next one
+            return request.checkNotModified(eTag);
+        }
+        return request.checkNotModified(eTag, lastModified);
+    }
+
+    // Conditional responses need every write to reach these counters: one node only
+    private boolean isEnabled() {
+        return !"relay".equalsIgnoreCase(brokerMode);
+    }
+
+    private Version version(String collection) {
+        return versions.computeIfAbsent(collection, k -> new Version());
+    }
+
+    private static final class Version {
+        final AtomicLong counter = new AtomicLong();
+        volatile long lastModified;
+
+        void increment(long now) {
+            lastModified = nextSecond(now);
+            counter.incrementAndGet();
+        }
+    }
+
+    private static long nextSecond(long epochMillis) {
+        return (epochMillis / 1000 + 1) * 1000;
+    }
+}
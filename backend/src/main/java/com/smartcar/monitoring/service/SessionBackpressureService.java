@@ -0,0 +1,308 @@
+package com.smartcar.monitoring.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-session accounting and flow control on the clientOutboundChannel.
+ *
+ * Every outbound MESSAGE frame is tracked against its session from the moment it is queued
+ * until the session handler has written it. Frames on the per-car topics carry the car's full
+ * latest state and are conflated: if a newer frame for the same session and destination is
+ * queued before an older one is written, the older one is skipped. Sessions whose queue lag
+ * passes the degrade threshold only receive those per-car frames at a reduced rate until they
+ * catch up. Batch frames (/topic/telemetry and the map location topics) only hold the cars
+ * that changed in their tick, so skipping one would lose those cars: they are never conflated,
+ * throttled or dropped, and a session that cannot keep up with them is closed by the lag
+ * limit instead. Other frames are dropped once a session has too many frames queued, and
+ * sessions that fall too far behind are closed so they cannot hold up the shared outbound
+ * executor.
+ */
+@Service
+public class SessionBackpressureService implements ExecutorChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionBackpressureService.class);
+
+    // Per-car destinations carrying the car's full latest state, where only the newest frame matters
+    private static final String[] CONFLATABLE_PREFIXES = {"/topic/car/"};
+
+    // Batch destinations carrying only the cars changed in each tick; every frame must be delivered
+    private static final String[] BATCH_PREFIXES = {
+            "/topic/telemetry", "/topic/map/locations", "/queue/map/locations"
+    };
+
+    @Value("${websocket.session.max-queued:256}")
+    private int maxQueued = 256;
+
+    @Value("${websocket.session.degrade-lag-ms:2000}")
+    private long degradeLagMs = 2000;
+
+    @Value("${websocket.session.degraded-interval-ms:1000}")
+    private long degradedIntervalMs = 1000;
+
+    @Value("${websocket.session.evict-lag-ms:10000}")
+    private long evictLagMs = 10000;
+
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+
+    // Frame being written on this executor thread; later interceptors may replace the message
+    private final ThreadLocal<Message<?>> inFlight = new ThreadLocal<>();
+    private final AtomicLong sessionsEvicted = new AtomicLong();
+    private final AtomicLong sessionsDegraded = new AtomicLong();
+
+    // Wraps the STOMP WebSocket handler so the service can see (and close) raw sessions
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                state(session.getId()).session = session;
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        String sessionId = trackedSessionId(message);
+        SessionState state = sessionId != null ? sessions.get(sessionId) : null;
+        if (state == null) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        boolean conflatable = isConflatable(destination);
+        long now = System.nanoTime();
+
+        if (conflatable) {
+            if (state.degraded) {
+                Long lastSent = state.lastSentAt.get(destination);
+                if (lastSent != null && now - lastSent < degradedIntervalMs * 1_000_000L) {
+                    state.throttled.incrementAndGet();
+                    return null;
+                }
+            }
+            state.latest.put(destination, message);
+        } else if (!matches(destination, BATCH_PREFIXES) && state.queued.get() >= maxQueued) {
+            state.dropped.incrementAndGet();
+            return null;
+        }
+        state.queued.incrementAndGet();
+        state.enqueuedAt.put(message, now);
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        String sessionId = trackedSessionId(message);
+        SessionState state = sessionId != null ? sessions.get(sessionId) : null;
+        if (state == null) {
+            return message;
+        }
+        Long enqueuedAt = state.enqueuedAt.get(message);
+        if (enqueuedAt != null) {
+            recordLag(sessionId, state, (System.nanoTime() - enqueuedAt) / 1_000_000L);
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (isConflatable(destination)) {
+            if (state.latest.get(destination) != message) {
+                // A newer frame for this destination is already queued behind this one
+                state.conflated.incrementAndGet();
+                complete(state, message);
+                return null;
+            }
+            state.latest.remove(destination, message);
+            state.lastSentAt.put(destination, System.nanoTime());
+        }
+        inFlight.set(message);
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(Message<?> message, MessageChannel channel, MessageHandler handler, Exception ex) {
+        Message<?> original = inFlight.get();
+        if (original == null) {
+            return;
+        }
+        inFlight.remove();
+        SessionState state = sessions.get(trackedSessionId(original));
+        if (state == null) {
+            return;
+        }
+        complete(state, original);
+        if (ex == null) {
+            state.sent.incrementAndGet();
+        } else {
+            state.dropped.incrementAndGet();
+        }
+    }
+
+    // Close sessions whose oldest queued frame has waited longer than the eviction limit
+    @Scheduled(fixedDelayString = "${websocket.session.check-interval-ms:1000}")
+    public void evictSlowSessions() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, SessionState> entry : sessions.entrySet()) {
+            SessionState state = entry.getValue();
+            long oldest = Long.MAX_VALUE;
+            synchronized (state.enqueuedAt) {
+                for (Long enqueuedAt : state.enqueuedAt.values()) {
+                    oldest = Math.min(oldest, enqueuedAt);
+                }
+            }
+            long lagMs = oldest == Long.MAX_VALUE ? 0 : (now - oldest) / 1_000_000L;
+            if (lagMs > evictLagMs) {
+                evict(entry.getKey(), state, lagMs);
+            } else if (state.degraded && state.queued.get() == 0) {
+                state.degraded = false;
+                logger.info("WebSocket session {} caught up, restoring full update rate", entry.getKey());
+            }
+        }
+    }
+
+    private void recordLag(String sessionId, SessionState state, long lagMs) {
+        state.lastLagMs = lagMs;
+        if (lagMs > state.maxLagMs) {
+            state.maxLagMs = lagMs;
+        }
+        if (lagMs > evictLagMs) {
+            evict(sessionId, state, lagMs);
+        } else if (lagMs > degradeLagMs && !state.degraded) {
+            state.degraded = true;
+            sessionsDegraded.incrementAndGet();
+            logger.warn("WebSocket session {} is {}ms behind, reducing telemetry rate", sessionId, lagMs);
+        }
+    }
+
+    private void evict(String sessionId, SessionState state, long lagMs) {
+        WebSocketSession session = state.session;
+        if (session == null || state.evicted) {
+            return;
+        }
+        state.evicted = true;
+        sessionsEvicted.incrementAndGet();
+        logger.warn("Closing slow WebSocket session {} ({}ms behind, {} queued)", sessionId, lagMs, state.queued.get());
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception e) {
+            logger.error("Error closing slow WebSocket session {}", sessionId, e);
+        }
+    }
+
+    private void complete(SessionState state, Message<?> message) {
+        if (state.enqueuedAt.remove(message) != null) {
+            state.queued.decrementAndGet();
+        }
+    }
+
+    private SessionState state(String sessionId) {
+        return sessions.computeIfAbsent(sessionId, k -> new SessionState());
+    }
+
+    private static String trackedSessionId(Message<?> message) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return null;
+        }
+        return SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+    }
+
+    private static boolean isConflatable(String destination) {
+        return matches(destination, CONFLATABLE_PREFIXES);
+    }
+
+    private static boolean matches(String destination, String[] prefixes) {
+        if (destination == null) {
+            return false;
+        }
+        for (String prefix : prefixes) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    // Per-session lag and drop counters for the metrics endpoint
+    public Map<String, Object> getStatistics() {
+        List<Map<String, Object>> perSession = new ArrayList<>();
+        long dropped = 0;
+        long conflated = 0;
+        for (Map.Entry<String, SessionState> entry : sessions.entrySet()) {
+            SessionState state = entry.getValue();
+            Map<String, Object> session = new LinkedHashMap<>();
+            session.put("sessionId", entry.getKey());
+            session.put("queued", state.queued.get());
+            session.put("sent", state.sent.get());
+            session.put("dropped", state.dropped.get());
+            session.put("conflated", state.conflated.get());
+            session.put("throttled", state.throttled.get());
+            session.put("lastLagMs", state.lastLagMs);
+            session.put("maxLagMs", state.maxLagMs);
+            session.put("degraded", state.degraded);
+            perSession.add(session);
+            dropped += state.dropped.get();
+            conflated += state.conflated.get();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maxQueued", maxQueued);
+        stats.put("degradeLagMs", degradeLagMs);
+        stats.put("evictLagMs", evictLagMs);
+        stats.put("sessions", perSession.size());
+        stats.put("sessionsDegraded", sessionsDegraded.get());
+        stats.put("sessionsEvicted", sessionsEvicted.get());
+        stats.put("dropped", dropped);
+        stats.put("conflated", conflated);
+        stats.put("perSession", perSession);
+        return stats;
+    }
+
+    private static final class SessionState {
+        volatile WebSocketSession session;
+        volatile boolean degraded;
+        volatile boolean evicted;
+        volatile long lastLagMs;
+        volatile long maxLagMs;
+        final AtomicInteger queued = new AtomicInteger();
+        final AtomicLong sent = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        final AtomicLong conflated = new AtomicLong();
+        final AtomicLong throttled = new AtomicLong();
+        // Enqueue time of each frame not yet written; keyed by identity because outbound
+        // frames are built with mutable headers and carry no message id
+        final Map<Message<?>, Long> enqueuedAt = Collections.synchronizedMap(new IdentityHashMap<>());
+        // Newest queued frame per conflatable destination
+        final Map<String, Message<?>> latest = new ConcurrentHashMap<>();
+        final Map<String, Long> lastSentAt = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,190 @@
+package com.smartcar.monitoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conflating fan-out stage for telemetry WebSocket traffic.
+ *
+ * Ingest only records the latest sample per car. Every tick the pending samples are
+ * serialised once each, and those bytes are reused for the per-car topics and for one
+ * batched frame on /topic/telemetry and /topic/map/locations.
+ */
+@Service
+public class TelemetryFanoutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TelemetryFanoutService.class);
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MapInterestService mapInterestService;
+
+    @Value("${websocket.fanout.tick-ms:250}")
+    private long tickMs;
+
+    // Latest pending sample per car; a newer sample replaces an unsent one
+    private final ConcurrentHashMap<Long, TelemetryDto> pending = new ConcurrentHashMap<>();
+
+    private final AtomicLong eventsSubmitted = new AtomicLong();
+    private final AtomicLong eventsConflated = new AtomicLong();
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong bytesSerialized = new AtomicLong();
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong flushNanosTotal = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private volatile int lastBatchSize;
+
+    // Queue a telemetry sample for the next tick
+    public void submit(TelemetryDto telemetryDto) {
+        if (telemetryDto == null || telemetryDto.getCarId() == null) {
+            return;
+        }
+        eventsSubmitted.incrementAndGet();
+        if (pending.put(telemetryDto.getCarId(), telemetryDto) != null) {
+            eventsConflated.incrementAndGet();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${websocket.fanout.tick-ms:250}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        List<RawValue> telemetryBatch = new ArrayList<>();
+        List<RawValue> locationBatch = new ArrayList<>();
+        List<MapInterestService.LocationUpdate> locationUpdates = new ArrayList<>();
+
+        Iterator<Map.Entry<Long, TelemetryDto>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, TelemetryDto> entry = it.next();
+            Long carId = entry.getKey();
+            TelemetryDto telemetryDto = entry.getValue();
+            // Only drop the entry if no newer sample arrived while we were iterating
+            pending.remove(carId, telemetryDto);
+
+            try {
+                RawValue data = new RawValue(objectMapper.writeValueAsString(telemetryDto));
+                telemetryBatch.add(data);
+
+                Map<String, Object> carFrame = new LinkedHashMap<>();
+                carFrame.put("type", "CAR_TELEMETRY");
+                carFrame.put("carId", carId);
+                carFrame.put("data", data);
+                carFrame.put("timestamp", now);
+                send("/topic/car/" + carId + "/telemetry", serialize(carFrame));
+
+                Map<String, Object> location = new LinkedHashMap<>();
+                location.put("type", "CAR_LOCATION");
+                location.put("carId", carId);
+                location.put("location", telemetryDto.getLocation());
+                location.put("latitude", telemetryDto.getLatitude());
+                location.put("longitude", telemetryDto.getLongitude());
+                location.put("timestamp", now);
+                String locationJson = objectMapper.writeValueAsString(location);
+                send("/topic/car/" + carId + "/location", locationJson.getBytes(StandardCharsets.UTF_8));
+                RawValue locationData = new RawValue(locationJson);
+                locationBatch.add(locationData);
+                locationUpdates.add(new MapInterestService.LocationUpdate(carId, telemetryDto.getLocation(),
+                        telemetryDto.getLatitude(), telemetryDto.getLongitude(), locationData));
+            } catch (Exception e) {
+                logger.error("Error fanning out telemetry for car {}", carId, e);
+            }
+        }
+
+        try {
+            if (!telemetryBatch.isEmpty()) {
+                Map<String, Object> batch = new LinkedHashMap<>();
+                batch.put("type", "TELEMETRY_BATCH");
+                batch.put("data", telemetryBatch);
+                batch.put("timestamp", now);
+                send("/topic/telemetry", serialize(batch));
+            }
+            if (!locationBatch.isEmpty()) {
+                Map<String, Object> batch = new LinkedHashMap<>();
+                batch.put("type", "CAR_LOCATION_BATCH");
+                batch.put("data", locationBatch);
+                batch.put("timestamp", now);
+                send("/topic/map/locations", serialize(batch));
+            }
+            mapInterestService.dispatch(locationUpdates);
+        } catch (Exception e) {
+            logger.error("Error sending batched telemetry frames", e);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        lastFlushNanos = elapsed;
+        lastBatchSize = telemetryBatch.size();
+        flushNanosTotal.addAndGet(elapsed);
+        ticks.incrementAndGet();
+        logger.debug("Flushed telemetry fan-out: {} cars in {}us", telemetryBatch.size(), elapsed / 1000);
+    }
+
+    private byte[] serialize(Object frame) throws Exception {
+        return objectMapper.writeValueAsBytes(frame);
+    }
+
+    // Send pre-serialised bytes as-is, bypassing the message converter
+    private void send(String destination, byte[] payload) {
+        bytesSerialized.addAndGet(payload.length);
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+
+        messagingTemplate.send(destination, message);
+        framesSent.incrementAndGet();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    // Fan-out counters for the metrics endpoint
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long tickCount = ticks.get();
+        stats.put("tickMs", tickMs);
+        stats.put("eventsSubmitted", eventsSubmitted.get());
+        stats.put("eventsConflated", eventsConflated.get());
+        stats.put("framesSent", framesSent.get());
+        stats.put("bytesSerialized", bytesSerialized.get());
+        stats.put("ticks", tickCount);
+        stats.put("pending", pending.size());
+        stats.put("lastBatchSize", lastBatchSize);
+        stats.put("lastFlushMicros", lastFlushNanos / 1000);
+        stats.put("avgFlushMicros", tickCount == 0 ? 0 : flushNanosTotal.get() / tickCount / 1000);
+        return stats;
+    }
+}
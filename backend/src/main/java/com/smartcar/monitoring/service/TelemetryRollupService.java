@@ -0,0 +1,186 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.model.Telemetry;
+import com.smartcar.monitoring.service.TelemetryService.TelemetryStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hourly speed, temperature and fuel histograms per car and for the whole fleet, updated as
+ * telemetry is stored, edited and soft-deleted.
+ *
+ * Each car (and the fleet) has a ring of retention-hours buckets. The rollup only knows what was
+ * stored since startup, and a bucket only answers for its whole hour: fullHours() gives the
+ * hours of a range that began after startup, are still retained and lie entirely inside the
+ * range. Callers merge those buckets and read the rest of the range (the partial hours at its
+ * edges and anything before startup) from the stored rows, so the result is the same as a
+ * scan of the rows.
+ */
+@Service
+public class TelemetryRollupService {
+
+    private static final long FLEET = -1L;
+
+    // Whole hours [start, end) answered from the buckets
+    public record HourRange(LocalDateTime start, LocalDateTime end) {}
+
+    @Value("${telemetry-stats.retention-hours:168}")
+    private int retentionHours = 168;
+
+    private final Map<Long, Rollup> rollups = new ConcurrentHashMap<>();
+
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    // Fold a stored sample into its car's and the fleet's bucket
+    public void record(Telemetry telemetry) {
+        if (!isComplete(telemetry)) {
+            return;
+        }
+        long hour = toHour(telemetry.getTimestamp());
+        rollups.computeIfAbsent(telemetry.getCar().getId(), id -> new Rollup(retentionHours)).add(hour, telemetry);
+        rollups.computeIfAbsent(FLEET, id -> new Rollup(retentionHours)).add(hour, telemetry);
+    }
+
+    // Take a sample that is being soft-deleted or edited back out; only samples stored since
+    // startup were ever added
+    public void remove(Telemetry telemetry) {
+        if (!isComplete(telemetry) || telemetry.getCreationDate() == null || telemetry.getCreationDate().isBefore(startedAt)) {
+            return;
+        }
+        long hour = toHour(telemetry.getTimestamp());
+        for (Long key : new Long[] {telemetry.getCar().getId(), FLEET}) {
+            Rollup rollup = rollups.get(key);
+            if (rollup != null) {
+                rollup.remove(hour, telemetry);
+            }
+        }
+    }
+
+    // Whole hours inside [startTime, endTime] that began after startup and are still retained;
+    // null when there are none
+    public HourRange fullHours(LocalDateTime startTime, LocalDateTime endTime) {
+        long first = Math.max(Math.max(ceilHour(startTime), ceilHour(startedAt)), oldestHour());
+        long end = toHour(endTime);
+        return first < end ? new HourRange(fromHour(first), fromHour(end)) : null;
+    }
+
+    public void mergeCar(Long carId, HourRange hours, ValueHistogram speed, ValueHistogram temperature, ValueHistogram fuel) {
+        merge(rollups.get(carId), hours, speed, temperature, fuel);
+    }
+
+    public void mergeFleet(HourRange hours, ValueHistogram speed, ValueHistogram temperature, ValueHistogram fuel) {
+        merge(rollups.get(FLEET), hours, speed, temperature, fuel);
+    }
+
+    private void merge(Rollup rollup, HourRange hours, ValueHistogram speed, ValueHistogram temperature, ValueHistogram fuel) {
+        if (rollup != null) {
+            rollup.mergeInto(toHour(hours.start()), toHour(hours.end()) - 1, speed, temperature, fuel);
+        }
+    }
+
+    // Same shape as the row-based statistics, plus the speed and temperature percentiles
+    static TelemetryStatistics toStatistics(ValueHistogram speed, ValueHistogram temperature, ValueHistogram fuel) {
+        TelemetryStatistics stats = new TelemetryStatistics();
+        if (speed.isEmpty()) {
+            return stats;
+        }
+        stats.setTotalRecords((int) speed.getCount());
+        stats.setAverageSpeed(Math.round(speed.getMean() * 100.0) / 100.0);
+        stats.setAverageFuel(Math.round(fuel.getMean() * 100.0) / 100.0);
+        stats.setAverageTemperature(Math.round(temperature.getMean() * 100.0) / 100.0);
+        stats.setMinSpeed(speed.getMin());
+        stats.setMaxSpeed(speed.getMax());
+        stats.setMinFuel(fuel.getMin());
+        stats.setMaxFuel(fuel.getMax());
+        stats.setMinTemperature(temperature.getMin());
+        stats.setMaxTemperature(temperature.getMax());
+        stats.setSpeedP50(speed.getPercentile(50));
+        stats.setSpeedP95(speed.getPercentile(95));
+        stats.setSpeedP99(speed.getPercentile(99));
+        stats.setTemperatureP50(temperature.getPercentile(50));
+        stats.setTemperatureP95(temperature.getPercentile(95));
+        stats.setTemperatureP99(temperature.getPercentile(99));
+        return stats;
+    }
+
+    private static boolean isComplete(Telemetry telemetry) {
+        return telemetry.getCar() != null && telemetry.getCar().getId() != null && telemetry.getTimestamp() != null
+                && telemetry.getSpeed() != null && telemetry.getTemperature() != null && telemetry.getFuel() != null;
+    }
+
+    private long oldestHour() {
+        return toHour(LocalDateTime.now()) - retentionHours + 1;
+    }
+
+    private static long toHour(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    private static long ceilHour(LocalDateTime timestamp) {
+        return timestamp.truncatedTo(ChronoUnit.HOURS).equals(timestamp) ? toHour(timestamp) : toHour(timestamp) + 1;
+    }
+
+    private static LocalDateTime fromHour(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3600, 0, ZoneOffset.UTC);
+    }
+
+    private static final class Rollup {
+        // One slot per retained hour; a slot is reused once its hour leaves the window
+        final long[] hour;
+        final ValueHistogram[] speed;
+        final ValueHistogram[] temperature;
+        final ValueHistogram[] fuel;
+
+        Rollup(int retentionHours) {
+            hour = new long[retentionHours];
+            speed = new ValueHistogram[retentionHours];
+            temperature = new ValueHistogram[retentionHours];
+            fuel = new ValueHistogram[retentionHours];
+        }
+
+        synchronized void add(long h, Telemetry telemetry) {
+            int slot = (int) Math.floorMod(h, (long) hour.length);
+            if (speed[slot] == null || hour[slot] != h) {
+                if (speed[slot] != null && hour[slot] > h) {
+                    // Older than the window
+                    return;
+                }
+                hour[slot] = h;
+                speed[slot] = new ValueHistogram();
+                temperature[slot] = new ValueHistogram();
+                fuel[slot] = new ValueHistogram();
+            }
+            speed[slot].add(telemetry.getSpeed());
+            temperature[slot].add(telemetry.getTemperature());
+            fuel[slot].add(telemetry.getFuel());
+        }
+
+        synchronized void remove(long h, Telemetry telemetry) {
+            int slot = (int) Math.floorMod(h, (long) hour.length);
+            if (speed[slot] == null || hour[slot] != h) {
+                return;
+            }
+            speed[slot].remove(telemetry.getSpeed());
+            temperature[slot].remove(telemetry.getTemperature());
+            fuel[slot].remove(telemetry.getFuel());
+        }
+
+        synchronized void mergeInto(long fromHour, long toHour, ValueHistogram speedOut,
+                                    ValueHistogram temperatureOut, ValueHistogram fuelOut) {
+            for (int slot = 0; slot < hour.length; slot++) {
+                if (speed[slot] == null || hour[slot] < fromHour || hour[slot] > toHour) {
+                    continue;
+                }
+                speedOut.merge(speed[slot]);
+                temperatureOut.merge(temperature[slot]);
+                fuelOut.merge(fuel[slot]);
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.smartcar.monitoring.service;
 
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.dto.ValueCountDto;
 import com.smartcar.monitoring.model.Telemetry;
 import com.smartcar.monitoring.model.Car;
 import com.smartcar.monitoring.repository.TelemetryRepository;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Service
@@ -22,6 +25,18 @@ public class TelemetryService {
     @Autowired
     private CarRepository carRepository;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
+    @Autowired
+    private LocationResolver locationResolver;
+    
+    @Autowired
+    private LocationDictionary locationDictionary;
+    
+    @Autowired
+    private TelemetryRollupService telemetryRollupService;
+    
     // Create new telemetry record
     public Telemetry createTelemetry(Telemetry telemetry) {
         telemetry.setCreationDate(LocalDateTime.now());
@@ -31,67 +46,105 @@ public class TelemetryService {
         if (telemetry.getTimestamp() == null) {
             telemetry.setTimestamp(LocalDateTime.now());
         }
+        applyCoordinates(telemetry);
         
-        return telemetryRepository.save(telemetry);
+        Telemetry saved = telemetryRepository.save(telemetry);
+        resourceVersionService.bump(ResourceVersionService.TELEMETRY);
+        telemetryRollupService.record(saved);
+        return saved;
     }
     
     // Get telemetry by ID
+    @Transactional(readOnly = true)
     public Telemetry getTelemetryById(Long id) {
         return telemetryRepository.findById(id)
                 .orElseThrow(() -> new TelemetryNotFoundException("Telemetry not found with ID: " + id));
     }
     
     // Get all active telemetry records
+    @Transactional(readOnly = true)
     public List<Telemetry> getAllActiveTelemetry() {
         return telemetryRepository.findByIsActiveTrue();
     }
     
     // Get telemetry by car
+    @Transactional(readOnly = true)
     public List<Telemetry> getTelemetryByCar(Long carId) {
         return telemetryRepository.findByCarIdAndIsActiveTrue(carId);
     }
     
     // Get telemetry by timestamp range
+    @Transactional(readOnly = true)
     public List<Telemetry> getTelemetryByTimestampRange(LocalDateTime startTime, LocalDateTime endTime) {
         return telemetryRepository.findByTimestampBetweenAndIsActiveTrue(startTime, endTime);
     }
     
     // Get telemetry by car and timestamp range
+    @Transactional(readOnly = true)
     public List<Telemetry> getTelemetryByCarAndTimestampRange(Long carId, LocalDateTime startTime, LocalDateTime endTime) {
         return telemetryRepository.findByCarIdAndTimestampBetweenAndIsActiveTrue(carId, startTime, endTime);
     }
     
     // Get telemetry by fuel level threshold
+    @Transactional(readOnly = true)
     public List<Telemetry> getTelemetryByFuelThreshold(Integer fuelThreshold) {
         return telemetryRepository.findByFuelLessThanAndIsActiveTrue(fuelThreshold);
     }
     
     // Get telemetry by temperature range
+    @Transactional(readOnly = true)
     public List<Telemetry> getTelemetryByTemperatureRange(Integer minTemp, Integer maxTemp) {
         return telemetryRepository.findByTemperatureBetweenAndIsActiveTrue(minTemp, maxTemp);
     }
     
     // Get telemetry by speed range
+    @Transactional(readOnly = true)
     public List<Telemetry> getTelemetryBySpeedRange(Integer minSpeed, Integer maxSpeed) {
         return telemetryRepository.findBySpeedBetweenAndIsActiveTrue(minSpeed, maxSpeed);
     }
     
     // Get telemetry by location
+    @Transactional(readOnly = true)
     public List<Telemetry> getTelemetryByLocation(String location) {
-        return telemetryRepository.findByLocationContainingAndIsActiveTrue(location);
+        List<String> labels = locationDictionary.findLabelsContaining(location);
+        return labels.isEmpty() ? List.of() : telemetryRepository.findByLocationInAndIsActiveTrue(labels);
     }
     
     // Get latest telemetry for all cars
+    @Transactional(readOnly = true)
     public List<Telemetry> getLatestTelemetryForAllCars() {
         return telemetryRepository.findLatestTelemetryForAllCars();
     }
     
     // Get latest telemetry for specific car
+    @Transactional(readOnly = true)
     public List<Telemetry> getLatestTelemetryByCar(Long carId) {
         return telemetryRepository.findLatestTelemetryByCarId(carId);
     }
     
+    // DTO read paths: rows are projected straight into TelemetryDto, no entities are loaded
+    @Transactional(readOnly = true)
+    public List<TelemetryDto> getAllActiveTelemetryDtos() {
+        return telemetryRepository.findActiveDtos();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TelemetryDto> getTelemetryDtosByCar(Long carId) {
+        return telemetryRepository.findDtosByCarId(carId);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TelemetryDto> getTelemetryDtosByCarAndTimestampRange(Long carId, LocalDateTime startTime, LocalDateTime endTime) {
+        return telemetryRepository.findDtosByCarIdAndTimestampBetween(carId, startTime, endTime);
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TelemetryDto> getLatestTelemetryDtosForAllCars() {
+        return telemetryRepository.findLatestDtosForAllCars();
+    }
+    
     // Get telemetry records created in date range
+    @Transactional(readOnly = true)
     public List<Telemetry> getTelemetryCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
         return telemetryRepository.findTelemetryCreatedBetween(startDate, endDate);
     }
@@ -99,91 +152,154 @@ public class TelemetryService {
     // Update telemetry
     public Telemetry updateTelemetry(Long id, Telemetry telemetryDetails) {
         Telemetry telemetry = getTelemetryById(id);
+        boolean active = Boolean.TRUE.equals(telemetry.getIsActive());
+        if (active) {
+            telemetryRollupService.remove(telemetry);
+        }
         
         telemetry.setSpeed(telemetryDetails.getSpeed());
         telemetry.setFuel(telemetryDetails.getFuel());
         telemetry.setTemperature(telemetryDetails.getTemperature());
         telemetry.setLocation(telemetryDetails.getLocation());
+        telemetry.setLatitude(telemetryDetails.getLatitude());
+        telemetry.setLongitude(telemetryDetails.getLongitude());
+        applyCoordinates(telemetry);
         telemetry.setLastUpdateOn(LocalDateTime.now());
         
-        return telemetryRepository.save(telemetry);
+        Telemetry saved = telemetryRepository.save(telemetry);
+        resourceVersionService.bump(ResourceVersionService.TELEMETRY);
+        if (active) {
+            telemetryRollupService.record(saved);
+        }
+        return saved;
     }
     
     // Soft delete telemetry
     public void deactivateTelemetry(Long id) {
         Telemetry telemetry = getTelemetryById(id);
+        if (Boolean.TRUE.equals(telemetry.getIsActive())) {
+            telemetryRollupService.remove(telemetry);
+        }
         telemetry.setIsActive(false);
         telemetry.setLastUpdateOn(LocalDateTime.now());
         telemetryRepository.save(telemetry);
+        resourceVersionService.bump(ResourceVersionService.TELEMETRY);
     }
     
     // Reactivate telemetry
     public void reactivateTelemetry(Long id) {
         Telemetry telemetry = getTelemetryById(id);
+        boolean wasActive = Boolean.TRUE.equals(telemetry.getIsActive());
         telemetry.setIsActive(true);
         telemetry.setLastUpdateOn(LocalDateTime.now());
         telemetryRepository.save(telemetry);
+        resourceVersionService.bump(ResourceVersionService.TELEMETRY);
+        if (!wasActive) {
+            telemetryRollupService.record(telemetry);
+        }
     }
     
     // Count telemetry records by car
+    @Transactional(readOnly = true)
     public long countTelemetryByCar(Long carId) {
         return telemetryRepository.countByCarIdAndIsActiveTrue(carId);
     }
     
     // Count total active telemetry records
+    @Transactional(readOnly = true)
     public long countTotalActiveTelemetry() {
         return telemetryRepository.countByIsActiveTrue();
     }
     
     // Count telemetry records in time range
+    @Transactional(readOnly = true)
     public long countTelemetryInTimeRange(LocalDateTime startTime, LocalDateTime endTime) {
         return telemetryRepository.countByTimestampBetweenAndIsActiveTrue(startTime, endTime);
     }
     
     // Count telemetry records with low fuel
+    @Transactional(readOnly = true)
     public long countTelemetryWithLowFuel(Integer fuelThreshold) {
         return telemetryRepository.countByFuelLessThanAndIsActiveTrue(fuelThreshold);
     }
     
     // Count telemetry records with high temperature
+    @Transactional(readOnly = true)
     public long countTelemetryWithHighTemperature(Integer tempThreshold) {
         return telemetryRepository.countByTemperatureGreaterThanAndIsActiveTrue(tempThreshold);
     }
     
     // Count telemetry records with high speed
+    @Transactional(readOnly = true)
     public long countTelemetryWithHighSpeed(Integer speedThreshold) {
         return telemetryRepository.countBySpeedGreaterThanAndIsActiveTrue(speedThreshold);
     }
     
-    // Get telemetry statistics for dashboard
+    // Get telemetry statistics for dashboard; whole hours after startup come from the rollup's
+    // hourly histograms, the partial hours at the edges and anything older from the rows
+    @Transactional(readOnly = true)
     public TelemetryStatistics getTelemetryStatistics(Long carId, LocalDateTime startTime, LocalDateTime endTime) {
-        List<Telemetry> telemetryList = getTelemetryByCarAndTimestampRange(carId, startTime, endTime);
-        
-        if (telemetryList.isEmpty()) {
-            return new TelemetryStatistics();
+        ValueHistogram speed = new ValueHistogram();
+        ValueHistogram temperature = new ValueHistogram();
+        ValueHistogram fuel = new ValueHistogram();
+        TelemetryRollupService.HourRange hours = telemetryRollupService.fullHours(startTime, endTime);
+        if (hours == null) {
+            addRows(getTelemetryByCarAndTimestampRange(carId, startTime, endTime), speed, temperature, fuel);
+        } else {
+            telemetryRollupService.mergeCar(carId, hours, speed, temperature, fuel);
+            if (startTime.isBefore(hours.start())) {
+                addRows(getTelemetryByCarAndTimestampRange(carId, startTime, justBefore(hours.start())), speed, temperature, fuel);
+            }
+            addRows(getTelemetryByCarAndTimestampRange(carId, hours.end(), endTime), speed, temperature, fuel);
         }
-        
-        TelemetryStatistics stats = new TelemetryStatistics();
-        stats.setTotalRecords(telemetryList.size());
-        
-        // Calculate averages
-        double avgSpeed = telemetryList.stream().mapToInt(Telemetry::getSpeed).average().orElse(0.0);
-        double avgFuel = telemetryList.stream().mapToInt(Telemetry::getFuel).average().orElse(0.0);
-        double avgTemperature = telemetryList.stream().mapToInt(Telemetry::getTemperature).average().orElse(0.0);
-        
-        stats.setAverageSpeed(Math.round(avgSpeed * 100.0) / 100.0);
-        stats.setAverageFuel(Math.round(avgFuel * 100.0) / 100.0);
-        stats.setAverageTemperature(Math.round(avgTemperature * 100.0) / 100.0);
-        
-        // Find min/max values
-        stats.setMinSpeed(telemetryList.stream().mapToInt(Telemetry::getSpeed).min().orElse(0));
-        stats.setMaxSpeed(telemetryList.stream().mapToInt(Telemetry::getSpeed).max().orElse(0));
-        stats.setMinFuel(telemetryList.stream().mapToInt(Telemetry::getFuel).min().orElse(0));
-        stats.setMaxFuel(telemetryList.stream().mapToInt(Telemetry::getFuel).max().orElse(0));
-        stats.setMinTemperature(telemetryList.stream().mapToInt(Telemetry::getTemperature).min().orElse(0));
-        stats.setMaxTemperature(telemetryList.stream().mapToInt(Telemetry::getTemperature).max().orElse(0));
-        
-        return stats;
+        return TelemetryRollupService.toStatistics(speed, temperature, fuel);
+    }
+    
+    // Fleet-wide statistics, split like the per-car ones; the parts outside the rollup are
+    // counted per distinct value in the database rather than read row by row
+    @Transactional(readOnly = true)
+    public TelemetryStatistics getFleetTelemetryStatistics(LocalDateTime startTime, LocalDateTime endTime) {
+        ValueHistogram speed = new ValueHistogram();
+        ValueHistogram temperature = new ValueHistogram();
+        ValueHistogram fuel = new ValueHistogram();
+        TelemetryRollupService.HourRange hours = telemetryRollupService.fullHours(startTime, endTime);
+        if (hours == null) {
+            addValueCounts(startTime, endTime, speed, temperature, fuel);
+        } else {
+            telemetryRollupService.mergeFleet(hours, speed, temperature, fuel);
+            if (startTime.isBefore(hours.start())) {
+                addValueCounts(startTime, justBefore(hours.start()), speed, temperature, fuel);
+            }
+            addValueCounts(hours.end(), endTime, speed, temperature, fuel);
+        }
+        return TelemetryRollupService.toStatistics(speed, temperature, fuel);
+    }
+    
+    private static void addRows(List<Telemetry> telemetryList, ValueHistogram speed, ValueHistogram temperature,
+                                ValueHistogram fuel) {
+        for (Telemetry telemetry : telemetryList) {
+            speed.add(telemetry.getSpeed());
+            temperature.add(telemetry.getTemperature());
+            fuel.add(telemetry.getFuel());
+        }
+    }
+    
+    private void addValueCounts(LocalDateTime startTime, LocalDateTime endTime, ValueHistogram speed,
+                                ValueHistogram temperature, ValueHistogram fuel) {
+        for (ValueCountDto count : telemetryRepository.countSpeedValuesBetween(startTime, endTime)) {
+            speed.add(count.getValue(), count.getCount());
+        }
+        for (ValueCountDto count : telemetryRepository.countTemperatureValuesBetween(startTime, endTime)) {
+            temperature.add(count.getValue(), count.getCount());
+        }
+        for (ValueCountDto count : telemetryRepository.countFuelValuesBetween(startTime, endTime)) {
+            fuel.add(count.getValue(), count.getCount());
+        }
+    }
+    
+    // Last instant before an hour boundary at the database's microsecond precision; range queries are inclusive
+    private static LocalDateTime justBefore(LocalDateTime boundary) {
+        return boundary.minus(1, ChronoUnit.MICROS);
     }
     
     // Inner class for telemetry statistics
@@ -198,6 +314,12 @@ public class TelemetryService {
         private int maxFuel;
         private int minTemperature;
         private int maxTemperature;
+        private Integer speedP50;
+        private Integer speedP95;
+        private Integer speedP99;
+        private Integer temperatureP50;
+        private Integer temperatureP95;
+        private Integer temperatureP99;
         
         // Getters and setters
         public int getTotalRecords() { return totalRecords; }
@@ -229,5 +351,36 @@ public class TelemetryService {
         
         public int getMaxTemperature() { return maxTemperature; }
         public void setMaxTemperature(int maxTemperature) { this.maxTemperature = maxTemperature; }
+        
+        public Integer getSpeedP50() { return speedP50; }
+        public void setSpeedP50(Integer speedP50) { this.speedP50 = speedP50; }
+        
+        public Integer getSpeedP95() { return speedP95; }
+        public void setSpeedP95(Integer speedP95) { this.speedP95 = speedP95; }
+        
+        public Integer getSpeedP99() { return speedP99; }
+        public void setSpeedP99(Integer speedP99) { this.speedP99 = speedP99; }
+        
+        public Integer getTemperatureP50() { return temperatureP50; }
+        public void setTemperatureP50(Integer temperatureP50) { this.temperatureP50 = temperatureP50; }
+        
+        public Integer getTemperatureP95() { return temperatureP95; }
+        public void setTemperatureP95(Integer temperatureP95) { this.temperatureP95 = temperatureP95; }
+        
+        public Integer getTemperatureP99() { return temperatureP99; }
+        public void setTemperatureP99(Integer temperatureP99) { this.temperatureP99 = temperatureP99; }
+    }
+    
+    // Samples without coordinates (older senders) get them from their location label when known;
+    // the label is swapped for the dictionary's canonical instance
+    private void applyCoordinates(Telemetry telemetry) {
+        telemetry.setLocation(locationDictionary.intern(telemetry.getLocation()));
+        if (telemetry.getLatitude() == null || telemetry.getLongitude() == null) {
+            double[] coordinates = locationResolver.resolve(telemetry.getLocation());
+            if (coordinates != null) {
+                telemetry.setLatitude(coordinates[0]);
+                telemetry.setLongitude(coordinates[1]);
+            }
+        }
     }
 }
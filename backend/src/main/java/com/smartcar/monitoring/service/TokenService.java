@@ -0,0 +1,108 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.model.User;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Signed login tokens (jwt.secret, valid for jwt.expiration ms) carrying the user ID.
+ *
+ * A STOMP client that sends "Authorization: Bearer <token>" on CONNECT gets a session
+ * principal named after its user ID, so per-user features trust the session rather than an ID
+ * in the message body. Connections without a valid token stay anonymous and can still
+ * subscribe to the public topics.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String BEARER = "Bearer ";
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    @Value("${jwt.expiration:86400000}")
+    private long expirationMs = 86_400_000;
+
+    public String issue(User user) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject(user.getId().toString())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expirationMs))
+                .signWith(key())
+                .compact();
+    }
+
+    public long getExpirationMs() {
+        return expirationMs;
+    }
+
+    // User ID of a valid, unexpired token; null otherwise
+    public Long verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(Jwts.parser().verifyWith(key()).build()
+                    .parseSignedClaims(token).getPayload().getSubject());
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Rejected token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // User ID of a session principal set on CONNECT; null for anonymous sessions
+    public static Long userId(Principal principal) {
+        if (principal == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(principal.getName());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // Sets the session principal from the CONNECT frame's bearer token
+    public ChannelInterceptor connectInterceptor() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    String authorization = accessor.getFirstNativeHeader("Authorization");
+                    Long userId = authorization != null && authorization.startsWith(BEARER)
+                            ? verify(authorization.substring(BEARER.length())) : null;
+                    if (userId != null) {
+                        accessor.setUser(new UsernamePasswordAuthenticationToken(userId.toString(), null, List.of()));
+                    }
+                }
+                return message;
+            }
+        };
+    }
+
+    private SecretKey key() {
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,321 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.dto.TripDto;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Trip;
+import com.smartcar.monitoring.repository.TripRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Splits each car's telemetry stream into trips as it is ingested.
+ *
+ * A trip opens on the first sample with speed > 0 while the car has no open trip. It closes once
+ * the car has reported zero speed for idle-close-minutes (the trip ends when it stopped), when
+ * the car reports PARKED, or when the car goes silent for that long. Totals are accumulated in
+ * memory per sample; the trips row is written when the trip opens, checkpointed on each sweep
+ * while it is open, and completed when it closes. Open trips are resumed from their checkpoint
+ * after a restart.
+ */
+@Service
+public class TripService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TripService.class);
+
+    public static final String PARKED = "PARKED";
+
+    // Position jumps implying more than this are GPS noise; the speed-based estimate is used instead
+    private static final double MAX_PLAUSIBLE_SPEED_KMH = 250;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private FuelEstimator fuelEstimator;
+
+    @Value("${trips.idle-close-minutes:5}")
+    private long idleCloseMinutes = 5;
+
+    private final Map<Long, TripState> openTrips = new ConcurrentHashMap<>();
+
+    // Resume trips that were open when the application stopped
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            for (Trip trip : tripRepository.findOpenTrips()) {
+                openTrips.put(trip.getCar().getId(), TripState.resume(trip));
+            }
+            logger.info("Trip detector resumed {} open trips", openTrips.size());
+        } catch (Exception e) {
+            logger.error("Error resuming open trips", e);
+        }
+    }
+
+    // Feed one telemetry sample through the car's trip detector
+    public void record(Car car, TelemetryDto telemetryDto) {
+        if (car == null || car.getId() == null || telemetryDto.getSpeed() == null) {
+            return;
+        }
+        LocalDateTime at = telemetryDto.getTimestamp() != null ? telemetryDto.getTimestamp() : LocalDateTime.now();
+        int speed = telemetryDto.getSpeed();
+        TripState state = openTrips.get(car.getId());
+        if (state == null) {
+            if (speed > 0) {
+                openTrip(car, telemetryDto, at);
+            }
+            return;
+        }
+        synchronized (state) {
+            if (state.closed) {
+                return;
+            }
+            accumulate(car.getId(), state, telemetryDto, at);
+            if (speed == 0 && state.idleSince != null && !at.isBefore(state.idleSince.plusMinutes(idleCloseMinutes))) {
+                closeTrip(car.getId(), state, state.idleSince);
+            }
+        }
+    }
+
+    // A car reporting PARKED ends its trip at its last sample
+    public void recordStatus(Long carId, String status) {
+        if (!PARKED.equalsIgnoreCase(status)) {
+            return;
+        }
+        TripState state = openTrips.get(carId);
+        if (state != null) {
+            synchronized (state) {
+                if (!state.closed) {
+                    closeTrip(carId, state, state.idleSince != null ? state.idleSince : state.lastSampleAt);
+                }
+            }
+        }
+    }
+
+    // Count an alert raised while the car is on a trip
+    public void recordAlert(Long carId) {
+        TripState state = openTrips.get(carId);
+        if (state != null) {
+            synchronized (state) {
+                state.alertCount++;
+                state.dirty = true;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${trips.sweep-interval-ms:60000}")
+    public void sweep() {
+        sweep(LocalDateTime.now());
+    }
+
+    // Close trips of cars that went silent, and checkpoint the rest
+    void sweep(LocalDateTime now) {
+        for (Map.Entry<Long, TripState> entry : openTrips.entrySet()) {
+            TripState state = entry.getValue();
+            synchronized (state) {
+                if (state.closed) {
+                    continue;
+                }
+                try {
+                    if (!now.isBefore(state.lastSampleAt.plusMinutes(idleCloseMinutes))) {
+                        closeTrip(entry.getKey(), state, state.idleSince != null ? state.idleSince : state.lastSampleAt);
+                    } else if (state.dirty) {
+                        save(state, null);
+                        state.dirty = false;
+                    }
+                } catch (Exception e) {
+                    logger.error("Error updating trip {} for car {}", state.tripId, entry.getKey(), e);
+                }
+            }
+        }
+    }
+
+    // Trips for a car, newest first; the open trip shows its live totals
+    @Transactional(readOnly = true)
+    public List<TripDto> getTripDtosByCar(Long carId, LocalDateTime startTime, LocalDateTime endTime, int limit) {
+        List<TripDto> trips = startTime != null && endTime != null
+                ? tripRepository.findDtosByCarIdAndStartTimeBetween(carId, startTime, endTime, PageRequest.of(0, limit))
+                : tripRepository.findDtosByCarId(carId, PageRequest.of(0, limit));
+        TripState state = openTrips.get(carId);
+        if (state != null) {
+            synchronized (state) {
+                for (TripDto trip : trips) {
+                    if (trip.isOpen() && trip.getId().equals(state.tripId)) {
+                        state.applyTo(trip);
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(trips);
+    }
+
+    public int getOpenTripCount() {
+        return openTrips.size();
+    }
+
+    private void openTrip(Car car, TelemetryDto telemetryDto, LocalDateTime at) {
+        Trip trip = tripRepository.save(new Trip(car, at));
+        TripState state = new TripState(trip.getId(), at);
+        accumulate(car.getId(), state, telemetryDto, at);
+        openTrips.put(car.getId(), state);
+        logger.debug("Trip {} opened for car {}", trip.getId(), car.getId());
+    }
+
+    private void accumulate(Long carId, TripState state, TelemetryDto telemetryDto, LocalDateTime at) {
+        int speed = telemetryDto.getSpeed();
+        double hours = Math.min(Math.max(Duration.between(state.lastSampleAt, at).toMillis(), 0), idleCloseMinutes * 60_000) / 3_600_000.0;
+        if (speed > 0 || state.lastSpeed > 0) {
+            double estimate = (state.lastSpeed + speed) / 2.0 * hours;
+            double distance = estimate;
+            if (state.lastLatitude != null && telemetryDto.getLatitude() != null && telemetryDto.getLongitude() != null) {
+                double measured = CarLocationIndex.distanceKm(state.lastLatitude, state.lastLongitude,
+                        telemetryDto.getLatitude(), telemetryDto.getLongitude());
+                if (hours > 0 && measured / hours <= MAX_PLAUSIBLE_SPEED_KMH) {
+                    distance = measured;
+                }
+            }
+            state.distanceKm += distance;
+        }
+        if (speed > 0) {
+            // Samples from a stop that turned out to be short count towards the average
+            state.sampleCount += state.idleSamples + 1;
+            state.speedSum += speed;
+            state.idleSamples = 0;
+            state.idleSince = null;
+            state.maxSpeed = Math.max(state.maxSpeed, speed);
+            state.movingUntil = at;
+        } else {
+            if (state.idleSince == null) state.idleSince = at;
+            state.idleSamples++;
+        }
+        // Fuel used comes from the smoothed consumption where the estimator knows the car; summing
+        // raw drops counts sensor noise
+        double consumed = fuelEstimator.getConsumed(carId);
+        Integer fuel = telemetryDto.getFuelLevel();
+        if (!Double.isNaN(consumed)) {
+            if (Double.isNaN(state.fuelConsumedAtStart)) {
+                state.fuelConsumedAtStart = consumed;
+                state.fuelUsedBase = state.fuelUsed;
+            }
+            state.fuelUsed = state.fuelUsedBase + (int) Math.round(consumed - state.fuelConsumedAtStart);
+        } else if (fuel != null) {
+            if (state.lastFuel != null && fuel < state.lastFuel) {
+                state.fuelUsed += state.lastFuel - fuel;
+            }
+        }
+        if (fuel != null) {
+            state.lastFuel = fuel;
+        }
+        if (telemetryDto.getLatitude() != null && telemetryDto.getLongitude() != null) {
+            state.lastLatitude = telemetryDto.getLatitude();
+            state.lastLongitude = telemetryDto.getLongitude();
+        }
+        state.lastSpeed = speed;
+        state.lastSampleAt = at;
+        state.dirty = true;
+    }
+
+    private void closeTrip(Long carId, TripState state, LocalDateTime endTime) {
+        state.closed = true;
+        openTrips.remove(carId, state);
+        save(state, endTime.isBefore(state.startTime) ? state.startTime : endTime);
+        logger.debug("Trip {} closed for car {}", state.tripId, carId);
+    }
+
+    private void save(TripState state, LocalDateTime endTime) {
+        Trip trip = tripRepository.findById(state.tripId).orElse(null);
+        if (trip == null) {
+            return;
+        }
+        trip.setEndTime(endTime);
+        state.applyTo(trip, endTime);
+        tripRepository.save(trip);
+    }
+
+    private static final class TripState {
+        final Long tripId;
+        final LocalDateTime startTime;
+        LocalDateTime lastSampleAt;
+        LocalDateTime movingUntil;
+        LocalDateTime idleSince;
+        int lastSpeed;
+        Integer lastFuel;
+        Double lastLatitude;
+        Double lastLongitude;
+        double distanceKm;
+        int maxSpeed;
+        long speedSum;
+        int sampleCount;
+        int idleSamples;
+        int fuelUsed;
+        // Estimator consumption when fuel accounting switched to it, and the fuel used before then
+        double fuelConsumedAtStart = Double.NaN;
+        int fuelUsedBase;
+        int alertCount;
+        boolean dirty;
+        boolean closed;
+
+        TripState(Long tripId, LocalDateTime startTime) {
+            this.tripId = tripId;
+            this.startTime = startTime;
+            this.lastSampleAt = startTime;
+            this.movingUntil = startTime;
+        }
+
+        static TripState resume(Trip trip) {
+            TripState state = new TripState(trip.getId(), trip.getStartTime());
+            state.lastSampleAt = trip.getLastUpdateOn() != null ? trip.getLastUpdateOn() : trip.getStartTime();
+            state.movingUntil = trip.getStartTime().plusSeconds(trip.getDurationSeconds());
+            state.distanceKm = trip.getDistanceKm();
+            state.maxSpeed = trip.getMaxSpeed();
+            state.sampleCount = trip.getSampleCount();
+            state.speedSum = Math.round(trip.getAvgSpeed() * trip.getSampleCount());
+            state.fuelUsed = trip.getFuelUsed();
+            state.alertCount = trip.getAlertCount();
+            return state;
+        }
+
+        long durationSeconds(LocalDateTime endTime) {
+            return Math.max(Duration.between(startTime, endTime != null ? endTime : movingUntil).getSeconds(), 0);
+        }
+
+        double avgSpeed() {
+            return sampleCount > 0 ? (double) speedSum / sampleCount : 0.0;
+        }
+
+        void applyTo(Trip trip, LocalDateTime endTime) {
+            trip.setDurationSeconds(durationSeconds(endTime));
+            trip.setDistanceKm(distanceKm);
+            trip.setMaxSpeed(maxSpeed);
+            trip.setAvgSpeed(avgSpeed());
+            trip.setFuelUsed(fuelUsed);
+            trip.setAlertCount(alertCount);
+            trip.setSampleCount(sampleCount);
+        }
+
+        void applyTo(TripDto trip) {
+            trip.setDurationSeconds(durationSeconds(null));
+            trip.setDistanceKm(distanceKm);
+            trip.setMaxSpeed(maxSpeed);
+            trip.setAvgSpeed(avgSpeed());
+            trip.setFuelUsed(fuelUsed);
+            trip.setAlertCount(alertCount);
+            trip.setSampleCount(sampleCount);
+        }
+    }
+}
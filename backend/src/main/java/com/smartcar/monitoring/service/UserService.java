@@ -1,11 +1,15 @@
 package com.smartcar.monitoring.service;
 
+import com.smartcar.monitoring.config.CacheConfig;
 import com.smartcar.monitoring.model.User;
 import com.smartcar.monitoring.model.User.UserRole;
 import com.smartcar.monitoring.repository.UserRepository;
 import com.smartcar.monitoring.exception.UserNotFoundException;
 import com.smartcar.monitoring.exception.UserAlreadyExistsException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +28,9 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+    
     // Create new user
     public User createUser(User user) {
         // Check if username already exists
@@ -53,32 +60,44 @@ public class UserService {
     }
     
     // Get user by ID
+    @Transactional(readOnly = true)
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + id));
     }
     
     // Get user by username (for authentication)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_USERNAME, key = "#username", unless = "#result == null")
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
     
     // Get user by email
+    @Transactional(readOnly = true)
     public Optional<User> getUserByEmail(String email) {
         return userRepository.findByEmail(email);
     }
     
     // Get all active users
+    @Transactional(readOnly = true)
     public List<User> getAllActiveUsers() {
         return userRepository.findByIsActiveTrue();
     }
     
     // Get users by role
+    @Transactional(readOnly = true)
     public List<User> getUsersByRole(UserRole role) {
         return userRepository.findByRoleAndIsActiveTrue(role);
     }
     
-    // Update user
+    // Update user (cached drivers, admins and cars embed the user, so those are evicted too)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_USERNAME, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ADMINS_BY_USER, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.CARS, allEntries = true)
+    })
     public User updateUser(Long id, User userDetails) {
         User user = getUserById(id);
         
@@ -114,10 +133,19 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Driver listings embed the user's name and email
+        resourceVersionService.bump(ResourceVersionService.DRIVERS);
+        return saved;
     }
     
     // Soft delete user (mark as inactive)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_USERNAME, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ADMINS_BY_USER, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.CARS, allEntries = true)
+    })
     public void deactivateUser(Long id) {
         User user = getUserById(id);
         user.setIsActive(false);
@@ -126,6 +154,12 @@ public class UserService {
     }
     
     // Reactivate user
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_USERNAME, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.DRIVERS_BY_USER, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.ADMINS_BY_USER, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.CARS, allEntries = true)
+    })
     public void reactivateUser(Long id) {
         User user = getUserById(id);
         user.setIsActive(true);
@@ -134,36 +168,43 @@ public class UserService {
     }
     
     // Get users by age range
+    @Transactional(readOnly = true)
     public List<User> getUsersByAgeRange(Integer minAge, Integer maxAge) {
         return userRepository.findByAgeBetweenAndIsActiveTrue(minAge, maxAge);
     }
     
     // Get users by gender
+    @Transactional(readOnly = true)
     public List<User> getUsersByGender(User.Gender gender) {
         return userRepository.findByGenderAndIsActiveTrue(gender);
     }
     
     // Get users created in date range
+    @Transactional(readOnly = true)
     public List<User> getUsersCreatedBetween(LocalDateTime startDate, LocalDateTime endDate) {
         return userRepository.findUsersCreatedBetween(startDate, endDate);
     }
     
     // Get users by name pattern
+    @Transactional(readOnly = true)
     public List<User> getUsersByNamePattern(String namePattern) {
         return userRepository.findUsersByNamePattern(namePattern);
     }
     
     // Count active users by role
+    @Transactional(readOnly = true)
     public long countActiveUsersByRole(UserRole role) {
         return userRepository.countByRoleAndIsActiveTrue(role);
     }
     
     // Count total active users
+    @Transactional(readOnly = true)
     public long countTotalActiveUsers() {
         return userRepository.countByIsActiveTrue();
     }
     
     // Validate user credentials
+    @Transactional(readOnly = true)
     public boolean validateCredentials(String username, String rawPassword) {
         Optional<User> userOpt = getUserByUsername(username);
         if (userOpt.isPresent()) {
@@ -0,0 +1,118 @@
+package com.smartcar.monitoring.service;
+
+/**
+ * Exact, mergeable distribution of whole-number readings (speed, temperature, fuel).
+ *
+ * Telemetry values are integers in a narrow range, so one counter per value is both exact and
+ * smaller than a t-digest or HDR histogram of the same data. The counters cover only the range
+ * seen so far and grow on demand; two histograms merge by adding counters, so percentiles over
+ * any set of buckets are those of the underlying samples.
+ */
+public final class ValueHistogram {
+
+    private int base;
+    private long[] counts = new long[0];
+    private long total;
+    private long sum;
+
+    public void add(int value) {
+        add(value, 1);
+    }
+
+    public void add(int value, long count) {
+        if (count <= 0) {
+            return;
+        }
+        ensureRange(value, value);
+        counts[value - base] += count;
+        total += count;
+        sum += value * count;
+    }
+
+    // Take back one earlier add of the value; ignored if the value was never added
+    public void remove(int value) {
+        int index = value - base;
+        if (index < 0 || index >= counts.length || counts[index] == 0) {
+            return;
+        }
+        counts[index]--;
+        total--;
+        sum -= value;
+    }
+
+    public void merge(ValueHistogram other) {
+        if (other.total == 0) {
+            return;
+        }
+        ensureRange(other.base, other.base + other.counts.length - 1);
+        int offset = other.base - base;
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[offset + i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+    }
+
+    public long getCount() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    public double getMean() {
+        return total == 0 ? Double.NaN : (double) sum / total;
+    }
+
+    public Integer getMin() {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return base + i;
+            }
+        }
+        return null;
+    }
+
+    public Integer getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return base + i;
+            }
+        }
+        return null;
+    }
+
+    // Nearest-rank percentile (0 < percentile <= 100); null when empty
+    public Integer getPercentile(double percentile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return base + i;
+            }
+        }
+        return base + counts.length - 1;
+    }
+
+    private void ensureRange(int low, int high) {
+        if (counts.length == 0) {
+            base = low;
+            counts = new long[high - low + 1];
+            return;
+        }
+        int top = base + counts.length - 1;
+        if (low >= base && high <= top) {
+            return;
+        }
+        int newBase = Math.min(base, low);
+        long[] grown = new long[Math.max(top, high) - newBase + 1];
+        System.arraycopy(counts, 0, grown, base - newBase, counts.length);
+        base = newBase;
+        counts = grown;
+    }
+}
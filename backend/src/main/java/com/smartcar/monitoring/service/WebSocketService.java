@@ -70,6 +70,21 @@ public class WebSocketService {
         }
     }
 
+    // Send one aggregated event for a bulk alert mutation
+    public void broadcastAlertBulkUpdate(Map<String, Object> summary) {
+        try {
+            Map<String, Object> message = new HashMap<>();
+            message.put("type", "ALERT_BULK_UPDATE");
+            message.put("data", summary);
+            message.put("timestamp", LocalDateTime.now());
+
+            messagingTemplate.convertAndSend("/topic/alerts", message);
+            logger.debug("Broadcasted bulk alert update: {}", summary.get("action"));
+        } catch (Exception e) {
+            logger.error("Error broadcasting bulk alert update", e);
+        }
+    }
+
     // Send critical alerts to admin dashboard
     public void sendCriticalAlertToAdmins(Alert alert) {
         try {
@@ -0,0 +1,335 @@
+package com.smartcar.monitoring.simulator;
+
+import com.smartcar.monitoring.service.MqttService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Capacity-test mode for the ingestion path: publishes telemetry for a large number of virtual
+ * vehicles straight to the broker at a target message rate.
+ *
+ * Vehicles are split into partitions, one producer per partition on its own virtual thread. Each
+ * producer wakes every tick-ms, earns credit for the messages its share of the current target
+ * rate allows since its last tick, and spends it walking its vehicles round-robin, so every
+ * vehicle reports about every vehicles/rate seconds. The target rate ramps up linearly over
+ * ramp-up-seconds and follows the profile: STEADY, BURST (burst-factor times the rate for
+ * burst-seconds of every burst-period-seconds) or WAVE (a smooth swing between the rate and
+ * burst-factor times it over the same period). A producer that falls behind carries at most
+ * one second of backlog; the rest is counted as shortfall, so achieved and target rates can
+ * be compared directly.
+ *
+ * Vehicles do not need rows to be generated: vehicle i publishes as car car-id-start + i.
+ * Messages for IDs without a car are parsed and then rejected at the car lookup, so seed cars
+ * for the ID range to exercise the full pipeline.
+ */
+@Component
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    public enum Profile {
+        STEADY, BURST, WAVE
+    }
+
+    // Location labels the ingest path resolves to coordinates
+    private static final String[] LOCATIONS = {
+        "New York, NY", "Los Angeles, CA", "Chicago, IL", "Houston, TX", "Phoenix, AZ",
+        "Philadelphia, PA", "San Antonio, TX", "San Diego, CA", "Dallas, TX", "San Jose, CA"
+    };
+
+    @Autowired
+    private MqttService mqttService;
+
+    @Value("${loadgen.vehicles:100000}")
+    private int defaultVehicles = 100_000;
+
+    @Value("${loadgen.rate:20000}")
+    private double defaultRate = 20_000;
+
+    @Value("${loadgen.profile:STEADY}")
+    private Profile defaultProfile = Profile.STEADY;
+
+    @Value("${loadgen.ramp-up-seconds:30}")
+    private long defaultRampUpSeconds = 30;
+
+    @Value("${loadgen.duration-seconds:0}")
+    private long defaultDurationSeconds = 0;
+
+    @Value("${loadgen.burst-factor:3}")
+    private double burstFactor = 3;
+
+    @Value("${loadgen.burst-period-seconds:60}")
+    private long burstPeriodSeconds = 60;
+
+    @Value("${loadgen.burst-seconds:10}")
+    private long burstSeconds = 10;
+
+    // 0 uses one producer per available processor
+    @Value("${loadgen.producers:0}")
+    private int producers = 0;
+
+    @Value("${loadgen.tick-ms:10}")
+    private long tickMillis = 10;
+
+    @Value("${loadgen.car-id-start:1}")
+    private long carIdStart = 1;
+
+    @Value("${loadgen.qos:0}")
+    private int qos = 0;
+
+    // Monotonic time in nanoseconds for ticks, elapsed time and rates; tests substitute a manual one
+    private LongSupplier clock = System::nanoTime;
+
+    private volatile Run run;
+
+    // Start a run; null arguments take the configured defaults. Returns false if one is running
+    public synchronized boolean start(Integer vehicles, Double rate, Profile profile, Long rampUpSeconds,
+                                      Long durationSeconds) {
+        if (isRunning()) {
+            return false;
+        }
+        Run next = new Run(
+                vehicles != null ? vehicles : defaultVehicles,
+                rate != null ? rate : defaultRate,
+                profile != null ? profile : defaultProfile,
+                rampUpSeconds != null ? rampUpSeconds : defaultRampUpSeconds,
+                durationSeconds != null ? durationSeconds : defaultDurationSeconds,
+                producers > 0 ? producers : Runtime.getRuntime().availableProcessors());
+        if (next.vehicles <= 0 || next.baseRate <= 0 || next.rampUpSeconds < 0 || next.durationSeconds < 0) {
+            throw new IllegalArgumentException("Vehicles and rate must be positive, ramp-up and duration not negative");
+        }
+        run = next;
+        for (int partition = 0; partition < next.partitions; partition++) {
+            int p = partition;
+            next.threads.add(Thread.ofVirtual().name("loadgen-" + p).start(() -> produce(next, p)));
+        }
+        logger.info("Load generator started: {} vehicles, {} msg/s {}, {} producers, ramp-up {}s",
+                next.vehicles, next.baseRate, next.profile, next.partitions, next.rampUpSeconds);
+        return true;
+    }
+
+    @PreDestroy
+    public synchronized boolean stop() {
+        Run current = run;
+        if (current == null || current.stopping) {
+            return false;
+        }
+        current.stopping = true;
+        for (Thread thread : current.threads) {
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        logger.info("Load generator stopped: {}", current.status());
+        return true;
+    }
+
+    public boolean isRunning() {
+        Run current = run;
+        return current != null && !current.stopping && !current.finished();
+    }
+
+    // Target and achieved rates of the current or last run
+    public Map<String, Object> getStatus() {
+        Run current = run;
+        if (current == null) {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("running", false);
+            return status;
+        }
+        return current.status();
+    }
+
+    // Log achieved against target and refresh the achieved rate over the last interval
+    @Scheduled(fixedDelayString = "${loadgen.report-interval-ms:5000}")
+    public void report() {
+        Run current = run;
+        if (current == null || current.stopping) {
+            return;
+        }
+        current.sample();
+        logger.info("Load generator: {}", current.status());
+        if (current.finished()) {
+            stop();
+        }
+    }
+
+    double targetRateAt(double seconds) {
+        Run current = run;
+        return current != null ? current.rateAt(seconds) : 0;
+    }
+
+    private void produce(Run run, int partition) {
+        int size = (run.vehicles - partition + run.partitions - 1) / run.partitions;
+        if (size <= 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(partition * 31L + run.startNanos);
+        short[] speed = new short[size];
+        byte[] fuel = new byte[size];
+        byte[] temperature = new byte[size];
+        byte[] location = new byte[size];
+        for (int i = 0; i < size; i++) {
+            speed[i] = (short) random.nextInt(121);
+            fuel[i] = (byte) (20 + random.nextInt(81));
+            temperature[i] = (byte) (15 + random.nextInt(21));
+            location[i] = (byte) random.nextInt(LOCATIONS.length);
+        }
+        StringBuilder json = new StringBuilder(128);
+        long tickNanos = tickMillis * 1_000_000;
+        long last = run.startNanos;
+        long nextTick = run.startNanos + tickNanos;
+        double credit = 0;
+        int cursor = 0;
+        while (!run.stopping) {
+            long now = clock.getAsLong();
+            if (now < nextTick) {
+                LockSupport.parkNanos(nextTick - now);
+                continue;
+            }
+            // Behind schedule: resynchronise rather than replaying missed ticks
+            nextTick = Math.max(nextTick, now) + tickNanos;
+            double elapsed = (now - run.startNanos) / 1e9;
+            if (run.durationSeconds > 0 && elapsed >= run.durationSeconds) {
+                break;
+            }
+            double share = run.rateAt(elapsed) / run.partitions;
+            credit += share * (now - last) / 1e9;
+            last = now;
+            if (credit > share + 1) {
+                run.shortfall.add((long) (credit - share));
+                credit -= (long) (credit - share);
+            }
+            int due = (int) credit;
+            credit -= due;
+            for (int k = 0; k < due && !run.stopping; k++) {
+                int i = cursor;
+                cursor = cursor + 1 == size ? 0 : cursor + 1;
+                step(random, speed, fuel, temperature, i);
+                json.setLength(0);
+                json.append("{\"speed\":").append(speed[i])
+                        .append(",\"fuelLevel\":").append(fuel[i])
+                        .append(",\"temperature\":").append(temperature[i])
+                        .append(",\"location\":\"").append(LOCATIONS[location[i]]).append("\"}");
+                long carId = carIdStart + partition + (long) i * run.partitions;
+                try {
+                    mqttService.publishTelemetryPayload(carId, json.toString().getBytes(StandardCharsets.UTF_8), qos);
+                    run.sent.increment();
+                } catch (Exception e) {
+                    if (run.failed.sum() == 0) {
+                        logger.warn("Load generator publish failed for car {}: {}", carId, e.getMessage());
+                    }
+                    run.failed.increment();
+                }
+            }
+        }
+    }
+
+    // Random walk within the ranges the telemetry validation accepts
+    private static void step(SplittableRandom random, short[] speed, byte[] fuel, byte[] temperature, int i) {
+        speed[i] = (short) Math.max(0, Math.min(160, speed[i] + random.nextInt(-8, 9)));
+        if (random.nextInt(20) == 0) {
+            fuel[i] = (byte) (fuel[i] <= 5 ? 100 : fuel[i] - 1);
+        }
+        temperature[i] = (byte) Math.max(-20, Math.min(60, temperature[i] + random.nextInt(-1, 2)));
+    }
+
+    private final class Run {
+        final int vehicles;
+        final double baseRate;
+        final Profile profile;
+        final long rampUpSeconds;
+        final long durationSeconds;
+        final int partitions;
+        final long startNanos = clock.getAsLong();
+        final List<Thread> threads = new ArrayList<>();
+        final LongAdder sent = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder shortfall = new LongAdder();
+        volatile boolean stopping;
+
+        // Achieved rate over the last report interval
+        long sampledAt = startNanos;
+        long sampledSent;
+        volatile double achievedRate;
+
+        Run(int vehicles, double baseRate, Profile profile, long rampUpSeconds, long durationSeconds, int partitions) {
+            this.vehicles = vehicles;
+            this.baseRate = baseRate;
+            this.profile = profile;
+            this.rampUpSeconds = rampUpSeconds;
+            this.durationSeconds = durationSeconds;
+            this.partitions = Math.max(1, Math.min(partitions, vehicles));
+        }
+
+        double rateAt(double seconds) {
+            double rate = baseRate;
+            if (rampUpSeconds > 0 && seconds < rampUpSeconds) {
+                rate *= seconds / rampUpSeconds;
+            }
+            if (burstPeriodSeconds <= 0) {
+                return rate;
+            }
+            double phase = seconds % burstPeriodSeconds;
+            switch (profile) {
+                case BURST:
+                    return phase < burstSeconds ? rate * burstFactor : rate;
+                case WAVE:
+                    double swing = 0.5 - 0.5 * Math.cos(2 * Math.PI * phase / burstPeriodSeconds);
+                    return rate * (1 + (burstFactor - 1) * swing);
+                default:
+                    return rate;
+            }
+        }
+
+        boolean finished() {
+            return durationSeconds > 0 && (clock.getAsLong() - startNanos) / 1e9 >= durationSeconds;
+        }
+
+        synchronized void sample() {
+            long now = clock.getAsLong();
+            long total = sent.sum();
+            if (now > sampledAt) {
+                achievedRate = (total - sampledSent) * 1e9 / (now - sampledAt);
+            }
+            sampledAt = now;
+            sampledSent = total;
+        }
+
+        Map<String, Object> status() {
+            double elapsed = (clock.getAsLong() - startNanos) / 1e9;
+            long total = sent.sum();
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("running", !stopping && !finished());
+            status.put("profile", profile);
+            status.put("vehicles", vehicles);
+            status.put("producers", partitions);
+            status.put("elapsedSeconds", Math.round(elapsed));
+            status.put("targetRate", Math.round(rateAt(elapsed)));
+            status.put("achievedRate", Math.round(achievedRate));
+            status.put("averageRate", elapsed > 0 ? Math.round(total / elapsed) : 0);
+            status.put("sent", total);
+            status.put("failed", failed.sum());
+            status.put("shortfall", shortfall.sum());
+            return status;
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.smartcar.monitoring.simulator;
 import com.smartcar.monitoring.dto.TelemetryDto;
 import com.smartcar.monitoring.model.Car;
 import com.smartcar.monitoring.service.CarService;
+import com.smartcar.monitoring.service.LocationResolver;
 import com.smartcar.monitoring.service.MqttService;
 import com.smartcar.monitoring.service.WebSocketService;
 import org.slf4j.Logger;
@@ -32,6 +33,9 @@ public class TelemetrySimulator {
     @Autowired
     private WebSocketService webSocketService;
 
+    @Autowired
+    private LocationResolver locationResolver;
+
     @Value("${simulator.enabled:true}")
     private boolean simulatorEnabled;
 
@@ -115,6 +119,13 @@ public class TelemetrySimulator {
         String location = generateLocation();
         telemetryDto.setLocation(location);
 
+        // Coordinates somewhere in the city (within about 5 km of its centre)
+        double[] centre = locationResolver.resolve(location);
+        if (centre != null) {
+            telemetryDto.setLatitude(centre[0] + (random.nextDouble() - 0.5) * 0.09);
+            telemetryDto.setLongitude(centre[1] + (random.nextDouble() - 0.5) * 0.09);
+        }
+
         // Set timestamp
         telemetryDto.setTimestamp(LocalDateTime.now());
 
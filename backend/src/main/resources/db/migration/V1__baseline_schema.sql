@@ -0,0 +1,117 @@
+-- Baseline: the schema spring.jpa.hibernate.ddl-auto=update produced for the entities in
+-- com.smartcar.monitoring.model. Existing databases are baselined at this version.
+
+create table admins (
+    is_active bit not null,
+    creation_date datetime(6) not null,
+    id bigint not null auto_increment,
+    last_update_on datetime(6),
+    user_id bigint not null,
+    permissions varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table alerts (
+    acknowledged bit not null,
+    is_active bit not null,
+    car_id bigint not null,
+    creation_date datetime(6) not null,
+    id bigint not null auto_increment,
+    last_update_on datetime(6),
+    timestamp datetime(6) not null,
+    type varchar(255) not null,
+    severity enum ('CRITICAL','HIGH','LOW','MEDIUM') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table cars (
+    fuel_level integer not null,
+    is_active bit not null,
+    speed integer not null,
+    temperature integer not null,
+    creation_date datetime(6) not null,
+    driver_id bigint,
+    id bigint not null auto_increment,
+    last_update_on datetime(6),
+    location varchar(255) not null,
+    status varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table drivers (
+    is_active bit not null,
+    assigned_car_id bigint,
+    creation_date datetime(6) not null,
+    id bigint not null auto_increment,
+    last_update_on datetime(6),
+    user_id bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table telemetry (
+    fuel integer not null,
+    is_active bit not null,
+    speed integer not null,
+    temperature integer not null,
+    car_id bigint not null,
+    creation_date datetime(6) not null,
+    id bigint not null auto_increment,
+    last_update_on datetime(6),
+    timestamp datetime(6) not null,
+    location varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    age integer not null,
+    is_active bit not null,
+    creation_date datetime(6) not null,
+    id bigint not null auto_increment,
+    last_update_on datetime(6),
+    username varchar(50) not null,
+    name varchar(100) not null,
+    contact_number varchar(255) not null,
+    email varchar(255) not null,
+    license_number varchar(255) not null,
+    password varchar(255) not null,
+    gender enum ('FEMALE','MALE','OTHER') not null,
+    role enum ('ADMIN','DRIVER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table admins
+    add constraint UKpiovo1hsx7hi5f9ax85epqya9 unique (user_id);
+
+alter table drivers
+    add constraint UKojm6yjeacqc5cthc73k5twsnj unique (user_id);
+
+alter table users
+    add constraint UKr43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table users
+    add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+
+alter table admins
+    add constraint FKgc8dtql9mkq268detxiox7fpm
+    foreign key (user_id)
+    references users (id);
+
+alter table alerts
+    add constraint FKcd1hgv38s4wh2reuet4wwo5ls
+    foreign key (car_id)
+    references cars (id);
+
+alter table cars
+    add constraint FKs0dcjp3mjm2pn9435ey8ba0w4
+    foreign key (driver_id)
+    references drivers (id);
+
+alter table drivers
+    add constraint FKfscpnjt46gco44xh86l99rxh7
+    foreign key (user_id)
+    references users (id);
+
+alter table telemetry
+    add constraint FKrg7e8vrpgjhaxivjbvi13yu7l
+    foreign key (car_id)
+    references cars (id);
@@ -0,0 +1,34 @@
+-- Composite indexes for the repository queries; every finder also filters on is_active = true.
+-- Column order: the selective equality column first, then the range/sort column, then is_active.
+-- is_active goes last because derived IsActiveTrue finders render it as a bare boolean test
+-- (where is_active), which MySQL cannot use for an index lookup but still evaluates inside the
+-- index. MySQL has no partial indexes, and a leading low-cardinality flag would not narrow much.
+
+-- Telemetry: by car, by car and time range, latest by car (ORDER BY timestamp DESC)
+create index idx_telemetry_car_ts_active on telemetry (car_id, timestamp, is_active);
+-- Telemetry: fleet-wide time range
+create index idx_telemetry_ts_active on telemetry (timestamp, is_active);
+
+-- Alerts: by car, by car and time range, alerts with telemetry context
+create index idx_alerts_car_ts_active on alerts (car_id, timestamp, is_active);
+-- Alerts: unacknowledged by car, the per-car counts and acknowledge-all for a car
+create index idx_alerts_car_ack_active on alerts (car_id, acknowledged, is_active);
+-- Alerts: unacknowledged, optionally by severity, and the bulk acknowledge updates
+create index idx_alerts_ack_severity_active on alerts (acknowledged, severity, is_active);
+-- Alerts: by severity, critical (HIGH/CRITICAL) and the severity counts
+create index idx_alerts_severity_active on alerts (severity, is_active);
+-- Alerts: by type and the type counts
+create index idx_alerts_type_active on alerts (type, is_active);
+-- Alerts: fleet-wide time range
+create index idx_alerts_ts_active on alerts (timestamp, is_active);
+
+-- Cars: by status, recently updated, by driver
+create index idx_cars_status_active on cars (status, is_active);
+create index idx_cars_updated_active on cars (last_update_on, is_active);
+create index idx_cars_driver_active on cars (driver_id, is_active);
+
+-- Drivers: lookup by assigned car (fleet overview join, assignment checks)
+create index idx_drivers_assigned_car_active on drivers (assigned_car_id, is_active);
+
+-- Users: by role
+create index idx_users_role_active on users (role, is_active);
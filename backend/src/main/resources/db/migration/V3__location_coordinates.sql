@@ -0,0 +1,32 @@
+-- Coordinates for cars and telemetry samples; the free-text location label stays for display
+alter table cars add column latitude double;
+alter table cars add column longitude double;
+alter table telemetry add column latitude double;
+alter table telemetry add column longitude double;
+
+-- Backfill rows whose label is one of the known city labels (see LocationResolver)
+update cars set
+    latitude = case location
+        when 'New York, NY' then 40.7128 when 'Los Angeles, CA' then 34.0522 when 'Chicago, IL' then 41.8781
+        when 'Houston, TX' then 29.7604 when 'Phoenix, AZ' then 33.4484 when 'Philadelphia, PA' then 39.9526
+        when 'San Antonio, TX' then 29.4241 when 'San Diego, CA' then 32.7157 when 'Dallas, TX' then 32.7767
+        when 'San Jose, CA' then 37.3382 end,
+    longitude = case location
+        when 'New York, NY' then -74.0060 when 'Los Angeles, CA' then -118.2437 when 'Chicago, IL' then -87.6298
+        when 'Houston, TX' then -95.3698 when 'Phoenix, AZ' then -112.0740 when 'Philadelphia, PA' then -75.1652
+        when 'San Antonio, TX' then -98.4936 when 'San Diego, CA' then -117.1611 when 'Dallas, TX' then -96.7970
+        when 'San Jose, CA' then -121.8863 end
+where latitude is null;
+
+update telemetry set
+    latitude = case location
+        when 'New York, NY' then 40.7128 when 'Los Angeles, CA' then 34.0522 when 'Chicago, IL' then 41.8781
+        when 'Houston, TX' then 29.7604 when 'Phoenix, AZ' then 33.4484 when 'Philadelphia, PA' then 39.9526
+        when 'San Antonio, TX' then 29.4241 when 'San Diego, CA' then 32.7157 when 'Dallas, TX' then 32.7767
+        when 'San Jose, CA' then 37.3382 end,
+    longitude = case location
+        when 'New York, NY' then -74.0060 when 'Los Angeles, CA' then -118.2437 when 'Chicago, IL' then -87.6298
+        when 'Houston, TX' then -95.3698 when 'Phoenix, AZ' then -112.0740 when 'Philadelphia, PA' then -75.1652
+        when 'San Antonio, TX' then -98.4936 when 'San Diego, CA' then -117.1611 when 'Dallas, TX' then -96.7970
+        when 'San Jose, CA' then -121.8863 end
+where latitude is null;
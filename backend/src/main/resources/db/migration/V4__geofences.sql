@@ -0,0 +1,16 @@
+-- Geofences (depot, city and restricted zones) tested against every incoming position.
+-- The table is read whole into GeofenceIndex, so it needs no secondary indexes.
+create table geofences (
+    is_active bit not null,
+    center_latitude double,
+    center_longitude double,
+    radius_km double,
+    creation_date datetime(6) not null,
+    id bigint not null auto_increment,
+    last_update_on datetime(6),
+    name varchar(100) not null,
+    vertices varchar(10000),
+    category enum ('CITY','DEPOT','RESTRICTED') not null,
+    shape enum ('CIRCLE','POLYGON') not null,
+    primary key (id)
+) engine=InnoDB;
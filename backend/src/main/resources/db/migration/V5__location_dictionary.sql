@@ -0,0 +1,26 @@
+-- Dictionary-encode telemetry locations: each distinct label is stored once and telemetry
+-- keeps a 4-byte ID instead of a varchar per row (see LocationDictionary).
+create table locations (
+    id integer not null auto_increment,
+    label varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table locations
+    add constraint uk_locations_label unique (label);
+
+insert into locations (label)
+    select distinct location from telemetry;
+
+alter table telemetry add column location_id integer;
+
+update telemetry set location_id = (select l.id from locations l where l.label = telemetry.location);
+
+alter table telemetry modify location_id integer not null;
+
+alter table telemetry drop column location;
+
+alter table telemetry
+    add constraint fk_telemetry_location
+    foreign key (location_id)
+    references locations (id);
@@ -0,0 +1,26 @@
+-- Trips segmented from the telemetry stream by TripService; end_time is null while a trip is open
+create table trips (
+    alert_count integer not null,
+    avg_speed double not null,
+    distance_km double not null,
+    fuel_used integer not null,
+    is_active bit not null,
+    max_speed integer not null,
+    sample_count integer not null,
+    car_id bigint not null,
+    creation_date datetime(6) not null,
+    duration_seconds bigint not null,
+    end_time datetime(6),
+    id bigint not null auto_increment,
+    last_update_on datetime(6),
+    start_time datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table trips
+    add constraint fk_trips_car
+    foreign key (car_id)
+    references cars (id);
+
+-- Trips by car, newest first, optionally by start time range
+create index idx_trips_car_start_active on trips (car_id, start_time, is_active);
@@ -0,0 +1,23 @@
+-- Checkpoints of the decayed per-driver behaviour aggregates kept in memory by DriverScoreService
+create table driver_scores (
+    driving_seconds double not null,
+    harsh_events double not null,
+    overheat_seconds double not null,
+    score double not null,
+    speeding_seconds double not null,
+    creation_date datetime(6) not null,
+    decayed_at datetime(6) not null,
+    driver_id bigint not null,
+    id bigint not null auto_increment,
+    last_update_on datetime(6),
+    sample_count bigint not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table driver_scores
+    add constraint uk_driver_scores_driver unique (driver_id);
+
+alter table driver_scores
+    add constraint fk_driver_scores_driver
+    foreign key (driver_id)
+    references drivers (id);
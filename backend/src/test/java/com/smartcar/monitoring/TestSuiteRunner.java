@@ -39,10 +39,43 @@ import org.junit.platform.suite.api.SuiteDisplayName;
     
     // Simulator Tests
     com.smartcar.monitoring.simulator.TelemetrySimulatorTest.class,
+    com.smartcar.monitoring.simulator.LoadGeneratorTest.class,
     
     // Controller Tests
     com.smartcar.monitoring.controller.TelemetryControllerTest.class,
+    com.smartcar.monitoring.controller.AlertControllerTest.class,
     com.smartcar.monitoring.controller.SimulatorControllerTest.class,
+    com.smartcar.monitoring.controller.ListEndpointQueryCountTest.class,
+    
+    // Service Tests
+    com.smartcar.monitoring.service.TelemetryFanoutServiceTest.class,
+    com.smartcar.monitoring.service.FleetStateServiceTest.class,
+    com.smartcar.monitoring.service.MapInterestServiceTest.class,
+    com.smartcar.monitoring.service.SessionBackpressureServiceTest.class,
+    com.smartcar.monitoring.service.PayloadFormatServiceTest.class,
+    com.smartcar.monitoring.service.DashboardServiceTest.class,
+    com.smartcar.monitoring.service.ResourceVersionServiceTest.class,
+    com.smartcar.monitoring.service.FleetOverviewServiceTest.class,
+    com.smartcar.monitoring.service.CarLocationIndexTest.class,
+    com.smartcar.monitoring.service.GeofenceIndexTest.class,
+    com.smartcar.monitoring.service.GeofenceServiceTest.class,
+    com.smartcar.monitoring.service.LocationDictionaryTest.class,
+    com.smartcar.monitoring.service.TripServiceTest.class,
+    com.smartcar.monitoring.service.DriverScoreServiceTest.class,
+    com.smartcar.monitoring.service.AnomalyDetectorTest.class,
+    com.smartcar.monitoring.service.AnomalyServiceTest.class,
+    com.smartcar.monitoring.service.FuelEstimatorTest.class,
+    com.smartcar.monitoring.service.TelemetryRollupServiceTest.class,
+    com.smartcar.monitoring.service.TelemetryServiceTest.class,
+    com.smartcar.monitoring.service.MqttServiceTest.class,
+    com.smartcar.monitoring.service.TokenServiceTest.class,
+    
+    // Repository Tests
+    com.smartcar.monitoring.repository.SchemaMigrationTest.class,
+    
+    // Config Tests
+    com.smartcar.monitoring.config.StompBrokerRelayTest.class,
+    com.smartcar.monitoring.config.CacheConfigTest.class,
     
     // Main Application Test
     com.smartcar.monitoring.SmartCarMonitoringApplicationTests.class
@@ -0,0 +1,234 @@
+package com.smartcar.monitoring.benchmark;
+
+import com.smartcar.monitoring.SmartCarMonitoringApplication;
+import com.smartcar.monitoring.config.EmbeddedMqttBroker;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.repository.CarRepository;
+import com.smartcar.monitoring.repository.TelemetryRepository;
+import com.smartcar.monitoring.service.MqttService;
+import com.smartcar.monitoring.simulator.LoadGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end ingestion benchmark with no network: publisher → embedded MQTT broker →
+ * MqttService → database → telemetry fan-out → a STOMP client on the real WebSocket endpoint.
+ *
+ * The latency pass keeps at most one sample in flight per car, so each frame on
+ * /topic/car/{id}/telemetry matches the publish it came from despite fan-out conflation. The
+ * throughput pass drives the load generator and counts the rows that reach the database.
+ *
+ * Tagged "benchmark", which the default test run excludes; run it with the benchmark profile.
+ * Sizes default to a quick run; raise them with -Dbenchmark.cars, -Dbenchmark.latency-messages,
+ * -Dbenchmark.rate and -Dbenchmark.seconds, e.g.
+ *   mvn test -Pbenchmark -Dbenchmark.cars=500 -Dbenchmark.rate=5000 -Dbenchmark.seconds=30
+ */
+@SpringBootTest(classes = SmartCarMonitoringApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "mqtt.embedded.port=0",
+                "mqtt.client.id=benchmark-backend",
+                "logging.level.com.smartcar.monitoring.service.MqttService=WARN",
+                "logging.level.org.eclipse.paho.client.mqttv3=WARN"
+        })
+@ActiveProfiles("embedded-broker")
+@TestPropertySource(locations = "classpath:application-test.properties")
+@Tag("benchmark")
+@DisplayName("Ingestion Benchmark Tests")
+public class IngestionBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestionBenchmarkTest.class);
+
+    private static final int CARS = Integer.getInteger("benchmark.cars", 50);
+    private static final int LATENCY_MESSAGES = Integer.getInteger("benchmark.latency-messages", 200);
+    private static final int RATE = Integer.getInteger("benchmark.rate", 1000);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 3);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmbeddedMqttBroker embeddedMqttBroker;
+
+    @Autowired
+    private MqttService mqttService;
+
+    @Autowired
+    private LoadGenerator loadGenerator;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private TelemetryRepository telemetryRepository;
+
+    private WebSocketStompClient stompClient;
+    private StompSession session;
+    private final List<Long> carIds = new ArrayList<>();
+
+    // Publish time of the one outstanding sample per car, and the frames seen so far
+    private final Map<Long, Long> inFlight = new ConcurrentHashMap<>();
+    private final List<Long> latenciesMicros = java.util.Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong frames = new AtomicLong();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < CARS; i++) {
+            cars.add(new Car("MOVING", 60, 80, 25, "Chicago, IL"));
+        }
+        for (Car car : carRepository.saveAll(cars)) {
+            carIds.add(car.getId());
+        }
+        carIds.sort(null);
+        // The load generator addresses cars by a contiguous ID range
+        assertEquals(CARS - 1, carIds.get(CARS - 1) - carIds.get(0));
+
+        stompClient = new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        session = stompClient.connectAsync("ws://localhost:" + port + "/ws", new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+        for (Long carId : carIds) {
+            session.subscribe("/topic/car/" + carId + "/telemetry", new StompFrameHandler() {
+                @Override
+                public Type getPayloadType(StompHeaders headers) {
+                    return byte[].class;
+                }
+
+                @Override
+                public void handleFrame(StompHeaders headers, Object payload) {
+                    frames.incrementAndGet();
+                    Long sentAt = inFlight.remove(carId);
+                    if (sentAt != null) {
+                        latenciesMicros.add((System.nanoTime() - sentAt) / 1000);
+                    }
+                }
+            });
+        }
+        // Subscriptions are registered asynchronously; one round trip per car settles them
+        Thread.sleep(500);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadGenerator.stop();
+        if (session != null) {
+            session.disconnect();
+        }
+        stompClient.stop();
+    }
+
+    @Test
+    @DisplayName("Should carry telemetry from the embedded broker to WebSocket subscribers")
+    void shouldMeasureIngestion() throws Exception {
+        assertTrue(mqttService.isConnected(), "Backend client not connected to " + embeddedMqttBroker.getUrl());
+
+        // Latency: paced publishes, one in flight per car, at the load generator's QoS 0
+        long pauseNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, Math.min(RATE, 200));
+        for (int m = 0; m < LATENCY_MESSAGES; m++) {
+            Long carId = carIds.get(m % CARS);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (inFlight.containsKey(carId) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            inFlight.put(carId, System.nanoTime());
+            String payload = "{\"speed\":" + (m % 120) + ",\"fuelLevel\":70,\"temperature\":30,\"location\":\"Chicago, IL\"}";
+            mqttService.publishTelemetryPayload(carId, payload.getBytes(StandardCharsets.UTF_8), 0);
+            Thread.sleep(pauseNanos / 1_000_000, (int) (pauseNanos % 1_000_000));
+        }
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!inFlight.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(LATENCY_MESSAGES, latenciesMicros.size(), "Samples that never reached a subscriber");
+        assertEquals(LATENCY_MESSAGES, storedForCars());
+
+        // Throughput: the load generator against the same cars
+        ReflectionTestUtils.setField(loadGenerator, "carIdStart", carIds.get(0));
+        long storedBefore = storedForCars();
+        long framesBefore = frames.get();
+        long start = System.nanoTime();
+        assertTrue(loadGenerator.start(CARS, (double) RATE, LoadGenerator.Profile.STEADY, 0L, (long) SECONDS));
+        while (loadGenerator.isRunning()) {
+            Thread.sleep(50);
+        }
+        loadGenerator.stop();
+        Map<String, Object> status = loadGenerator.getStatus();
+        long published = (Long) status.get("sent");
+        // Wait for ingestion to drain: the row count stops moving
+        long stored = storedForCars() - storedBefore;
+        long lastChange = System.nanoTime();
+        deadline = System.currentTimeMillis() + 30_000;
+        while (stored < published && System.currentTimeMillis() < deadline) {
+            Thread.sleep(200);
+            long now = storedForCars() - storedBefore;
+            if (now != stored) {
+                stored = now;
+                lastChange = System.nanoTime();
+            } else if (System.nanoTime() - lastChange > TimeUnit.SECONDS.toNanos(2)) {
+                break;
+            }
+        }
+        double elapsed = (lastChange - start) / 1e9;
+
+        long[] sorted = latenciesMicros.stream().mapToLong(Long::longValue).sorted().toArray();
+        logger.info("Ingestion benchmark, {} cars on {}", CARS, embeddedMqttBroker.getUrl());
+        logger.info("  publish -> WebSocket latency over {} samples: p50={}ms p95={}ms p99={}ms max={}ms",
+                sorted.length, millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                millis(percentile(sorted, 99)), millis(sorted[sorted.length - 1]));
+        logger.info("  throughput: target {} msg/s for {}s, published {} (failed {}, shortfall {}), stored {} in {}s = {} msg/s, {} frames",
+                RATE, SECONDS, published, status.get("failed"), status.get("shortfall"), stored,
+                String.format("%.1f", elapsed), Math.round(stored / elapsed), frames.get() - framesBefore);
+
+        assertTrue(published > 0);
+        assertTrue(stored > 0 && stored <= published, "stored " + stored + " of " + published);
+    }
+
+    // Rows for the benchmark's own cars, whatever else the context has written
+    private long storedForCars() {
+        long total = 0;
+        for (Long carId : carIds) {
+            total += telemetryRepository.countByCarIdAndIsActiveTrue(carId);
+        }
+        return total;
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1000.0);
+    }
+
+    // Nearest-rank percentile of a sorted array
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,180 @@
+package com.smartcar.monitoring.config;
+
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Driver;
+import com.smartcar.monitoring.repository.CarRepository;
+import com.smartcar.monitoring.repository.DriverRepository;
+import com.smartcar.monitoring.repository.TelemetryRepository;
+import com.smartcar.monitoring.repository.UserRepository;
+import com.smartcar.monitoring.service.AlertService;
+import com.smartcar.monitoring.service.CacheMetricsService;
+import com.smartcar.monitoring.service.CarLocationIndex;
+import com.smartcar.monitoring.service.CarService;
+import com.smartcar.monitoring.service.DriverScoreService;
+import com.smartcar.monitoring.service.DriverService;
+import com.smartcar.monitoring.service.FuelEstimator;
+import com.smartcar.monitoring.service.GeofenceIndex;
+import com.smartcar.monitoring.service.LocationDictionary;
+import com.smartcar.monitoring.service.LocationResolver;
+import com.smartcar.monitoring.service.ResourceVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs CarService and DriverService behind the real cache proxy to check which calls hit the
+ * cache and when writes evict it.
+ */
+@SpringJUnitConfig(classes = {CacheConfig.class, CarService.class, DriverService.class, CacheMetricsService.class})
+@DisplayName("Cache Config Tests")
+public class CacheConfigTest {
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private CacheMetricsService cacheMetricsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @MockitoBean
+    private CarRepository carRepository;
+
+    @MockitoBean
+    private DriverRepository driverRepository;
+
+    @MockitoBean
+    private TelemetryRepository telemetryRepository;
+
+    @MockitoBean
+    private AlertService alertService;
+
+    @MockitoBean
+    private ResourceVersionService resourceVersionService;
+
+    @MockitoBean
+    private LocationResolver locationResolver;
+
+    @MockitoBean
+    private LocationDictionary locationDictionary;
+
+    @MockitoBean
+    private CarLocationIndex carLocationIndex;
+
+    @MockitoBean
+    private GeofenceIndex geofenceIndex;
+
+    @MockitoBean
+    private FuelEstimator fuelEstimator;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private DriverScoreService driverScoreService;
+
+    @BeforeEach
+    void setUp() {
+        Car car = new Car();
+        car.setId(1L);
+        car.setStatus("IDLE");
+        when(carRepository.findWithDriverById(1L)).thenReturn(Optional.of(car));
+        when(carRepository.save(any(Car.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.getCache(CacheConfig.CARS).clear();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve repeated lookups from the cache")
+    void shouldServeRepeatedLookupsFromCache() {
+        Car first = carService.getCarById(1L);
+        Car second = carService.getCarById(1L);
+
+        assertSame(first, second);
+        verify(carRepository, times(1)).findWithDriverById(1L);
+    }
+
+    @Test
+    @DisplayName("Should evict the car when it is written")
+    void shouldEvictOnWrite() {
+        carService.getCarById(1L);
+
+        carService.reactivateCar(1L);
+        carService.getCarById(1L);
+
+        // Initial load, the mutator's own (uncached) self-call, and the reload after eviction
+        verify(carRepository, times(3)).findWithDriverById(1L);
+    }
+
+    @Test
+    @DisplayName("Should defer eviction until the surrounding transaction commits")
+    void shouldDeferEvictionUntilCommit() {
+        carService.getCarById(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        carService.deactivateCar(1L);
+        assertNotNull(cacheManager.getCache(CacheConfig.CARS).get(1L));
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+        }
+        assertNull(cacheManager.getCache(CacheConfig.CARS).get(1L));
+    }
+
+    @Test
+    @DisplayName("Should evict cached cars when their driver is deactivated")
+    void shouldEvictCarsOnDriverDeactivation() {
+        Driver driver = new Driver();
+        driver.setId(10L);
+        when(driverRepository.findById(10L)).thenReturn(Optional.of(driver));
+        carService.getCarById(1L);
+
+        driverService.deactivateDriver(10L);
+        carService.getCarById(1L);
+
+        verify(carRepository, times(2)).findWithDriverById(1L);
+        verify(driverScoreService).forgetDriver(10L);
+    }
+
+    @Test
+    @DisplayName("Should report hits and misses per cache")
+    @SuppressWarnings("unchecked")
+    void shouldReportHitsAndMisses() {
+        Map<String, Object> before = (Map<String, Object>) cacheMetricsService.getStatistics().get(CacheConfig.CARS);
+
+        carService.getCarById(1L);
+        carService.getCarById(1L);
+
+        Map<String, Object> after = (Map<String, Object>) cacheMetricsService.getStatistics().get(CacheConfig.CARS);
+        assertEquals((Long) before.get("hitCount") + 1, after.get("hitCount"));
+        assertEquals((Long) before.get("missCount") + 1, after.get("missCount"));
+        assertTrue(cacheMetricsService.getStatistics().keySet().containsAll(
+                List.of(CacheConfig.CARS, CacheConfig.DRIVERS_BY_USER,
+                        CacheConfig.USERS_BY_USERNAME, CacheConfig.ADMINS_BY_USER)));
+    }
+}
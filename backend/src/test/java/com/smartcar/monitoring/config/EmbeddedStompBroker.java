@@ -0,0 +1,283 @@
+package com.smartcar.monitoring.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Minimal in-process STOMP 1.2 broker for relay tests.
+ *
+ * Supports CONNECT/STOMP, SUBSCRIBE, UNSUBSCRIBE, SEND and DISCONNECT with exact-match
+ * destinations. Heart-beats are disabled in CONNECTED so idle relay connections stay open.
+ */
+public class EmbeddedStompBroker implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "embedded-stomp-broker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, CopyOnWriteArrayList<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicLong messageIds = new AtomicLong();
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong messagesDelivered = new AtomicLong();
+    private volatile boolean running = true;
+
+    public EmbeddedStompBroker() throws IOException {
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        executor.execute(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long getFramesReceived() {
+        return framesReceived.get();
+    }
+
+    public long getMessagesDelivered() {
+        return messagesDelivered.get();
+    }
+
+    public int getSubscriptionCount(String destination) {
+        CopyOnWriteArrayList<Subscription> subs = subscriptions.get(destination);
+        return subs != null ? subs.size() : 0;
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                executor.execute(() -> new Connection(socket).run());
+            } catch (IOException e) {
+                if (running) {
+                    throw new IllegalStateException("Embedded STOMP broker accept failed", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private static final class Subscription {
+        final Connection connection;
+        final String id;
+
+        Subscription(Connection connection, String id) {
+            this.connection = connection;
+            this.id = id;
+        }
+    }
+
+    private final class Connection implements Runnable {
+        private final Socket socket;
+        private final OutputStream out;
+        private final Map<String, String> destinationsById = new ConcurrentHashMap<>();
+
+        Connection(Socket socket) {
+            this.socket = socket;
+            try {
+                this.out = socket.getOutputStream();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            try (Socket s = socket; InputStream in = s.getInputStream()) {
+                Frame frame;
+                while ((frame = readFrame(in)) != null) {
+                    framesReceived.incrementAndGet();
+                    if (!handle(frame)) {
+                        break;
+                    }
+                }
+            } catch (IOException e) {
+                // Connection closed by peer
+            } finally {
+                for (Map.Entry<String, String> entry : destinationsById.entrySet()) {
+                    removeSubscription(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        private boolean handle(Frame frame) throws IOException {
+            switch (frame.command) {
+                case "CONNECT":
+                case "STOMP": {
+                    Map<String, String> headers = new LinkedHashMap<>();
+                    headers.put("version", "1.2");
+                    headers.put("heart-beat", "0,0");
+                    write("CONNECTED", headers, new byte[0]);
+                    return true;
+                }
+                case "SUBSCRIBE": {
+                    String id = frame.headers.get("id");
+                    String destination = frame.headers.get("destination");
+                    destinationsById.put(id, destination);
+                    subscriptions.computeIfAbsent(destination, d -> new CopyOnWriteArrayList<>())
+                            .add(new Subscription(this, id));
+                    break;
+                }
+                case "UNSUBSCRIBE": {
+                    String id = frame.headers.get("id");
+                    String destination = destinationsById.remove(id);
+                    if (destination != null) {
+                        removeSubscription(id, destination);
+                    }
+                    break;
+                }
+                case "SEND":
+                    deliver(frame);
+                    break;
+                case "DISCONNECT":
+                    sendReceipt(frame);
+                    return false;
+                default:
+                    break;
+            }
+            sendReceipt(frame);
+            return true;
+        }
+
+        private void removeSubscription(String id, String destination) {
+            CopyOnWriteArrayList<Subscription> subs = subscriptions.get(destination);
+            if (subs != null) {
+                subs.removeIf(sub -> sub.connection == this && sub.id.equals(id));
+            }
+        }
+
+        private void sendReceipt(Frame frame) throws IOException {
+            String receipt = frame.headers.get("receipt");
+            if (receipt != null) {
+                write("RECEIPT", Map.of("receipt-id", receipt), new byte[0]);
+            }
+        }
+
+        private void deliver(Frame frame) {
+            String destination = frame.headers.get("destination");
+            CopyOnWriteArrayList<Subscription> subs = subscriptions.get(destination);
+            if (subs == null) {
+                return;
+            }
+            for (Subscription sub : subs) {
+                Map<String, String> headers = new LinkedHashMap<>();
+                headers.put("subscription", sub.id);
+                headers.put("message-id", String.valueOf(messageIds.incrementAndGet()));
+                headers.put("destination", destination);
+                for (Map.Entry<String, String> entry : frame.headers.entrySet()) {
+                    if (!headers.containsKey(entry.getKey()) && !entry.getKey().equals("receipt")) {
+                        headers.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                try {
+                    sub.connection.write("MESSAGE", headers, frame.body);
+                    messagesDelivered.incrementAndGet();
+                } catch (IOException e) {
+                    // Subscriber went away; its reader thread cleans up
+                }
+            }
+        }
+
+        private void write(String command, Map<String, String> headers, byte[] body) throws IOException {
+            StringBuilder sb = new StringBuilder(command).append('\n');
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                if (!entry.getKey().equals("content-length")) {
+                    sb.append(entry.getKey()).append(':').append(entry.getValue()).append('\n');
+                }
+            }
+            sb.append("content-length:").append(body.length).append("\n\n");
+            synchronized (out) {
+                out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+                out.write(body);
+                out.write(0);
+                out.flush();
+            }
+        }
+    }
+
+    private static final class Frame {
+        final String command;
+        final Map<String, String> headers;
+        final byte[] body;
+
+        Frame(String command, Map<String, String> headers, byte[] body) {
+            this.command = command;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    // Read one frame, skipping heart-beat EOLs; returns null at end of stream
+    private static Frame readFrame(InputStream in) throws IOException {
+        String command;
+        do {
+            command = readLine(in);
+            if (command == null) {
+                return null;
+            }
+        } while (command.isEmpty());
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        String line;
+        while ((line = readLine(in)) != null && !line.isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.putIfAbsent(line.substring(0, colon), line.substring(colon + 1));
+            }
+        }
+
+        byte[] body;
+        String contentLength = headers.get("content-length");
+        if (contentLength != null) {
+            body = in.readNBytes(Integer.parseInt(contentLength));
+            in.read(); // trailing NUL
+        } else {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            int b;
+            while ((b = in.read()) > 0) {
+                buffer.write(b);
+            }
+            body = buffer.toByteArray();
+        }
+        return new Frame(command, headers, body);
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int len = buffer.size();
+                byte[] bytes = buffer.toByteArray();
+                if (len > 0 && bytes[len - 1] == '\r') {
+                    len--;
+                }
+                return new String(bytes, 0, len, StandardCharsets.UTF_8);
+            }
+            buffer.write(b);
+        }
+        return buffer.size() > 0 ? buffer.toString(StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,186 @@
+package com.smartcar.monitoring.config;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs several relay "nodes" against one embedded STOMP broker and checks that a message
+ * published on one node reaches subscribers connected to every node.
+ */
+@DisplayName("STOMP Broker Relay Tests")
+public class StompBrokerRelayTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(StompBrokerRelayTest.class);
+
+    private static final int NODES = 3;
+    private static final int MESSAGES = 200;
+
+    // Relay start/stop is slow, so all tests share one broker and one set of nodes
+    private static EmbeddedStompBroker broker;
+    private static final List<Node> nodes = new ArrayList<>();
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        broker = new EmbeddedStompBroker();
+        for (int i = 0; i < NODES; i++) {
+            nodes.add(new Node(broker.getPort()));
+        }
+        for (Node node : nodes) {
+            node.awaitBrokerAvailable();
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        for (Node node : nodes) {
+            node.relay.stop();
+        }
+        nodes.clear();
+        broker.close();
+    }
+
+    @Test
+    @DisplayName("Should deliver messages published on one node to subscribers on every node")
+    void shouldDeliverAcrossNodes() throws Exception {
+        String destination = "/topic/car/1/telemetry";
+        for (int i = 0; i < NODES; i++) {
+            nodes.get(i).connectAndSubscribe("fanout-" + i, destination);
+        }
+        awaitSubscriptions(destination, NODES);
+
+        long[] latenciesMicros = new long[MESSAGES * NODES];
+        int count = 0;
+        for (int m = 0; m < MESSAGES; m++) {
+            long sentAt = System.nanoTime();
+            nodes.get(0).publish(destination, "{\"seq\":" + m + "}");
+            for (Node node : nodes) {
+                Message<?> received = node.nextMessage();
+                assertNotNull(received, "Message " + m + " not delivered");
+                latenciesMicros[count++] = (System.nanoTime() - sentAt) / 1000;
+                assertEquals("{\"seq\":" + m + "}", new String((byte[]) received.getPayload(), StandardCharsets.UTF_8));
+            }
+        }
+
+        Arrays.sort(latenciesMicros);
+        assertEquals(MESSAGES * NODES, count);
+        logger.info("STOMP relay latency over {} nodes, {} messages: p50={}us p99={}us max={}us",
+                NODES, MESSAGES, latenciesMicros[count / 2], latenciesMicros[count * 99 / 100], latenciesMicros[count - 1]);
+        for (int i = 0; i < NODES; i++) {
+            nodes.get(i).disconnect("fanout-" + i);
+        }
+        awaitSubscriptions(destination, 0);
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to a session after it disconnects")
+    void shouldStopDeliveringAfterDisconnect() throws Exception {
+        String destination = "/topic/car/2/telemetry";
+        nodes.get(0).connectAndSubscribe("disconnect-0", destination);
+        nodes.get(1).connectAndSubscribe("disconnect-1", destination);
+        awaitSubscriptions(destination, 2);
+
+        nodes.get(1).disconnect("disconnect-1");
+        awaitSubscriptions(destination, 1);
+
+        nodes.get(0).publish(destination, "{}");
+        assertNotNull(nodes.get(0).nextMessage());
+        assertNull(nodes.get(1).messages.poll(200, TimeUnit.MILLISECONDS));
+        nodes.get(0).disconnect("disconnect-0");
+        awaitSubscriptions(destination, 0);
+    }
+
+    private void awaitSubscriptions(String destination, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (broker.getSubscriptionCount(destination) != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, broker.getSubscriptionCount(destination));
+    }
+
+    // One backend node: a relay handler with its own channels, as WebSocketConfig sets up in relay mode
+    private static final class Node {
+        final StompBrokerRelayMessageHandler relay;
+        final BlockingQueue<Message<?>> messages = new LinkedBlockingQueue<>();
+        final BlockingQueue<Message<?>> connected = new LinkedBlockingQueue<>();
+
+        Node(int port) {
+            ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+            clientOutbound.subscribe(message -> {
+                StompHeaderAccessor accessor = StompHeaderAccessor.wrap(message);
+                if (accessor.getCommand() == StompCommand.MESSAGE) {
+                    messages.add(message);
+                } else if (accessor.getCommand() == StompCommand.CONNECTED) {
+                    connected.add(message);
+                }
+            });
+            relay = new StompBrokerRelayMessageHandler(new ExecutorSubscribableChannel(), clientOutbound,
+                    new ExecutorSubscribableChannel(), List.of("/topic", "/queue"));
+            relay.setRelayHost("127.0.0.1");
+            relay.setRelayPort(port);
+            relay.start();
+        }
+
+        void awaitBrokerAvailable() throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!relay.isBrokerAvailable() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(relay.isBrokerAvailable(), "Relay did not connect to the embedded broker: " + relay.getStatsInfo());
+        }
+
+        void connectAndSubscribe(String sessionId, String destination) throws InterruptedException {
+            StompHeaderAccessor connect = StompHeaderAccessor.create(StompCommand.CONNECT);
+            connect.setSessionId(sessionId);
+            connect.setAcceptVersion("1.2");
+            connect.setHeartbeat(0, 0);
+            relay.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+            assertNotNull(connected.poll(5, TimeUnit.SECONDS), "Client session " + sessionId + " not connected");
+
+            StompHeaderAccessor subscribe = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+            subscribe.setSessionId(sessionId);
+            subscribe.setSubscriptionId("sub-0");
+            subscribe.setDestination(destination);
+            relay.handleMessage(MessageBuilder.createMessage(new byte[0], subscribe.getMessageHeaders()));
+        }
+
+        void disconnect(String sessionId) {
+            StompHeaderAccessor disconnect = StompHeaderAccessor.create(StompCommand.DISCONNECT);
+            disconnect.setSessionId(sessionId);
+            relay.handleMessage(MessageBuilder.createMessage(new byte[0], disconnect.getMessageHeaders()));
+        }
+
+        // Same shape as a SimpMessagingTemplate send: no session, so it goes over the system connection
+        void publish(String destination, String json) {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(destination);
+            accessor.setLeaveMutable(true);
+            relay.handleMessage(MessageBuilder.createMessage(json.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders()));
+        }
+
+        Message<?> nextMessage() throws InterruptedException {
+            return messages.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.smartcar.monitoring.controller;
+
+import com.smartcar.monitoring.dto.AlertBulkRequest;
+import com.smartcar.monitoring.dto.AlertContextDto;
+import com.smartcar.monitoring.model.Alert;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Telemetry;
+import com.smartcar.monitoring.service.AlertService;
+import com.smartcar.monitoring.service.CarService;
+import com.smartcar.monitoring.service.ResourceVersionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Alert Controller Tests")
+public class AlertControllerTest {
+
+    @Mock
+    private AlertService alertService;
+
+    @Mock
+    private CarService carService;
+
+    @Spy
+    private ResourceVersionService resourceVersionService = new ResourceVersionService();
+
+    @InjectMocks
+    private AlertController alertController;
+
+    private MockMvc mockMvc;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(alertController).build();
+    }
+
+    @Nested
+    @DisplayName("Bulk Acknowledge Tests")
+    class BulkAcknowledgeTests {
+
+        @Test
+        @DisplayName("Should acknowledge alerts by ID list")
+        void shouldAcknowledgeAlertsByIdList() throws Exception {
+            when(alertService.acknowledgeAlerts(Arrays.asList(1L, 2L, 3L))).thenReturn(3);
+
+            mockMvc.perform(put("/api/alerts/acknowledge")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new AlertBulkRequest(Arrays.asList(1L, 2L, 3L)))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.message").value("Alerts acknowledged successfully"))
+                    .andExpect(jsonPath("$.data.action").value("ACKNOWLEDGED"))
+                    .andExpect(jsonPath("$.data.affected").value(3));
+
+            verify(alertService).acknowledgeAlerts(Arrays.asList(1L, 2L, 3L));
+        }
+
+        @Test
+        @DisplayName("Should reject empty ID list")
+        void shouldRejectEmptyIdList() throws Exception {
+            mockMvc.perform(put("/api/alerts/acknowledge")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new AlertBulkRequest(Collections.emptyList()))))
+                    .andExpect(status().isBadRequest());
+
+            verify(alertService, never()).acknowledgeAlerts(any());
+        }
+
+        @Test
+        @DisplayName("Should acknowledge alerts by car")
+        void shouldAcknowledgeAlertsByCar() throws Exception {
+            when(alertService.acknowledgeAlertsByCar(7L)).thenReturn(12);
+
+            mockMvc.perform(put("/api/alerts/car/7/acknowledge"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.affected").value(12));
+
+            verify(alertService).acknowledgeAlertsByCar(7L);
+        }
+
+        @Test
+        @DisplayName("Should acknowledge alerts by type")
+        void shouldAcknowledgeAlertsByType() throws Exception {
+            when(alertService.acknowledgeAlertsByType("LOW_FUEL")).thenReturn(4);
+
+            mockMvc.perform(put("/api/alerts/type/LOW_FUEL/acknowledge"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.affected").value(4));
+
+            verify(alertService).acknowledgeAlertsByType("LOW_FUEL");
+        }
+
+        @Test
+        @DisplayName("Should acknowledge alerts by severity")
+        void shouldAcknowledgeAlertsBySeverity() throws Exception {
+            when(alertService.acknowledgeAlertsBySeverity(Alert.AlertSeverity.CRITICAL)).thenReturn(2);
+
+            mockMvc.perform(put("/api/alerts/severity/critical/acknowledge"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.affected").value(2));
+
+            verify(alertService).acknowledgeAlertsBySeverity(Alert.AlertSeverity.CRITICAL);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid severity")
+        void shouldRejectInvalidSeverity() throws Exception {
+            mockMvc.perform(put("/api/alerts/severity/UNKNOWN/acknowledge"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid severity: UNKNOWN"));
+
+            verify(alertService, never()).acknowledgeAlertsBySeverity(any());
+        }
+
+        @Test
+        @DisplayName("Should acknowledge alerts in time range")
+        void shouldAcknowledgeAlertsInTimeRange() throws Exception {
+            when(alertService.acknowledgeAlertsInTimeRange(any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(9);
+
+            mockMvc.perform(put("/api/alerts/acknowledge/range")
+                    .param("startTime", "2025-01-01T00:00:00")
+                    .param("endTime", "2025-01-02T00:00:00"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.affected").value(9));
+
+            verify(alertService).acknowledgeAlertsInTimeRange(
+                    LocalDateTime.of(2025, 1, 1, 0, 0), LocalDateTime.of(2025, 1, 2, 0, 0));
+        }
+
+        @Test
+        @DisplayName("Should handle service error")
+        void shouldHandleServiceError() throws Exception {
+            when(alertService.acknowledgeAlertsByCar(7L)).thenThrow(new RuntimeException("Database error"));
+
+            mockMvc.perform(put("/api/alerts/car/7/acknowledge"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.success").value(false))
+                    .andExpect(jsonPath("$.message").value("Failed to acknowledge alerts: Database error"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Deactivate Tests")
+    class BulkDeactivateTests {
+
+        @Test
+        @DisplayName("Should deactivate alerts by ID list")
+        void shouldDeactivateAlertsByIdList() throws Exception {
+            when(alertService.deactivateAlerts(Arrays.asList(5L, 6L))).thenReturn(2);
+
+            mockMvc.perform(put("/api/alerts/deactivate")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new AlertBulkRequest(Arrays.asList(5L, 6L)))))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Alerts deactivated successfully"))
+                    .andExpect(jsonPath("$.data.action").value("DEACTIVATED"))
+                    .andExpect(jsonPath("$.data.affected").value(2));
+        }
+    }
+
+    @Nested
+    @DisplayName("Alerts With Context Tests")
+    class AlertsWithContextTests {
+
+        @Test
+        @DisplayName("Should return alerts with triggering telemetry")
+        void shouldReturnAlertsWithTriggeringTelemetry() throws Exception {
+            Car car = new Car("MOVING", 60, 8, 25, "Chicago, IL");
+            car.setId(1L);
+            Alert alert = new Alert(car, "LOW_FUEL", Alert.AlertSeverity.CRITICAL);
+            alert.setId(10L);
+            Telemetry telemetry = new Telemetry(car, 60, 8, 25, "Chicago, IL");
+            telemetry.setId(100L);
+
+            when(alertService.getAlertsWithContext(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), eq(3)))
+                    .thenReturn(Arrays.asList(new AlertContextDto(alert, telemetry)));
+
+            mockMvc.perform(get("/api/alerts/with-context")
+                    .param("carId", "1")
+                    .param("limit", "3"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.success").value(true))
+                    .andExpect(jsonPath("$.data[0].id").value(10))
+                    .andExpect(jsonPath("$.data[0].triggerValue").value("8%"))
+                    .andExpect(jsonPath("$.data[0].telemetry.id").value(100));
+        }
+
+        @Test
+        @DisplayName("Should return alert without telemetry when no sample exists")
+        void shouldReturnAlertWithoutTelemetryWhenNoSampleExists() throws Exception {
+            Car car = new Car();
+            car.setId(1L);
+            Alert alert = new Alert(car, "HIGH_SPEED", Alert.AlertSeverity.MEDIUM);
+
+            when(alertService.getAlertsWithContext(isNull(), any(LocalDateTime.class), any(LocalDateTime.class), eq(50)))
+                    .thenReturn(Arrays.asList(new AlertContextDto(alert, null)));
+
+            mockMvc.perform(get("/api/alerts/with-context"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data[0].type").value("HIGH_SPEED"))
+                    .andExpect(jsonPath("$.data[0].telemetry").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should reject out of range limit")
+        void shouldRejectOutOfRangeLimit() throws Exception {
+            mockMvc.perform(get("/api/alerts/with-context").param("limit", "0"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Limit must be between 1 and 500"));
+
+            verify(alertService, never()).getAlertsWithContext(any(), any(), any(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional Request Tests")
+    class ConditionalRequestTests {
+
+        @Test
+        @DisplayName("Should answer 304 for alert counts without counting when the ETag is current")
+        void shouldAnswerNotModifiedForAlertCounts() throws Exception {
+            String eTag = resourceVersionService.getETag(ResourceVersionService.ALERTS);
+
+            mockMvc.perform(get("/api/alerts/stats/count").header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string("ETag", eTag));
+
+            verify(alertService, never()).countTotalActiveAlerts();
+        }
+
+        @Test
+        @DisplayName("Should recount after an alert write changes the ETag")
+        void shouldRecountAfterAlertWrite() throws Exception {
+            String eTag = resourceVersionService.getETag(ResourceVersionService.ALERTS);
+            when(alertService.countTotalActiveAlerts()).thenReturn(4L);
+
+            resourceVersionService.bump(ResourceVersionService.ALERTS);
+
+            mockMvc.perform(get("/api/alerts/stats/count").header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.totalAlerts").value(4));
+        }
+    }
+}
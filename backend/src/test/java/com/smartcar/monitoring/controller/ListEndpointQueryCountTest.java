@@ -0,0 +1,290 @@
+package com.smartcar.monitoring.controller;
+
+import com.smartcar.monitoring.SmartCarMonitoringApplication;
+import com.smartcar.monitoring.dto.AlertDto;
+import com.smartcar.monitoring.dto.CarDto;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.model.Admin;
+import com.smartcar.monitoring.model.Alert;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Driver;
+import com.smartcar.monitoring.model.Telemetry;
+import com.smartcar.monitoring.model.User;
+import com.smartcar.monitoring.repository.AdminRepository;
+import com.smartcar.monitoring.repository.AlertRepository;
+import com.smartcar.monitoring.repository.CarRepository;
+import com.smartcar.monitoring.repository.DriverRepository;
+import com.smartcar.monitoring.repository.TelemetryRepository;
+import com.smartcar.monitoring.repository.UserRepository;
+import com.smartcar.monitoring.service.AlertService;
+import com.smartcar.monitoring.service.CarService;
+import com.smartcar.monitoring.service.LocationDictionary;
+import com.smartcar.monitoring.service.TelemetryService;
+import com.smartcar.monitoring.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each list endpoint issues against a seeded fleet, so lazy
+ * associations touched during DTO mapping (one extra SELECT per row) show up as failures.
+ * The second-level cache is off here because it would hide those loads once warm.
+ */
+@SpringBootTest(classes = SmartCarMonitoringApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.smartcar.monitoring.support.SqlStatementCounter",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false"
+})
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("List Endpoint Query Count Tests")
+public class ListEndpointQueryCountTest {
+
+    private static final int CARS = 6;
+
+    @MockitoBean
+    private MqttClient mqttClient;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private TelemetryRepository telemetryRepository;
+
+    @Autowired
+    private CarService carService;
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private TelemetryService telemetryService;
+
+    @Autowired
+    private LocationDictionary locationDictionary;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final List<Long> carIds = new ArrayList<>();
+    private Long driverId;
+
+    // The context (and its database) is shared when the class also runs inside the suite
+    private final String run = Long.toString(System.nanoTime(), 36);
+
+    private User user(String username, User.UserRole role) {
+        return new User(username, "password1", role, "Name " + username, 30, User.Gender.MALE,
+                "1234567890", username + "@example.com", "LIC-" + username);
+    }
+
+    // Seed in a committed transaction; requests must not find the rows in their persistence context
+    @BeforeAll
+    void seed() {
+        // Rows saved straight through the repository need their label registered first
+        String location = locationDictionary.intern("Chicago");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < CARS; i++) {
+                Driver driver = driverRepository.save(new Driver(userRepository.save(user("driver" + i + run, User.UserRole.DRIVER))));
+                Car car = new Car("ACTIVE", 50, 80, 30, "Chicago");
+                car.setDriver(driver);
+                car = carRepository.save(car);
+                driver.setAssignedCarId(car.getId());
+                carIds.add(car.getId());
+                if (driverId == null) {
+                    driverId = driver.getId();
+                }
+
+                alertRepository.save(new Alert(car, "LOW_FUEL", Alert.AlertSeverity.HIGH));
+                alertRepository.save(new Alert(car, "HIGH_TEMP", Alert.AlertSeverity.CRITICAL));
+                telemetryRepository.save(new Telemetry(car, 50, 80, 30, location));
+                telemetryRepository.save(new Telemetry(car, 60, 79, 31, location));
+
+                adminRepository.save(new Admin(userRepository.save(user("admin" + i + run, User.UserRole.ADMIN)), "READ"));
+            }
+            driverRepository.save(new Driver(userRepository.save(user("spare" + run, User.UserRole.DRIVER))));
+        });
+    }
+
+    private void assertStatements(int maxStatements, String url) throws Exception {
+        SqlStatementCounter.start();
+        try {
+            mockMvc.perform(get(url)).andExpect(status().isOk());
+        } finally {
+            List<String> statements = SqlStatementCounter.stop();
+            assertTrue(statements.size() <= maxStatements,
+                    () -> "GET " + url + " issued " + statements.size() + " statements, expected at most "
+                            + maxStatements + ":\n" + String.join("\n", statements));
+        }
+    }
+
+    @Nested
+    @DisplayName("Car Endpoints")
+    class CarEndpoints {
+
+        @Test
+        @DisplayName("Should list cars with their drivers in one statement")
+        void shouldListCarsInOneStatement() throws Exception {
+            assertStatements(1, "/api/cars");
+            assertStatements(1, "/api/cars/status/ACTIVE");
+            assertStatements(1, "/api/cars/driver/" + driverId);
+            assertStatements(1, "/api/cars/available");
+        }
+    }
+
+    @Nested
+    @DisplayName("Driver And Admin Endpoints")
+    class DriverAndAdminEndpoints {
+
+        @Test
+        @DisplayName("Should list drivers with their users in one statement")
+        void shouldListDriversInOneStatement() throws Exception {
+            assertStatements(1, "/api/drivers");
+            assertStatements(1, "/api/drivers/assigned");
+            assertStatements(1, "/api/drivers/available");
+        }
+
+        @Test
+        @DisplayName("Should list admins with their users in one statement")
+        void shouldListAdminsInOneStatement() throws Exception {
+            assertStatements(1, "/api/admins");
+            assertStatements(1, "/api/admins/permissions/READ");
+        }
+
+        @Test
+        @DisplayName("Should list users in one statement")
+        void shouldListUsersInOneStatement() throws Exception {
+            assertStatements(1, "/api/users");
+            assertStatements(1, "/api/users/role/DRIVER");
+        }
+    }
+
+    @Nested
+    @DisplayName("Alert And Telemetry Endpoints")
+    class AlertAndTelemetryEndpoints {
+
+        @Test
+        @DisplayName("Should list alerts without loading their cars")
+        void shouldListAlertsWithoutLoadingCars() throws Exception {
+            assertStatements(1, "/api/alerts");
+            assertStatements(1, "/api/alerts/car/" + carIds.get(0));
+            assertStatements(1, "/api/alerts/severity/HIGH");
+            assertStatements(1, "/api/alerts/unacknowledged");
+            assertStatements(1, "/api/alerts/critical");
+            assertStatements(1, "/api/alerts/with-context");
+        }
+
+        @Test
+        @DisplayName("Should list telemetry without loading its cars")
+        void shouldListTelemetryWithoutLoadingCars() throws Exception {
+            assertStatements(1, "/api/telemetry/latest/all");
+            assertStatements(1, "/api/telemetry/car/" + carIds.get(0));
+        }
+
+        @Test
+        @DisplayName("Should build the fleet overview in one statement")
+        void shouldBuildFleetOverviewInOneStatement() throws Exception {
+            assertStatements(1, "/api/fleet/overview");
+        }
+    }
+
+    @Nested
+    @DisplayName("DTO Projections")
+    class DtoProjections {
+
+        // Runs the reads inside one transaction and reports how many entities they left managed
+        private int managedEntitiesAfter(Runnable reads) {
+            return new TransactionTemplate(transactionManager).execute(status -> {
+                reads.run();
+                return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+            });
+        }
+
+        @Test
+        @DisplayName("Should read list DTOs without loading entities into the persistence context")
+        void shouldNotLoadEntities() {
+            int managed = managedEntitiesAfter(() -> {
+                carService.getAllActiveCarDtos();
+                alertService.getAllActiveAlertDtos();
+                alertService.getCriticalAlertDtos();
+                telemetryService.getAllActiveTelemetryDtos();
+                telemetryService.getLatestTelemetryDtosForAllCars();
+            });
+
+            assertEquals(0, managed);
+        }
+
+        @Test
+        @DisplayName("Should fill the projected DTOs like the entity-based constructors")
+        void shouldFillProjectedDtos() {
+            Long carId = carIds.get(0);
+
+            CarDto car = carService.getAllActiveCarDtos().stream()
+                    .filter(dto -> dto.getId().equals(carId)).findFirst().orElseThrow();
+            assertEquals("Name driver0" + run, car.getDriverName());
+            assertNotNull(car.getDriverId());
+            assertEquals(80, car.getFuelLevel());
+
+            List<AlertDto> alerts = alertService.getAlertDtosByCar(carId);
+            assertEquals(2, alerts.size());
+            assertTrue(alerts.stream().allMatch(dto -> carId.equals(dto.getCarId())));
+
+            List<TelemetryDto> latest = telemetryService.getLatestTelemetryDtosForAllCars().stream()
+                    .filter(dto -> dto.getCarId().equals(carId)).toList();
+            assertEquals(1, latest.size());
+            assertEquals(60, latest.get(0).getSpeed());
+            assertEquals(79, latest.get(0).getFuelLevel());
+        }
+
+        @Test
+        @DisplayName("Should store locations as dictionary IDs and share one label instance")
+        void shouldShareInternedLocations() {
+            List<TelemetryDto> telemetry = telemetryService.getTelemetryDtosByCar(carIds.get(0));
+
+            assertEquals(2, telemetry.size());
+            assertEquals("Chicago", telemetry.get(0).getLocation());
+            assertSame(telemetry.get(0).getLocation(), telemetry.get(1).getLocation());
+            assertTrue(telemetryService.getTelemetryByLocation("hicag").size() >= 2 * CARS);
+            assertTrue(telemetryService.getTelemetryByLocation("Nowhere").isEmpty());
+        }
+    }
+}
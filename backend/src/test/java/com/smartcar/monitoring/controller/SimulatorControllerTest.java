@@ -1,6 +1,7 @@
 package com.smartcar.monitoring.controller;
 
 import com.smartcar.monitoring.dto.ApiResponseDto;
+import com.smartcar.monitoring.simulator.LoadGenerator;
 import com.smartcar.monitoring.simulator.TelemetrySimulator;
 import com.smartcar.monitoring.service.MqttService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -30,6 +31,9 @@ public class SimulatorControllerTest {
     @Mock
     private MqttService mqttService;
 
+    @Mock
+    private LoadGenerator loadGenerator;
+
     @InjectMocks
     private SimulatorController simulatorController;
 
@@ -295,6 +299,59 @@ public class SimulatorControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Load Generator Tests")
+    class LoadGeneratorTests {
+
+        @Test
+        @DisplayName("Should start the load generator with the given settings")
+        void shouldStartLoadGenerator() throws Exception {
+            when(loadGenerator.start(100000, 5000.0, LoadGenerator.Profile.BURST, null, 60L)).thenReturn(true);
+            when(loadGenerator.getStatus()).thenReturn(java.util.Map.of("running", true, "targetRate", 0));
+
+            mockMvc.perform(post("/api/simulator/load/start")
+                            .param("vehicles", "100000")
+                            .param("rate", "5000")
+                            .param("profile", "BURST")
+                            .param("durationSeconds", "60"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Load generator started"))
+                    .andExpect(jsonPath("$.data.running").value(true));
+
+            verify(loadGenerator).start(100000, 5000.0, LoadGenerator.Profile.BURST, null, 60L);
+        }
+
+        @Test
+        @DisplayName("Should refuse a second run and invalid settings")
+        void shouldRefuseLoadGeneratorStart() throws Exception {
+            when(loadGenerator.start(null, null, null, null, null)).thenReturn(false);
+            when(loadGenerator.start(eq(0), any(), any(), any(), any()))
+                    .thenThrow(new IllegalArgumentException("Vehicles and rate must be positive"));
+
+            mockMvc.perform(post("/api/simulator/load/start"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Load generator is already running"));
+            mockMvc.perform(post("/api/simulator/load/start").param("vehicles", "0"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Failed to start load generator: Vehicles and rate must be positive"));
+        }
+
+        @Test
+        @DisplayName("Should stop the load generator and report its status")
+        void shouldStopLoadGenerator() throws Exception {
+            when(loadGenerator.getStatus()).thenReturn(java.util.Map.of("running", false, "sent", 1234));
+
+            mockMvc.perform(post("/api/simulator/load/stop"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.sent").value(1234));
+            mockMvc.perform(get("/api/simulator/load/status"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.running").value(false));
+
+            verify(loadGenerator).stop();
+        }
+    }
+
     @Nested
     @DisplayName("Edge Case Tests")
     class EdgeCaseTests {
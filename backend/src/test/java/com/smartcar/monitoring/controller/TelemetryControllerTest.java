@@ -5,6 +5,7 @@ import com.smartcar.monitoring.dto.TelemetryDto;
 import com.smartcar.monitoring.model.Car;
 import com.smartcar.monitoring.model.Telemetry;
 import com.smartcar.monitoring.service.CarService;
+import com.smartcar.monitoring.service.ResourceVersionService;
 import com.smartcar.monitoring.service.TelemetryService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -40,6 +42,9 @@ public class TelemetryControllerTest {
     @Mock
     private CarService carService;
 
+    @Spy
+    private ResourceVersionService resourceVersionService = new ResourceVersionService();
+
     @InjectMocks
     private TelemetryController telemetryController;
 
@@ -50,6 +55,7 @@ public class TelemetryControllerTest {
     private Telemetry testTelemetry;
     private TelemetryDto testTelemetryDto;
     private List<Telemetry> testTelemetryList;
+    private List<TelemetryDto> testTelemetryDtoList;
 
     @BeforeEach
     void setUp() {
@@ -90,6 +96,7 @@ public class TelemetryControllerTest {
         testTelemetryDto.setTimestamp(LocalDateTime.now());
 
         testTelemetryList = Arrays.asList(testTelemetry);
+        testTelemetryDtoList = Arrays.asList(testTelemetryDto);
     }
 
     @Nested
@@ -171,7 +178,7 @@ public class TelemetryControllerTest {
         @Test
         @DisplayName("Should get all telemetry successfully")
         void shouldGetAllTelemetrySuccessfully() throws Exception {
-            when(telemetryService.getAllActiveTelemetry()).thenReturn(testTelemetryList);
+            when(telemetryService.getAllActiveTelemetryDtos()).thenReturn(testTelemetryDtoList);
 
             mockMvc.perform(get("/api/telemetry"))
                     .andExpect(status().isOk())
@@ -180,13 +187,13 @@ public class TelemetryControllerTest {
                     .andExpect(jsonPath("$.data").isArray())
                     .andExpect(jsonPath("$.data.length()").value(1));
 
-            verify(telemetryService).getAllActiveTelemetry();
+            verify(telemetryService).getAllActiveTelemetryDtos();
         }
         
         @Test
         @DisplayName("Should handle empty telemetry list")
         void shouldHandleEmptyTelemetryList() throws Exception {
-            when(telemetryService.getAllActiveTelemetry()).thenReturn(Collections.emptyList());
+            when(telemetryService.getAllActiveTelemetryDtos()).thenReturn(Collections.emptyList());
 
             mockMvc.perform(get("/api/telemetry"))
                     .andExpect(status().isOk())
@@ -194,13 +201,13 @@ public class TelemetryControllerTest {
                     .andExpect(jsonPath("$.data").isArray())
                     .andExpect(jsonPath("$.data.length()").value(0));
 
-            verify(telemetryService).getAllActiveTelemetry();
+            verify(telemetryService).getAllActiveTelemetryDtos();
         }
         
         @Test
         @DisplayName("Should handle service error")
         void shouldHandleServiceError() throws Exception {
-            when(telemetryService.getAllActiveTelemetry())
+            when(telemetryService.getAllActiveTelemetryDtos())
                     .thenThrow(new RuntimeException("Service error"));
 
             mockMvc.perform(get("/api/telemetry"))
@@ -208,7 +215,7 @@ public class TelemetryControllerTest {
                     .andExpect(jsonPath("$.success").value(false))
                     .andExpect(jsonPath("$.message").value("Failed to retrieve telemetry: Service error"));
 
-            verify(telemetryService).getAllActiveTelemetry();
+            verify(telemetryService).getAllActiveTelemetryDtos();
         }
     }
 
@@ -252,7 +259,7 @@ public class TelemetryControllerTest {
         @Test
         @DisplayName("Should get telemetry by car successfully")
         void shouldGetTelemetryByCarSuccessfully() throws Exception {
-            when(telemetryService.getTelemetryByCar(1L)).thenReturn(testTelemetryList);
+            when(telemetryService.getTelemetryDtosByCar(1L)).thenReturn(testTelemetryDtoList);
 
             mockMvc.perform(get("/api/telemetry/car/1"))
                     .andExpect(status().isOk())
@@ -261,13 +268,13 @@ public class TelemetryControllerTest {
                     .andExpect(jsonPath("$.data").isArray())
                     .andExpect(jsonPath("$.data.length()").value(1));
 
-            verify(telemetryService).getTelemetryByCar(1L);
+            verify(telemetryService).getTelemetryDtosByCar(1L);
         }
         
         @Test
         @DisplayName("Should handle empty car telemetry")
         void shouldHandleEmptyCarTelemetry() throws Exception {
-            when(telemetryService.getTelemetryByCar(1L)).thenReturn(Collections.emptyList());
+            when(telemetryService.getTelemetryDtosByCar(1L)).thenReturn(Collections.emptyList());
 
             mockMvc.perform(get("/api/telemetry/car/1"))
                     .andExpect(status().isOk())
@@ -275,13 +282,13 @@ public class TelemetryControllerTest {
                     .andExpect(jsonPath("$.data").isArray())
                     .andExpect(jsonPath("$.data.length()").value(0));
 
-            verify(telemetryService).getTelemetryByCar(1L);
+            verify(telemetryService).getTelemetryDtosByCar(1L);
         }
         
         @Test
         @DisplayName("Should handle service error for car telemetry")
         void shouldHandleServiceErrorForCarTelemetry() throws Exception {
-            when(telemetryService.getTelemetryByCar(1L))
+            when(telemetryService.getTelemetryDtosByCar(1L))
                     .thenThrow(new RuntimeException("Service error"));
 
             mockMvc.perform(get("/api/telemetry/car/1"))
@@ -289,7 +296,7 @@ public class TelemetryControllerTest {
                     .andExpect(jsonPath("$.success").value(false))
                     .andExpect(jsonPath("$.message").value("Failed to retrieve telemetry: Service error"));
 
-            verify(telemetryService).getTelemetryByCar(1L);
+            verify(telemetryService).getTelemetryDtosByCar(1L);
         }
     }
 
@@ -315,7 +322,7 @@ public class TelemetryControllerTest {
         @Test
         @DisplayName("Should get latest telemetry for all cars successfully")
         void shouldGetLatestTelemetryForAllCarsSuccessfully() throws Exception {
-            when(telemetryService.getLatestTelemetryForAllCars()).thenReturn(testTelemetryList);
+            when(telemetryService.getLatestTelemetryDtosForAllCars()).thenReturn(testTelemetryDtoList);
 
             mockMvc.perform(get("/api/telemetry/latest/all"))
                     .andExpect(status().isOk())
@@ -324,7 +331,38 @@ public class TelemetryControllerTest {
                     .andExpect(jsonPath("$.data").isArray())
                     .andExpect(jsonPath("$.data.length()").value(1));
 
-            verify(telemetryService).getLatestTelemetryForAllCars();
+            verify(telemetryService).getLatestTelemetryDtosForAllCars();
+        }
+        
+        @Test
+        @DisplayName("Should answer 304 without querying when the ETag is current")
+        void shouldAnswerNotModifiedWhenETagIsCurrent() throws Exception {
+            when(telemetryService.getLatestTelemetryDtosForAllCars()).thenReturn(testTelemetryDtoList);
+
+            String eTag = mockMvc.perform(get("/api/telemetry/latest/all"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(header().string("Cache-Control", "no-cache"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/telemetry/latest/all").header("If-None-Match", eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            verify(telemetryService, times(1)).getLatestTelemetryDtosForAllCars();
+        }
+        
+        @Test
+        @DisplayName("Should return fresh data after telemetry is written")
+        void shouldReturnFreshDataAfterTelemetryWrite() throws Exception {
+            when(telemetryService.getLatestTelemetryDtosForAllCars()).thenReturn(testTelemetryDtoList);
+            String eTag = resourceVersionService.getETag(ResourceVersionService.TELEMETRY);
+
+            resourceVersionService.bump(ResourceVersionService.TELEMETRY);
+
+            mockMvc.perform(get("/api/telemetry/latest/all").header("If-None-Match", eTag))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", resourceVersionService.getETag(ResourceVersionService.TELEMETRY)));
         }
         
         @Test
@@ -352,8 +390,8 @@ public class TelemetryControllerTest {
             LocalDateTime startTime = LocalDateTime.now().minusDays(1);
             LocalDateTime endTime = LocalDateTime.now();
             
-            when(telemetryService.getTelemetryByCarAndTimestampRange(1L, startTime, endTime))
-                    .thenReturn(testTelemetryList);
+            when(telemetryService.getTelemetryDtosByCarAndTimestampRange(1L, startTime, endTime))
+                    .thenReturn(testTelemetryDtoList);
 
             mockMvc.perform(get("/api/telemetry/car/1/range")
                     .param("startTime", startTime.toString())
@@ -364,7 +402,7 @@ public class TelemetryControllerTest {
                     .andExpect(jsonPath("$.data").isArray())
                     .andExpect(jsonPath("$.data.length()").value(1));
 
-            verify(telemetryService).getTelemetryByCarAndTimestampRange(1L, startTime, endTime);
+            verify(telemetryService).getTelemetryDtosByCarAndTimestampRange(1L, startTime, endTime);
         }
         
         @Test
@@ -373,7 +411,7 @@ public class TelemetryControllerTest {
             LocalDateTime startTime = LocalDateTime.now().minusDays(1);
             LocalDateTime endTime = LocalDateTime.now();
             
-            when(telemetryService.getTelemetryByCarAndTimestampRange(1L, startTime, endTime))
+            when(telemetryService.getTelemetryDtosByCarAndTimestampRange(1L, startTime, endTime))
                     .thenThrow(new RuntimeException("Service error"));
 
             mockMvc.perform(get("/api/telemetry/car/1/range")
@@ -383,7 +421,7 @@ public class TelemetryControllerTest {
                     .andExpect(jsonPath("$.success").value(false))
                     .andExpect(jsonPath("$.message").value("Failed to retrieve telemetry: Service error"));
 
-            verify(telemetryService).getTelemetryByCarAndTimestampRange(1L, startTime, endTime);
+            verify(telemetryService).getTelemetryDtosByCarAndTimestampRange(1L, startTime, endTime);
         }
     }
 
@@ -439,6 +477,25 @@ public class TelemetryControllerTest {
 
             verify(telemetryService).getTelemetryStatistics(eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
         }
+        
+        @Test
+        @DisplayName("Should get fleet statistics with percentiles")
+        void shouldGetFleetStatistics() throws Exception {
+            TelemetryService.TelemetryStatistics stats = new TelemetryService.TelemetryStatistics();
+            stats.setTotalRecords(100);
+            stats.setSpeedP50(60);
+            stats.setSpeedP99(150);
+            when(telemetryService.getFleetTelemetryStatistics(any(LocalDateTime.class), any(LocalDateTime.class)))
+                    .thenReturn(stats);
+
+            mockMvc.perform(get("/api/telemetry/stats/fleet"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Fleet telemetry statistics retrieved successfully"))
+                    .andExpect(jsonPath("$.data.speedP50").value(60))
+                    .andExpect(jsonPath("$.data.speedP99").value(150));
+
+            verify(telemetryService).getFleetTelemetryStatistics(any(LocalDateTime.class), any(LocalDateTime.class));
+        }
     }
 
     @Nested
@@ -510,24 +567,26 @@ public class TelemetryControllerTest {
         @Test
         @DisplayName("Should handle null telemetry data")
         void shouldHandleNullTelemetryData() throws Exception {
-            when(telemetryService.getAllActiveTelemetry()).thenReturn(null);
+            when(telemetryService.getAllActiveTelemetryDtos()).thenReturn(null);
 
+            // The projection is returned as-is, so there is no per-row mapping left to fail
             mockMvc.perform(get("/api/telemetry"))
-                    .andExpect(status().isInternalServerError());
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data").doesNotExist());
 
-            verify(telemetryService).getAllActiveTelemetry();
+            verify(telemetryService).getAllActiveTelemetryDtos();
         }
         
         @Test
         @DisplayName("Should handle very large car ID")
         void shouldHandleVeryLargeCarId() throws Exception {
             Long largeCarId = Long.MAX_VALUE;
-            when(telemetryService.getTelemetryByCar(largeCarId)).thenReturn(Collections.emptyList());
+            when(telemetryService.getTelemetryDtosByCar(largeCarId)).thenReturn(Collections.emptyList());
 
             mockMvc.perform(get("/api/telemetry/car/" + largeCarId))
                     .andExpect(status().isOk());
 
-            verify(telemetryService).getTelemetryByCar(largeCarId);
+            verify(telemetryService).getTelemetryDtosByCar(largeCarId);
         }
         
         @Test
@@ -0,0 +1,181 @@
+package com.smartcar.monitoring.repository;
+
+import com.smartcar.monitoring.SmartCarMonitoringApplication;
+import com.smartcar.monitoring.model.Alert.AlertSeverity;
+import com.smartcar.monitoring.model.User.UserRole;
+import com.smartcar.monitoring.support.SqlStatementCounter;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Builds the schema from the Flyway migrations (H2 in MySQL mode), lets Hibernate validate it
+ * against the entities, and checks with EXPLAIN that the SQL generated for the hot repository
+ * queries is served by the composite indexes from V2 rather than a table scan.
+ */
+@SpringBootTest(classes = SmartCarMonitoringApplication.class, properties = {
+        "spring.datasource.url=jdbc:h2:mem:migrations;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.smartcar.monitoring.support.SqlStatementCounter"
+})
+@TestPropertySource(locations = "classpath:application-test.properties")
+@DisplayName("Schema Migration Tests")
+public class SchemaMigrationTest {
+
+    @MockitoBean
+    private MqttClient mqttClient;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TelemetryRepository telemetryRepository;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private CarRepository carRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    // Captures the SQL a repository call generates and returns the plan H2 chooses for it
+    private String planFor(Runnable repositoryCall, Object... parameters) {
+        SqlStatementCounter.start();
+        List<String> statements;
+        try {
+            repositoryCall.run();
+        } finally {
+            statements = SqlStatementCounter.stop();
+        }
+        assertEquals(1, statements.size(), () -> "Expected one statement, got " + statements);
+        return jdbcTemplate.queryForObject("EXPLAIN " + statements.get(0), String.class, parameters).toLowerCase();
+    }
+
+    private void assertUsesIndex(String index, String plan) {
+        assertTrue(plan.contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    // For lookups on the leading column alone the FK's own index is as good as the composite one
+    private void assertNoTableScan(String plan) {
+        assertFalse(plan.contains("tablescan"), () -> "Expected an index lookup in plan:\n" + plan);
+    }
+
+    @Test
+    @DisplayName("Should apply every migration and match the entity model")
+    void shouldApplyMigrations() {
+        // ddl-auto=validate has already checked the tables against the entities at startup
+        assertEquals("7", flyway.info().current().getVersion().getVersion());
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Nested
+    @DisplayName("Telemetry Query Plans")
+    class TelemetryQueryPlans {
+
+        @Test
+        @DisplayName("Should use the car index for telemetry by car and time range")
+        void shouldUseCarIndexForCarQueries() {
+            LocalDateTime now = LocalDateTime.now();
+
+            assertNoTableScan(planFor(() -> telemetryRepository.findByCarIdAndIsActiveTrue(1L), 1L));
+            assertUsesIndex("idx_telemetry_car_ts_active",
+                    planFor(() -> telemetryRepository.findByCarIdAndTimestampBetweenAndIsActiveTrue(1L, now.minusHours(1), now),
+                            1L, now.minusHours(1), now));
+            // H2 does not weigh ORDER BY when picking an index; MySQL reads this one backwards for the sort
+            assertNoTableScan(planFor(() -> telemetryRepository.findLatestTelemetryByCarId(1L), 1L));
+        }
+
+        @Test
+        @DisplayName("Should use the timestamp index for fleet-wide time ranges")
+        void shouldUseTimestampIndex() {
+            LocalDateTime now = LocalDateTime.now();
+
+            assertUsesIndex("idx_telemetry_ts_active",
+                    planFor(() -> telemetryRepository.findByTimestampBetweenAndIsActiveTrue(now.minusHours(1), now),
+                            now.minusHours(1), now));
+            assertUsesIndex("idx_telemetry_ts_active",
+                    planFor(() -> telemetryRepository.findBaselinesSince(now.minusHours(24)), now.minusHours(24)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Alert Query Plans")
+    class AlertQueryPlans {
+
+        @Test
+        @DisplayName("Should use the car indexes for per-car alert queries")
+        void shouldUseCarIndexes() {
+            LocalDateTime now = LocalDateTime.now();
+
+            assertNoTableScan(planFor(() -> alertRepository.findByCarIdAndIsActiveTrue(1L), 1L));
+            assertUsesIndex("idx_alerts_car_ts_active",
+                    planFor(() -> alertRepository.findByCarIdAndTimestampBetweenAndIsActiveTrue(1L, now.minusHours(1), now),
+                            1L, now.minusHours(1), now));
+            assertUsesIndex("idx_alerts_car_ack_active",
+                    planFor(() -> alertRepository.findByCarIdAndAcknowledgedFalseAndIsActiveTrue(1L), 1L));
+        }
+
+        @Test
+        @DisplayName("Should use the severity, type and acknowledged indexes")
+        void shouldUseFilterIndexes() {
+            assertUsesIndex("idx_alerts_severity_active",
+                    planFor(() -> alertRepository.findBySeverityAndIsActiveTrue(AlertSeverity.HIGH), "HIGH"));
+            assertUsesIndex("idx_alerts_type_active",
+                    planFor(() -> alertRepository.findByTypeAndIsActiveTrue("LOW_FUEL"), "LOW_FUEL"));
+            assertUsesIndex("idx_alerts_ack_severity_active",
+                    planFor(() -> alertRepository.findByAcknowledgedFalseAndIsActiveTrue()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Car, Driver And User Query Plans")
+    class ReferenceQueryPlans {
+
+        @Test
+        @DisplayName("Should use the lookup indexes for cars, drivers and users")
+        void shouldUseLookupIndexes() {
+            assertUsesIndex("idx_cars_status_active",
+                    planFor(() -> carRepository.findByStatusAndIsActiveTrue("ACTIVE"), "ACTIVE"));
+            assertUsesIndex("idx_drivers_assigned_car_active",
+                    planFor(() -> driverRepository.findByAssignedCarId(1L), 1L));
+            assertUsesIndex("idx_users_role_active",
+                    planFor(() -> userRepository.findByRoleAndIsActiveTrue(UserRole.DRIVER), "DRIVER"));
+        }
+
+        @Test
+        @DisplayName("Should use the car index for trips by car and start time")
+        void shouldUseTripIndex() {
+            LocalDateTime now = LocalDateTime.now();
+
+            assertNoTableScan(planFor(() -> tripRepository.findDtosByCarId(1L, PageRequest.of(0, 50)), 1L, 50));
+            assertUsesIndex("idx_trips_car_start_active",
+                    planFor(() -> tripRepository.findDtosByCarIdAndStartTimeBetween(1L, now.minusDays(1), now, PageRequest.of(0, 50)),
+                            1L, now.minusDays(1), now, 50));
+        }
+    }
+}
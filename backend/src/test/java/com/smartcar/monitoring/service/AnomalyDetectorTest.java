@@ -0,0 +1,128 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.service.AnomalyDetector.Metric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Anomaly Detector Tests")
+public class AnomalyDetectorTest {
+
+    private static final long T0 = 1_700_000_000_000L;
+
+    private AnomalyDetector detector;
+
+    // Alternates around the mean so the baseline settles at mean ± spread
+    private void settle(Long carId, Metric metric, double mean, double spread, int samples) {
+        for (int i = 0; i < samples; i++) {
+            assertTrue(Double.isNaN(detector.observe(carId, metric, i % 2 == 0 ? mean - spread : mean + spread, T0 + i)));
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        detector = new AnomalyDetector();
+    }
+
+    @Nested
+    @DisplayName("Baseline Tests")
+    class BaselineTests {
+
+        @Test
+        @DisplayName("Should converge to the car's mean and deviation")
+        void shouldConverge() {
+            settle(1L, Metric.TEMPERATURE, 30, 1, 200);
+
+            assertEquals(30.0, detector.getMean(1L, Metric.TEMPERATURE), 0.1);
+            assertEquals(1.0, detector.getSigma(1L, Metric.TEMPERATURE), 0.1);
+            assertEquals(200, detector.getCount(1L, Metric.TEMPERATURE));
+            assertTrue(Double.isNaN(detector.getMean(1L, Metric.SPEED)));
+            assertEquals(0, detector.getCount(2L, Metric.TEMPERATURE));
+        }
+
+        @Test
+        @DisplayName("Should keep cars and metrics apart")
+        void shouldKeepBaselinesApart() {
+            for (long carId = 1; carId <= 1000; carId++) {
+                detector.seed(carId, Metric.TEMPERATURE, 100, carId, 1);
+                detector.seed(carId, Metric.SPEED, 100, 2 * carId, 4);
+            }
+
+            assertEquals(1000, detector.getCarCount());
+            assertEquals(500.0, detector.getMean(500L, Metric.TEMPERATURE));
+            assertEquals(1000.0, detector.getMean(500L, Metric.SPEED));
+            assertEquals(2.0, detector.getSigma(999L, Metric.SPEED));
+            assertFalse(Double.isNaN(detector.observe(7L, Metric.TEMPERATURE, 30, T0)));
+            assertTrue(Double.isNaN(detector.observe(30L, Metric.TEMPERATURE, 30, T0)));
+        }
+
+        @Test
+        @DisplayName("Should arm immediately when seeded with enough history")
+        void shouldArmFromSeed() {
+            detector.seed(1L, Metric.TEMPERATURE, 500, 30, 1);
+            detector.seed(2L, Metric.TEMPERATURE, 5, 30, 1);
+
+            assertTrue(detector.observe(1L, Metric.TEMPERATURE, 48, T0) > 4);
+            assertTrue(Double.isNaN(detector.observe(2L, Metric.TEMPERATURE, 48, T0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Detection Tests")
+    class DetectionTests {
+
+        @Test
+        @DisplayName("Should flag a value far outside the car's own range")
+        void shouldFlagOutlier() {
+            settle(1L, Metric.TEMPERATURE, 30, 1, 100);
+
+            // Within the 2-degree floor times k for a car that barely varies
+            assertTrue(Double.isNaN(detector.observe(1L, Metric.TEMPERATURE, 37, T0 + 1000)));
+            double z = detector.observe(1L, Metric.TEMPERATURE, 48, T0 + 2000);
+            assertTrue(z > 4, "z = " + z);
+        }
+
+        @Test
+        @DisplayName("Should flag drops as negative deviations")
+        void shouldFlagDrop() {
+            settle(1L, Metric.SPEED, 100, 5, 100);
+
+            assertTrue(detector.observe(1L, Metric.SPEED, 20, T0 + 1000) < -4);
+        }
+
+        @Test
+        @DisplayName("Should not flag before the baseline has enough samples")
+        void shouldWaitForMinSamples() {
+            settle(1L, Metric.TEMPERATURE, 30, 1, 10);
+
+            assertTrue(Double.isNaN(detector.observe(1L, Metric.TEMPERATURE, 60, T0 + 1000)));
+        }
+
+        @Test
+        @DisplayName("Should stay quiet for the cooldown after an anomaly")
+        void shouldHonourCooldown() {
+            settle(1L, Metric.TEMPERATURE, 30, 1, 100);
+
+            assertFalse(Double.isNaN(detector.observe(1L, Metric.TEMPERATURE, 48, T0 + 1000)));
+            assertTrue(Double.isNaN(detector.observe(1L, Metric.TEMPERATURE, 70, T0 + 2000)));
+            assertFalse(Double.isNaN(detector.observe(1L, Metric.TEMPERATURE, 90, T0 + 302_000)));
+        }
+
+        @Test
+        @DisplayName("Should accept a lasting shift as the new normal")
+        void shouldAdaptToShift() {
+            settle(1L, Metric.TEMPERATURE, 30, 1, 100);
+            assertFalse(Double.isNaN(detector.observe(1L, Metric.TEMPERATURE, 48, T0 + 1000)));
+
+            for (int i = 0; i < 200; i++) {
+                detector.observe(1L, Metric.TEMPERATURE, 48, T0 + 2000 + i);
+            }
+
+            assertTrue(Double.isNaN(detector.observe(1L, Metric.TEMPERATURE, 48, T0 + 600_000)));
+            assertEquals(48.0, detector.getMean(1L, Metric.TEMPERATURE), 0.1);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.TelemetryBaselineDto;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.model.Alert;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.repository.TelemetryRepository;
+import com.smartcar.monitoring.service.AnomalyDetector.Metric;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Anomaly Service Tests")
+public class AnomalyServiceTest {
+
+    @Spy
+    private AnomalyDetector anomalyDetector = new AnomalyDetector();
+
+    @Mock
+    private AlertService alertService;
+
+    @Mock
+    private TelemetryRepository telemetryRepository;
+
+    @InjectMocks
+    private AnomalyService anomalyService;
+
+    private Car car;
+
+    private TelemetryDto sample(int speed, int temperature) {
+        TelemetryDto telemetryDto = new TelemetryDto();
+        telemetryDto.setCarId(1L);
+        telemetryDto.setSpeed(speed);
+        telemetryDto.setTemperature(temperature);
+        return telemetryDto;
+    }
+
+    @BeforeEach
+    void setUp() {
+        car = new Car();
+        car.setId(1L);
+        when(alertService.createAlert(any(Car.class), anyString(), anyString(), anyString())).thenAnswer(invocation -> {
+            Alert alert = new Alert();
+            alert.setType(invocation.getArgument(1));
+            alert.setSeverity(Alert.AlertSeverity.valueOf(invocation.getArgument(2)));
+            return alert;
+        });
+    }
+
+    @Test
+    @DisplayName("Should seed baselines from recent history")
+    void shouldSeedFromHistory() {
+        // speed 80 ± 10, temperature 30 ± 1
+        when(telemetryRepository.findBaselinesSince(any()))
+                .thenReturn(List.of(new TelemetryBaselineDto(1L, 500L, 80.0, 6500.0, 30.0, 901.0)));
+
+        anomalyService.warmUp();
+
+        assertEquals(80.0, anomalyDetector.getMean(1L, Metric.SPEED));
+        assertEquals(10.0, anomalyDetector.getSigma(1L, Metric.SPEED), 1e-9);
+        assertEquals(1.0, anomalyDetector.getSigma(1L, Metric.TEMPERATURE), 1e-9);
+        assertEquals(500, anomalyDetector.getCount(1L, Metric.TEMPERATURE));
+    }
+
+    @Test
+    @DisplayName("Should raise an ANOMALY alert for a car running unusually hot")
+    void shouldRaiseAnomalyAlert() {
+        when(telemetryRepository.findBaselinesSince(any()))
+                .thenReturn(List.of(new TelemetryBaselineDto(1L, 500L, 80.0, 6500.0, 30.0, 901.0)));
+        anomalyService.warmUp();
+
+        assertTrue(anomalyService.checkSample(car, sample(85, 31)).isEmpty());
+        List<Alert> alerts = anomalyService.checkSample(car, sample(82, 48));
+
+        assertEquals(1, alerts.size());
+        assertEquals(AnomalyService.ANOMALY, alerts.get(0).getType());
+        // 18 degrees over a 2-degree floor is 9 sigma, past twice k
+        assertEquals(Alert.AlertSeverity.HIGH, alerts.get(0).getSeverity());
+        verify(alertService).createAlert(eq(car), eq(AnomalyService.ANOMALY), eq("HIGH"),
+                contains("Temperature anomaly: 48"));
+    }
+
+    @Test
+    @DisplayName("Should raise one alert per unusual metric")
+    void shouldRaiseAlertPerMetric() {
+        when(telemetryRepository.findBaselinesSince(any()))
+                .thenReturn(List.of(new TelemetryBaselineDto(1L, 500L, 80.0, 6500.0, 30.0, 901.0)));
+        anomalyService.warmUp();
+
+        List<Alert> alerts = anomalyService.checkSample(car, sample(135, 48));
+
+        assertEquals(2, alerts.size());
+        assertEquals(Alert.AlertSeverity.MEDIUM, alerts.get(0).getSeverity());
+        assertEquals(Alert.AlertSeverity.HIGH, alerts.get(1).getSeverity());
+    }
+
+    @Test
+    @DisplayName("Should ignore missing metrics and cars without history")
+    void shouldIgnoreMissingData() {
+        when(telemetryRepository.findBaselinesSince(any()))
+                .thenReturn(List.of(new TelemetryBaselineDto(1L, 0L, null, null, null, null)));
+        anomalyService.warmUp();
+        TelemetryDto telemetryDto = new TelemetryDto();
+        telemetryDto.setCarId(1L);
+
+        assertTrue(anomalyService.checkSample(car, telemetryDto).isEmpty());
+        assertTrue(anomalyService.checkSample(car, sample(200, 90)).isEmpty());
+        verify(alertService, never()).createAlert(any(), anyString(), anyString(), anyString());
+    }
+}
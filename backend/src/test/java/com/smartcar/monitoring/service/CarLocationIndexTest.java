@@ -0,0 +1,194 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.CarDto;
+import com.smartcar.monitoring.dto.CarPositionDto;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.repository.CarRepository;
+import com.smartcar.monitoring.repository.TelemetryRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Car Location Index Tests")
+public class CarLocationIndexTest {
+
+    private static final double[] CHICAGO = {41.8781, -87.6298};
+    private static final double[] DALLAS = {32.7767, -96.7970};
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private TelemetryRepository telemetryRepository;
+
+    @Spy
+    private LocationResolver locationResolver = new LocationResolver();
+
+    @InjectMocks
+    private CarLocationIndex carLocationIndex;
+
+    private List<Long> carIds(List<CarPositionDto> positions) {
+        return positions.stream().map(CarPositionDto::getCarId).collect(Collectors.toList());
+    }
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Should find cars inside a bounding box")
+        void shouldFindCarsInsideBox() {
+            carLocationIndex.update(2L, CHICAGO[0], CHICAGO[1], LocalDateTime.now());
+            carLocationIndex.update(1L, 41.95, -87.65, LocalDateTime.now());
+            carLocationIndex.update(3L, DALLAS[0], DALLAS[1], LocalDateTime.now());
+
+            assertEquals(Arrays.asList(1L, 2L), carIds(carLocationIndex.findWithin(41.0, -88.5, 42.5, -87.0)));
+            // Corners given in either order
+            assertEquals(Arrays.asList(1L, 2L), carIds(carLocationIndex.findWithin(42.5, -87.0, 41.0, -88.5)));
+            assertEquals(Arrays.asList(1L, 2L, 3L), carIds(carLocationIndex.findWithin(-90, -180, 90, 180)));
+        }
+
+        @Test
+        @DisplayName("Should find nearby cars nearest first within the radius")
+        void shouldFindNearbyCarsNearestFirst() {
+            carLocationIndex.update(1L, 41.95, -87.65, LocalDateTime.now());
+            carLocationIndex.update(2L, CHICAGO[0] + 0.001, CHICAGO[1], LocalDateTime.now());
+            carLocationIndex.update(3L, DALLAS[0], DALLAS[1], LocalDateTime.now());
+
+            List<CarPositionDto> nearby = carLocationIndex.findNearby(CHICAGO[0], CHICAGO[1], 25, 10);
+
+            assertEquals(Arrays.asList(2L, 1L), carIds(nearby));
+            assertTrue(nearby.get(0).getDistanceKm() < 0.2);
+            assertTrue(nearby.get(1).getDistanceKm() < 25);
+            assertEquals(Collections.singletonList(2L), carIds(carLocationIndex.findNearby(CHICAGO[0], CHICAGO[1], 25, 1)));
+        }
+
+        @Test
+        @DisplayName("Should compute great-circle distances")
+        void shouldComputeDistances() {
+            assertEquals(0.0, CarLocationIndex.distanceKm(CHICAGO[0], CHICAGO[1], CHICAGO[0], CHICAGO[1]), 1e-9);
+            // Chicago to Dallas is about 1290 km
+            assertEquals(1290, CarLocationIndex.distanceKm(CHICAGO[0], CHICAGO[1], DALLAS[0], DALLAS[1]), 15);
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should move a car between cells when it moves")
+        void shouldMoveCarBetweenCells() {
+            carLocationIndex.update(1L, CHICAGO[0], CHICAGO[1], LocalDateTime.now());
+            carLocationIndex.update(1L, DALLAS[0], DALLAS[1], LocalDateTime.now());
+
+            assertEquals(1, carLocationIndex.size());
+            assertTrue(carLocationIndex.findNearby(CHICAGO[0], CHICAGO[1], 50, 10).isEmpty());
+            assertEquals(Collections.singletonList(1L), carIds(carLocationIndex.findNearby(DALLAS[0], DALLAS[1], 50, 10)));
+        }
+
+        @Test
+        @DisplayName("Should drop removed cars")
+        void shouldDropRemovedCars() {
+            carLocationIndex.update(1L, CHICAGO[0], CHICAGO[1], LocalDateTime.now());
+            carLocationIndex.remove(1L);
+            carLocationIndex.remove(2L);
+
+            assertEquals(0, carLocationIndex.size());
+            assertTrue(carLocationIndex.findWithin(-90, -180, 90, 180).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should warm up from the latest telemetry, falling back to the car position")
+        void shouldWarmUpFromRepositories() {
+            CarDto car1 = new CarDto(1L, "IDLE", 0, 80, 20, "Chicago, IL", null, null, null, null,
+                    LocalDateTime.now(), LocalDateTime.now(), true);
+            CarDto car2 = new CarDto(2L, "IDLE", 0, 80, 20, "Unknown", 30.0, -97.0, null, null,
+                    LocalDateTime.now(), LocalDateTime.now(), true);
+            TelemetryDto latest = new TelemetryDto(10L, 1L, 50, 70, 25, "Dallas, TX", null, null,
+                    LocalDateTime.now(), LocalDateTime.now(), LocalDateTime.now(), true);
+            // Telemetry for a car that is no longer active is ignored
+            TelemetryDto stale = new TelemetryDto(11L, 3L, 50, 70, 25, "Dallas, TX", null, null,
+                    LocalDateTime.now(), LocalDateTime.now(), LocalDateTime.now(), true);
+            when(carRepository.findActiveDtos()).thenReturn(Arrays.asList(car1, car2));
+            when(telemetryRepository.findLatestDtosForAllCars()).thenReturn(Arrays.asList(latest, stale));
+
+            carLocationIndex.warmUp();
+
+            assertEquals(2, carLocationIndex.size());
+            assertEquals(Collections.singletonList(1L), carIds(carLocationIndex.findNearby(DALLAS[0], DALLAS[1], 1, 10)));
+            assertEquals(Collections.singletonList(2L), carIds(carLocationIndex.findNearby(30.0, -97.0, 1, 10)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Scale Tests")
+    class ScaleTests {
+
+        @Test
+        @DisplayName("Should match a brute-force scan over 100k cars")
+        void shouldMatchBruteForceAtScale() {
+            Random random = new Random(42);
+            int cars = 100_000;
+            double[][] positions = populate(random, cars);
+
+            for (int q = 0; q < 20; q++) {
+                double lat = 25 + random.nextDouble() * 24, lon = -125 + random.nextDouble() * 58;
+                double radius = 5 + random.nextDouble() * 50;
+                List<Long> expected = new ArrayList<>();
+                for (int i = 0; i < cars; i++) {
+                    if (CarLocationIndex.distanceKm(lat, lon, positions[i][0], positions[i][1]) <= radius) {
+                        expected.add((long) i);
+                    }
+                }
+                List<Long> actual = carIds(carLocationIndex.findNearby(lat, lon, radius, cars));
+                Collections.sort(actual);
+                assertEquals(expected, actual);
+            }
+        }
+
+        @Test
+        @Tag("benchmark")
+        @DisplayName("Should answer radius queries over 100k cars quickly")
+        void shouldAnswerQueriesQuickly() {
+            Random random = new Random(42);
+            populate(random, 100_000);
+
+            // Loose bound: a full scan per query would take seconds for this many queries
+            long start = System.nanoTime();
+            for (int q = 0; q < 1000; q++) {
+                carLocationIndex.findNearby(25 + random.nextDouble() * 24, -125 + random.nextDouble() * 58, 10, 100);
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsedMs < 1000, () -> "1000 radius queries took " + elapsedMs + " ms");
+        }
+
+        // Index the cars at random positions in the continental US and return the positions
+        private double[][] populate(Random random, int cars) {
+            double[][] positions = new double[cars][];
+            for (int i = 0; i < cars; i++) {
+                positions[i] = new double[]{25 + random.nextDouble() * 24, -125 + random.nextDouble() * 58};
+                carLocationIndex.update((long) i, positions[i][0], positions[i][1], null);
+            }
+            return positions;
+        }
+    }
+}
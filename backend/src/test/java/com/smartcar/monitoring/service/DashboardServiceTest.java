@@ -0,0 +1,298 @@
+package com.smartcar.monitoring.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Driver;
+import com.smartcar.monitoring.model.Telemetry;
+import com.smartcar.monitoring.model.User;
+import com.smartcar.monitoring.repository.AlertRepository;
+import com.smartcar.monitoring.repository.CarRepository;
+import com.smartcar.monitoring.repository.DriverRepository;
+import com.smartcar.monitoring.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Dashboard Service Tests")
+public class DashboardServiceTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private TelemetryService telemetryService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    @Mock
+    private CarRepository carRepository;
+
+    @Mock
+    private AlertRepository alertRepository;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    private User user(Long id, User.UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setName("User " + id);
+        user.setRole(role);
+        return user;
+    }
+
+    private Car car(Long id, String status) {
+        Car car = new Car();
+        car.setId(id);
+        car.setStatus(status);
+        return car;
+    }
+
+    private Telemetry telemetry(Car car, int speed, int fuel, int temperature) {
+        Telemetry telemetry = new Telemetry(car, speed, fuel, temperature, "Chicago");
+        telemetry.setTimestamp(LocalDateTime.now().minusMinutes(5));
+        return telemetry;
+    }
+
+    private TelemetryDto sample(Long carId, int speed, int fuel, int temperature) {
+        TelemetryDto dto = new TelemetryDto();
+        dto.setCarId(carId);
+        dto.setSpeed(speed);
+        dto.setFuelLevel(fuel);
+        dto.setTemperature(temperature);
+        dto.setLocation("Chicago");
+        dto.setTimestamp(LocalDateTime.now());
+        return dto;
+    }
+
+    private void registerDriver(String sessionId, Long userId, Long carId) {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user(userId, User.UserRole.DRIVER)));
+        when(driverRepository.findByUserId(userId)).thenReturn(Optional.of(new Driver(user(userId, User.UserRole.DRIVER), carId)));
+        dashboardService.register(sessionId, userId);
+    }
+
+    private void registerAdmin(String sessionId, Long userId) {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(user(userId, User.UserRole.ADMIN)));
+        dashboardService.register(sessionId, userId);
+    }
+
+    private void stubFleet() {
+        Car car1 = car(1L, "ACTIVE");
+        Car car2 = car(2L, "IDLE");
+        when(telemetryService.getLatestTelemetryForAllCars())
+                .thenReturn(List.of(telemetry(car1, 50, 80, 30), telemetry(car2, 0, 60, 25)));
+        when(carRepository.findByIsActiveTrue()).thenReturn(List.of(car1, car2));
+        when(driverRepository.findByAssignedCarIdIsNotNullAndIsActiveTrue())
+                .thenReturn(List.of(new Driver(user(10L, User.UserRole.DRIVER), 1L)));
+        when(alertRepository.countByIsActiveTrue()).thenReturn(5L);
+        when(alertRepository.countByAcknowledgedFalseAndIsActiveTrue()).thenReturn(3L);
+        when(alertRepository.countBySeverityInAndIsActiveTrue(anyList())).thenReturn(1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Message<byte[]>> sentTo(String destination) {
+        ArgumentCaptor<Message<byte[]>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, atLeastOnce()).send(eq(destination), captor.capture());
+        return captor.getAllValues();
+    }
+
+    private JsonNode lastFrame(String sessionId) throws Exception {
+        List<Message<byte[]>> frames = sentTo("/user/" + sessionId + "/queue/dashboard");
+        return objectMapper.readTree(frames.get(frames.size() - 1).getPayload());
+    }
+
+    @Nested
+    @DisplayName("Driver View Tests")
+    class DriverViewTests {
+
+        @Test
+        @DisplayName("Should send the driver view of the assigned car on registration")
+        void shouldSendDriverViewOnRegistration() throws Exception {
+            Car car = car(1L, "ACTIVE");
+            when(telemetryService.getTelemetryByCarAndTimestampRange(eq(1L), any(), any()))
+                    .thenReturn(List.of(telemetry(car, 40, 90, 20), telemetry(car, 60, 80, 30)));
+            when(alertRepository.countByCarIdAndIsActiveTrue(1L)).thenReturn(2L);
+
+            registerDriver("s1", 10L, 1L);
+
+            JsonNode frame = lastFrame("s1");
+            assertEquals("DRIVER_DASHBOARD", frame.get("type").asText());
+            assertEquals(1L, frame.get("carId").asLong());
+            assertEquals(2, frame.get("stats").get("totalRecords").asInt());
+            assertEquals(50.0, frame.get("stats").get("averageSpeed").asDouble());
+            assertEquals(60, frame.get("stats").get("maxSpeed").asInt());
+            assertEquals(2L, frame.get("alertCount").asLong());
+        }
+
+        @Test
+        @DisplayName("Should update statistics on ingest without re-reading telemetry")
+        void shouldUpdateStatisticsIncrementally() throws Exception {
+            Car car = car(1L, "ACTIVE");
+            when(telemetryService.getTelemetryByCarAndTimestampRange(eq(1L), any(), any()))
+                    .thenReturn(List.of(telemetry(car, 40, 90, 20)));
+            registerDriver("s1", 10L, 1L);
+
+            dashboardService.record(sample(1L, 100, 70, 40));
+            dashboardService.publish();
+
+            JsonNode frame = lastFrame("s1");
+            assertEquals(2, frame.get("stats").get("totalRecords").asInt());
+            assertEquals(70.0, frame.get("stats").get("averageSpeed").asDouble());
+            assertEquals(70, frame.get("stats").get("minFuel").asInt());
+            assertEquals(100, frame.get("latest").get("speed").asInt());
+            verify(telemetryService, times(1)).getTelemetryByCarAndTimestampRange(eq(1L), any(), any());
+            // Alert part is cached until an alert for the car changes
+            verify(alertRepository, times(1)).countByCarIdAndIsActiveTrue(1L);
+        }
+
+        @Test
+        @DisplayName("Should re-query alert counts only after an alert for the car changed")
+        void shouldRequeryAlertsAfterChange() throws Exception {
+            when(alertRepository.countByCarIdAndIsActiveTrue(1L)).thenReturn(0L, 1L);
+            registerDriver("s1", 10L, 1L);
+
+            dashboardService.markAlertsChanged(1L);
+            dashboardService.publish();
+
+            assertEquals(1L, lastFrame("s1").get("alertCount").asLong());
+            verify(alertRepository, times(2)).countByCarIdAndIsActiveTrue(1L);
+        }
+
+        @Test
+        @DisplayName("Should not push to drivers of other cars")
+        void shouldNotPushToDriversOfOtherCars() {
+            registerDriver("s1", 10L, 1L);
+            clearInvocations(messagingTemplate);
+
+            dashboardService.record(sample(2L, 100, 70, 40));
+            dashboardService.publish();
+
+            verify(messagingTemplate, never()).send(anyString(), any(Message.class));
+        }
+
+        @Test
+        @DisplayName("Should drop the car window when its last driver session disconnects")
+        void shouldDropWindowOnDisconnect() {
+            registerDriver("s1", 10L, 1L);
+            assertEquals(1, dashboardService.getStatistics().get("carWindows"));
+
+            dashboardService.unregister("s1");
+
+            assertEquals(0, dashboardService.getSessionCount());
+            assertEquals(0, dashboardService.getStatistics().get("carWindows"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Fleet View Tests")
+    class FleetViewTests {
+
+        @Test
+        @DisplayName("Should send the full fleet table and alert counters to an admin on registration")
+        void shouldSendFleetViewOnRegistration() throws Exception {
+            stubFleet();
+
+            registerAdmin("a1", 1L);
+
+            JsonNode frame = lastFrame("a1");
+            assertEquals("FLEET_DASHBOARD", frame.get("type").asText());
+            assertEquals(2, frame.get("vehicles").size());
+            assertEquals(5L, frame.get("alertCounts").get("totalAlerts").asLong());
+            assertEquals(3L, frame.get("alertCounts").get("unacknowledgedAlerts").asLong());
+            for (JsonNode row : frame.get("vehicles")) {
+                if (row.get("id").asLong() == 1L) {
+                    assertEquals("User 10", row.get("driver").asText());
+                    assertEquals("ACTIVE", row.get("status").asText());
+                } else {
+                    assertEquals("-", row.get("driver").asText());
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should push only changed rows, serialized once for all admins")
+        void shouldPushOnlyChangedRows() throws Exception {
+            stubFleet();
+            registerAdmin("a1", 1L);
+            registerAdmin("a2", 2L);
+            clearInvocations(messagingTemplate);
+
+            dashboardService.record(sample(2L, 30, 59, 26));
+            dashboardService.publish();
+
+            JsonNode frame = lastFrame("a1");
+            assertEquals("FLEET_DASHBOARD_UPDATE", frame.get("type").asText());
+            assertEquals(1, frame.get("vehicles").size());
+            assertEquals(30, frame.get("vehicles").get(0).get("speed").asInt());
+            assertSame(sentTo("/user/a1/queue/dashboard").get(0).getPayload(),
+                    sentTo("/user/a2/queue/dashboard").get(0).getPayload());
+        }
+
+        @Test
+        @DisplayName("Should recount alerts once per tick however many alerts changed")
+        void shouldRecountAlertsOncePerTick() {
+            stubFleet();
+            registerAdmin("a1", 1L);
+
+            dashboardService.markAlertsChanged(1L);
+            dashboardService.markAlertsChanged(2L);
+            dashboardService.markAlertsChanged(null);
+            dashboardService.publish();
+            dashboardService.publish();
+
+            // Once on registration, once for the tick with changes
+            verify(alertRepository, times(2)).countByIsActiveTrue();
+        }
+
+        @Test
+        @DisplayName("Should not push when counters are unchanged and no telemetry arrived")
+        void shouldNotPushWhenNothingChanged() {
+            stubFleet();
+            registerAdmin("a1", 1L);
+            clearInvocations(messagingTemplate);
+
+            dashboardService.markAlertsChanged(1L);
+            dashboardService.publish();
+
+            verify(messagingTemplate, never()).send(anyString(), any(Message.class));
+        }
+
+        @Test
+        @DisplayName("Should ignore registrations for unknown users")
+        void shouldIgnoreUnknownUsers() {
+            when(userRepository.findById(99L)).thenReturn(Optional.empty());
+
+            dashboardService.register("s1", 99L);
+
+            assertEquals(0, dashboardService.getSessionCount());
+            verify(messagingTemplate, never()).send(anyString(), any(Message.class));
+        }
+    }
+}
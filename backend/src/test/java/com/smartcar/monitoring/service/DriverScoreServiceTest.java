@@ -0,0 +1,300 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.DriverScoreDto;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Driver;
+import com.smartcar.monitoring.model.DriverScore;
+import com.smartcar.monitoring.model.User;
+import com.smartcar.monitoring.repository.DriverRepository;
+import com.smartcar.monitoring.repository.DriverScoreRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Driver Score Service Tests")
+public class DriverScoreServiceTest {
+
+    @Mock
+    private DriverScoreRepository driverScoreRepository;
+
+    @Mock
+    private DriverRepository driverRepository;
+
+    @InjectMocks
+    private DriverScoreService driverScoreService;
+
+    private LocalDateTime start;
+
+    private Car car(long carId, long driverId, String name) {
+        User user = new User();
+        user.setName(name);
+        Driver driver = new Driver(user, carId);
+        driver.setId(driverId);
+        Car car = new Car();
+        car.setId(carId);
+        car.setDriver(driver);
+        return car;
+    }
+
+    private void sample(Car car, LocalDateTime at, int speed, int temperature) {
+        TelemetryDto telemetryDto = new TelemetryDto();
+        telemetryDto.setCarId(car.getId());
+        telemetryDto.setSpeed(speed);
+        telemetryDto.setTemperature(temperature);
+        telemetryDto.setTimestamp(at);
+        driverScoreService.record(car, telemetryDto);
+    }
+
+    // One sample a minute at a constant speed
+    private void drive(Car car, LocalDateTime from, int minutes, int speed) {
+        for (int minute = 0; minute <= minutes; minute++) {
+            sample(car, from.plusMinutes(minute), speed, 30);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().minusMinutes(20);
+    }
+
+    @Nested
+    @DisplayName("Attribution Tests")
+    class AttributionTests {
+
+        @Test
+        @DisplayName("Should attribute sample intervals to the car's driver")
+        void shouldAttributeIntervals() {
+            Car car = car(1L, 10L, "Alice");
+            // Recent enough that decay up to now stays within the tolerance
+            LocalDateTime start = LocalDateTime.now().minusSeconds(40);
+
+            sample(car, start, 100, 40);
+            sample(car, start.plusSeconds(10), 130, 55);
+            sample(car, start.plusSeconds(15), 60, 45);
+            sample(car, start.plusSeconds(25), 0, 45);
+            sample(car, start.plusSeconds(35), 0, 45);
+
+            DriverScoreDto score = driverScoreService.getScore(10L);
+            assertEquals("Alice", score.getDriverName());
+            assertEquals(25.0, score.getDrivingSeconds(), 0.01);
+            assertEquals(10.0, score.getSpeedingSeconds(), 0.01);
+            assertEquals(10.0, score.getOverheatSeconds(), 0.01);
+            // 130 -> 60 in 5 s is harsh; 60 -> 0 in 10 s is not
+            assertEquals(1.0, score.getHarshEvents(), 0.001);
+            assertEquals(4L, score.getSampleCount());
+            assertEquals(start.plusSeconds(35), score.getLastSampleAt());
+        }
+
+        @Test
+        @DisplayName("Should skip cars without a driver and gaps in the stream")
+        void shouldSkipUnattributableIntervals() {
+            Car noDriver = car(2L, 20L, "Bob");
+            noDriver.setDriver(null);
+            sample(noDriver, start, 80, 30);
+            sample(noDriver, start.plusSeconds(10), 80, 30);
+
+            Car car = car(1L, 10L, "Alice");
+            sample(car, start, 80, 30);
+            sample(car, start.plusMinutes(5), 80, 30);
+
+            assertNull(driverScoreService.getScore(10L).getScore());
+            assertEquals(0.0, driverScoreService.getScore(10L).getDrivingSeconds());
+            assertNull(driverScoreService.getScore(20L).getScore());
+        }
+
+        @Test
+        @DisplayName("Should halve aggregates after one half-life")
+        void shouldDecayAggregates() {
+            Car car = car(1L, 10L, "Alice");
+            LocalDateTime weekAgo = LocalDateTime.now().minusHours(168);
+
+            sample(car, weekAgo, 130, 30);
+            sample(car, weekAgo.plusSeconds(20), 130, 30);
+
+            DriverScoreDto score = driverScoreService.getScore(10L);
+            assertEquals(10.0, score.getDrivingSeconds(), 0.01);
+            assertEquals(10.0, score.getSpeedingSeconds(), 0.01);
+            assertEquals(40.0, score.getScore(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Should penalise speeding share, overheating share and harsh events per hour")
+        void shouldComputeScore() {
+            assertEquals(100.0, DriverScoreService.score(0, 0, 0, 0));
+            assertEquals(60.0, DriverScoreService.score(3600, 1800, 5, 0), 1e-9);
+            assertEquals(80.0, DriverScoreService.score(3600, 0, 0, 3600), 1e-9);
+            assertEquals(0.0, DriverScoreService.score(60, 60, 10, 60));
+        }
+    }
+
+    @Nested
+    @DisplayName("Leaderboard Tests")
+    class LeaderboardTests {
+
+        @Test
+        @DisplayName("Should rank drivers with enough driving time")
+        void shouldRankDrivers() {
+            drive(car(1L, 10L, "Alice"), start, 15, 100);
+            drive(car(2L, 20L, "Bob"), start, 15, 130);
+            drive(car(3L, 30L, "Carol"), start, 5, 100);
+
+            List<DriverScoreDto> best = driverScoreService.getLeaderboard(10, false);
+            assertEquals(List.of(10L, 20L), best.stream().map(DriverScoreDto::getDriverId).toList());
+            assertEquals(1, best.get(0).getRank());
+            assertEquals(100.0, best.get(0).getScore(), 1e-9);
+            assertEquals(40.0, best.get(1).getScore(), 1e-9);
+
+            List<DriverScoreDto> worst = driverScoreService.getLeaderboard(1, true);
+            assertEquals(1, worst.size());
+            assertEquals("Bob", worst.get(0).getDriverName());
+        }
+
+        @Test
+        @DisplayName("Should drop forgotten drivers from the leaderboard")
+        void shouldForgetDriver() {
+            drive(car(1L, 10L, "Alice"), start, 15, 100);
+
+            driverScoreService.forgetDriver(10L);
+
+            assertTrue(driverScoreService.getLeaderboard(10, false).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should keep a deactivated driver off the leaderboard while cached cars still carry them")
+        void shouldNotScoreDeactivatedDriver() {
+            Car stale = car(1L, 10L, "Alice");
+            drive(stale, start, 15, 100);
+
+            driverScoreService.forgetDriver(10L);
+            drive(stale, start.plusMinutes(16), 3, 100);
+
+            assertTrue(driverScoreService.getLeaderboard(10, false).isEmpty());
+            driverScoreService.flush();
+            verify(driverScoreRepository, never()).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("Should not score drivers marked inactive")
+        void shouldNotScoreInactiveDriver() {
+            Car car = car(1L, 10L, "Alice");
+            car.getDriver().setIsActive(false);
+
+            drive(car, start, 15, 100);
+
+            assertNull(driverScoreService.getScore(10L).getScore());
+        }
+
+        @Test
+        @DisplayName("Should resume a reactivated driver from their checkpoint")
+        void shouldRestoreReactivatedDriver() {
+            Driver driverRef = new Driver();
+            driverRef.setId(10L);
+            DriverScore checkpoint = new DriverScore(driverRef);
+            checkpoint.setDrivingSeconds(3600.0);
+            checkpoint.setSpeedingSeconds(1800.0);
+            checkpoint.setDecayedAt(LocalDateTime.now());
+            when(driverScoreRepository.findByDriverIdIn(anyCollection())).thenReturn(List.of(checkpoint));
+            driverScoreService.forgetDriver(10L);
+
+            driverScoreService.restoreDriver(10L);
+            drive(car(1L, 10L, "Alice"), start, 2, 100);
+
+            DriverScoreDto score = driverScoreService.getScore(10L);
+            assertEquals(3720.0, score.getDrivingSeconds(), 1.0);
+            assertEquals(70.0, score.getScore(), 1.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Checkpoint Tests")
+    class CheckpointTests {
+
+        @Test
+        @DisplayName("Should checkpoint changed scores only")
+        void shouldCheckpointDirtyScores() {
+            Driver driverRef = new Driver();
+            driverRef.setId(10L);
+            DriverScore existing = new DriverScore(driverRef);
+            existing.setId(5L);
+            when(driverScoreRepository.findByDriverIdIn(anyCollection())).thenReturn(List.of(existing));
+            Driver newRef = new Driver();
+            newRef.setId(20L);
+            when(driverRepository.getReferenceById(20L)).thenReturn(newRef);
+            drive(car(1L, 10L, "Alice"), start, 2, 130);
+            drive(car(2L, 20L, "Bob"), start, 2, 100);
+
+            driverScoreService.flush();
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<DriverScore>> saved = ArgumentCaptor.forClass(List.class);
+            verify(driverScoreRepository).saveAll(saved.capture());
+            assertEquals(2, saved.getValue().size());
+            assertEquals(40.0, existing.getScore(), 1e-9);
+            assertEquals(120.0, existing.getDrivingSeconds(), 0.1);
+            assertTrue(saved.getValue().stream().anyMatch(s -> s.getDriver() == newRef && s.getScore() == 100.0));
+
+            driverScoreService.flush();
+            verify(driverScoreRepository, times(1)).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("Should retry a failed checkpoint on the next flush")
+        void shouldRetryFailedCheckpoint() {
+            when(driverScoreRepository.findByDriverIdIn(anyCollection()))
+                    .thenThrow(new RuntimeException("database down"))
+                    .thenReturn(List.of());
+            when(driverRepository.getReferenceById(10L)).thenReturn(new Driver());
+            drive(car(1L, 10L, "Alice"), start, 2, 100);
+
+            driverScoreService.flush();
+            driverScoreService.flush();
+
+            verify(driverScoreRepository, times(1)).saveAll(any());
+        }
+
+        @Test
+        @DisplayName("Should load checkpoints of active drivers at startup")
+        void shouldLoadCheckpoints() {
+            User user = new User();
+            user.setName("Alice");
+            Driver active = new Driver(user);
+            active.setId(10L);
+            Driver inactive = new Driver(new User());
+            inactive.setId(20L);
+            inactive.setIsActive(false);
+            DriverScore activeScore = new DriverScore(active);
+            activeScore.setDrivingSeconds(3600.0);
+            activeScore.setSpeedingSeconds(1800.0);
+            activeScore.setSampleCount(720L);
+            DriverScore inactiveScore = new DriverScore(inactive);
+            inactiveScore.setDrivingSeconds(3600.0);
+            when(driverScoreRepository.findAllWithDriver()).thenReturn(List.of(activeScore, inactiveScore));
+
+            driverScoreService.warmUp();
+
+            DriverScoreDto score = driverScoreService.getScore(10L);
+            assertEquals("Alice", score.getDriverName());
+            assertEquals(70.0, score.getScore(), 1e-9);
+            assertEquals(720L, score.getSampleCount());
+            assertNull(driverScoreService.getScore(20L).getScore());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.FleetOverviewRowDto;
+import com.smartcar.monitoring.repository.CarRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Fleet Overview Service Tests")
+public class FleetOverviewServiceTest {
+
+    @Mock
+    private CarRepository carRepository;
+
+    @InjectMocks
+    private FleetOverviewService fleetOverviewService;
+
+    private FleetOverviewRowDto row(Long id, boolean active, String driver, long total, long unacknowledged, long critical) {
+        return new FleetOverviewRowDto(id, active, "ACTIVE", driver, "Chicago", 50, 80, 30,
+                LocalDateTime.now(), total, unacknowledged, critical);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FleetOverviewRowDto> vehicles(Map<String, Object> overview) {
+        return (List<FleetOverviewRowDto>) overview.get("vehicles");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> alertCounts(Map<String, Object> overview) {
+        return (Map<String, Object>) overview.get("alertCounts");
+    }
+
+    @Nested
+    @DisplayName("Overview Tests")
+    class OverviewTests {
+
+        @Test
+        @DisplayName("Should build vehicles and alert totals from a single query")
+        void shouldBuildOverviewFromSingleQuery() {
+            when(carRepository.findFleetOverview(anyList())).thenReturn(List.of(
+                    row(1L, true, "Alice", 3, 2, 1),
+                    row(2L, true, null, 1, 1, 0)));
+
+            Map<String, Object> overview = fleetOverviewService.getOverview();
+
+            assertEquals(2, vehicles(overview).size());
+            assertEquals("Alice", vehicles(overview).get(0).getDriverName());
+            assertEquals(4L, alertCounts(overview).get("totalAlerts"));
+            assertEquals(3L, alertCounts(overview).get("unacknowledgedAlerts"));
+            assertEquals(1L, alertCounts(overview).get("criticalAlerts"));
+            verify(carRepository, times(1)).findFleetOverview(anyList());
+            verifyNoMoreInteractions(carRepository);
+        }
+
+        @Test
+        @DisplayName("Should count alerts of inactive cars without listing the cars")
+        void shouldCountInactiveCarAlerts() {
+            when(carRepository.findFleetOverview(anyList())).thenReturn(List.of(
+                    row(1L, true, "Alice", 1, 1, 0),
+                    row(2L, false, null, 2, 0, 2)));
+
+            Map<String, Object> overview = fleetOverviewService.getOverview();
+
+            assertEquals(1, vehicles(overview).size());
+            assertEquals(1L, vehicles(overview).get(0).getId());
+            assertEquals(3L, alertCounts(overview).get("totalAlerts"));
+            assertEquals(2L, alertCounts(overview).get("criticalAlerts"));
+        }
+
+        @Test
+        @DisplayName("Should list a car with two active drivers once and count its alerts once")
+        void shouldDeduplicateCarsWithSeveralDrivers() {
+            when(carRepository.findFleetOverview(anyList())).thenReturn(List.of(
+                    row(1L, true, "Alice", 2, 2, 1),
+                    row(1L, true, "Bob", 2, 2, 1)));
+
+            Map<String, Object> overview = fleetOverviewService.getOverview();
+
+            assertEquals(1, vehicles(overview).size());
+            assertEquals("Alice", vehicles(overview).get(0).getDriverName());
+            assertEquals(2L, alertCounts(overview).get("totalAlerts"));
+        }
+
+        @Test
+        @DisplayName("Should return an empty fleet with zero totals")
+        void shouldHandleEmptyFleet() {
+            when(carRepository.findFleetOverview(anyList())).thenReturn(List.of());
+
+            Map<String, Object> overview = fleetOverviewService.getOverview();
+
+            assertTrue(vehicles(overview).isEmpty());
+            assertEquals(0L, alertCounts(overview).get("totalAlerts"));
+            assertNotNull(overview.get("generatedAt"));
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.smartcar.monitoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Telemetry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Fleet State Service Tests")
+public class FleetStateServiceTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private TelemetryService telemetryService;
+
+    @InjectMocks
+    private FleetStateService fleetStateService;
+
+    private TelemetryDto telemetry(Long carId, int speed, int fuel, int temperature, String location) {
+        return new TelemetryDto(carId, speed, fuel, temperature, location, LocalDateTime.now());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> publishedFrames(int expected) {
+        ArgumentCaptor<Object> frames = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(expected)).convertAndSend(eq(FleetStateService.DELTA_TOPIC), frames.capture());
+        return (List<Map<String, Object>>) (List<?>) frames.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> changes(Map<String, Object> frame) {
+        return (List<Map<String, Object>>) frame.get("changes");
+    }
+
+    @Nested
+    @DisplayName("Delta Encoding Tests")
+    class DeltaEncodingTests {
+
+        @Test
+        @DisplayName("First sample for a car should carry every field")
+        void firstSampleShouldCarryEveryField() {
+            fleetStateService.record(telemetry(1L, 60, 80, 25, "Chicago, IL"));
+            fleetStateService.publishDeltas();
+
+            Map<String, Object> frame = publishedFrames(1).get(0);
+            assertEquals("FLEET_DELTA", frame.get("type"));
+            Map<String, Object> change = changes(frame).get(0);
+            assertEquals(1L, change.get("carId"));
+            assertEquals(60, change.get("speed"));
+            assertEquals(80, change.get("fuelLevel"));
+            assertEquals(25, change.get("temperature"));
+            assertEquals("Chicago, IL", change.get("location"));
+        }
+
+        @Test
+        @DisplayName("Later samples should carry only changed fields")
+        void laterSamplesShouldCarryOnlyChangedFields() {
+            fleetStateService.record(telemetry(1L, 60, 80, 25, "Chicago, IL"));
+            fleetStateService.publishDeltas();
+            fleetStateService.record(telemetry(1L, 75, 80, 25, "Chicago, IL"));
+            fleetStateService.publishDeltas();
+
+            Map<String, Object> change = changes(publishedFrames(2).get(1)).get(0);
+            assertEquals(3, change.size());
+            assertEquals(1L, change.get("carId"));
+            assertEquals(75, change.get("speed"));
+            assertNotNull(change.get("timestamp"));
+        }
+
+        @Test
+        @DisplayName("Changes should carry the sample timestamp")
+        void changesShouldCarrySampleTimestamp() {
+            LocalDateTime first = LocalDateTime.of(2026, 1, 1, 12, 0, 0);
+            LocalDateTime second = first.plusSeconds(5);
+            fleetStateService.record(new TelemetryDto(1L, 60, 80, 25, "Chicago, IL", first));
+            fleetStateService.publishDeltas();
+            fleetStateService.record(new TelemetryDto(1L, 60, 79, 25, "Chicago, IL", second));
+            fleetStateService.publishDeltas();
+
+            List<Map<String, Object>> frames = publishedFrames(2);
+            assertEquals(first, changes(frames.get(0)).get(0).get("timestamp"));
+            assertEquals(second, changes(frames.get(1)).get(0).get("timestamp"));
+        }
+
+        @Test
+        @DisplayName("Unchanged sample should not publish a frame")
+        void unchangedSampleShouldNotPublishFrame() {
+            fleetStateService.record(telemetry(1L, 60, 80, 25, "Chicago, IL"));
+            fleetStateService.publishDeltas();
+            fleetStateService.record(telemetry(1L, 60, 80, 25, "Chicago, IL"));
+            fleetStateService.publishDeltas();
+
+            publishedFrames(1);
+            assertEquals(1L, fleetStateService.getSeq());
+        }
+    }
+
+    @Nested
+    @DisplayName("Sequence Tests")
+    class SequenceTests {
+
+        @Test
+        @DisplayName("Frames should chain prevSeq to the previous seq")
+        void framesShouldChainSequenceNumbers() {
+            fleetStateService.record(telemetry(1L, 10, 80, 25, "A"));
+            fleetStateService.publishDeltas();
+            fleetStateService.record(telemetry(2L, 20, 80, 25, "B"));
+            fleetStateService.publishDeltas();
+
+            List<Map<String, Object>> frames = publishedFrames(2);
+            assertEquals(0L, frames.get(0).get("prevSeq"));
+            assertEquals(1L, frames.get(0).get("seq"));
+            assertEquals(1L, frames.get(1).get("prevSeq"));
+            assertEquals(2L, frames.get(1).get("seq"));
+        }
+
+        @Test
+        @DisplayName("Snapshot should reflect published state and current seq")
+        @SuppressWarnings("unchecked")
+        void snapshotShouldReflectPublishedState() {
+            fleetStateService.record(telemetry(1L, 10, 80, 25, "A"));
+            fleetStateService.record(telemetry(2L, 20, 70, 30, "B"));
+            fleetStateService.publishDeltas();
+            fleetStateService.record(telemetry(3L, 30, 60, 35, "C"));
+
+            Map<String, Object> snapshot = fleetStateService.getSnapshot();
+            assertEquals("FLEET_SNAPSHOT", snapshot.get("type"));
+            assertEquals(1L, snapshot.get("seq"));
+            // Car 3 is not yet published, so it belongs to the next delta rather than the snapshot
+            assertEquals(2, ((List<Map<String, Object>>) snapshot.get("cars")).size());
+        }
+
+        @Test
+        @DisplayName("Warm-up should seed snapshot from latest telemetry")
+        @SuppressWarnings("unchecked")
+        void warmUpShouldSeedSnapshot() {
+            Car car = new Car();
+            car.setId(5L);
+            when(telemetryService.getLatestTelemetryForAllCars())
+                    .thenReturn(Arrays.asList(new Telemetry(car, 40, 50, 20, "Dallas, TX")));
+
+            fleetStateService.warmUp();
+
+            List<Map<String, Object>> cars = (List<Map<String, Object>>) fleetStateService.getSnapshot().get("cars");
+            assertEquals(1, cars.size());
+            assertEquals(5L, cars.get(0).get("carId"));
+            verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Warm-up should not overwrite state published by ingest")
+        @SuppressWarnings("unchecked")
+        void warmUpShouldNotOverwriteNewerState() {
+            fleetStateService.record(telemetry(5L, 90, 45, 22, "Austin, TX"));
+            fleetStateService.publishDeltas();
+            Car car = new Car();
+            car.setId(5L);
+            when(telemetryService.getLatestTelemetryForAllCars())
+                    .thenReturn(Arrays.asList(new Telemetry(car, 40, 50, 20, "Dallas, TX")));
+
+            fleetStateService.warmUp();
+
+            List<Map<String, Object>> cars = (List<Map<String, Object>>) fleetStateService.getSnapshot().get("cars");
+            assertEquals(1, cars.size());
+            assertEquals(90, cars.get(0).get("speed"));
+            assertEquals("Austin, TX", cars.get(0).get("location"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Bandwidth Tests")
+    class BandwidthTests {
+
+        private static final int CARS = 10_000;
+        private static final int TICK_MS = 250;
+        private static final int REPORT_MS = 5_000;
+        private static final int POLL_MS = 30_000;
+        private static final int DURATION_MS = 60_000;
+
+        private final String[] locations = {"Chicago, IL", "Dallas, TX", "Austin, TX", "Denver, CO", "Seattle, WA"};
+
+        // Spring Boot's ObjectMapper writes dates as ISO strings
+        private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        @Test
+        @DisplayName("Snapshot plus deltas should use several times fewer bytes than full DTOs at 10k cars")
+        void deltasShouldCutBandwidthSeveralFold() throws Exception {
+            Random random = new Random(42);
+            LocalDateTime start = LocalDateTime.of(2026, 1, 1, 8, 0);
+            AtomicLong deltaBytes = new AtomicLong();
+            doAnswer(invocation -> {
+                deltaBytes.addAndGet(objectMapper.writeValueAsBytes(invocation.getArgument(1)).length);
+                return null;
+            }).when(messagingTemplate).convertAndSend(eq(FleetStateService.DELTA_TOPIC), any(Object.class));
+
+            // Initial state: the full-DTO dashboard loads /telemetry/latest/all, the delta client a snapshot
+            TelemetryDto[] fleet = new TelemetryDto[CARS];
+            for (int i = 0; i < CARS; i++) {
+                fleet[i] = fullDto(i + 1L, random.nextInt(10) < 3 ? 0 : 30 + random.nextInt(90),
+                        20 + random.nextInt(81), 15 + random.nextInt(20), locations[random.nextInt(locations.length)],
+                        start.plusNanos(i * 1_000L));
+                fleetStateService.record(fleet[i]);
+            }
+            fleetStateService.publishDeltas();
+            deltaBytes.set(objectMapper.writeValueAsBytes(fleetStateService.getSnapshot()).length);
+            long fullBytes = objectMapper.writeValueAsBytes(fleet).length;
+
+            // Each car reports every REPORT_MS, spread evenly over the ticks
+            int ticksPerReport = REPORT_MS / TICK_MS;
+            for (int elapsed = TICK_MS, tick = 1; elapsed <= DURATION_MS; elapsed += TICK_MS, tick++) {
+                List<TelemetryDto> batch = new ArrayList<>();
+                for (int i = tick % ticksPerReport; i < CARS; i += ticksPerReport) {
+                    fleet[i] = drive(fleet[i], random, start.plusNanos(elapsed * 1_000_000L + i * 1_000L));
+                    batch.add(fleet[i]);
+                    fleetStateService.record(fleet[i]);
+                }
+                fleetStateService.publishDeltas();
+
+                Map<String, Object> frame = new LinkedHashMap<>();
+                frame.put("type", "TELEMETRY_BATCH");
+                frame.put("data", batch);
+                frame.put("timestamp", start.plusNanos(elapsed * 1_000_000L));
+                fullBytes += objectMapper.writeValueAsBytes(frame).length;
+                if (elapsed % POLL_MS == 0) {
+                    fullBytes += objectMapper.writeValueAsBytes(fleet).length;
+                }
+            }
+
+            // Measured at about 6.6x; the per-change sample timestamp is the largest field in most changes
+            double ratio = (double) fullBytes / deltaBytes.get();
+            assertTrue(ratio >= 5, String.format("full DTOs %d bytes, snapshot+deltas %d bytes, ratio %.1f",
+                    fullBytes, deltaBytes.get(), ratio));
+        }
+
+        // Next sample for a car: parked cars stay put, moving cars vary speed and occasionally the rest
+        private TelemetryDto drive(TelemetryDto previous, Random random, LocalDateTime timestamp) {
+            int speed = previous.getSpeed();
+            int fuel = previous.getFuelLevel();
+            int temperature = previous.getTemperature();
+            String location = previous.getLocation();
+            if (speed > 0) {
+                speed = Math.max(5, Math.min(140, speed + random.nextInt(11) - 5));
+                if (random.nextInt(20) == 0) fuel = Math.max(0, fuel - 1);
+                if (random.nextInt(10) == 0) temperature += random.nextBoolean() ? 1 : -1;
+                if (random.nextInt(100) == 0) location = locations[random.nextInt(locations.length)];
+            }
+            return fullDto(previous.getCarId(), speed, fuel, temperature, location, timestamp);
+        }
+
+        // DTO as built from a stored Telemetry row
+        private TelemetryDto fullDto(Long carId, int speed, int fuel, int temperature, String location,
+                                     LocalDateTime timestamp) {
+            TelemetryDto dto = new TelemetryDto(carId, speed, fuel, temperature, location, timestamp);
+            dto.setId(carId * 1_000_000L + timestamp.getSecond());
+            dto.setLatitude(41.8781 + carId * 1e-5);
+            dto.setLongitude(-87.6298 - carId * 1e-5);
+            dto.setCreationDate(timestamp);
+            dto.setLastUpdateOn(timestamp);
+            dto.setIsActive(true);
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.FuelStatusDto;
+import com.smartcar.monitoring.dto.RefuelEventDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Fuel Estimator Tests")
+public class FuelEstimatorTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    private FuelEstimator fuelEstimator;
+    private Random noise;
+
+    // Readings every 5 s of a tank draining at ratePerHour, rounded to whole percent with ±1 of noise;
+    // returns the non-NaN results of record()
+    private List<Double> drain(Long carId, LocalDateTime from, double startLevel, double ratePerHour, int minutes) {
+        List<Double> alerts = new ArrayList<>();
+        for (int second = 0; second <= minutes * 60; second += 5) {
+            double level = startLevel - ratePerHour * second / 3600.0;
+            int reading = (int) Math.round(level) + noise.nextInt(3) - 1;
+            double result = fuelEstimator.record(carId, reading, from.plusSeconds(second));
+            if (!Double.isNaN(result)) {
+                alerts.add(result);
+            }
+        }
+        return alerts;
+    }
+
+    @BeforeEach
+    void setUp() {
+        fuelEstimator = new FuelEstimator();
+        noise = new Random(42);
+    }
+
+    @Nested
+    @DisplayName("Smoothing Tests")
+    class SmoothingTests {
+
+        @Test
+        @DisplayName("Should estimate level and consumption rate from noisy readings")
+        void shouldEstimateRate() {
+            drain(1L, T0, 80, 10, 60);
+
+            FuelStatusDto status = fuelEstimator.getStatus(1L);
+            assertEquals(70.0, status.getLevel(), 1.0);
+            assertEquals(10.0, status.getConsumptionPerHour(), 2.0);
+            assertEquals(10.0, status.getConsumed(), 2.0);
+            assertEquals(721, status.getSampleCount());
+            // 70% at 10%/h
+            assertEquals(420.0, status.getMinutesToEmpty(), 90.0);
+            assertEquals(T0.plusMinutes(60), status.getLastSampleAt());
+        }
+
+        @Test
+        @DisplayName("Should return an empty status for unknown cars")
+        void shouldHandleUnknownCar() {
+            FuelStatusDto status = fuelEstimator.getStatus(9L);
+
+            assertNull(status.getLevel());
+            assertNull(status.getMinutesToEmpty());
+            assertEquals(0, status.getSampleCount());
+            assertTrue(Double.isNaN(fuelEstimator.getConsumed(9L)));
+        }
+
+        @Test
+        @DisplayName("Should re-anchor the level after a long gap and count what went missing")
+        void shouldReanchorAfterGap() {
+            drain(1L, T0, 80, 10, 20);
+            double consumed = fuelEstimator.getConsumed(1L);
+            double level = fuelEstimator.getStatus(1L).getLevel();
+
+            fuelEstimator.record(1L, 60, T0.plusHours(3));
+
+            FuelStatusDto status = fuelEstimator.getStatus(1L);
+            assertEquals(60.0, status.getLevel());
+            assertEquals(consumed + level - 60, fuelEstimator.getConsumed(1L), 0.1);
+            assertEquals(0, status.getRefuelCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Refuel Tests")
+    class RefuelTests {
+
+        @Test
+        @DisplayName("Should detect a confirmed step up as a refuel")
+        void shouldDetectRefuel() {
+            drain(1L, T0, 40, 10, 30);
+            double consumed = fuelEstimator.getConsumed(1L);
+
+            fuelEstimator.record(1L, 95, T0.plusMinutes(35));
+            fuelEstimator.record(1L, 95, T0.plusMinutes(35).plusSeconds(5));
+
+            FuelStatusDto status = fuelEstimator.getStatus(1L);
+            assertEquals(1, status.getRefuelCount());
+            assertEquals(95.0, status.getLevel());
+            RefuelEventDto refuel = status.getRecentRefuels().get(0);
+            assertEquals(T0.plusMinutes(35), refuel.getTimestamp());
+            assertEquals(35.0, refuel.getFromLevel(), 1.5);
+            assertEquals(95.0, refuel.getToLevel());
+            assertEquals(60.0, refuel.getAmount(), 1.5);
+            assertEquals(consumed, fuelEstimator.getConsumed(1L));
+        }
+
+        @Test
+        @DisplayName("Should drop a single high reading as a spike")
+        void shouldIgnoreSpike() {
+            drain(1L, T0, 60, 10, 10);
+            double level = fuelEstimator.getStatus(1L).getLevel();
+
+            fuelEstimator.record(1L, 90, T0.plusMinutes(10).plusSeconds(5));
+            fuelEstimator.record(1L, (int) Math.round(level), T0.plusMinutes(10).plusSeconds(10));
+
+            FuelStatusDto status = fuelEstimator.getStatus(1L);
+            assertEquals(0, status.getRefuelCount());
+            assertEquals(level, status.getLevel(), 0.5);
+        }
+
+        @Test
+        @DisplayName("Should keep the most recent refuels, newest first")
+        void shouldKeepRecentRefuels() {
+            LocalDateTime at = T0;
+            for (int i = 0; i < FuelEstimator.REFUEL_HISTORY + 2; i++) {
+                fuelEstimator.record(1L, 20, at);
+                fuelEstimator.record(1L, 80, at.plusSeconds(5));
+                fuelEstimator.record(1L, 80, at.plusSeconds(10));
+                at = at.plusMinutes(1);
+            }
+
+            FuelStatusDto status = fuelEstimator.getStatus(1L);
+            assertEquals(FuelEstimator.REFUEL_HISTORY + 2, status.getRefuelCount());
+            assertEquals(FuelEstimator.REFUEL_HISTORY, status.getRecentRefuels().size());
+            assertEquals(at.minusMinutes(1).plusSeconds(5), status.getRecentRefuels().get(0).getTimestamp());
+        }
+    }
+
+    @Nested
+    @DisplayName("Projection Tests")
+    class ProjectionTests {
+
+        @Test
+        @DisplayName("Should signal once when the projection falls within the alert window")
+        void shouldSignalProjectedEmptyOnce() {
+            List<Double> alerts = drain(1L, T0, 40, 30, 60);
+
+            assertEquals(1, alerts.size());
+            assertTrue(alerts.get(0) <= 30 && alerts.get(0) > 20, "minutes = " + alerts.get(0));
+        }
+
+        @Test
+        @DisplayName("Should re-arm after a refuel")
+        void shouldRearmAfterRefuel() {
+            assertEquals(1, drain(1L, T0, 40, 30, 60).size());
+            fuelEstimator.record(1L, 40, T0.plusMinutes(61));
+            fuelEstimator.record(1L, 40, T0.plusMinutes(61).plusSeconds(5));
+
+            assertEquals(1, drain(1L, T0.plusMinutes(62), 40, 30, 60).size());
+        }
+
+        @Test
+        @DisplayName("Should list cars projected to run dry, soonest first")
+        void shouldListProjectedEmpty() {
+            drain(1L, T0, 50, 20, 30);
+            drain(2L, T0, 30, 20, 30);
+            drain(3L, T0, 90, 2, 30);
+
+            List<FuelStatusDto> soon = fuelEstimator.getProjectedEmptyWithin(180);
+
+            assertEquals(List.of(2L, 1L), soon.stream().map(FuelStatusDto::getCarId).toList());
+            assertNotNull(soon.get(0).getProjectedEmptyAt());
+        }
+    }
+}
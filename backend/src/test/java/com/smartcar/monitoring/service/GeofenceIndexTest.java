@@ -0,0 +1,217 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.model.Geofence;
+import com.smartcar.monitoring.model.Geofence.GeofenceCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Geofence Index Tests")
+public class GeofenceIndexTest {
+
+    private static final double[] CHICAGO = {41.8781, -87.6298};
+
+    private GeofenceIndex geofenceIndex;
+
+    private static Geofence circle(long id, double lat, double lon, double radiusKm) {
+        Geofence geofence = Geofence.circle("Circle " + id, GeofenceCategory.DEPOT, lat, lon, radiusKm);
+        geofence.setId(id);
+        return geofence;
+    }
+
+    private static Geofence square(long id, GeofenceCategory category, double south, double west, double size) {
+        Geofence geofence = Geofence.polygon("Square " + id, category, Arrays.asList(
+                new double[]{south, west}, new double[]{south, west + size},
+                new double[]{south + size, west + size}, new double[]{south + size, west}));
+        geofence.setId(id);
+        return geofence;
+    }
+
+    @BeforeEach
+    void setUp() {
+        geofenceIndex = new GeofenceIndex();
+    }
+
+    @Nested
+    @DisplayName("Containment Tests")
+    class ContainmentTests {
+
+        @Test
+        @DisplayName("Should contain points inside a circle only")
+        void shouldContainPointsInsideCircle() {
+            geofenceIndex.rebuild(List.of(circle(1L, CHICAGO[0], CHICAGO[1], 2.0)));
+
+            assertArrayEquals(new long[]{1L}, geofenceIndex.findContaining(CHICAGO[0] + 0.01, CHICAGO[1]));
+            // About 3.3 km north, outside the 2 km radius
+            assertArrayEquals(new long[0], geofenceIndex.findContaining(CHICAGO[0] + 0.03, CHICAGO[1]));
+        }
+
+        @Test
+        @DisplayName("Should handle concave polygons")
+        void shouldHandleConcavePolygons() {
+            // U shape open to the north: the notch between the arms is outside
+            Geofence u = Geofence.polygon("U", GeofenceCategory.CITY, Arrays.asList(
+                    new double[]{41.0, -88.0}, new double[]{41.0, -87.0}, new double[]{42.0, -87.0},
+                    new double[]{42.0, -87.3}, new double[]{41.3, -87.3}, new double[]{41.3, -87.7},
+                    new double[]{42.0, -87.7}, new double[]{42.0, -88.0}));
+            u.setId(5L);
+            geofenceIndex.rebuild(List.of(u));
+
+            assertArrayEquals(new long[]{5L}, geofenceIndex.findContaining(41.8, -87.85));
+            assertArrayEquals(new long[]{5L}, geofenceIndex.findContaining(41.1, -87.5));
+            assertArrayEquals(new long[0], geofenceIndex.findContaining(41.8, -87.5));
+        }
+
+        @Test
+        @DisplayName("Should return every overlapping fence, including oversized ones")
+        void shouldReturnOverlappingFences() {
+            geofenceIndex.rebuild(List.of(
+                    circle(3L, CHICAGO[0], CHICAGO[1], 1.0),
+                    square(2L, GeofenceCategory.CITY, 41.6, -88.0, 0.6),
+                    // Spans far more than max-cells-per-fence cells
+                    square(1L, GeofenceCategory.RESTRICTED, 25.0, -110.0, 24.0)));
+
+            assertArrayEquals(new long[]{1L, 2L, 3L}, geofenceIndex.findContaining(CHICAGO[0], CHICAGO[1]));
+            assertEquals(3, geofenceIndex.getFenceCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Transition Tests")
+    class TransitionTests {
+
+        @Test
+        @DisplayName("Should seed state from the first position without transitions")
+        void shouldSeedStateFromFirstPosition() {
+            geofenceIndex.rebuild(List.of(circle(1L, CHICAGO[0], CHICAGO[1], 2.0)));
+
+            assertTrue(geofenceIndex.update(7L, CHICAGO[0], CHICAGO[1]).isEmpty());
+            assertArrayEquals(new long[]{1L}, geofenceIndex.getFencesForCar(7L));
+            assertEquals(List.of(7L), geofenceIndex.getCarsInside(1L));
+        }
+
+        @Test
+        @DisplayName("Should emit enter and exit only when the inside state changes")
+        void shouldEmitTransitionsOnChange() {
+            geofenceIndex.rebuild(List.of(circle(1L, CHICAGO[0], CHICAGO[1], 2.0)));
+            geofenceIndex.update(7L, CHICAGO[0] + 0.1, CHICAGO[1]);
+
+            List<GeofenceIndex.Transition> entered = geofenceIndex.update(7L, CHICAGO[0], CHICAGO[1]);
+            assertEquals(1, entered.size());
+            assertTrue(entered.get(0).isEntered());
+            assertEquals(1L, entered.get(0).getGeofenceId());
+
+            // Moving around inside the fence is not a transition
+            assertTrue(geofenceIndex.update(7L, CHICAGO[0] + 0.005, CHICAGO[1]).isEmpty());
+
+            List<GeofenceIndex.Transition> left = geofenceIndex.update(7L, CHICAGO[0] + 0.1, CHICAGO[1]);
+            assertEquals(1, left.size());
+            assertFalse(left.get(0).isEntered());
+        }
+
+        @Test
+        @DisplayName("Should report leaving one fence and entering another in one move")
+        void shouldReportSimultaneousTransitions() {
+            geofenceIndex.rebuild(List.of(
+                    square(1L, GeofenceCategory.DEPOT, 41.0, -88.0, 0.1),
+                    square(2L, GeofenceCategory.RESTRICTED, 41.0, -87.8, 0.1)));
+            geofenceIndex.update(7L, 41.05, -87.95);
+
+            List<GeofenceIndex.Transition> transitions = geofenceIndex.update(7L, 41.05, -87.75);
+
+            assertEquals(2, transitions.size());
+            assertEquals(1L, transitions.get(0).getGeofenceId());
+            assertFalse(transitions.get(0).isEntered());
+            assertEquals(2L, transitions.get(1).getGeofenceId());
+            assertTrue(transitions.get(1).isEntered());
+            assertEquals(GeofenceCategory.RESTRICTED, transitions.get(1).getCategory());
+        }
+
+        @Test
+        @DisplayName("Should not emit exits for deleted fences or removed cars")
+        void shouldNotEmitExitsForDeletedFences() {
+            geofenceIndex.rebuild(List.of(circle(1L, CHICAGO[0], CHICAGO[1], 2.0)));
+            geofenceIndex.update(7L, CHICAGO[0], CHICAGO[1]);
+            geofenceIndex.rebuild(Collections.emptyList());
+
+            assertTrue(geofenceIndex.update(7L, CHICAGO[0] + 0.1, CHICAGO[1]).isEmpty());
+
+            geofenceIndex.removeCar(7L);
+            assertArrayEquals(new long[0], geofenceIndex.getFencesForCar(7L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Scale Tests")
+    class ScaleTests {
+
+        @Test
+        @DisplayName("Should match a brute-force scan with 10k fences and 10k cars")
+        void shouldMatchBruteForceAtScale() {
+            Random random = new Random(7);
+            List<Geofence> geofences = geofences(random);
+            geofenceIndex.rebuild(geofences);
+            double[][] positions = positions(random, 10_000);
+
+            // With no cells allowed per fence every fence is checked on every lookup
+            GeofenceIndex bruteForce = new GeofenceIndex();
+            ReflectionTestUtils.setField(bruteForce, "maxCellsPerFence", 0);
+            bruteForce.rebuild(geofences);
+            for (int i = 0; i < 1000; i++) {
+                assertArrayEquals(bruteForce.findContaining(positions[i][0], positions[i][1]),
+                        geofenceIndex.findContaining(positions[i][0], positions[i][1]));
+            }
+        }
+
+        @Test
+        @Tag("benchmark")
+        @DisplayName("Should place 10k cars against 10k fences quickly")
+        void shouldUpdateFleetQuickly() {
+            Random random = new Random(7);
+            geofenceIndex.rebuild(geofences(random));
+            int cars = 10_000;
+            double[][] positions = positions(random, cars);
+
+            // One tick for the whole fleet; a scan over every fence per car would take seconds
+            long start = System.nanoTime();
+            for (int i = 0; i < cars; i++) {
+                geofenceIndex.update((long) i, positions[i][0], positions[i][1]);
+            }
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            assertTrue(elapsedMs < 1000, () -> "10k positions against 10k fences took " + elapsedMs + " ms");
+        }
+
+        // 10k depot-sized fences across the continental US plus a few city-sized and state-sized zones
+        private List<Geofence> geofences(Random random) {
+            List<Geofence> geofences = new ArrayList<>();
+            for (long id = 1; id <= 10_000; id++) {
+                double lat = 25 + random.nextDouble() * 24, lon = -125 + random.nextDouble() * 58;
+                geofences.add(id % 2 == 0
+                        ? circle(id, lat, lon, 0.5 + random.nextDouble() * 20)
+                        : square(id, GeofenceCategory.DEPOT, lat, lon, 0.01 + random.nextDouble() * 0.3));
+            }
+            geofences.add(square(20_001L, GeofenceCategory.CITY, 41.5, -88.2, 0.9));
+            geofences.add(square(20_002L, GeofenceCategory.RESTRICTED, 30.0, -100.0, 8.0));
+            return geofences;
+        }
+
+        private double[][] positions(Random random, int cars) {
+            double[][] positions = new double[cars][];
+            for (int i = 0; i < cars; i++) {
+                positions[i] = new double[]{25 + random.nextDouble() * 24, -125 + random.nextDouble() * 58};
+            }
+            return positions;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.model.Alert;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Geofence;
+import com.smartcar.monitoring.model.Geofence.GeofenceCategory;
+import com.smartcar.monitoring.model.Geofence.GeofenceShape;
+import com.smartcar.monitoring.repository.GeofenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Geofence Service Tests")
+public class GeofenceServiceTest {
+
+    private static final double[] CHICAGO = {41.8781, -87.6298};
+
+    @Mock
+    private GeofenceRepository geofenceRepository;
+
+    @Mock
+    private AlertService alertService;
+
+    @Spy
+    private GeofenceIndex geofenceIndex = new GeofenceIndex();
+
+    @InjectMocks
+    private GeofenceService geofenceService;
+
+    private Car car;
+
+    private Geofence restrictedZone() {
+        Geofence geofence = Geofence.circle("Airport", GeofenceCategory.RESTRICTED, CHICAGO[0], CHICAGO[1], 2.0);
+        geofence.setId(1L);
+        return geofence;
+    }
+
+    @BeforeEach
+    void setUp() {
+        car = new Car();
+        car.setId(7L);
+    }
+
+    @Nested
+    @DisplayName("Alert Tests")
+    class AlertTests {
+
+        @BeforeEach
+        void loadFences() {
+            when(geofenceRepository.findByIsActiveTrue()).thenReturn(List.of(restrictedZone()));
+            geofenceService.warmUp();
+        }
+
+        @Test
+        @DisplayName("Should raise enter and exit alerts through the alert service")
+        void shouldRaiseEnterAndExitAlerts() {
+            Alert alert = new Alert();
+            when(alertService.createAlert(eq(car), anyString(), anyString(), anyString())).thenReturn(alert);
+
+            assertTrue(geofenceService.checkPosition(car, CHICAGO[0] + 0.1, CHICAGO[1]).isEmpty());
+            assertEquals(List.of(alert), geofenceService.checkPosition(car, CHICAGO[0], CHICAGO[1]));
+            assertTrue(geofenceService.checkPosition(car, CHICAGO[0] + 0.001, CHICAGO[1]).isEmpty());
+            geofenceService.checkPosition(car, CHICAGO[0] + 0.1, CHICAGO[1]);
+
+            verify(alertService).createAlert(car, GeofenceService.GEOFENCE_ENTER, "HIGH", "Entered restricted zone 'Airport'");
+            verify(alertService).createAlert(car, GeofenceService.GEOFENCE_EXIT, "MEDIUM", "Left restricted zone 'Airport'");
+            verifyNoMoreInteractions(alertService);
+        }
+
+        @Test
+        @DisplayName("Should list the cars inside a fence")
+        void shouldListCarsInside() {
+            when(geofenceRepository.findById(1L)).thenReturn(Optional.of(restrictedZone()));
+            geofenceService.checkPosition(car, CHICAGO[0], CHICAGO[1]);
+
+            assertEquals(List.of(7L), geofenceService.getCarsInside(1L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should save valid fences and rebuild the index")
+        void shouldSaveValidFences() {
+            Geofence geofence = restrictedZone();
+            when(geofenceRepository.save(geofence)).thenReturn(geofence);
+            when(geofenceRepository.findByIsActiveTrue()).thenReturn(List.of(geofence));
+
+            geofenceService.createGeofence(geofence);
+
+            assertEquals(1, geofenceIndex.getFenceCount());
+        }
+
+        @Test
+        @DisplayName("Should reject circles without a radius and polygons with too few vertices")
+        void shouldRejectInvalidShapes() {
+            Geofence circle = restrictedZone();
+            circle.setRadiusKm(0.0);
+            Geofence polygon = Geofence.polygon("Line", GeofenceCategory.DEPOT, Arrays.asList(
+                    new double[]{41.0, -88.0}, new double[]{41.5, -87.5}));
+            Geofence outOfRange = Geofence.circle("Nowhere", GeofenceCategory.CITY, 95.0, 0.0, 1.0);
+            Geofence noShape = restrictedZone();
+            noShape.setShape(null);
+
+            assertThrows(IllegalArgumentException.class, () -> geofenceService.createGeofence(circle));
+            assertThrows(IllegalArgumentException.class, () -> geofenceService.createGeofence(polygon));
+            assertThrows(IllegalArgumentException.class, () -> geofenceService.createGeofence(outOfRange));
+            assertThrows(IllegalArgumentException.class, () -> geofenceService.createGeofence(noShape));
+            verify(geofenceRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should clear the fields of the other shape")
+        void shouldClearOtherShapeFields() {
+            Geofence polygon = Geofence.polygon("Depot", GeofenceCategory.DEPOT, Arrays.asList(
+                    new double[]{41.0, -88.0}, new double[]{41.0, -87.9}, new double[]{41.1, -87.9}));
+            polygon.setRadiusKm(5.0);
+            when(geofenceRepository.save(polygon)).thenReturn(polygon);
+
+            geofenceService.createGeofence(polygon);
+
+            assertEquals(GeofenceShape.POLYGON, polygon.getShape());
+            assertNull(polygon.getRadiusKm());
+            assertEquals(3, polygon.getVertexList().size());
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.model.LocationLabel;
+import com.smartcar.monitoring.repository.LocationLabelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Location Dictionary Tests")
+public class LocationDictionaryTest {
+
+    @Mock
+    private LocationLabelRepository locationLabelRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private LocationDictionary locationDictionary;
+
+    private LocationLabel entry(int id, String label) {
+        LocationLabel entry = new LocationLabel(label);
+        entry.setId(id);
+        return entry;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(locationLabelRepository.findAll()).thenReturn(List.of(entry(1, "Chicago, IL"), entry(2, "Dallas, TX")));
+        locationDictionary.load();
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should map labels and IDs both ways from the startup load")
+        void shouldMapBothWays() {
+            assertEquals(1, locationDictionary.idFor("Chicago, IL"));
+            assertEquals("Dallas, TX", locationDictionary.labelFor(2));
+            assertNull(locationDictionary.idFor(null));
+            assertEquals(2, locationDictionary.size());
+            verify(locationLabelRepository, times(1)).findAll();
+        }
+
+        @Test
+        @DisplayName("Should hand out one canonical instance per label")
+        void shouldInternLabels() {
+            String parsed = new String("Chicago, IL");
+
+            String interned = locationDictionary.intern(parsed);
+
+            assertEquals(parsed, interned);
+            assertNotSame(parsed, interned);
+            assertSame(interned, locationDictionary.labelFor(1));
+            assertSame(interned, locationDictionary.intern(new String("Chicago, IL")));
+        }
+
+        @Test
+        @DisplayName("Should answer unknown IDs and labels from memory without querying")
+        void shouldNotQueryOnLookup() {
+            assertNull(locationDictionary.labelFor(3));
+            assertNull(locationDictionary.idFor("Houston, TX"));
+
+            verify(locationLabelRepository, never()).findById(any());
+            verify(locationLabelRepository, never()).findByLabel(any());
+            verify(transactionManager, never()).getTransaction(any());
+        }
+
+        @Test
+        @DisplayName("Should pick up IDs added by another instance on refresh")
+        void shouldRefreshIdsAddedElsewhere() {
+            when(locationLabelRepository.findAll())
+                    .thenReturn(List.of(entry(1, "Chicago, IL"), entry(2, "Dallas, TX"), entry(3, "Houston, TX")));
+
+            locationDictionary.refresh();
+
+            assertEquals("Houston, TX", locationDictionary.labelFor(3));
+            assertEquals(3, locationDictionary.idFor("Houston, TX"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Registration Tests")
+    class RegistrationTests {
+
+        @Test
+        @DisplayName("Should insert a new label once")
+        void shouldInsertNewLabelOnce() {
+            when(locationLabelRepository.findByLabel("Austin, TX")).thenReturn(Optional.empty());
+            when(locationLabelRepository.save(any(LocationLabel.class))).thenReturn(entry(5, "Austin, TX"));
+
+            assertEquals("Austin, TX", locationDictionary.intern("Austin, TX"));
+            assertEquals("Austin, TX", locationDictionary.intern("Austin, TX"));
+            assertEquals(5, locationDictionary.idFor("Austin, TX"));
+            assertEquals("Austin, TX", locationDictionary.labelFor(5));
+            verify(locationLabelRepository, times(1)).save(any(LocationLabel.class));
+        }
+
+        @Test
+        @DisplayName("Should use the row inserted concurrently by another instance")
+        void shouldUseConcurrentlyInsertedRow() {
+            when(locationLabelRepository.findByLabel("Austin, TX"))
+                    .thenReturn(Optional.empty())
+                    .thenReturn(Optional.of(entry(6, "Austin, TX")));
+            when(locationLabelRepository.save(any(LocationLabel.class)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate label"));
+
+            locationDictionary.intern("Austin, TX");
+
+            assertEquals(6, locationDictionary.idFor("Austin, TX"));
+        }
+
+        @Test
+        @DisplayName("Should search labels containing the text")
+        void shouldSearchLabels() {
+            when(locationLabelRepository.findByLabelContaining("TX")).thenReturn(List.of(entry(2, "Dallas, TX")));
+
+            List<String> labels = locationDictionary.findLabelsContaining("TX");
+
+            assertEquals(List.of("Dallas, TX"), labels);
+            assertSame(locationDictionary.labelFor(2), labels.get(0));
+        }
+    }
+}
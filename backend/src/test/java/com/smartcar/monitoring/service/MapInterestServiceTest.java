@@ -0,0 +1,138 @@
+package com.smartcar.monitoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.smartcar.monitoring.dto.MapViewportRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Map Interest Service Tests")
+public class MapInterestServiceTest {
+
+    private static final double[] CHICAGO = {41.8781, -87.6298};
+    private static final double[] DALLAS = {32.7767, -96.7970};
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Spy
+    private LocationResolver locationResolver = new LocationResolver();
+
+    @InjectMocks
+    private MapInterestService mapInterestService;
+
+    private MapViewportRequest chicagoViewport() {
+        return new MapViewportRequest(41.0, -88.5, 42.5, -87.0);
+    }
+
+    @Nested
+    @DisplayName("Matching Tests")
+    class MatchingTests {
+
+        @Test
+        @DisplayName("Should match sessions whose viewport contains the position")
+        void shouldMatchSessionsWhoseViewportContainsPosition() {
+            mapInterestService.register("s1", chicagoViewport());
+
+            assertEquals(Set.of("s1"), mapInterestService.matchSessions(1L, CHICAGO));
+            assertTrue(mapInterestService.matchSessions(1L, DALLAS).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should match sessions by car ID regardless of position")
+        void shouldMatchSessionsByCarId() {
+            MapViewportRequest request = new MapViewportRequest();
+            request.setCarIds(Arrays.asList(7L));
+            mapInterestService.register("s1", request);
+
+            assertEquals(Set.of("s1"), mapInterestService.matchSessions(7L, null));
+            assertTrue(mapInterestService.matchSessions(8L, CHICAGO).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should match very large viewports without indexing every cell")
+        void shouldMatchVeryLargeViewports() {
+            mapInterestService.register("world", new MapViewportRequest(-90.0, -180.0, 90.0, 180.0));
+
+            assertEquals(0, mapInterestService.getIndexedCellCount());
+            assertEquals(Set.of("world"), mapInterestService.matchSessions(1L, DALLAS));
+        }
+
+        @Test
+        @DisplayName("Re-registering should replace the previous viewport")
+        void reRegisteringShouldReplaceViewport() {
+            mapInterestService.register("s1", chicagoViewport());
+            mapInterestService.register("s1", new MapViewportRequest(32.0, -97.5, 33.5, -96.0));
+
+            assertTrue(mapInterestService.matchSessions(1L, CHICAGO).isEmpty());
+            assertEquals(Set.of("s1"), mapInterestService.matchSessions(1L, DALLAS));
+        }
+
+        @Test
+        @DisplayName("Unregister should remove all index entries")
+        void unregisterShouldRemoveAllIndexEntries() {
+            mapInterestService.register("s1", chicagoViewport());
+            mapInterestService.unregister("s1");
+
+            assertEquals(0, mapInterestService.getSessionCount());
+            assertEquals(0, mapInterestService.getIndexedCellCount());
+            assertTrue(mapInterestService.matchSessions(1L, CHICAGO).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Dispatch Tests")
+    class DispatchTests {
+
+        @Test
+        @DisplayName("Should send one frame per interested session")
+        @SuppressWarnings("unchecked")
+        void shouldSendOneFramePerInterestedSession() throws Exception {
+            mapInterestService.register("s1", chicagoViewport());
+            List<MapInterestService.LocationUpdate> updates = Arrays.asList(
+                    new MapInterestService.LocationUpdate(1L, "Chicago, IL", new RawValue("{\"carId\":1}")),
+                    new MapInterestService.LocationUpdate(2L, "Dallas, TX", new RawValue("{\"carId\":2}")),
+                    new MapInterestService.LocationUpdate(3L, "Chicago, IL", new RawValue("{\"carId\":3}")));
+
+            mapInterestService.dispatch(updates);
+
+            ArgumentCaptor<Message<?>> messages = ArgumentCaptor.forClass(Message.class);
+            verify(messagingTemplate, times(1)).send(eq("/user/s1/queue/map/locations"), messages.capture());
+            Message<?> message = messages.getValue();
+            assertEquals("s1", SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+            assertEquals(2, objectMapper.readTree((byte[]) message.getPayload()).get("data").size());
+        }
+
+        @Test
+        @DisplayName("Should skip work when no session is registered")
+        void shouldSkipWorkWhenNoSessionIsRegistered() {
+            mapInterestService.dispatch(Arrays.asList(
+                    new MapInterestService.LocationUpdate(1L, "Chicago, IL", new RawValue("{}"))));
+
+            verify(locationResolver, never()).resolve(anyString());
+            verify(messagingTemplate, never()).send(anyString(), any(Message.class));
+        }
+    }
+}
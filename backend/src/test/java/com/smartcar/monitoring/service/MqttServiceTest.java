@@ -0,0 +1,139 @@
+package com.smartcar.monitoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smartcar.monitoring.model.Alert;
+import com.smartcar.monitoring.model.Car;
+import org.eclipse.paho.client.mqttv3.MqttClient;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MQTT Service Tests")
+public class MqttServiceTest {
+
+    @Mock
+    private MqttClient mqttClient;
+
+    @Mock
+    private WebSocketService webSocketService;
+
+    @Mock
+    private TelemetryService telemetryService;
+
+    @Mock
+    private CarService carService;
+
+    @Mock
+    private AlertService alertService;
+
+    @Mock
+    private TelemetryFanoutService telemetryFanoutService;
+
+    @Mock
+    private FleetStateService fleetStateService;
+
+    @Mock
+    private DashboardService dashboardService;
+
+    @Mock
+    private CarLocationIndex carLocationIndex;
+
+    @Mock
+    private GeofenceService geofenceService;
+
+    @Mock
+    private TripService tripService;
+
+    @Mock
+    private DriverScoreService driverScoreService;
+
+    @Mock
+    private AnomalyService anomalyService;
+
+    @Mock
+    private FuelEstimator fuelEstimator;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private MqttService mqttService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(mqttService, "topicPrefix", "car");
+        ReflectionTestUtils.setField(mqttService, "clientId", "node-1");
+        when(mqttClient.isConnected()).thenReturn(true);
+    }
+
+    @Nested
+    @DisplayName("Ingest Node Tests")
+    class IngestNodeTests {
+
+        @Test
+        @DisplayName("Should subscribe to car topics on the ingest node")
+        void shouldSubscribeOnIngestNode() throws Exception {
+            mqttService.init();
+
+            verify(mqttClient).subscribe("car/+/telemetry", 1);
+            verify(mqttClient).subscribe("car/+/status", 1);
+        }
+
+        @Test
+        @DisplayName("Should not subscribe on a node with ingest disabled")
+        void shouldNotSubscribeWithIngestDisabled() throws Exception {
+            ReflectionTestUtils.setField(mqttService, "ingestEnabled", false);
+
+            mqttService.init();
+
+            verify(mqttClient, never()).subscribe(anyString(), anyInt());
+            verify(webSocketService).broadcastMqttStatus(true);
+        }
+    }
+
+    @Nested
+    @DisplayName("Alert Tests")
+    class AlertTests {
+
+        private Alert alert(String type, Alert.AlertSeverity severity) {
+            Alert alert = new Alert();
+            alert.setType(type);
+            alert.setSeverity(severity);
+            return alert;
+        }
+
+        @Test
+        @DisplayName("Should send critically low fuel to admins when the fuel projection fires too")
+        void shouldKeepCriticalLowFuelOverProjection() {
+            Car car = new Car();
+            car.setId(7L);
+            when(carService.getCarById(7L)).thenReturn(car);
+            when(fuelEstimator.record(eq(7L), anyInt(), any())).thenReturn(12.0);
+            Alert lowFuel = alert("LOW_FUEL", Alert.AlertSeverity.CRITICAL);
+            when(alertService.createAlert(car, "LOW_FUEL", "CRITICAL", "Low fuel level: 5%")).thenReturn(lowFuel);
+            when(alertService.createAlert(eq(car), eq("FUEL_PROJECTED_EMPTY"), eq("HIGH"), anyString()))
+                    .thenReturn(alert("FUEL_PROJECTED_EMPTY", Alert.AlertSeverity.HIGH));
+
+            String payload = "{\"speed\":40,\"fuelLevel\":5,\"temperature\":30,\"location\":\"Chicago, IL\"}";
+            ReflectionTestUtils.invokeMethod(mqttService, "handleIncomingMessage", "car/7/telemetry", new MqttMessage(payload.getBytes()));
+
+            verify(webSocketService).sendCriticalAlertToAdmins(lowFuel);
+            verify(webSocketService, times(2)).broadcastAlertUpdate(any());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.smartcar.monitoring.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.smartcar.monitoring.dto.TelemetryDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Payload Format Service Tests")
+public class PayloadFormatServiceTest {
+
+    @Mock
+    private WebSocketHandler delegate;
+
+    @Mock
+    private MessageChannel channel;
+
+    @Mock
+    private MessageHandler handler;
+
+    private final ObjectMapper jsonMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+    private PayloadFormatService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PayloadFormatService();
+    }
+
+    private void connect(String sessionId, String format) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId(sessionId);
+        if (format != null) {
+            accessor.setNativeHeader(PayloadFormatService.FORMAT_HEADER, format);
+        }
+        service.connectInterceptor().preSend(
+                MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()), channel);
+    }
+
+    private Message<byte[]> frame(String sessionId, String destination, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    private byte[] telemetryBatch(int cars) throws Exception {
+        List<TelemetryDto> data = new ArrayList<>();
+        for (long carId = 1; carId <= cars; carId++) {
+            data.add(new TelemetryDto(carId, 80 + (int) carId, 60, 90, "Chicago, IL", LocalDateTime.now()));
+        }
+        Map<String, Object> batch = new LinkedHashMap<>();
+        batch.put("type", "TELEMETRY_BATCH");
+        batch.put("data", data);
+        batch.put("timestamp", LocalDateTime.now());
+        return jsonMapper.writeValueAsBytes(batch);
+    }
+
+    @Nested
+    @DisplayName("Negotiation Tests")
+    class NegotiationTests {
+
+        @Test
+        @DisplayName("Should enable CBOR when requested on CONNECT")
+        void shouldEnableCborWhenRequested() {
+            connect("s1", "cbor");
+            connect("s2", null);
+
+            assertTrue(service.isCborSession("s1"));
+            assertFalse(service.isCborSession("s2"));
+        }
+
+        @Test
+        @DisplayName("Should keep SockJS sessions on JSON")
+        void shouldKeepSockJsSessionsOnJson() throws Exception {
+            SockJsSession session = mock(SockJsSession.class);
+            when(session.getId()).thenReturn("sockjs-1");
+            service.decorate(delegate).afterConnectionEstablished(session);
+
+            connect("sockjs-1", "cbor");
+
+            assertFalse(service.isCborSession("sockjs-1"));
+        }
+
+        @Test
+        @DisplayName("Should forget the format when the connection closes")
+        void shouldForgetFormatOnClose() throws Exception {
+            WebSocketSession session = mock(WebSocketSession.class);
+            when(session.getId()).thenReturn("s1");
+            WebSocketHandler decorated = service.decorate(delegate);
+            decorated.afterConnectionEstablished(session);
+            connect("s1", "cbor");
+
+            decorated.afterConnectionClosed(session, org.springframework.web.socket.CloseStatus.NORMAL);
+
+            assertFalse(service.isCborSession("s1"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Encoding Tests")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should send telemetry to CBOR sessions as binary CBOR")
+        void shouldSendTelemetryAsCbor() throws Exception {
+            connect("s1", "cbor");
+            byte[] json = telemetryBatch(3);
+
+            Message<?> encoded = service.beforeHandle(frame("s1", "/topic/telemetry", json), channel, handler);
+
+            assertEquals(MimeTypeUtils.APPLICATION_OCTET_STREAM, encoded.getHeaders().get(MessageHeaders.CONTENT_TYPE));
+            assertEquals("cbor", SimpMessageHeaderAccessor.getFirstNativeHeader(
+                    PayloadFormatService.FORMAT_HEADER, encoded.getHeaders()));
+            assertEquals(jsonMapper.readTree(json), cborMapper.readTree((byte[]) encoded.getPayload()));
+        }
+
+        @Test
+        @DisplayName("Should leave JSON sessions and non-telemetry topics untouched")
+        void shouldLeaveOtherFramesUntouched() throws Exception {
+            connect("s1", "cbor");
+            byte[] json = telemetryBatch(1);
+            Message<byte[]> jsonSession = frame("s2", "/topic/telemetry", json);
+            Message<byte[]> alerts = frame("s1", "/topic/alerts", json);
+
+            assertSame(jsonSession, service.beforeHandle(jsonSession, channel, handler));
+            assertSame(alerts, service.beforeHandle(alerts, channel, handler));
+        }
+
+        @Test
+        @DisplayName("Should transcode a shared broadcast payload only once")
+        void shouldTranscodeSharedPayloadOnce() throws Exception {
+            connect("s1", "cbor");
+            connect("s2", "cbor");
+            byte[] json = telemetryBatch(2);
+
+            Message<?> first = service.beforeHandle(frame("s1", "/topic/map/locations", json), channel, handler);
+            Message<?> second = service.beforeHandle(frame("s2", "/topic/map/locations", json), channel, handler);
+
+            assertSame(first.getPayload(), second.getPayload());
+            Map<String, Object> stats = service.getStatistics();
+            assertEquals(2L, stats.get("framesEncoded"));
+            assertEquals(1L, stats.get("payloadsTranscoded"));
+        }
+
+        @Test
+        @DisplayName("Should produce smaller frames than JSON for a telemetry batch")
+        void shouldProduceSmallerFrames() throws Exception {
+            byte[] json = telemetryBatch(50);
+
+            byte[] cbor = service.encode(json);
+
+            assertTrue(cbor.length < json.length);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.smartcar.monitoring.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Resource Version Service Tests")
+public class ResourceVersionServiceTest {
+
+    // A quarter of a second into 12:00:00 UTC
+    private static final long START = Instant.parse("2026-01-01T12:00:00.250Z").toEpochMilli();
+
+    private final MutableClock clock = new MutableClock(START);
+
+    private final ResourceVersionService service = new ResourceVersionService(clock);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Nested
+    @DisplayName("ETag Tests")
+    class ETagTests {
+
+        @Test
+        @DisplayName("Should keep the ETag stable until the collection is written")
+        void shouldKeepETagStableUntilWrite() {
+            String before = service.getETag(ResourceVersionService.CARS);
+            assertEquals(before, service.getETag(ResourceVersionService.CARS));
+
+            service.bump(ResourceVersionService.CARS);
+
+            assertNotEquals(before, service.getETag(ResourceVersionService.CARS));
+        }
+
+        @Test
+        @DisplayName("Should change a combined ETag when any of its collections is written")
+        void shouldChangeCombinedETag() {
+            String before = service.getETag(ResourceVersionService.CARS, ResourceVersionService.DRIVERS);
+            String alerts = service.getETag(ResourceVersionService.ALERTS);
+
+            service.bump(ResourceVersionService.DRIVERS);
+
+            assertNotEquals(before, service.getETag(ResourceVersionService.CARS, ResourceVersionService.DRIVERS));
+            assertEquals(alerts, service.getETag(ResourceVersionService.ALERTS));
+        }
+
+        @Test
+        @DisplayName("Should produce quoted strong ETags")
+        void shouldProduceStrongETags() {
+            String eTag = service.getETag(ResourceVersionService.TELEMETRY);
+
+            assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+            assertFalse(eTag.startsWith("W/"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional Request Tests")
+    class ConditionalRequestTests {
+
+        private MockHttpServletResponse response;
+
+        private ServletWebRequest request(String header, String value) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cars");
+            if (header != null) {
+                request.addHeader(header, value);
+            }
+            response = new MockHttpServletResponse();
+            return new ServletWebRequest(request, response);
+        }
+
+        @Test
+        @DisplayName("Should round write times up to the next whole second")
+        void shouldRoundLastModifiedUp() {
+            clock.advance(5_000);
+            service.bump(ResourceVersionService.CARS);
+
+            assertEquals(START - 250 + 6_000, service.getLastModified(ResourceVersionService.CARS));
+        }
+
+        @Test
+        @DisplayName("Should not answer 304 to If-Modified-Since after a write in the same second")
+        void shouldNotMatchDateWithinSecondOfWrite() {
+            long nextSecond = START - 250 + 1_000;
+            // The date a response served just before the write would carry after rounding
+            ServletWebRequest request = request("If-Modified-Since", formatDate(nextSecond));
+            clock.advance(100);
+            service.bump(ResourceVersionService.CARS);
+
+            assertFalse(service.checkNotModified(request, ResourceVersionService.CARS));
+            assertNull(response.getHeader("Last-Modified"));
+            assertNotNull(response.getHeader("ETag"));
+        }
+
+        @Test
+        @DisplayName("Should answer 304 to If-Modified-Since once the write's second has passed")
+        void shouldMatchDateAfterSecondOfWrite() {
+            service.bump(ResourceVersionService.CARS);
+            clock.advance(1_000);
+
+            assertFalse(service.checkNotModified(request(null, null), ResourceVersionService.CARS));
+            String lastModified = response.getHeader("Last-Modified");
+            assertEquals(formatDate(START - 250 + 1_000), lastModified);
+            assertTrue(service.checkNotModified(request("If-Modified-Since", lastModified), ResourceVersionService.CARS));
+        }
+
+        @Test
+        @DisplayName("Should answer 304 to a current ETag")
+        void shouldMatchCurrentETag() {
+            String eTag = service.getETag(ResourceVersionService.ALERTS);
+
+            assertTrue(service.checkNotModified(request("If-None-Match", eTag), ResourceVersionService.ALERTS));
+        }
+
+        @Test
+        @DisplayName("Should answer in full without validators in relay mode")
+        void shouldDisableInRelayMode() {
+            ReflectionTestUtils.setField(service, "brokerMode", "relay");
+            String eTag = service.getETag(ResourceVersionService.ALERTS);
+
+            assertFalse(service.checkNotModified(request("If-None-Match", eTag), ResourceVersionService.ALERTS));
+            assertNull(response.getHeader("ETag"));
+            assertNull(response.getHeader("Last-Modified"));
+        }
+
+        private String formatDate(long epochMillis) {
+            MockHttpServletResponse dates = new MockHttpServletResponse();
+            dates.setDateHeader("Date", epochMillis);
+            return dates.getHeader("Date");
+        }
+    }
+
+    @Nested
+    @DisplayName("Transaction Tests")
+    class TransactionTests {
+
+        @Test
+        @DisplayName("Should defer the bump until the surrounding transaction commits")
+        void shouldDeferBumpUntilCommit() {
+            TransactionSynchronizationManager.initSynchronization();
+
+            service.bump(ResourceVersionService.ALERTS);
+            assertEquals(0, service.getVersion(ResourceVersionService.ALERTS));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+            assertEquals(1, service.getVersion(ResourceVersionService.ALERTS));
+        }
+
+        @Test
+        @DisplayName("Should not bump when the transaction rolls back")
+        void shouldNotBumpOnRollback() {
+            TransactionSynchronizationManager.initSynchronization();
+
+            service.bump(ResourceVersionService.ALERTS);
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+
+            assertEquals(0, service.getVersion(ResourceVersionService.ALERTS));
+        }
+    }
+
+    // Clock the tests move by hand
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
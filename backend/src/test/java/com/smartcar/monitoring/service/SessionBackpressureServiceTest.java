@@ -0,0 +1,256 @@
+package com.smartcar.monitoring.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Session Backpressure Service Tests")
+public class SessionBackpressureServiceTest {
+
+    private static final String SESSION_ID = "session-1";
+
+    @Mock
+    private WebSocketHandler delegate;
+
+    @Mock
+    private WebSocketSession session;
+
+    @Mock
+    private MessageChannel channel;
+
+    @Mock
+    private MessageHandler handler;
+
+    private SessionBackpressureService service;
+    private WebSocketHandler decorated;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new SessionBackpressureService();
+        decorated = service.decorate(delegate);
+        when(session.getId()).thenReturn(SESSION_ID);
+        decorated.afterConnectionEstablished(session);
+    }
+
+    private Message<byte[]> frame(String destination) {
+        return frame(destination, new byte[0]);
+    }
+
+    private Message<byte[]> frame(String destination, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(SESSION_ID);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    private static byte[] batch(long carId) {
+        return ("{\"type\":\"TELEMETRY_BATCH\",\"cars\":[{\"carId\":" + carId + "}]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Run a frame through the interceptor the way ExecutorSubscribableChannel does
+    private Message<?> deliver(Message<?> message) {
+        Message<?> handled = service.beforeHandle(message, channel, handler);
+        if (handled != null) {
+            service.afterMessageHandled(handled, channel, handler, null);
+        }
+        return handled;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> sessionStats() {
+        List<Map<String, Object>> perSession = (List<Map<String, Object>>) service.getStatistics().get("perSession");
+        return perSession.get(0);
+    }
+
+    @Nested
+    @DisplayName("Conflation Tests")
+    class ConflationTests {
+
+        @Test
+        @DisplayName("Should skip an older queued telemetry frame when a newer one is queued")
+        void shouldSkipOlderQueuedTelemetryFrame() {
+            Message<byte[]> first = frame("/topic/car/1/telemetry");
+            Message<byte[]> second = frame("/topic/car/1/telemetry");
+            assertSame(first, service.preSend(first, channel));
+            assertSame(second, service.preSend(second, channel));
+
+            assertNull(deliver(first));
+            assertSame(second, deliver(second));
+
+            Map<String, Object> stats = sessionStats();
+            assertEquals(1L, stats.get("conflated"));
+            assertEquals(1L, stats.get("sent"));
+            assertEquals(0, stats.get("queued"));
+        }
+
+        @Test
+        @DisplayName("Should complete a frame that a later interceptor replaced")
+        void shouldCompleteFrameReplacedByLaterInterceptor() {
+            Message<byte[]> original = frame("/topic/telemetry");
+            service.preSend(original, channel);
+            assertSame(original, service.beforeHandle(original, channel, handler));
+
+            service.afterMessageHandled(frame("/topic/telemetry"), channel, handler, null);
+
+            Map<String, Object> stats = sessionStats();
+            assertEquals(0, stats.get("queued"));
+            assertEquals(1L, stats.get("sent"));
+        }
+
+        @Test
+        @DisplayName("Should not conflate frames on different destinations")
+        void shouldNotConflateDifferentDestinations() {
+            Message<byte[]> car1 = frame("/topic/car/1/telemetry");
+            Message<byte[]> car2 = frame("/topic/car/2/telemetry");
+            service.preSend(car1, channel);
+            service.preSend(car2, channel);
+
+            assertSame(car1, deliver(car1));
+            assertSame(car2, deliver(car2));
+        }
+
+        @Test
+        @DisplayName("Should deliver every queued batch frame so no car's update is lost")
+        void shouldDeliverEveryBatchFrame() {
+            for (String destination : List.of("/topic/telemetry", "/topic/map/locations", "/queue/map/locations-usersession-1")) {
+                Message<byte[]> car1 = frame(destination, batch(1));
+                Message<byte[]> car2 = frame(destination, batch(2));
+                assertSame(car1, service.preSend(car1, channel));
+                assertSame(car2, service.preSend(car2, channel));
+
+                assertSame(car1, deliver(car1));
+                assertSame(car2, deliver(car2));
+                assertArrayEquals(batch(1), (byte[]) car1.getPayload());
+                assertArrayEquals(batch(2), (byte[]) car2.getPayload());
+            }
+
+            Map<String, Object> stats = sessionStats();
+            assertEquals(0L, stats.get("conflated"));
+            assertEquals(6L, stats.get("sent"));
+        }
+
+        @Test
+        @DisplayName("Should never conflate alert frames")
+        void shouldNeverConflateAlertFrames() {
+            Message<byte[]> first = frame("/topic/alerts");
+            Message<byte[]> second = frame("/topic/alerts");
+            service.preSend(first, channel);
+            service.preSend(second, channel);
+
+            assertSame(first, deliver(first));
+            assertSame(second, deliver(second));
+        }
+    }
+
+    @Nested
+    @DisplayName("Limit Tests")
+    class LimitTests {
+
+        @Test
+        @DisplayName("Should drop non-telemetry frames once the session queue is full")
+        void shouldDropFramesOnceQueueIsFull() {
+            ReflectionTestUtils.setField(service, "maxQueued", 2);
+
+            assertNotNull(service.preSend(frame("/topic/alerts"), channel));
+            assertNotNull(service.preSend(frame("/topic/alerts"), channel));
+            assertNull(service.preSend(frame("/topic/alerts"), channel));
+            // Per-car telemetry is still accepted because conflation bounds it, and batches
+            // are never dropped because each one carries different cars
+            assertNotNull(service.preSend(frame("/topic/car/1/telemetry"), channel));
+            assertNotNull(service.preSend(frame("/topic/telemetry", batch(1)), channel));
+
+            assertEquals(1L, sessionStats().get("dropped"));
+        }
+
+        @Test
+        @DisplayName("Should throttle per-car telemetry but not batches for a degraded session")
+        void shouldThrottleTelemetryForDegradedSession() {
+            ReflectionTestUtils.setField(service, "degradeLagMs", -1L);
+
+            Message<byte[]> first = frame("/topic/car/1/telemetry");
+            service.preSend(first, channel);
+            deliver(first);
+            assertEquals(true, sessionStats().get("degraded"));
+
+            assertNull(service.preSend(frame("/topic/car/1/telemetry"), channel));
+            assertEquals(1L, sessionStats().get("throttled"));
+
+            Message<byte[]> car1 = frame("/topic/telemetry", batch(1));
+            Message<byte[]> car2 = frame("/topic/telemetry", batch(2));
+            assertSame(car1, service.preSend(car1, channel));
+            assertSame(car2, service.preSend(car2, channel));
+            assertSame(car1, deliver(car1));
+            assertSame(car2, deliver(car2));
+        }
+
+        @Test
+        @DisplayName("Should close a session whose queued frames are older than the eviction limit")
+        void shouldCloseSlowSession() throws Exception {
+            ReflectionTestUtils.setField(service, "evictLagMs", -1L);
+            service.preSend(frame("/topic/alerts"), channel);
+
+            service.evictSlowSessions();
+
+            verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+            assertEquals(1L, service.getStatistics().get("sessionsEvicted"));
+        }
+
+        @Test
+        @DisplayName("Should not close a session that keeps up")
+        void shouldNotCloseSessionThatKeepsUp() throws Exception {
+            Message<byte[]> message = frame("/topic/alerts");
+            service.preSend(message, channel);
+            deliver(message);
+
+            service.evictSlowSessions();
+
+            verify(session, never()).close(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Session Lifecycle Tests")
+    class SessionLifecycleTests {
+
+        @Test
+        @DisplayName("Should forget a session when its connection closes")
+        void shouldForgetSessionOnClose() throws Exception {
+            decorated.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+            assertEquals(0, service.getSessionCount());
+            verify(delegate).afterConnectionClosed(session, CloseStatus.NORMAL);
+        }
+
+        @Test
+        @DisplayName("Should pass through frames for unknown sessions")
+        void shouldPassThroughFramesForUnknownSessions() throws Exception {
+            decorated.afterConnectionClosed(session, CloseStatus.NORMAL);
+            Message<byte[]> message = frame("/topic/alerts");
+
+            assertSame(message, service.preSend(message, channel));
+            assertSame(message, service.beforeHandle(message, channel, handler));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Telemetry Fan-out Service Tests")
+public class TelemetryFanoutServiceTest {
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private MapInterestService mapInterestService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @InjectMocks
+    private TelemetryFanoutService telemetryFanoutService;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper.disable(com.fasterxml.jackson.databind.SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private TelemetryDto telemetry(Long carId, int speed) {
+        return new TelemetryDto(carId, speed, 50, 25, "Chicago, IL", LocalDateTime.now());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, byte[]> captureFrames(int expected) {
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Message<?>> messages = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, times(expected)).send(destinations.capture(), messages.capture());
+
+        Map<String, byte[]> frames = new HashMap<>();
+        for (int i = 0; i < expected; i++) {
+            Message<?> message = messages.getAllValues().get(i);
+            assertEquals(MimeTypeUtils.APPLICATION_JSON, message.getHeaders().get("contentType"));
+            frames.put(destinations.getAllValues().get(i), (byte[]) message.getPayload());
+        }
+        return frames;
+    }
+
+    @Nested
+    @DisplayName("Conflation Tests")
+    class ConflationTests {
+
+        @Test
+        @DisplayName("Should keep only the latest sample per car within a tick")
+        void shouldKeepOnlyLatestSamplePerCar() throws Exception {
+            telemetryFanoutService.submit(telemetry(1L, 10));
+            telemetryFanoutService.submit(telemetry(1L, 20));
+            telemetryFanoutService.submit(telemetry(1L, 30));
+
+            assertEquals(1, telemetryFanoutService.getPendingCount());
+
+            telemetryFanoutService.flush();
+
+            Map<String, byte[]> frames = captureFrames(4);
+            JsonNode carFrame = objectMapper.readTree(frames.get("/topic/car/1/telemetry"));
+            assertEquals("CAR_TELEMETRY", carFrame.get("type").asText());
+            assertEquals(30, carFrame.get("data").get("speed").asInt());
+            assertEquals(2L, telemetryFanoutService.getStatistics().get("eventsConflated"));
+            assertEquals(0, telemetryFanoutService.getPendingCount());
+        }
+
+        @Test
+        @DisplayName("Should send nothing when no samples are pending")
+        void shouldSendNothingWhenNoSamplesArePending() {
+            telemetryFanoutService.flush();
+
+            verify(messagingTemplate, never()).send(anyString(), any(Message.class));
+        }
+
+        @Test
+        @DisplayName("Should ignore samples without car ID")
+        void shouldIgnoreSamplesWithoutCarId() {
+            telemetryFanoutService.submit(telemetry(null, 10));
+            telemetryFanoutService.submit(null);
+
+            assertEquals(0, telemetryFanoutService.getPendingCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Batching Tests")
+    class BatchingTests {
+
+        @Test
+        @DisplayName("Should send one batched frame per fleet topic per tick")
+        void shouldSendOneBatchedFramePerFleetTopic() throws Exception {
+            telemetryFanoutService.submit(telemetry(1L, 10));
+            telemetryFanoutService.submit(telemetry(2L, 20));
+            telemetryFanoutService.submit(telemetry(3L, 30));
+
+            telemetryFanoutService.flush();
+
+            // 3 cars x (telemetry + location) + 2 fleet batches
+            Map<String, byte[]> frames = captureFrames(8);
+            JsonNode telemetryBatch = objectMapper.readTree(frames.get("/topic/telemetry"));
+            assertEquals("TELEMETRY_BATCH", telemetryBatch.get("type").asText());
+            assertEquals(3, telemetryBatch.get("data").size());
+
+            JsonNode locationBatch = objectMapper.readTree(frames.get("/topic/map/locations"));
+            assertEquals("CAR_LOCATION_BATCH", locationBatch.get("type").asText());
+            assertEquals(3, locationBatch.get("data").size());
+            assertEquals("Chicago, IL", locationBatch.get("data").get(0).get("location").asText());
+
+            JsonNode carLocation = objectMapper.readTree(frames.get("/topic/car/2/location"));
+            assertEquals("CAR_LOCATION", carLocation.get("type").asText());
+            assertEquals(2, carLocation.get("carId").asLong());
+        }
+
+        @Test
+        @DisplayName("Should serialise each sample once")
+        void shouldSerialiseEachSampleOnce() throws Exception {
+            TelemetryDto first = telemetry(1L, 10);
+            TelemetryDto second = telemetry(2L, 20);
+            telemetryFanoutService.submit(first);
+            telemetryFanoutService.submit(second);
+
+            telemetryFanoutService.flush();
+
+            verify(objectMapper, times(1)).writeValueAsString(first);
+            verify(objectMapper, times(1)).writeValueAsString(second);
+            Map<String, Object> stats = telemetryFanoutService.getStatistics();
+            assertEquals(6L, stats.get("framesSent"));
+            assertEquals(2, stats.get("lastBatchSize"));
+            assertTrue((Long) stats.get("bytesSerialized") > 0);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Telemetry;
+import com.smartcar.monitoring.service.TelemetryService.TelemetryStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Telemetry Rollup Service Tests")
+public class TelemetryRollupServiceTest {
+
+    private TelemetryRollupService rollupService;
+    private LocalDateTime now;
+    private LocalDateTime hour;
+
+    private Telemetry telemetry(long carId, int speed, int temperature, int fuel, LocalDateTime at) {
+        Car car = new Car();
+        car.setId(carId);
+        Telemetry telemetry = new Telemetry(car, speed, fuel, temperature, "Chicago");
+        telemetry.setTimestamp(at);
+        return telemetry;
+    }
+
+    private void record(long carId, int speed, int temperature, int fuel, LocalDateTime at) {
+        rollupService.record(telemetry(carId, speed, temperature, fuel, at));
+    }
+
+    // Statistics from the whole hours of the range only
+    private TelemetryStatistics carStatistics(long carId, LocalDateTime start, LocalDateTime end) {
+        ValueHistogram speed = new ValueHistogram();
+        ValueHistogram temperature = new ValueHistogram();
+        ValueHistogram fuel = new ValueHistogram();
+        TelemetryRollupService.HourRange hours = rollupService.fullHours(start, end);
+        if (hours != null) {
+            rollupService.mergeCar(carId, hours, speed, temperature, fuel);
+        }
+        return TelemetryRollupService.toStatistics(speed, temperature, fuel);
+    }
+
+    @BeforeEach
+    void setUp() {
+        rollupService = new TelemetryRollupService();
+        now = LocalDateTime.now();
+        hour = now.truncatedTo(ChronoUnit.HOURS);
+        ReflectionTestUtils.setField(rollupService, "startedAt", now.minusHours(6));
+    }
+
+    @Nested
+    @DisplayName("Histogram Tests")
+    class HistogramTests {
+
+        @Test
+        @DisplayName("Should report exact nearest-rank percentiles")
+        void shouldReportPercentiles() {
+            ValueHistogram histogram = new ValueHistogram();
+            for (int value = 1; value <= 100; value++) {
+                histogram.add(value);
+            }
+
+            assertEquals(50, histogram.getPercentile(50));
+            assertEquals(95, histogram.getPercentile(95));
+            assertEquals(99, histogram.getPercentile(99));
+            assertEquals(1, histogram.getMin());
+            assertEquals(100, histogram.getMax());
+            assertEquals(50.5, histogram.getMean());
+            assertNull(new ValueHistogram().getPercentile(50));
+        }
+
+        @Test
+        @DisplayName("Should merge to the distribution of the combined samples")
+        void shouldMerge() {
+            ValueHistogram cold = new ValueHistogram();
+            ValueHistogram hot = new ValueHistogram();
+            ValueHistogram all = new ValueHistogram();
+            for (int i = 0; i < 90; i++) {
+                cold.add(-10 + i % 20);
+                all.add(-10 + i % 20);
+            }
+            for (int i = 0; i < 10; i++) {
+                hot.add(55 + i % 5);
+                all.add(55 + i % 5);
+            }
+
+            ValueHistogram merged = new ValueHistogram();
+            merged.merge(hot);
+            merged.merge(cold);
+
+            assertEquals(100, merged.getCount());
+            for (double percentile : new double[] {1, 50, 90, 91, 95, 99, 100}) {
+                assertEquals(all.getPercentile(percentile), merged.getPercentile(percentile));
+            }
+            assertEquals(-10, merged.getMin());
+            assertEquals(59, merged.getMax());
+        }
+
+        @Test
+        @DisplayName("Should add weighted counts and take single values back out")
+        void shouldAddCountsAndRemove() {
+            ValueHistogram histogram = new ValueHistogram();
+            histogram.add(60, 3);
+            histogram.add(150, 1);
+
+            histogram.remove(150);
+            histogram.remove(10);
+
+            assertEquals(3, histogram.getCount());
+            assertEquals(60, histogram.getMax());
+            assertEquals(60.0, histogram.getMean());
+        }
+    }
+
+    @Nested
+    @DisplayName("Rollup Tests")
+    class RollupTests {
+
+        @Test
+        @DisplayName("Should expose the speeding tail the average hides")
+        void shouldExposeTail() {
+            LocalDateTime at = hour.minusHours(1).plusMinutes(10);
+            for (int i = 0; i < 95; i++) {
+                record(1L, 60, 30, 80, at);
+            }
+            for (int i = 0; i < 5; i++) {
+                record(1L, 150, 45, 80, at);
+            }
+
+            TelemetryStatistics stats = carStatistics(1L, hour.minusHours(1), hour);
+
+            assertEquals(100, stats.getTotalRecords());
+            assertEquals(64.5, stats.getAverageSpeed());
+            assertEquals(60, stats.getSpeedP50());
+            assertEquals(60, stats.getSpeedP95());
+            assertEquals(150, stats.getSpeedP99());
+            assertEquals(45, stats.getTemperatureP99());
+            assertEquals(150, stats.getMaxSpeed());
+            assertEquals(80, stats.getMinFuel());
+        }
+
+        @Test
+        @DisplayName("Should merge the hourly buckets of the requested range")
+        void shouldMergeBucketsInRange() {
+            record(1L, 100, 30, 80, hour.minusHours(3).plusMinutes(10));
+            record(1L, 50, 30, 79, hour.minusHours(2).plusMinutes(10));
+            record(1L, 70, 30, 78, hour.minusHours(1).plusMinutes(10));
+
+            assertEquals(2, carStatistics(1L, hour.minusHours(2), hour).getTotalRecords());
+            assertEquals(3, carStatistics(1L, hour.minusHours(5), hour).getTotalRecords());
+            assertEquals(100, carStatistics(1L, hour.minusHours(3), hour.minusHours(2)).getMaxSpeed());
+        }
+
+        @Test
+        @DisplayName("Should keep cars apart and add them up for the fleet")
+        void shouldAggregateFleet() {
+            for (long carId = 1; carId <= 10; carId++) {
+                for (int i = 0; i < 10; i++) {
+                    record(carId, (int) carId * 10, 20 + i, 50, hour.minusMinutes(30));
+                }
+            }
+
+            ValueHistogram speed = new ValueHistogram();
+            ValueHistogram temperature = new ValueHistogram();
+            ValueHistogram fuel = new ValueHistogram();
+            rollupService.mergeFleet(rollupService.fullHours(hour.minusHours(1), hour), speed, temperature, fuel);
+            TelemetryStatistics fleet = TelemetryRollupService.toStatistics(speed, temperature, fuel);
+
+            assertEquals(100, fleet.getTotalRecords());
+            assertEquals(50, fleet.getSpeedP50());
+            assertEquals(100, fleet.getSpeedP95());
+            assertEquals(29, fleet.getTemperatureP99());
+            assertEquals(30, carStatistics(3L, hour.minusHours(1), hour).getSpeedP99());
+            assertEquals(0, carStatistics(42L, hour.minusHours(1), hour).getTotalRecords());
+            assertNull(carStatistics(42L, hour.minusHours(1), hour).getSpeedP50());
+        }
+
+        @Test
+        @DisplayName("Should only answer for whole hours after startup and within retention")
+        void shouldReportFullHours() {
+            assertNull(rollupService.fullHours(hour.minusHours(2).plusMinutes(50), hour.minusHours(2).plusMinutes(55)));
+            assertNull(rollupService.fullHours(hour.minusMinutes(30), hour.minusMinutes(40)));
+
+            TelemetryRollupService.HourRange hours = rollupService.fullHours(hour.minusHours(2).plusMinutes(30), now);
+            assertEquals(hour.minusHours(1), hours.start());
+            assertEquals(hour, hours.end());
+
+            // Startup was six hours ago: the hour it fell in is incomplete
+            assertEquals(hour.minusHours(5), rollupService.fullHours(now.minusDays(7), hour).start());
+
+            ReflectionTestUtils.setField(rollupService, "startedAt", now.minusDays(30));
+            assertEquals(hour.minusHours(167), rollupService.fullHours(now.minusDays(30), hour).start());
+        }
+
+        @Test
+        @DisplayName("Should take back samples stored since startup only")
+        void shouldRemoveSamples() {
+            LocalDateTime at = hour.minusHours(1).plusMinutes(10);
+            Telemetry stored = telemetry(1L, 150, 30, 80, at);
+            stored.setCreationDate(now.minusHours(1));
+            rollupService.record(stored);
+            record(1L, 60, 30, 80, at);
+            Telemetry old = telemetry(1L, 60, 30, 80, at);
+            old.setCreationDate(now.minusDays(1));
+
+            rollupService.remove(stored);
+            rollupService.remove(old);
+
+            TelemetryStatistics stats = carStatistics(1L, hour.minusHours(1), hour);
+            assertEquals(1, stats.getTotalRecords());
+            assertEquals(60, stats.getMaxSpeed());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.ValueCountDto;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Telemetry;
+import com.smartcar.monitoring.repository.TelemetryRepository;
+import com.smartcar.monitoring.service.TelemetryService.TelemetryStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Telemetry Service Tests")
+public class TelemetryServiceTest {
+
+    @Mock
+    private TelemetryRepository telemetryRepository;
+
+    @Mock
+    private ResourceVersionService resourceVersionService;
+
+    @Spy
+    private TelemetryRollupService telemetryRollupService = new TelemetryRollupService();
+
+    @InjectMocks
+    private TelemetryService telemetryService;
+
+    private LocalDateTime now;
+    private LocalDateTime hour;
+
+    private Telemetry telemetry(int speed, LocalDateTime at) {
+        Car car = new Car();
+        car.setId(1L);
+        Telemetry telemetry = new Telemetry(car, speed, 80, 30, "Chicago");
+        telemetry.setTimestamp(at);
+        telemetry.setCreationDate(now);
+        return telemetry;
+    }
+
+    // A sample stored since startup: in the rollup and returned by any row query covering it
+    private Telemetry stored(int speed, LocalDateTime at) {
+        Telemetry telemetry = telemetry(speed, at);
+        telemetryRollupService.record(telemetry);
+        return telemetry;
+    }
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        hour = now.truncatedTo(ChronoUnit.HOURS);
+        ReflectionTestUtils.setField(telemetryRollupService, "startedAt", now.minusHours(6));
+        when(telemetryRepository.findByCarIdAndTimestampBetweenAndIsActiveTrue(anyLong(), any(), any())).thenReturn(List.of());
+    }
+
+    @Nested
+    @DisplayName("Car Statistics Tests")
+    class CarStatisticsTests {
+
+        @Test
+        @DisplayName("Should answer a range inside one hour from the rows only")
+        void shouldReadSubHourRangeFromRows() {
+            LocalDateTime base = hour.minusHours(2);
+            stored(150, base.plusMinutes(20));
+            Telemetry inRange = stored(60, base.plusMinutes(52));
+            when(telemetryRepository.findByCarIdAndTimestampBetweenAndIsActiveTrue(1L, base.plusMinutes(50), base.plusMinutes(55)))
+                    .thenReturn(List.of(inRange));
+
+            TelemetryStatistics stats = telemetryService.getTelemetryStatistics(1L, base.plusMinutes(50), base.plusMinutes(55));
+
+            assertEquals(1, stats.getTotalRecords());
+            assertEquals(60, stats.getMaxSpeed());
+            assertEquals(60, stats.getSpeedP99());
+        }
+
+        @Test
+        @DisplayName("Should merge whole hours from the rollup with the edge hours from the rows")
+        void shouldMergeWholeHoursWithEdges() {
+            LocalDateTime start = hour.minusHours(3).plusMinutes(30);
+            LocalDateTime end = hour.minusMinutes(45);
+            // Outside the range but in its edge hours: only a row query could leave them out
+            stored(200, hour.minusHours(3).plusMinutes(10));
+            stored(200, hour.minusMinutes(10));
+            Telemetry head = stored(40, hour.minusHours(3).plusMinutes(40));
+            stored(60, hour.minusHours(2).plusMinutes(5));
+            stored(80, hour.minusHours(2).plusMinutes(55));
+            Telemetry tail = stored(100, hour.minusHours(1).plusMinutes(5));
+            when(telemetryRepository.findByCarIdAndTimestampBetweenAndIsActiveTrue(1L, start, hour.minusHours(2).minusNanos(1000)))
+                    .thenReturn(List.of(head));
+            when(telemetryRepository.findByCarIdAndTimestampBetweenAndIsActiveTrue(1L, hour.minusHours(1), end))
+                    .thenReturn(List.of(tail));
+
+            TelemetryStatistics stats = telemetryService.getTelemetryStatistics(1L, start, end);
+
+            assertEquals(4, stats.getTotalRecords());
+            assertEquals(70.0, stats.getAverageSpeed());
+            assertEquals(40, stats.getMinSpeed());
+            assertEquals(100, stats.getMaxSpeed());
+        }
+
+        @Test
+        @DisplayName("Should leave soft-deleted records out of the rollup")
+        void shouldDropSoftDeletedRecords() {
+            Telemetry deleted = stored(150, hour.minusHours(1).plusMinutes(10));
+            deleted.setId(7L);
+            stored(60, hour.minusHours(1).plusMinutes(20));
+            when(telemetryRepository.findById(7L)).thenReturn(Optional.of(deleted));
+
+            telemetryService.deactivateTelemetry(7L);
+            telemetryService.deactivateTelemetry(7L);
+
+            TelemetryStatistics stats = telemetryService.getTelemetryStatistics(1L, hour.minusHours(1), hour);
+            assertEquals(1, stats.getTotalRecords());
+            assertEquals(60, stats.getMaxSpeed());
+        }
+    }
+
+    @Nested
+    @DisplayName("Fleet Statistics Tests")
+    class FleetStatisticsTests {
+
+        @Test
+        @DisplayName("Should count the range in the database when the rollup holds none of it")
+        void shouldCountInDatabaseAfterRestart() {
+            ReflectionTestUtils.setField(telemetryRollupService, "startedAt", now);
+            when(telemetryRepository.countSpeedValuesBetween(any(), any()))
+                    .thenReturn(List.of(new ValueCountDto(60, 95L), new ValueCountDto(150, 5L)));
+            when(telemetryRepository.countTemperatureValuesBetween(any(), any()))
+                    .thenReturn(List.of(new ValueCountDto(30, 100L)));
+            when(telemetryRepository.countFuelValuesBetween(any(), any()))
+                    .thenReturn(List.of(new ValueCountDto(80, 100L)));
+
+            TelemetryStatistics stats = telemetryService.getFleetTelemetryStatistics(now.minusDays(1), now);
+
+            assertEquals(100, stats.getTotalRecords());
+            assertEquals(60, stats.getSpeedP95());
+            assertEquals(150, stats.getSpeedP99());
+            verify(telemetryRepository).countSpeedValuesBetween(now.minusDays(1), now);
+        }
+
+        @Test
+        @DisplayName("Should count only the parts of the range the rollup does not hold")
+        void shouldCountOutsideRollupOnly() {
+            stored(60, hour.minusHours(2).plusMinutes(5));
+            when(telemetryRepository.countSpeedValuesBetween(any(), any())).thenReturn(List.of());
+            when(telemetryRepository.countTemperatureValuesBetween(any(), any())).thenReturn(List.of());
+            when(telemetryRepository.countFuelValuesBetween(any(), any())).thenReturn(List.of());
+            when(telemetryRepository.countSpeedValuesBetween(now.minusDays(1), hour.minusHours(5).minusNanos(1000)))
+                    .thenReturn(List.of(new ValueCountDto(100, 1L)));
+            when(telemetryRepository.countTemperatureValuesBetween(now.minusDays(1), hour.minusHours(5).minusNanos(1000)))
+                    .thenReturn(List.of(new ValueCountDto(30, 1L)));
+            when(telemetryRepository.countFuelValuesBetween(now.minusDays(1), hour.minusHours(5).minusNanos(1000)))
+                    .thenReturn(List.of(new ValueCountDto(80, 1L)));
+
+            TelemetryStatistics stats = telemetryService.getFleetTelemetryStatistics(now.minusDays(1), now);
+
+            assertEquals(2, stats.getTotalRecords());
+            assertEquals(80.0, stats.getAverageSpeed());
+            verify(telemetryRepository).countSpeedValuesBetween(hour, now);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Principal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Token Service Tests")
+public class TokenServiceTest {
+
+    private TokenService tokenService;
+
+    private User user;
+
+    private TokenService service(String secret, long expirationMs) {
+        TokenService service = new TokenService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        ReflectionTestUtils.setField(service, "expirationMs", expirationMs);
+        return service;
+    }
+
+    @BeforeEach
+    void setUp() {
+        tokenService = service("testSecretKeyForJWTTokenGenerationInTests", 3_600_000);
+        user = new User();
+        user.setId(42L);
+    }
+
+    @Nested
+    @DisplayName("Token Tests")
+    class TokenTests {
+
+        @Test
+        @DisplayName("Should return the user ID of an issued token")
+        void shouldVerifyIssuedToken() {
+            assertEquals(42L, tokenService.verify(tokenService.issue(user)));
+        }
+
+        @Test
+        @DisplayName("Should reject tampered, foreign, expired and missing tokens")
+        void shouldRejectInvalidTokens() {
+            String token = tokenService.issue(user);
+
+            assertNull(tokenService.verify(token.substring(0, token.length() - 2) + "xx"));
+            assertNull(tokenService.verify(service("anotherSecretKeyForJWTTokenGenerationInTests", 3_600_000).issue(user)));
+            assertNull(tokenService.verify(service("testSecretKeyForJWTTokenGenerationInTests", -1000).issue(user)));
+            assertNull(tokenService.verify("dummy-token-1"));
+            assertNull(tokenService.verify(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("Connect Tests")
+    class ConnectTests {
+
+        private Principal connect(String authorization) {
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+            if (authorization != null) {
+                accessor.addNativeHeader("Authorization", authorization);
+            }
+            accessor.setLeaveMutable(true);
+            Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+            Message<?> sent = tokenService.connectInterceptor().preSend(message, null);
+            return StompHeaderAccessor.wrap(sent).getUser();
+        }
+
+        @Test
+        @DisplayName("Should make the token's user the session principal")
+        void shouldSetPrincipalFromBearerToken() {
+            Principal principal = connect("Bearer " + tokenService.issue(user));
+
+            assertEquals("42", principal.getName());
+            assertEquals(42L, TokenService.userId(principal));
+        }
+
+        @Test
+        @DisplayName("Should leave sessions without a valid token anonymous")
+        void shouldStayAnonymousWithoutValidToken() {
+            assertNull(connect(null));
+            assertNull(connect("Bearer dummy-token-1"));
+            assertNull(TokenService.userId(null));
+        }
+    }
+}
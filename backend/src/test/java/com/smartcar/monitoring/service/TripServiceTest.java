@@ -0,0 +1,250 @@
+package com.smartcar.monitoring.service;
+
+import com.smartcar.monitoring.dto.TelemetryDto;
+import com.smartcar.monitoring.dto.TripDto;
+import com.smartcar.monitoring.model.Car;
+import com.smartcar.monitoring.model.Trip;
+import com.smartcar.monitoring.repository.TripRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Trip Service Tests")
+public class TripServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 8, 0);
+
+    @Mock
+    private TripRepository tripRepository;
+
+    // Not fed by these tests, so fuel used falls back to the raw readings unless stubbed
+    @Spy
+    private FuelEstimator fuelEstimator = new FuelEstimator();
+
+    @InjectMocks
+    private TripService tripService;
+
+    private Car car;
+    private Trip stored;
+
+    private TelemetryDto sample(int minute, int speed, int fuel) {
+        TelemetryDto telemetryDto = new TelemetryDto();
+        telemetryDto.setCarId(1L);
+        telemetryDto.setSpeed(speed);
+        telemetryDto.setFuelLevel(fuel);
+        telemetryDto.setTimestamp(T0.plusMinutes(minute));
+        return telemetryDto;
+    }
+
+    @BeforeEach
+    void setUp() {
+        car = new Car();
+        car.setId(1L);
+        when(tripRepository.save(any(Trip.class))).thenAnswer(invocation -> {
+            Trip trip = invocation.getArgument(0);
+            if (trip.getId() == null) {
+                trip.setId(100L);
+                stored = trip;
+            }
+            return trip;
+        });
+        when(tripRepository.findById(100L)).thenAnswer(invocation -> Optional.ofNullable(stored));
+    }
+
+    @Nested
+    @DisplayName("Segmentation Tests")
+    class SegmentationTests {
+
+        @Test
+        @DisplayName("Should not open a trip while the car is idle")
+        void shouldNotOpenTripWhileIdle() {
+            tripService.record(car, sample(0, 0, 80));
+            tripService.record(car, sample(1, 0, 80));
+
+            assertEquals(0, tripService.getOpenTripCount());
+            verify(tripRepository, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("Should open on movement and close at the stop after the idle window")
+        void shouldOpenAndCloseTrip() {
+            tripService.record(car, sample(0, 60, 80));
+            tripService.record(car, sample(4, 60, 78));
+            tripService.record(car, sample(8, 90, 75));
+            tripService.record(car, sample(9, 0, 75));
+            tripService.record(car, sample(12, 0, 75));
+            assertEquals(1, tripService.getOpenTripCount());
+
+            tripService.record(car, sample(14, 0, 75));
+
+            assertEquals(0, tripService.getOpenTripCount());
+            assertEquals(T0, stored.getStartTime());
+            assertEquals(T0.plusMinutes(9), stored.getEndTime());
+            assertEquals(9 * 60, stored.getDurationSeconds());
+            assertEquals(90, stored.getMaxSpeed());
+            assertEquals(70.0, stored.getAvgSpeed(), 1e-9);
+            assertEquals(3, stored.getSampleCount());
+            assertEquals(5, stored.getFuelUsed());
+            // 4 min at 60, 4 min averaging 75, 1 min slowing from 90 to 0
+            assertEquals(4 + 5 + 0.75, stored.getDistanceKm(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Should keep the trip open across a short stop")
+        void shouldKeepTripAcrossShortStop() {
+            tripService.record(car, sample(0, 50, 80));
+            tripService.record(car, sample(1, 0, 80));
+            tripService.record(car, sample(3, 0, 80));
+            tripService.record(car, sample(4, 50, 80));
+
+            assertEquals(1, tripService.getOpenTripCount());
+            tripService.recordStatus(1L, "PARKED");
+
+            // The stop samples count towards the average once the car moves on
+            assertEquals(4, stored.getSampleCount());
+            assertEquals(25.0, stored.getAvgSpeed(), 1e-9);
+            assertEquals(T0.plusMinutes(4), stored.getEndTime());
+        }
+
+        @Test
+        @DisplayName("Should ignore refuels when summing fuel used")
+        void shouldIgnoreRefuels() {
+            tripService.record(car, sample(0, 50, 30));
+            tripService.record(car, sample(1, 50, 25));
+            tripService.record(car, sample(2, 50, 90));
+            tripService.record(car, sample(3, 50, 88));
+            tripService.recordStatus(1L, "{\"status\":\"IDLE\"}");
+            tripService.recordStatus(1L, "parked");
+
+            assertEquals(7, stored.getFuelUsed());
+        }
+
+        @Test
+        @DisplayName("Should take fuel used from the estimator's smoothed consumption")
+        void shouldUseEstimatorConsumption() {
+            doReturn(5.0, 5.4, 8.6).when(fuelEstimator).getConsumed(1L);
+
+            tripService.record(car, sample(0, 50, 80));
+            tripService.record(car, sample(1, 50, 81));
+            tripService.record(car, sample(2, 50, 75));
+            tripService.recordStatus(1L, "PARKED");
+
+            assertEquals(4, stored.getFuelUsed());
+        }
+
+        @Test
+        @DisplayName("Should fall back to the speed estimate when positions jump")
+        void shouldIgnoreImplausiblePositionJumps() {
+            TelemetryDto first = sample(0, 60, 80);
+            first.setLatitude(41.8781);
+            first.setLongitude(-87.6298);
+            TelemetryDto near = sample(1, 60, 80);
+            near.setLatitude(41.8881);
+            near.setLongitude(-87.6298);
+            // Dallas a minute later
+            TelemetryDto jump = sample(2, 60, 80);
+            jump.setLatitude(32.7767);
+            jump.setLongitude(-96.7970);
+
+            tripService.record(car, first);
+            tripService.record(car, near);
+            tripService.record(car, jump);
+            tripService.recordStatus(1L, "PARKED");
+
+            assertEquals(1.112 + 1.0, stored.getDistanceKm(), 0.01);
+        }
+    }
+
+    @Nested
+    @DisplayName("Alert And Sweep Tests")
+    class AlertAndSweepTests {
+
+        @Test
+        @DisplayName("Should count alerts only while a trip is open")
+        void shouldCountAlertsDuringTrip() {
+            tripService.recordAlert(1L);
+            tripService.record(car, sample(0, 50, 80));
+            tripService.recordAlert(1L);
+            tripService.recordAlert(1L);
+            tripService.recordStatus(1L, "PARKED");
+            tripService.recordAlert(1L);
+
+            assertEquals(2, stored.getAlertCount());
+        }
+
+        @Test
+        @DisplayName("Should checkpoint open trips and close trips of silent cars")
+        void shouldCheckpointAndCloseSilentTrips() {
+            tripService.record(car, sample(0, 50, 80));
+            tripService.record(car, sample(2, 70, 79));
+
+            tripService.sweep(T0.plusMinutes(3));
+            assertNull(stored.getEndTime());
+            assertEquals(70, stored.getMaxSpeed());
+            assertEquals(1, tripService.getOpenTripCount());
+
+            tripService.sweep(T0.plusMinutes(7));
+            assertEquals(T0.plusMinutes(2), stored.getEndTime());
+            assertEquals(0, tripService.getOpenTripCount());
+        }
+
+        @Test
+        @DisplayName("Should show live totals for the open trip")
+        void shouldShowLiveTotalsForOpenTrip() {
+            tripService.record(car, sample(0, 50, 80));
+            tripService.record(car, sample(6, 70, 77));
+            TripDto open = new TripDto(100L, 1L, T0, null, 0L, 0.0, 50, 50.0, 0, 0, 1);
+            TripDto closed = new TripDto(99L, 1L, T0.minusHours(2), T0.minusHours(1), 3600L, 40.0, 80, 40.0, 4, 1, 60);
+            when(tripRepository.findDtosByCarId(eq(1L), any())).thenReturn(List.of(open, closed));
+
+            List<TripDto> trips = tripService.getTripDtosByCar(1L, null, null, 50);
+
+            assertTrue(trips.get(0).isOpen());
+            assertEquals(360L, trips.get(0).getDurationSeconds());
+            assertEquals(70, trips.get(0).getMaxSpeed());
+            assertEquals(3, trips.get(0).getFuelUsed());
+            assertEquals(40.0, trips.get(1).getDistanceKm());
+        }
+
+        @Test
+        @DisplayName("Should resume open trips from their checkpoint")
+        void shouldResumeOpenTrips() {
+            Trip trip = new Trip(car, T0);
+            trip.setId(100L);
+            trip.setSampleCount(4);
+            trip.setAvgSpeed(50.0);
+            trip.setMaxSpeed(60);
+            trip.setDistanceKm(12.0);
+            trip.setLastUpdateOn(T0.plusMinutes(10));
+            stored = trip;
+            when(tripRepository.findOpenTrips()).thenReturn(List.of(trip));
+
+            tripService.warmUp();
+            tripService.record(car, sample(11, 100, 80));
+            tripService.recordStatus(1L, "PARKED");
+
+            assertEquals(5, stored.getSampleCount());
+            assertEquals(60.0, stored.getAvgSpeed(), 1e-9);
+            assertEquals(100, stored.getMaxSpeed());
+            assertTrue(stored.getDistanceKm() > 12.0);
+        }
+    }
+}
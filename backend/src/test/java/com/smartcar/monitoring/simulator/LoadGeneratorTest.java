@@ -0,0 +1,165 @@
+package com.smartcar.monitoring.simulator;
+
+import com.smartcar.monitoring.service.MqttService;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("Load Generator Tests")
+public class LoadGeneratorTest {
+
+    @Mock
+    private MqttService mqttService;
+
+    @InjectMocks
+    private LoadGenerator loadGenerator;
+
+    private final Set<Long> carIds = ConcurrentHashMap.newKeySet();
+
+    // Manual clock: producers only see time pass when a test advances it
+    private final AtomicLong nanos = new AtomicLong();
+
+    @BeforeEach
+    void setUp() throws MqttException {
+        ReflectionTestUtils.setField(loadGenerator, "producers", 4);
+        ReflectionTestUtils.setField(loadGenerator, "carIdStart", 1000L);
+        ReflectionTestUtils.setField(loadGenerator, "clock", (LongSupplier) nanos::get);
+        doAnswer(invocation -> {
+            carIds.add(invocation.getArgument(0));
+            return null;
+        }).when(mqttService).publishTelemetryPayload(anyLong(), any(byte[].class), anyInt());
+    }
+
+    @AfterEach
+    void tearDown() {
+        loadGenerator.stop();
+    }
+
+    @Nested
+    @DisplayName("Rate Profile Tests")
+    class RateProfileTests {
+
+        @Test
+        @DisplayName("Should ramp up linearly to the target rate")
+        void shouldRampUp() {
+            loadGenerator.start(10, 1.0, LoadGenerator.Profile.STEADY, 10L, 0L);
+
+            assertEquals(0.0, loadGenerator.targetRateAt(0), 1e-9);
+            assertEquals(0.5, loadGenerator.targetRateAt(5), 1e-9);
+            assertEquals(1.0, loadGenerator.targetRateAt(30), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Should multiply the rate during bursts and swing it in waves")
+        void shouldShapeBurstsAndWaves() {
+            loadGenerator.start(10, 1.0, LoadGenerator.Profile.BURST, 0L, 0L);
+            assertEquals(3.0, loadGenerator.targetRateAt(65), 1e-9);
+            assertEquals(1.0, loadGenerator.targetRateAt(75), 1e-9);
+            loadGenerator.stop();
+
+            loadGenerator.start(10, 1.0, LoadGenerator.Profile.WAVE, 0L, 0L);
+            assertEquals(1.0, loadGenerator.targetRateAt(60), 1e-9);
+            assertEquals(3.0, loadGenerator.targetRateAt(30), 1e-9);
+            assertEquals(2.0, loadGenerator.targetRateAt(15), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Should reject invalid settings and a second concurrent run")
+        void shouldRejectInvalidStart() {
+            assertThrows(IllegalArgumentException.class, () -> loadGenerator.start(0, 10.0, null, 0L, 0L));
+            assertThrows(IllegalArgumentException.class, () -> loadGenerator.start(10, -1.0, null, 0L, 0L));
+
+            assertTrue(loadGenerator.start(10, 1.0, null, 0L, 0L));
+            assertFalse(loadGenerator.start(10, 1.0, null, 0L, 0L));
+            assertTrue(loadGenerator.isRunning());
+        }
+    }
+
+    @Nested
+    @DisplayName("Publishing Tests")
+    class PublishingTests {
+
+        @Test
+        @DisplayName("Should publish the target rate across every vehicle")
+        void shouldPublishAtTargetRate() throws Exception {
+            loadGenerator.start(200, 400.0, LoadGenerator.Profile.STEADY, 0L, 0L);
+
+            advance(1000);
+            awaitStatus("sent", 400L);
+            loadGenerator.stop();
+
+            Map<String, Object> status = loadGenerator.getStatus();
+            assertEquals(200, carIds.size());
+            assertEquals(1000L, carIds.stream().mapToLong(Long::longValue).min().orElseThrow());
+            assertEquals(1199L, carIds.stream().mapToLong(Long::longValue).max().orElseThrow());
+            assertEquals(false, status.get("running"));
+            assertEquals(4, status.get("producers"));
+        }
+
+        @Test
+        @DisplayName("Should count failed publishes and keep going")
+        void shouldCountFailures() throws Exception {
+            doThrow(new MqttException(MqttException.REASON_CODE_CLIENT_NOT_CONNECTED))
+                    .when(mqttService).publishTelemetryPayload(anyLong(), any(byte[].class), anyInt());
+
+            loadGenerator.start(100, 500.0, LoadGenerator.Profile.STEADY, 0L, 0L);
+            advance(200);
+            awaitStatus("failed", 100L);
+            advance(200);
+            awaitStatus("failed", 200L);
+
+            assertEquals(0L, loadGenerator.getStatus().get("sent"));
+        }
+
+        @Test
+        @DisplayName("Should stop by itself after the configured duration")
+        void shouldStopAfterDuration() throws Exception {
+            loadGenerator.start(100, 1000.0, LoadGenerator.Profile.STEADY, 0L, 1L);
+            advance(500);
+            awaitStatus("sent", 500L);
+            assertTrue(loadGenerator.isRunning());
+
+            advance(1500);
+
+            assertFalse(loadGenerator.isRunning());
+            // Producers leave at their next tick instead of publishing the second it earned
+            loadGenerator.stop();
+            assertEquals(500L, loadGenerator.getStatus().get("sent"));
+        }
+    }
+
+    private void advance(long millis) {
+        nanos.addAndGet(millis * 1_000_000);
+    }
+
+    // Producers run on their own threads: give them time to catch up with the clock
+    private void awaitStatus(String key, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!Long.valueOf(expected).equals(loadGenerator.getStatus().get(key)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, loadGenerator.getStatus().get(key));
+    }
+}
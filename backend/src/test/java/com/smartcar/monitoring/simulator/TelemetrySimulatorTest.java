@@ -3,6 +3,7 @@ package com.smartcar.monitoring.simulator;
 import com.smartcar.monitoring.dto.TelemetryDto;
 import com.smartcar.monitoring.model.Car;
 import com.smartcar.monitoring.service.CarService;
+import com.smartcar.monitoring.service.LocationResolver;
 import com.smartcar.monitoring.service.MqttService;
 import com.smartcar.monitoring.service.WebSocketService;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -39,6 +41,9 @@ public class TelemetrySimulatorTest {
     @Mock
     private WebSocketService webSocketService;
 
+    @Spy
+    private LocationResolver locationResolver = new LocationResolver();
+
     @InjectMocks
     private TelemetrySimulator telemetrySimulator;
 
@@ -294,6 +299,20 @@ public class TelemetrySimulatorTest {
                 assertTrue(location.contains(","), "Location should contain city and state");
             }
         }
+
+        @Test
+        @DisplayName("Should generate coordinates near the labelled city")
+        void shouldGenerateCoordinatesNearCity() {
+            for (int i = 0; i < 50; i++) {
+                TelemetryDto telemetryDto = telemetrySimulator.generateTelemetryData(testCar1);
+                double[] centre = locationResolver.resolve(telemetryDto.getLocation());
+
+                assertNotNull(telemetryDto.getLatitude());
+                assertNotNull(telemetryDto.getLongitude());
+                assertEquals(centre[0], telemetryDto.getLatitude(), 0.05);
+                assertEquals(centre[1], telemetryDto.getLongitude(), 0.05);
+            }
+        }
     }
 
     @Nested
@@ -14,38 +14,25 @@ const AdminDashboard = () => {
 
     const fetchData = async () => {
         try {
-            const [telemetryRes, driversRes, alertsStatsRes, carsRes] = await Promise.all([
-                api.get("/telemetry/latest/all"),
-                api.get("/drivers/assigned"),
-                api.get("/alerts/stats/count"),
-                api.get("/cars"),
-            ]);
-
-            const telemetryList = telemetryRes?.data?.data || [];
-            // Only include cars that are active in the database
-            const activeCars = carsRes?.data?.data || [];
-            const activeCarIdSet = new Set((activeCars || []).map((c) => c.id));
-            const activeTelemetry = telemetryList.filter((t) => activeCarIdSet.has(t.carId));
-            const drivers = (driversRes?.data?.data || []).reduce((acc, d) => {
-                if (d.assignedCarId) acc[d.assignedCarId] = d.name || d.username;
+            const res = await api.get("/fleet/overview");
+            const overview = res?.data?.data || {};
+            // Only cars that have reported telemetry are listed
+            const reporting = (overview.vehicles || []).filter((v) => v.lastUpdate);
+            const drivers = reporting.reduce((acc, v) => {
+                if (v.driverName) acc[v.id] = v.driverName;
                 return acc;
             }, {});
-            const counts = alertsStatsRes?.data?.data || { totalAlerts: 0, unacknowledgedAlerts: 0, criticalAlerts: 0 };
-
-            const carStatusById = (activeCars || []).reduce((acc, c) => {
-                acc[c.id] = c.status || "";
-                return acc;
-            }, {});
-
-            const rows = activeTelemetry.map(t => ({
-                id: t.carId,
-                driver: drivers[t.carId] || "-",
-                location: t.location || "-",
-                speed: t.speed ?? 0,
-                fuel: t.fuelLevel ?? 0,
-                temp: t.temperature ?? 0,
-                status: carStatusById[t.carId] || "-",
-                lastUpdate: t.timestamp || "-",
+            const counts = overview.alertCounts || { totalAlerts: 0, unacknowledgedAlerts: 0, criticalAlerts: 0 };
+
+            const rows = reporting.map(v => ({
+                id: v.id,
+                driver: v.driverName || "-",
+                location: v.location || "-",
+                speed: v.speed ?? 0,
+                fuel: v.fuelLevel ?? 0,
+                temp: v.temperature ?? 0,
+                status: v.status || "-",
+                lastUpdate: v.lastUpdate || "-",
             }));
 
             setVehicles(rows);
@@ -181,37 +181,17 @@ const AlertsPage = ({ user }) => {
     return null;
   };
 
-  // Admin: for recent 5 alerts, fetch nearby telemetry to compute cause strings
+  // Admin: recent 5 alerts with their triggering telemetry, resolved server-side
   useEffect(() => {
     const run = async () => {
       if (user.role === 'DRIVER') { setRecentDetailed([]); return; }
-      const top5 = (alerts || []).slice(0, 5);
-      const results = [];
-      for (const a of top5) {
-        try {
-          const ts = new Date(a.timestamp);
-          const start = new Date(ts.getTime() - 10 * 60 * 1000);
-          const end = new Date(ts.getTime() + 10 * 60 * 1000);
-          const tRes = await api.get(`/telemetry/car/${a.carId}/range`, { params: { startTime: formatLocalDateTime(start), endTime: formatLocalDateTime(end) } });
-          const tList = tRes?.data?.data || [];
-          let best = null, bestDiff = Number.MAX_SAFE_INTEGER;
-          for (const rec of tList) {
-            const diff = Math.abs(new Date(rec.timestamp).getTime() - ts.getTime());
-            if (diff < bestDiff) { best = rec; bestDiff = diff; }
-          }
-          let valueStr = null;
-          const type = (a.type || '').toLowerCase();
-          if (best) {
-            if (type.includes('fuel')) valueStr = `${best.fuelLevel}%`;
-            else if (type.includes('temp')) valueStr = `${best.temperature}°C`;
-            else if (type.includes('speed')) valueStr = `${best.speed} km/h`;
-          }
-          results.push({ ...a, derivedValue: valueStr, cause: compactCause(a.type, valueStr) });
-        } catch (_) {
-          results.push({ ...a, derivedValue: null, cause: compactCause(a.type, null) });
-        }
+      try {
+        const res = await api.get('/alerts/with-context', { params: { limit: 5 } });
+        const list = res?.data?.data || [];
+        setRecentDetailed(list.map((a) => ({ ...a, derivedValue: a.triggerValue, cause: compactCause(a.type, a.triggerValue) })));
+      } catch (_) {
+        setRecentDetailed((alerts || []).slice(0, 5).map((a) => ({ ...a, derivedValue: null, cause: compactCause(a.type, null) })));
       }
-      setRecentDetailed(results);
     };
     run();
   }, [alerts, user.role]);
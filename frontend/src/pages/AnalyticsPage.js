@@ -52,23 +52,22 @@ const AnalyticsPage = () => {
     const [carTelemetry, setCarTelemetry] = useState([]);
     const [carStats, setCarStats] = useState(null);
 
-    // Load base data: active cars, alert stats, recent alerts, latest telemetry snapshot
+    // Load base data: fleet overview (active cars, latest telemetry, alert stats) and recent alerts
     useEffect(() => {
         const loadBase = async () => {
             try {
-                const [carsRes, countRes, alertsRes, teleRes] = await Promise.all([
-                    api.get("/cars"),
-                    api.get("/alerts/stats/count"),
+                const [overviewRes, alertsRes] = await Promise.all([
+                    api.get("/fleet/overview"),
                     api.get("/alerts"),
-                    api.get("/telemetry/latest/all"),
                 ]);
-                const carList = carsRes?.data?.data || [];
+                const overview = overviewRes?.data?.data || {};
+                const carList = overview.vehicles || [];
                 setCars(carList);
-                setAlertsCounts(countRes?.data?.data || { totalAlerts: 0, unacknowledgedAlerts: 0, criticalAlerts: 0 });
+                setAlertsCounts(overview.alertCounts || { totalAlerts: 0, unacknowledgedAlerts: 0, criticalAlerts: 0 });
                 setAlertsAll((alertsRes?.data?.data || []).sort((a,b) => new Date(a.timestamp) - new Date(b.timestamp)));
 
-                const activeIds = new Set((carList || []).map((c) => c.id));
-                const latest = (teleRes?.data?.data || []).filter((t) => activeIds.has(t.carId));
+                // Overview rows carry each active car's latest telemetry; skip cars that never reported
+                const latest = carList.filter((v) => v.lastUpdate);
                 setLatestAll(latest);
             } catch (_) {}
         };
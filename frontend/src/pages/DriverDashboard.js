@@ -83,39 +83,10 @@ const DriverDashboard = ({ user }) => {
 
   const fetchRecentAlertValues = async (carIdArg, baseAlerts) => {
     try {
-      const candidate = (baseAlerts || []).slice(0, 3);
-      if (candidate.length === 0) { setRecentAlerts([]); return; }
-      const minTs = new Date(Math.min(...candidate.map(a => new Date(a.timestamp).getTime())));
-      const maxTs = new Date(Math.max(...candidate.map(a => new Date(a.timestamp).getTime())));
-      const start = new Date(minTs.getTime() - 10 * 60 * 1000);
-      const end = new Date(maxTs.getTime() + 10 * 60 * 1000);
-      const tRes = await api.get(`/telemetry/car/${carIdArg}/range`, {
-        params: { startTime: formatLocalDateTime(start), endTime: formatLocalDateTime(end) }
-      });
-      const tList = tRes?.data?.data || [];
-      const nearest = (ts) => {
-        if (tList.length === 0) return null;
-        const t = new Date(ts).getTime();
-        let best = null, bestDiff = Number.MAX_SAFE_INTEGER;
-        for (const rec of tList) {
-          const diff = Math.abs(new Date(rec.timestamp).getTime() - t);
-          if (diff < bestDiff) { best = rec; bestDiff = diff; }
-        }
-        return best;
-      };
-      const withValues = candidate.map(a => {
-        const rec = nearest(a.timestamp);
-        let value = null;
-        const type = (a.type || "").toLowerCase();
-        if (rec) {
-          if (type.includes("fuel")) value = `${rec.fuelLevel}%`;
-          else if (type.includes("temp")) value = `${rec.temperature}°C`;
-          else if (type.includes("speed")) value = `${rec.speed} km/h`;
-        }
-        const cause = compactCause(a.type, value);
-        return { ...a, derivedValue: value, cause };
-      });
-      setRecentAlerts(withValues);
+      if ((baseAlerts || []).length === 0) { setRecentAlerts([]); return; }
+      const res = await api.get('/alerts/with-context', { params: { carId: carIdArg, limit: 3 } });
+      const list = res?.data?.data || [];
+      setRecentAlerts(list.map(a => ({ ...a, derivedValue: a.triggerValue, cause: compactCause(a.type, a.triggerValue) })));
     } catch (_) {
       setRecentAlerts((baseAlerts || []).slice(0, 3));
     }